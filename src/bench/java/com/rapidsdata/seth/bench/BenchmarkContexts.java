@@ -0,0 +1,113 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.CommandLineArgs;
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.contexts.AppContextImpl;
+import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.contexts.ExecutionContextImpl;
+import com.rapidsdata.seth.contexts.TestContext;
+import com.rapidsdata.seth.contexts.TestContextImpl;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.plan.OperationMetadata;
+import com.rapidsdata.seth.plan.TestPhase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builds the contexts that SETH's classes need, with the default command line arguments and
+ * without a database, so that they can be benchmarked on their own.
+ */
+public class BenchmarkContexts
+{
+  private BenchmarkContexts()
+  {
+  }
+
+  /**
+   * Returns an application context with the default command line arguments and no connections.
+   * @param logger the logger to log to.
+   * @param threadPool the thread pool to run child threads on, or null if there are none.
+   * @return an application context.
+   */
+  public static AppContext newAppContext(TestLogger logger, ExecutorService threadPool)
+  {
+    return newAppContext(logger, threadPool, null);
+  }
+
+  /**
+   * Returns an application context with the default command line arguments.
+   * @param logger the logger to log to.
+   * @param threadPool the thread pool to run child threads on, or null if there are none.
+   * @param connectionPool the pool to acquire connections from, or null if there are none.
+   * @return an application context.
+   */
+  public static AppContext newAppContext(TestLogger logger, ExecutorService threadPool, ConnectionPool connectionPool)
+  {
+    CommandLineArgs args = new CommandLineArgs();
+
+    return new AppContextImpl(System.currentTimeMillis(),
+                              args,
+                              Collections.emptyList(),
+                              args.url,
+                              args.relativity,
+                              logger,
+                              threadPool,
+                              connectionPool,
+                              null,
+                              new Options(),
+                              new HashMap<>());
+  }
+
+  /**
+   * Returns a test context for a test that is run from a script rather than from a file.
+   * @param appContext the application context.
+   * @param script the statements of the test.
+   * @return a test context.
+   */
+  public static TestContext newTestContext(AppContext appContext, String script)
+  {
+    TestableFile testableFile = new TestableFile(script);
+    TestResult testResult = new TestResult(testableFile, "benchmark");
+    return new TestContextImpl(appContext, testableFile, testResult);
+  }
+
+  /**
+   * Returns an execution context for a thread of a test.
+   * @param testContext the test context.
+   * @return an execution context.
+   */
+  public static ExecutionContext newExecutionContext(TestContext testContext)
+  {
+    return new ExecutionContextImpl(testContext, new LinkedList<>(), new HashMap<>(), new IdentityHashMap<>(), null);
+  }
+
+  /**
+   * Returns an execution context for a test that doesn't run any statements, with a logger that
+   * discards everything.
+   * @return an execution context.
+   */
+  public static ExecutionContext newExecutionContext()
+  {
+    return newExecutionContext(newTestContext(newAppContext(new NullLogger(), null), ""));
+  }
+
+  /**
+   * Returns the metadata of a statement of a test, for the expected results of the statement.
+   * @param xContext the execution context of the test.
+   * @return the metadata of a statement.
+   */
+  public static OperationMetadata newOperationMetadata(ExecutionContext xContext)
+  {
+    return new OperationMetadata("SELECT * FROM benchmark;", xContext.getTestFile(), 1, TestPhase.TEST);
+  }
+}
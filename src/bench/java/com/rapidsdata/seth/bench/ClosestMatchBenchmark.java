@@ -0,0 +1,65 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.plan.expectedResults.ActualRow;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedRow;
+import com.rapidsdata.seth.plan.expectedResults.RowComparator;
+import com.rapidsdata.seth.plan.expectedResults.ScoredExpectedRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to find the expected rows that are closest to an actual row that
+ * doesn't match any of them, which is done once when a result doesn't match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClosestMatchBenchmark
+{
+  /** The number of closest rows to find, the same as the expected results use. */
+  private static final int MAX_CLOSEST_MATCHES = 3;
+
+  @Param({"10", "1000", "100000"})
+  public int numExpectedRows;
+
+  private RowComparator comparator;
+  private List<ExpectedRow> expectedRows;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException
+  {
+    // The actual row is one that isn't in the list of expected rows.
+    InMemoryResultSet rs = SyntheticResults.resultSet(1, SyntheticResults.Order.SAME);
+    ActualRow row = new ActualRow(rs);
+    row.next();
+
+    comparator = RowComparator.compile(row, Options.listOf(new Options()));
+    expectedRows = SyntheticResults.expectedRows(numExpectedRows + 1).subList(1, numExpectedRows + 1);
+  }
+
+  @Benchmark
+  public List<ScoredExpectedRow> findClosestMatch() throws SQLException
+  {
+    return ExpectedRow.findClosestMatchOf(expectedRows, comparator, MAX_CLOSEST_MATCHES);
+  }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.jdbc.fake.FakeColumn;
+import com.rapidsdata.seth.plan.expectedResults.ComparableFloat;
+import com.rapidsdata.seth.plan.expectedResults.ComparableInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the comparison of floating point values to the precision they were written with, and
+ * the parsing of interval values from a result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparableBenchmark
+{
+  @State(Scope.Thread)
+  public static class FloatState
+  {
+    @Param({"1.5", "3.14159265358979", "6.02214076e23"})
+    public String expectedFloat;
+
+    private ComparableFloat comparableFloat;
+    private double actualDouble;
+    private String actualString;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+      comparableFloat = new ComparableFloat(expectedFloat);
+      actualDouble = Double.parseDouble(expectedFloat);
+      actualString = Double.toString(actualDouble);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class IntervalState
+  {
+    @Param({"INTERVAL '1-6' YEAR TO MONTH", "INTERVAL '3 04:05:06.789' DAY TO SECOND"})
+    public String interval;
+
+    private InMemoryResultSet intervalResult;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException
+    {
+      FakeColumn column = new FakeColumn("i", Types.JAVA_OBJECT, "interval");
+      intervalResult = new InMemoryResultSet(Collections.singletonList(column),
+                                             Collections.singletonList(new Object[] { interval }));
+      intervalResult.next();
+
+      if (ComparableInterval.fromResultSet(intervalResult, 1) == null) {
+        throw new IllegalArgumentException("Not a valid interval: " + interval);
+      }
+    }
+  }
+
+  @Benchmark
+  public boolean floatComparesToDouble(FloatState state)
+  {
+    return state.comparableFloat.comparesTo(state.actualDouble);
+  }
+
+  @Benchmark
+  public boolean floatComparesToString(FloatState state)
+  {
+    return state.comparableFloat.comparesTo(state.actualString);
+  }
+
+  @Benchmark
+  public ComparableInterval intervalFromResultSet(IntervalState state)
+  {
+    return ComparableInterval.fromResultSet(state.intervalResult, 1);
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.contexts.ExecutionContextImpl;
+import com.rapidsdata.seth.contexts.TestContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.plan.CreateThreadOp;
+import com.rapidsdata.seth.plan.OperationMetadata;
+import com.rapidsdata.seth.plan.Plan;
+import com.rapidsdata.seth.plan.TestPhase;
+import com.rapidsdata.seth.plan.expectedResults.SuccessExpectedResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to create the threads of a test with the create thread command, and
+ * how long it takes for them to run a thread that has no statements to the end.
+ *
+ * Each thread connects through the connection pool to a driver that does nothing, waits for the
+ * test to end and then exits, so this is the fixed cost that SETH adds to every thread of a test.
+ * Each measurement is a single create thread command, since the threads can only be created once
+ * for each test.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateThreadBenchmark
+{
+  @Param({"100", "500", "1000", "5000"})
+  public int numThreads;
+
+  @Param({"PLATFORM"})
+  public ThreadKind threadKind;
+
+  private ExecutorService threadPool;
+  private AppContext appContext;
+
+  /** The test that creates the threads in the current iteration. */
+  private TestContext testContext;
+
+  /** The thread of the test that executes the create thread command. */
+  private ExecutionContext xContext;
+
+  /** The threads created in the current iteration. */
+  private List<Future<?>> childFutures;
+
+  private CreateThreadOp createThreadOp;
+
+  @Setup(Level.Trial)
+  public void setUp()
+  {
+    threadPool = threadKind.newExecutor();
+    ConnectionPool connectionPool = new ConnectionPool(new NullDriver(), 0, 0, 0, null, 0, 0, 0);
+    appContext = BenchmarkContexts.newAppContext(new NullLogger(), threadPool, connectionPool);
+  }
+
+  @Setup(Level.Iteration)
+  public void startTest()
+  {
+    testContext = BenchmarkContexts.newTestContext(appContext, "");
+    childFutures = new LinkedList<>();
+    xContext = new ExecutionContextImpl(testContext, childFutures, new HashMap<>(), new IdentityHashMap<>(), null);
+
+    OperationMetadata metadata = new OperationMetadata("create " + numThreads + " threads", testContext.getTestFile(), 1, TestPhase.TEST);
+    Plan subPlan = new Plan(testContext.getTestFile(), Collections.emptyList(), Collections.emptyList());
+
+    createThreadOp = new CreateThreadOp(metadata,
+                                        new SuccessExpectedResult("success", metadata, appContext, new Options()),
+                                        numThreads,
+                                        0,
+                                        subPlan);
+  }
+
+  @TearDown(Level.Iteration)
+  public void endTest() throws InterruptedException, ExecutionException
+  {
+    finishTest();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException
+  {
+    threadPool.shutdown();
+    threadPool.awaitTermination(60, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public void createThreads() throws FailureException
+  {
+    createThreadOp.execute(xContext);
+  }
+
+  @Benchmark
+  public void createAndFinishThreads() throws FailureException, InterruptedException, ExecutionException
+  {
+    createThreadOp.execute(xContext);
+    finishTest();
+  }
+
+  /**
+   * Ends the test and waits for all the threads that were created to exit.
+   */
+  private void finishTest() throws InterruptedException, ExecutionException
+  {
+    testContext.markAsSucceeded();
+
+    for (Future<?> future : childFutures) {
+      future.get();
+    }
+
+    childFutures.clear();
+  }
+}
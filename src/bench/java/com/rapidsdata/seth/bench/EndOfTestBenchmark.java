@@ -0,0 +1,115 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.contexts.TestContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.exceptions.OperationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes for a failure in one thread of a test to stop all the other threads,
+ * from the time the test is marked as failed until the last thread has woken up.
+ *
+ * The threads are either waiting for the cleanup phase, as a thread does when it has finished its
+ * statements, or waiting at a synchronise command for all the active threads. Each measurement is
+ * a single test failing, since a test can only fail once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndOfTestBenchmark
+{
+  /** Where the threads are waiting when the test fails. */
+  public enum WaitIn
+  {
+    CLEANUP,
+    SYNCHRONISE
+  }
+
+  /** The shortest time to let the threads block before the test fails. */
+  private static final long MIN_SETTLE_MS = 10;
+
+  @Param({"100", "500", "1000", "5000"})
+  public int numThreads;
+
+  @Param({"PLATFORM"})
+  public ThreadKind threadKind;
+
+  @Param({"CLEANUP", "SYNCHRONISE"})
+  public WaitIn waitIn;
+
+  private AppContext appContext;
+  private ThreadGang gang;
+
+  /** The test that is failed in the current iteration. */
+  private volatile TestContext testContext;
+
+  /** The failure of the test in the current iteration. */
+  private FailureException failure;
+
+  @Setup(Level.Trial)
+  public void setUp()
+  {
+    appContext = BenchmarkContexts.newAppContext(new NullLogger(), null);
+
+    gang = new ThreadGang(numThreads, threadKind, index -> {
+      TestContext ctx = testContext;
+
+      if (waitIn == WaitIn.CLEANUP) {
+        ctx.waitForCleanup();
+      } else {
+        ctx.getOrCreateSyncObject("default").await(-1, 1, ctx::continueTesting);
+      }
+    });
+  }
+
+  @Setup(Level.Iteration)
+  public void startTest() throws InterruptedException
+  {
+    testContext = BenchmarkContexts.newTestContext(appContext, "");
+    failure = new OperationException("The benchmark failed the test.", testContext.getTestFile());
+
+    // The thread that fails the test is also an active thread, so the synchronise is never released.
+    for (int i = 0; i <= numThreads; i++) {
+      testContext.incrementActiveThreads();
+    }
+
+    gang.startRound();
+    gang.awaitStarted();
+
+    // Give the threads time to block, so that the failure has to wake them all.
+    Thread.sleep(Math.max(MIN_SETTLE_MS, numThreads / 50));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    gang.close();
+  }
+
+  @Benchmark
+  public void markAsFailed()
+  {
+    testContext.markAsFailed(failure);
+    gang.awaitRound();
+  }
+}
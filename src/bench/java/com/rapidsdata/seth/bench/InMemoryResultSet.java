@@ -0,0 +1,43 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.jdbc.fake.FakeColumn;
+import com.rapidsdata.seth.jdbc.fake.FakeResultSet;
+
+import java.util.List;
+
+/**
+ * A forward-only ResultSet over rows held in memory, so that the comparison of actual results to
+ * expected results can be benchmarked without a database. The same ResultSet can be read again
+ * after calling reset(), so that building the rows isn't part of what is measured.
+ */
+public class InMemoryResultSet extends FakeResultSet
+{
+  /** The values of each row. */
+  private final List<Object[]> rows;
+
+  /**
+   * Constructor
+   * @param columns the columns of the result.
+   * @param rows the values of each row, in column order.
+   */
+  public InMemoryResultSet(List<FakeColumn> columns, List<Object[]> rows)
+  {
+    super(columns, rows.size());
+    this.rows = rows;
+  }
+
+  @Override
+  public InMemoryResultSet reset()
+  {
+    super.reset();
+    return this;
+  }
+
+  @Override
+  protected Object valueAt(int rowIndex, int columnIndex)
+  {
+    return rows.get(rowIndex)[columnIndex];
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * A JDBC driver whose connections do nothing, so that the threads of a test can connect without
+ * a database. A connection is always valid and never closed, and every other method returns
+ * null, zero or false.
+ */
+public class NullDriver implements Driver
+{
+  @Override
+  public Connection connect(String url, Properties info) throws SQLException
+  {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                               new Class<?>[] { Connection.class },
+                                               NullDriver::invoke);
+  }
+
+  @Override
+  public boolean acceptsURL(String url) throws SQLException
+  {
+    return true;
+  }
+
+  @Override
+  public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException
+  {
+    return new DriverPropertyInfo[0];
+  }
+
+  @Override
+  public int getMajorVersion()
+  {
+    return 1;
+  }
+
+  @Override
+  public int getMinorVersion()
+  {
+    return 0;
+  }
+
+  @Override
+  public boolean jdbcCompliant()
+  {
+    return false;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException
+  {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  /**
+   * Handles a call to a method of a connection.
+   * @param proxy the connection.
+   * @param method the method called.
+   * @param args the arguments of the call.
+   * @return the value that the method returns.
+   */
+  private static Object invoke(Object proxy, Method method, Object[] args)
+  {
+    switch (method.getName()) {
+      case "isValid":
+        return true;
+
+      case "equals":
+        return proxy == args[0];
+
+      case "hashCode":
+        return System.identityHashCode(proxy);
+
+      case "toString":
+        return "NullConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+
+      default:
+        break;
+    }
+
+    Class<?> type = method.getReturnType();
+
+    if (!type.isPrimitive() || type == void.class) {
+      return null;
+    }
+
+    if (type == boolean.class) {
+      return false;
+    }
+
+    if (type == long.class) {
+      return 0L;
+    }
+
+    return 0;
+  }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.logging.TestLogger;
+
+/**
+ * A logger that discards everything, so that logging isn't part of what a benchmark measures.
+ */
+public class NullLogger implements TestLogger
+{
+  @Override
+  public void testValidating(TestableFile testFile)
+  {
+  }
+
+  @Override
+  public void testSkipping(TestableFile testFile)
+  {
+  }
+
+  @Override
+  public void testExecuting(TestableFile testFile)
+  {
+  }
+
+  @Override
+  public void testExecutionFinished(TestableFile testFile, TestResult result)
+  {
+  }
+
+  @Override
+  public void testStepExecuting(TestableFile testFile, String command, long lineNum)
+  {
+  }
+
+  @Override
+  public void log(String msg)
+  {
+  }
+
+  @Override
+  public void log(String msg, boolean indent)
+  {
+  }
+
+  @Override
+  public void warning(String msg)
+  {
+  }
+
+  @Override
+  public void error(String msg)
+  {
+  }
+
+  @Override
+  public void close()
+  {
+  }
+}
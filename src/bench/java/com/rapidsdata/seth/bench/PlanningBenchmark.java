@@ -0,0 +1,138 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.SethVariables;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.contexts.TestContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.exceptions.PlanningException;
+import com.rapidsdata.seth.plan.Plan;
+import com.rapidsdata.seth.plan.TestPlanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the planning of a synthetic test file, which includes parsing it, and the replacement
+ * of variable references in a statement, which is done for every statement as it is planned.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanningBenchmark
+{
+  @State(Scope.Thread)
+  public static class PlanState
+  {
+    /** The number of statements in the synthetic test file. */
+    @Param({"100", "1000", "10000"})
+    public int numStatements;
+
+    private TestContext testContext;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+      testContext = BenchmarkContexts.newTestContext(BenchmarkContexts.newAppContext(new NullLogger(), null),
+                                                     syntheticTest(numStatements));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class VarRefState
+  {
+    /** The number of variable references in the statement. */
+    @Param({"0", "1", "8"})
+    public int numVarRefs;
+
+    private SethVariables variables;
+    private TestableFile testableFile;
+    private String statement;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+      Map<String,String> values = new HashMap<>();
+      StringBuilder sb = new StringBuilder("SELECT id, name FROM customers WHERE region = 'north'");
+
+      for (int i = 0; i < numVarRefs; i++) {
+        values.put("var" + i, "value" + i);
+        sb.append(" AND col").append(i).append(" = '${var").append(i).append("}'");
+      }
+
+      variables = new SethVariables(null);
+      variables.putAll(values);
+      statement = sb.append(";").toString();
+      testableFile = new TestableFile(statement);
+    }
+  }
+
+  @Benchmark
+  public Plan planTest(PlanState state) throws FailureException, FileNotFoundException, PlanningException
+  {
+    TestPlanner planner = new TestPlanner(state.testContext);
+    return planner.newPlanFor(state.testContext.getTestFile(), new ArrayList<TestableFile>(), null);
+  }
+
+  @Benchmark
+  public String evaluateVarRefs(VarRefState state) throws FailureException
+  {
+    return state.variables.evaluateVarRefs(state.statement, Options.BadVarRefHandler.ERROR, state.testableFile, 1);
+  }
+
+  /**
+   * Returns a test file of the given number of statements, with a mix of statements that check
+   * the rows, the number of rows affected and the failure of the statement.
+   * @param numStatements the number of statements.
+   * @return the test file.
+   */
+  private static String syntheticTest(int numStatements)
+  {
+    StringBuilder sb = new StringBuilder(numStatements * 64);
+
+    for (int i = 0; i < numStatements; i++) {
+      switch (i % 4) {
+        case 0:
+          sb.append("SELECT id, name, amount FROM t").append(i).append(" WHERE id < ").append(i).append(";\n")
+            .append("unordered rows: (1, 'a', 1.5), (2, 'b', 2.5), (").append(i).append(", 'c', 3.25);\n");
+          break;
+
+        case 1:
+          sb.append("UPDATE t").append(i).append(" SET amount = amount + 1 WHERE id = ").append(i).append(";\n")
+            .append("affected: 1\n");
+          break;
+
+        case 2:
+          sb.append("SELECT COUNT(*) FROM t").append(i).append(";\n")
+            .append("rows: (").append(i).append(")\n");
+          break;
+
+        default:
+          sb.append("DROP TABLE t").append(i).append(";\n")
+            .append("failure\n");
+          break;
+      }
+    }
+
+    return sb.toString();
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.plan.OperationMetadata;
+import com.rapidsdata.seth.plan.expectedResults.ContainsRowsExpectedResult;
+import com.rapidsdata.seth.plan.expectedResults.UnorderedRowsExpectedResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to compare a whole result to an unordered list of expected rows,
+ * and to check that a result contains a list of expected rows, which is one row in every hundred.
+ * The result is read from memory, so this is only the time spent by SETH.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ResultMatchBenchmark
+{
+  @Param({"1000", "100000", "1000000"})
+  public int numRows;
+
+  @Param({"SAME", "REVERSED", "SHUFFLED"})
+  public SyntheticResults.Order order;
+
+  private ExecutionContext xContext;
+  private InMemoryResultSet actual;
+  private UnorderedRowsExpectedResult unorderedRows;
+  private ContainsRowsExpectedResult containsRows;
+
+  @Setup(Level.Trial)
+  public void setUp()
+  {
+    xContext = BenchmarkContexts.newExecutionContext();
+    OperationMetadata metadata = BenchmarkContexts.newOperationMetadata(xContext);
+
+    actual = SyntheticResults.resultSet(numRows, order);
+
+    unorderedRows = new UnorderedRowsExpectedResult("unordered rows", metadata, xContext, new Options(),
+                                                    SyntheticResults.expectedRows(numRows), null);
+
+    containsRows = new ContainsRowsExpectedResult("contains rows", metadata, xContext, new Options(), false,
+                                                  SyntheticResults.expectedRows(numRows, 100));
+  }
+
+  @Benchmark
+  public void unorderedRows() throws FailureException
+  {
+    unorderedRows.assertActualAsResultSet(xContext, actual.reset(), null);
+  }
+
+  @Benchmark
+  public void containsRows() throws FailureException
+  {
+    containsRows.assertActualAsResultSet(xContext, actual.reset(), null);
+  }
+}
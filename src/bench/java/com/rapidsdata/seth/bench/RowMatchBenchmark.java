@@ -0,0 +1,121 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.jdbc.fake.FakeColumn;
+import com.rapidsdata.seth.plan.expectedResults.ActualRow;
+import com.rapidsdata.seth.plan.expectedResults.ComparableFloat;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedColumnType;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedRow;
+import com.rapidsdata.seth.plan.expectedResults.RowComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to compare one expected row to the current row of a result, for
+ * each type of column. This is the innermost step of comparing any result that has rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMatchBenchmark
+{
+  @Param({"INTEGER", "DECIMAL", "FLOAT", "STRING"})
+  public ExpectedColumnType columnType;
+
+  @Param({"1", "8"})
+  public int numColumns;
+
+  private RowComparator comparator;
+  private ExpectedRow matchingRow;
+  private ExpectedRow differentRow;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException
+  {
+    List<FakeColumn> columns = new ArrayList<>();
+    List<ExpectedColumnType> columnDefs = new ArrayList<>();
+    Object[] actualValues = new Object[numColumns];
+    List<Object> matchingValues = new ArrayList<>();
+    List<Object> differentValues = new ArrayList<>();
+
+    for (int i = 0; i < numColumns; i++) {
+      columnDefs.add(columnType);
+
+      switch (columnType) {
+        case INTEGER:
+          columns.add(new FakeColumn("c" + i, Types.BIGINT, "BIGINT"));
+          actualValues[i] = 1234567L + i;
+          matchingValues.add(1234567L + i);
+          differentValues.add(7654321L + i);
+          break;
+
+        case DECIMAL:
+          columns.add(new FakeColumn("c" + i, Types.DECIMAL, "DECIMAL"));
+          actualValues[i] = new BigDecimal("12345.67").add(BigDecimal.valueOf(i));
+          matchingValues.add(new BigDecimal("12345.67").add(BigDecimal.valueOf(i)));
+          differentValues.add(new BigDecimal("76543.21").add(BigDecimal.valueOf(i)));
+          break;
+
+        case FLOAT:
+          columns.add(new FakeColumn("c" + i, Types.DOUBLE, "DOUBLE"));
+          actualValues[i] = 1234.5678d + i;
+          matchingValues.add(new ComparableFloat(Double.toString(1234.5678d + i)));
+          differentValues.add(new ComparableFloat(Double.toString(8765.4321d + i)));
+          break;
+
+        case STRING:
+          columns.add(new FakeColumn("c" + i, Types.VARCHAR, "VARCHAR"));
+          actualValues[i] = "a string of a typical length " + i;
+          matchingValues.add("a string of a typical length " + i);
+          differentValues.add("a string of a typical length " + (i + 1));
+          break;
+
+        default:
+          throw new IllegalArgumentException("Unsupported column type: " + columnType);
+      }
+    }
+
+    InMemoryResultSet rs = new InMemoryResultSet(columns, Collections.singletonList(actualValues));
+    ActualRow row = new ActualRow(rs);
+    row.next();
+
+    comparator = RowComparator.compile(row, Options.listOf(new Options()));
+    matchingRow = new ExpectedRow(columnDefs, matchingValues, null);
+    differentRow = new ExpectedRow(columnDefs, differentValues, null);
+  }
+
+  @Benchmark
+  public boolean matchingRow() throws SQLException
+  {
+    return comparator.matches(matchingRow);
+  }
+
+  @Benchmark
+  public boolean differentRow() throws SQLException
+  {
+    return comparator.matches(differentRow);
+  }
+}
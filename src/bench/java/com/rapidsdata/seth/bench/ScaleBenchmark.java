@@ -0,0 +1,267 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.Seth;
+import com.rapidsdata.seth.results.ResultSummary;
+import org.apache.commons.io.FileUtils;
+import org.kohsuke.args4j.CmdLineException;
+import org.kohsuke.args4j.CmdLineParser;
+import org.kohsuke.args4j.Option;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs generated corpora of test files through SETH, end to end, against an embedded H2 database
+ * in this process, and writes what was measured to a JSON baseline so that builds of SETH can be
+ * compared at a realistic scale. See ScaleScenario for the corpora.
+ *
+ * Run it from the benchmarks jar, e.g.
+ * "java -Xmx4g -cp target/benchmarks.jar com.rapidsdata.seth.bench.ScaleBenchmark --label my-change".
+ */
+public class ScaleBenchmark
+{
+  @Option(name      = "-u",
+          required  = false,
+          usage     = "The JDBC url of the database to run the tests against. The default is \"jdbc:h2:mem:\", " +
+                      "which gives each connection its own private in-memory database.")
+  public String url = "jdbc:h2:mem:";
+
+  @Option(name      = "--workdir",
+          required  = false,
+          usage     = "The directory to write the test files and SETH's results to. The default is \"target/scale\".")
+  public File workDir = new File("target", "scale");
+
+  @Option(name      = "--baseline",
+          required  = false,
+          usage     = "The JSON file to write the measurements to. The default is \"scale-baseline.json\" in the workdir.")
+  public File baselineFile = null;
+
+  @Option(name      = "--scenario",
+          required  = false,
+          usage     = "A scenario to run: small-files, large-results, include-chains or threads. May be given " +
+                      "more than once. The default is to run all of them.")
+  public List<String> scenarioNames = new ArrayList<>();
+
+  @Option(name      = "--scale",
+          required  = false,
+          usage     = "The factor to multiply the size of each scenario by, e.g. 0.1 for a quick run. The default is 1.")
+  public double scale = 1.0;
+
+  @Option(name      = "--label",
+          required  = false,
+          usage     = "A label for the build of SETH being measured, e.g. a commit hash, which is written to the baseline.")
+  public String label = null;
+
+  @Option(name      = "--sethargs",
+          required  = false,
+          usage     = "Extra options to pass to SETH for every scenario, e.g. \"--parallel 4 --connpool 8\".")
+  public String sethArgs = null;
+
+  public static void main(String[] arguments) throws IOException
+  {
+    ScaleBenchmark benchmark = new ScaleBenchmark();
+    CmdLineParser parser = new CmdLineParser(benchmark);
+    List<ScaleScenario> scenarios;
+
+    try {
+      parser.parseArgument(arguments);
+      scenarios = benchmark.chooseScenarios(parser);
+
+    } catch (CmdLineException e) {
+      System.err.println(e.getMessage());
+      System.err.println("Options are:");
+      parser.printUsage(System.err);
+      System.exit(1);
+      return;
+    }
+
+    List<ScaleMeasurement> measurements = new ArrayList<>();
+
+    for (ScaleScenario scenario : scenarios) {
+      measurements.add(benchmark.run(scenario));
+    }
+
+    File baselineFile = (benchmark.baselineFile != null ? benchmark.baselineFile : new File(benchmark.workDir, "scale-baseline.json"));
+    benchmark.writeBaseline(baselineFile, measurements);
+
+    System.out.println();
+    for (ScaleMeasurement measurement : measurements) {
+      System.out.println(measurement.describe());
+    }
+    System.out.println("The measurements have been written to " + baselineFile.getPath());
+
+    for (ScaleMeasurement measurement : measurements) {
+      if (measurement.getNumTestsFailed() > 0) {
+        System.err.println("Some tests failed, so the measurements are not comparable to a successful run.");
+        System.exit(1);
+      }
+    }
+  }
+
+  /**
+   * Returns the scenarios to run.
+   * @param parser the parser of the command line.
+   * @return the scenarios to run.
+   * @throws CmdLineException if an option is invalid.
+   */
+  private List<ScaleScenario> chooseScenarios(CmdLineParser parser) throws CmdLineException
+  {
+    if (!(scale > 0.0)) {
+      throw new CmdLineException(parser, "The \"--scale\" parameter must have a value > 0.", null);
+    }
+
+    if (scenarioNames.isEmpty()) {
+      return Arrays.asList(ScaleScenario.values());
+    }
+
+    List<ScaleScenario> scenarios = new ArrayList<>();
+
+    for (String name : scenarioNames) {
+      ScaleScenario found = null;
+
+      for (ScaleScenario scenario : ScaleScenario.values()) {
+        if (scenario.getName().equalsIgnoreCase(name)) {
+          found = scenario;
+        }
+      }
+
+      if (found == null) {
+        throw new CmdLineException(parser, "Unknown scenario \"" + name + "\".", null);
+      }
+
+      scenarios.add(found);
+    }
+
+    return scenarios;
+  }
+
+  /**
+   * Writes the test files of a scenario and runs them through SETH.
+   * @param scenario the scenario to run.
+   * @return what was measured.
+   * @throws IOException if the test files could not be written.
+   */
+  private ScaleMeasurement run(ScaleScenario scenario) throws IOException
+  {
+    File testDir = new File(workDir, scenario.getName());
+    File resultDir = new File(new File(workDir, "results"), scenario.getName());
+
+    FileUtils.deleteDirectory(testDir);
+    FileUtils.deleteDirectory(resultDir);
+    Files.createDirectories(testDir.toPath());
+
+    System.out.println("Writing the test files of the " + scenario.getName() + " scenario to " + testDir.getPath());
+    List<File> testFiles = scenario.writeTo(testDir, scale);
+
+    List<String> args = new ArrayList<>(Arrays.asList("-u", url, "--resultdir", resultDir.getPath(), "--phasetimes"));
+
+    if (sethArgs != null && !sethArgs.trim().isEmpty()) {
+      args.addAll(Arrays.asList(sethArgs.trim().split("\\s+")));
+    }
+
+    for (File testFile : testFiles) {
+      args.add(testFile.getPath());
+    }
+
+    // Start each scenario with as little garbage as possible, so that they don't affect each other.
+    System.gc();
+
+    ScaleMeasurement measurement = new ScaleMeasurement(scenario, testFiles.size());
+    measurement.start();
+    ResultSummary summary = Seth.start(args.toArray(new String[0]));
+    measurement.stop(summary);
+
+    return measurement;
+  }
+
+  /**
+   * Writes the measurements to a JSON file, with a description of the environment they were taken in.
+   * @param file the file to write.
+   * @param measurements the measurements of each scenario.
+   * @throws IOException if the file could not be written.
+   */
+  private void writeBaseline(File file, List<ScaleMeasurement> measurements) throws IOException
+  {
+    String nl = System.lineSeparator();
+    StringBuilder json = new StringBuilder(4096);
+
+    json.append("{").append(nl);
+    json.append("  \"label\": ").append(jsonString(label)).append(",").append(nl);
+    json.append("  \"started\": ").append(jsonString(Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()).toString())).append(",").append(nl);
+    json.append("  \"java\": ").append(jsonString(System.getProperty("java.vm.vendor") + " " +
+                                                   System.getProperty("java.vm.name") + " " +
+                                                   System.getProperty("java.version"))).append(",").append(nl);
+    json.append("  \"os\": ").append(jsonString(System.getProperty("os.name") + " " +
+                                                 System.getProperty("os.version") + " " +
+                                                 System.getProperty("os.arch"))).append(",").append(nl);
+    json.append("  \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",").append(nl);
+    json.append("  \"max_heap_mb\": ").append(Runtime.getRuntime().maxMemory() / (1024 * 1024)).append(",").append(nl);
+    json.append("  \"jvm_args\": ").append(jsonString(String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()))).append(",").append(nl);
+    json.append("  \"url\": ").append(jsonString(url)).append(",").append(nl);
+    json.append("  \"scale\": ").append(String.format(Locale.ROOT, "%s", scale)).append(",").append(nl);
+    json.append("  \"seth_args\": ").append(jsonString(sethArgs)).append(",").append(nl);
+    json.append("  \"scenarios\": [").append(nl);
+
+    for (int i = 0; i < measurements.size(); i++) {
+      measurements.get(i).appendJson(json, "    ");
+      json.append(i + 1 < measurements.size() ? "," : "").append(nl);
+    }
+
+    json.append("  ]").append(nl);
+    json.append("}").append(nl);
+
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null) {
+      Files.createDirectories(parent.toPath());
+    }
+
+    Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns a string as a JSON value.
+   * @param value the string, or null.
+   * @return the string as a JSON value.
+   */
+  private static String jsonString(String value)
+  {
+    if (value == null) {
+      return "null";
+    }
+
+    StringBuilder sb = new StringBuilder(value.length() + 2);
+    sb.append('"');
+
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+
+      switch (c) {
+        case '"':  sb.append("\\\""); break;
+        case '\\': sb.append("\\\\"); break;
+        case '\n': sb.append("\\n");  break;
+        case '\r': sb.append("\\r");  break;
+        case '\t': sb.append("\\t");  break;
+
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+          break;
+      }
+    }
+
+    return sb.append('"').toString();
+  }
+}
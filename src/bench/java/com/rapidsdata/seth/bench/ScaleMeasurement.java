@@ -0,0 +1,171 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.latency.PhaseTimes;
+import com.rapidsdata.seth.results.ResultSummary;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What was measured while SETH ran one scenario of ScaleBenchmark: the wall time, the peak heap
+ * used, the time spent collecting garbage, the time spent in each phase of running the tests and
+ * how many tests passed.
+ */
+public class ScaleMeasurement
+{
+  private final ScaleScenario scenario;
+  private final int numFiles;
+
+  private long startNs;
+  private long startGcMs;
+  private long startGcCount;
+
+  private long wallNs;
+  private long peakHeapBytes;
+  private long gcMs;
+  private long gcCount;
+  private final long[] phaseNs = new long[PhaseTimes.Phase.values().length];
+
+  private long numTestsPassed;
+  private long numTestsFailed;
+  private long numStepsExecuted;
+
+  /**
+   * Constructor
+   * @param scenario the scenario being measured.
+   * @param numFiles the number of test files in the scenario.
+   */
+  public ScaleMeasurement(ScaleScenario scenario, int numFiles)
+  {
+    this.scenario = scenario;
+    this.numFiles = numFiles;
+  }
+
+  /**
+   * Starts measuring. The peak heap usage is reset, so this should follow a garbage collection.
+   */
+  public void start()
+  {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+
+    startGcMs = totalGcMs();
+    startGcCount = totalGcCount();
+    startNs = System.nanoTime();
+  }
+
+  /**
+   * Stops measuring.
+   * @param summary the results of the tests that SETH ran.
+   */
+  public void stop(ResultSummary summary)
+  {
+    wallNs = System.nanoTime() - startNs;
+    gcMs = totalGcMs() - startGcMs;
+    gcCount = totalGcCount() - startGcCount;
+
+    // The peaks of the separate pools may have happened at different times, so their sum is an upper bound.
+    peakHeapBytes = 0;
+
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        peakHeapBytes += pool.getPeakUsage().getUsed();
+      }
+    }
+
+    // SETH starts the phase times from zero on each run.
+    for (PhaseTimes.Phase phase : PhaseTimes.Phase.values()) {
+      phaseNs[phase.ordinal()] = PhaseTimes.getTotalNs(phase);
+    }
+
+    numTestsPassed = summary.getNumTestsPassed();
+    numTestsFailed = summary.getNumTestsFailed() + summary.getNumTestsAborted();
+    numStepsExecuted = summary.getNumStepsExecuted();
+  }
+
+  /**
+   * Returns the number of tests that failed or were aborted.
+   * @return the number of tests that failed or were aborted.
+   */
+  public long getNumTestsFailed()
+  {
+    return numTestsFailed;
+  }
+
+  /**
+   * Returns a one line description of the measurement.
+   * @return a one line description of the measurement.
+   */
+  public String describe()
+  {
+    return String.format(Locale.ROOT, "%s: %d files in %.3f s, peak heap %.1f MB, GC %d ms (%d collections), %d passed, %d failed.",
+                         scenario.getName(), numFiles, wallNs / 1e9, peakHeapBytes / (1024.0 * 1024.0), gcMs, gcCount,
+                         numTestsPassed, numTestsFailed);
+  }
+
+  /**
+   * Appends the measurement to a JSON document, as an object.
+   * @param json the JSON document.
+   * @param indent the indentation of the object.
+   */
+  public void appendJson(StringBuilder json, String indent)
+  {
+    json.append(indent).append("{").append(System.lineSeparator());
+    json.append(indent).append("  \"scenario\": \"").append(scenario.getName()).append("\",").append(System.lineSeparator());
+    json.append(indent).append("  \"files\": ").append(numFiles).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"wall_ms\": ").append(millis(wallNs)).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"peak_heap_mb\": ")
+        .append(String.format(Locale.ROOT, "%.1f", peakHeapBytes / (1024.0 * 1024.0))).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"gc_ms\": ").append(gcMs).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"gc_count\": ").append(gcCount).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"phase_ms\": {");
+
+    String separator = "";
+    for (PhaseTimes.Phase phase : PhaseTimes.Phase.values()) {
+      json.append(separator).append("\"").append(phase.getName()).append("\": ").append(millis(phaseNs[phase.ordinal()]));
+      separator = ", ";
+    }
+
+    json.append("},").append(System.lineSeparator());
+    json.append(indent).append("  \"tests_passed\": ").append(numTestsPassed).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"tests_failed\": ").append(numTestsFailed).append(",").append(System.lineSeparator());
+    json.append(indent).append("  \"steps_executed\": ").append(numStepsExecuted).append(System.lineSeparator());
+    json.append(indent).append("}");
+  }
+
+  private static String millis(long ns)
+  {
+    return String.format(Locale.ROOT, "%.3f", ns / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  private static long totalGcMs()
+  {
+    long total = 0;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(gc.getCollectionTime(), 0);
+    }
+
+    return total;
+  }
+
+  private static long totalGcCount()
+  {
+    long total = 0;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(gc.getCollectionCount(), 0);
+    }
+
+    return total;
+  }
+}
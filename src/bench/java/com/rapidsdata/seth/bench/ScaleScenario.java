@@ -0,0 +1,199 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The corpora of test files that ScaleBenchmark runs through SETH against an embedded database.
+ * Each scenario writes its test files to a directory, with sizes multiplied by a scale factor so
+ * that a quick run can use a fraction of the full size.
+ */
+public enum ScaleScenario
+{
+  /** 10,000 small test files that each create a table, insert into it and query it. */
+  SMALL_FILES
+  {
+    @Override
+    public List<File> writeTo(File dir, double scale) throws IOException
+    {
+      int numFiles = scaled(10_000, scale);
+      List<File> files = new ArrayList<>(numFiles);
+
+      for (int i = 0; i < numFiles; i++) {
+        files.add(write(new File(dir, String.format("small-%05d.test", i)),
+            "create table t (id int primary key, name varchar(20));\n" +
+            "insert into t values (1, 'one'), (2, 'two'), (3, 'three');\n" +
+            "affected: 3\n" +
+            "select id, name from t order by id;\n" +
+            "ordered rows:\n" +
+            "(1, 'one')\n" +
+            "(2, 'two')\n" +
+            "(3, 'three')\n" +
+            "select count(*) from t where id > " + (i % 3) + ";\n" +
+            "rows:\n" +
+            "(" + (3 - i % 3) + ")\n"));
+      }
+
+      return files;
+    }
+  },
+
+  /** A few test files that each expect a 100 MB result, compared in order or regardless of order. */
+  LARGE_RESULTS
+  {
+    /** The padding that makes each row about 100 bytes long. */
+    private final String padding = String.join("", Collections.nCopies(70, "x"));
+
+    @Override
+    public List<File> writeTo(File dir, double scale) throws IOException
+    {
+      long bytesPerFile = (long) Math.max(1.0, 100.0 * 1024 * 1024 * scale);
+      List<File> files = new ArrayList<>();
+
+      for (String kind : Arrays.asList("ordered", "unordered", "ordered")) {
+        File file = new File(dir, String.format("large-%d-%s.test", files.size() + 1, kind));
+        boolean reversed = kind.equals("unordered");
+
+        // Work out how many rows fill the file, then write them in the right order.
+        long numRows = 0;
+
+        for (long numBytes = 0; numBytes < bytesPerFile; ) {
+          numBytes += row(++numRows).length() + 1;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+          writer.write("select x, concat('row-', x, '-" + padding + "') from system_range(1, " + numRows + ")" +
+                       (reversed ? "" : " order by x") + ";\n");
+          writer.write(kind + " rows:\n");
+
+          for (long i = 1; i <= numRows; i++) {
+            writer.write(row(reversed ? numRows + 1 - i : i));
+            writer.write('\n');
+          }
+        }
+
+        files.add(file);
+      }
+
+      return files;
+    }
+
+    /** Returns the expected row with the given id. */
+    private String row(long id)
+    {
+      return "(" + id + ", 'row-" + id + "-" + padding + "')";
+    }
+  },
+
+  /** Test files that each include a chain of 200 files, each of which includes the next. */
+  INCLUDE_CHAINS
+  {
+    @Override
+    public List<File> writeTo(File dir, double scale) throws IOException
+    {
+      int numChains = scaled(10, scale);
+      int depth = scaled(200, scale);
+      File partsDir = new File(dir, "parts");
+      Files.createDirectories(partsDir.toPath());
+
+      List<File> files = new ArrayList<>(numChains);
+
+      for (int chain = 0; chain < numChains; chain++) {
+        for (int link = 0; link < depth; link++) {
+          String next = (link + 1 < depth ? "include '" + partName(chain, link + 1) + "';\n" : "");
+
+          write(new File(partsDir, partName(chain, link)),
+              "select " + link + ";\n" +
+              "rows:\n" +
+              "(" + link + ")\n" +
+              next);
+        }
+
+        files.add(write(new File(dir, String.format("chain-%03d.test", chain)),
+            "include 'parts/" + partName(chain, 0) + "';\n"));
+      }
+
+      return files;
+    }
+
+    private String partName(int chain, int link)
+    {
+      return String.format("chain-%03d-%04d.test", chain, link);
+    }
+  },
+
+  /** A test file that creates 1000 threads, which each query the database and then synchronise. */
+  THREADS
+  {
+    @Override
+    public List<File> writeTo(File dir, double scale) throws IOException
+    {
+      int numThreads = scaled(1000, scale);
+
+      return Collections.singletonList(write(new File(dir, "threads.test"),
+          "create " + numThreads + " threads {\n" +
+          "  loop 20 {\n" +
+          "    select x, x * 2 from system_range(1, 10) order by x;\n" +
+          "    ordered rows:\n" +
+          "    (1, 2)\n" +
+          "    (2, 4)\n" +
+          "    (3, 6)\n" +
+          "    (4, 8)\n" +
+          "    (5, 10)\n" +
+          "    (6, 12)\n" +
+          "    (7, 14)\n" +
+          "    (8, 16)\n" +
+          "    (9, 18)\n" +
+          "    (10, 20)\n" +
+          "  }\n" +
+          "  synchronise;\n" +
+          "}\n" +
+          "synchronise;\n"));
+    }
+  };
+
+  /**
+   * Writes the test files of this scenario.
+   * @param dir the directory to write the test files to, which exists and is empty.
+   * @param scale the factor to multiply the size of the scenario by.
+   * @return the test files to run, not including any files that they include.
+   * @throws IOException if the test files could not be written.
+   */
+  public abstract List<File> writeTo(File dir, double scale) throws IOException;
+
+  /**
+   * Returns the name of this scenario as it is written in the baseline.
+   * @return the name of this scenario as it is written in the baseline.
+   */
+  public String getName()
+  {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  /**
+   * Returns a size multiplied by the scale factor, and at least 1.
+   * @param size the full size.
+   * @param scale the factor to multiply the size by.
+   * @return the scaled size.
+   */
+  private static int scaled(int size, double scale)
+  {
+    return (int) Math.max(1, Math.round(size * scale));
+  }
+
+  private static File write(File file, String contents) throws IOException
+  {
+    Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
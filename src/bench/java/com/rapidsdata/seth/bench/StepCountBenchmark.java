@@ -0,0 +1,73 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the contention between threads adding to the count of steps that a test executed.
+ * Each thread of a test adds its count once, as it exits. Here every thread adds to the count
+ * many times in each round, so that the contention outweighs the cost of coordinating the round.
+ * Compare to ThreadGangBenchmark.emptyRound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StepCountBenchmark
+{
+  /** The number of times each thread adds to the count of steps in each round. */
+  private static final int ADDS_PER_THREAD = 100;
+
+  @Param({"100", "500", "1000", "5000"})
+  public int numThreads;
+
+  @Param({"PLATFORM"})
+  public ThreadKind threadKind;
+
+  private TestResult testResult;
+  private ThreadGang gang;
+
+  @Setup(Level.Trial)
+  public void setUp()
+  {
+    testResult = new TestResult(new TestableFile(""), "benchmark");
+
+    gang = new ThreadGang(numThreads, threadKind, index -> {
+      for (int i = 0; i < ADDS_PER_THREAD; i++) {
+        testResult.accumulateSteps(1);
+      }
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    gang.close();
+  }
+
+  @Benchmark
+  public long accumulateSteps()
+  {
+    gang.runRound();
+    return testResult.getSteps();
+  }
+}
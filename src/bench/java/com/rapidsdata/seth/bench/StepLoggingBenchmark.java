@@ -0,0 +1,86 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.logging.ConsoleWriter;
+import com.rapidsdata.seth.logging.FileLogger;
+import com.rapidsdata.seth.logging.StepFileLogger;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes for many threads to log the test steps they execute, as they do
+ * with --logsteps. In each round every thread logs a number of steps to the same log file.
+ *
+ * The threads only put the steps in the logger's buffer, and steps are dropped when the buffer is
+ * full, so this measures the contention on the buffer rather than how fast the disk is. Compare to
+ * ThreadGangBenchmark.emptyRound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StepLoggingBenchmark
+{
+  /** The number of steps that each thread logs in each round. */
+  private static final int STEPS_PER_THREAD = 100;
+
+  @Param({"100", "500", "1000", "5000"})
+  public int numThreads;
+
+  @Param({"PLATFORM"})
+  public ThreadKind threadKind;
+
+  private File logDir;
+  private StepFileLogger logger;
+  private ThreadGang gang;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException
+  {
+    logDir = Files.createTempDirectory("seth-bench").toFile();
+    logger = new StepFileLogger(logDir, "benchmark", false, FileLogger.DEFAULT_BUFFER_SIZE, new ConsoleWriter(false, false));
+
+    TestableFile testFile = new TestableFile("");
+
+    gang = new ThreadGang(numThreads, threadKind, index -> {
+      for (int i = 0; i < STEPS_PER_THREAD; i++) {
+        logger.testStepExecuting(testFile, "select * from benchmark;", i + 1);
+      }
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException
+  {
+    gang.close();
+    logger.close();
+    FileUtils.deleteDirectory(logDir);
+  }
+
+  @Benchmark
+  public void logSteps()
+  {
+    gang.runRound();
+  }
+}
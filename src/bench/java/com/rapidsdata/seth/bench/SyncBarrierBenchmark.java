@@ -0,0 +1,67 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.contexts.SyncBarrier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes for all the threads of a test to synchronise, which is what the
+ * synchronise command does. In each round every thread waits at the same barrier, once for a
+ * given number of threads and once for all the active threads, and the round ends when the last
+ * thread has been released. Compare to ThreadGangBenchmark.emptyRound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyncBarrierBenchmark
+{
+  @Param({"100", "500", "1000", "5000"})
+  public int numThreads;
+
+  @Param({"PLATFORM"})
+  public ThreadKind threadKind;
+
+  private ThreadGang gang;
+
+  @Setup(Level.Trial)
+  public void setUp()
+  {
+    // All the threads of the gang are active threads of the test.
+    SyncBarrier barrier = new SyncBarrier("benchmark", () -> numThreads);
+
+    gang = new ThreadGang(numThreads, threadKind, index -> {
+      barrier.await(numThreads, 1, () -> true);
+      barrier.await(-1, 2, () -> true);
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+  {
+    gang.close();
+  }
+
+  @Benchmark
+  public void synchroniseTwice()
+  {
+    gang.runRound();
+  }
+}
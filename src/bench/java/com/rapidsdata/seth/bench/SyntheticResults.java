@@ -0,0 +1,134 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.jdbc.fake.FakeColumn;
+import com.rapidsdata.seth.plan.expectedResults.ComparableFloat;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedColumnType;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedRow;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic results and the expected rows that match them. Each row has an integer, a
+ * string, a floating point and a decimal column, and every row is different.
+ */
+public class SyntheticResults
+{
+  /** The order of the actual rows compared to the expected rows. */
+  public enum Order
+  {
+    SAME,
+    REVERSED,
+    SHUFFLED
+  }
+
+  /** The columns of each row. */
+  private static final List<FakeColumn> COLUMNS = Arrays.asList(
+      new FakeColumn("id",     Types.BIGINT,  "BIGINT"),
+      new FakeColumn("name",   Types.VARCHAR, "VARCHAR"),
+      new FakeColumn("amount", Types.DOUBLE,  "DOUBLE"),
+      new FakeColumn("price",  Types.DECIMAL, "DECIMAL"));
+
+  /** The types of the expected values of each row. */
+  private static final List<ExpectedColumnType> COLUMN_DEFS = Arrays.asList(
+      ExpectedColumnType.INTEGER,
+      ExpectedColumnType.STRING,
+      ExpectedColumnType.FLOAT,
+      ExpectedColumnType.DECIMAL);
+
+  /** The seed used to shuffle the rows, so that every run compares the same order. */
+  private static final long SHUFFLE_SEED = 42;
+
+  private SyntheticResults()
+  {
+  }
+
+  /**
+   * Returns a result with the given number of rows.
+   * @param numRows the number of rows.
+   * @param order the order of the rows compared to the expected rows.
+   * @return a result with the given number of rows.
+   */
+  public static InMemoryResultSet resultSet(int numRows, Order order)
+  {
+    List<Object[]> rows = new ArrayList<>(numRows);
+
+    for (int i = 0; i < numRows; i++) {
+      rows.add(actualRow(i));
+    }
+
+    switch (order) {
+      case REVERSED:
+        Collections.reverse(rows);
+        break;
+
+      case SHUFFLED:
+        Collections.shuffle(rows, new Random(SHUFFLE_SEED));
+        break;
+
+      default:
+        break;
+    }
+
+    return new InMemoryResultSet(COLUMNS, rows);
+  }
+
+  /**
+   * Returns the expected rows that match a result of the given number of rows.
+   * @param numRows the number of rows.
+   * @return the expected rows, in the same order as a result built in the SAME order.
+   */
+  public static List<ExpectedRow> expectedRows(int numRows)
+  {
+    return expectedRows(numRows, 1);
+  }
+
+  /**
+   * Returns the expected rows that match every nth row of a result of the given number of rows.
+   * @param numRows the number of rows in the result.
+   * @param step the distance between the rows that are expected.
+   * @return the expected rows.
+   */
+  public static List<ExpectedRow> expectedRows(int numRows, int step)
+  {
+    List<ExpectedRow> rows = new ArrayList<>(numRows / step + 1);
+
+    for (int i = 0; i < numRows; i += step) {
+      rows.add(expectedRow(i));
+    }
+
+    return rows;
+  }
+
+  /**
+   * Returns the values of a row of the result.
+   * @param i the number of the row.
+   * @return the values of the row.
+   */
+  public static Object[] actualRow(int i)
+  {
+    return new Object[] { (long) i, "name-" + i, i * 0.25d, BigDecimal.valueOf(i, 2) };
+  }
+
+  /**
+   * Returns the expected row that matches a row of the result.
+   * @param i the number of the row.
+   * @return the expected row.
+   */
+  public static ExpectedRow expectedRow(int i)
+  {
+    List<Object> values = Arrays.asList((long) i,
+                                        "name-" + i,
+                                        new ComparableFloat(Double.toString(i * 0.25d)),
+                                        BigDecimal.valueOf(i, 2));
+
+    return new ExpectedRow(COLUMN_DEFS, values, null);
+  }
+}
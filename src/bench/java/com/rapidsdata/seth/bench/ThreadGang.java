@@ -0,0 +1,159 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * A fixed number of threads that all run the same task once in each round, so that a benchmark
+ * can measure how long a round takes as the number of threads grows.
+ *
+ * The threads are started once and reused for every round. The start and end of each round are
+ * coordinated with a Phaser, so a round always costs something even if the task does nothing;
+ * ThreadGangBenchmark measures that cost so that it can be subtracted from the other benchmarks.
+ */
+public class ThreadGang implements Closeable
+{
+  /** The number of seconds to wait for the threads to exit when the gang is closed. */
+  private static final int CLOSE_TIMEOUT_SECS = 60;
+
+  /** The number of threads in the gang. */
+  private final int numThreads;
+
+  /** The executor that the threads run on. */
+  private final ExecutorService executor;
+
+  /** Coordinates the start and end of each round. The caller of the gang is also a party. */
+  private final Phaser phaser;
+
+  /** The number of threads that have started the task in the current round. */
+  private final AtomicInteger numStarted = new AtomicInteger();
+
+  /** The task that each thread runs in each round, which is given the index of the thread. */
+  private volatile IntConsumer task;
+
+  private volatile boolean closed = false;
+
+  /**
+   * Constructor. Starts the threads, which wait for the first round.
+   * @param numThreads the number of threads in the gang.
+   * @param threadKind the kind of threads to run the gang on.
+   * @param task the task that each thread runs in each round, which is given the index of the thread.
+   */
+  public ThreadGang(int numThreads, ThreadKind threadKind, IntConsumer task)
+  {
+    this.numThreads = numThreads;
+    this.executor = threadKind.newExecutor();
+    this.phaser = new Phaser(numThreads + 1);
+    this.task = task;
+
+    for (int i = 0; i < numThreads; i++) {
+      final int index = i;
+      executor.execute(() -> runThread(index));
+    }
+  }
+
+  /**
+   * Returns the number of threads in the gang.
+   * @return the number of threads in the gang.
+   */
+  public int getNumThreads()
+  {
+    return numThreads;
+  }
+
+  /**
+   * Changes the task that each thread runs, from the next round onwards.
+   * @param task the task that each thread runs in each round, which is given the index of the thread.
+   */
+  public void setTask(IntConsumer task)
+  {
+    this.task = task;
+  }
+
+  /**
+   * Runs one round, and returns once every thread has finished the task.
+   */
+  public void runRound()
+  {
+    startRound();
+    awaitRound();
+  }
+
+  /**
+   * Starts a round, and returns once every thread has been released to run the task.
+   */
+  public void startRound()
+  {
+    numStarted.set(0);
+    phaser.arriveAndAwaitAdvance();
+  }
+
+  /**
+   * Waits until every thread has entered the task of the current round. The threads may not yet
+   * be blocked inside the task.
+   */
+  public void awaitStarted()
+  {
+    while (numStarted.get() < numThreads) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Waits for every thread to finish the task of the current round.
+   */
+  public void awaitRound()
+  {
+    phaser.arriveAndAwaitAdvance();
+  }
+
+  /**
+   * Stops the threads and waits for them to exit. Must not be called during a round.
+   */
+  @Override
+  public void close()
+  {
+    closed = true;
+    phaser.arriveAndDeregister();
+    executor.shutdown();
+
+    try {
+      executor.awaitTermination(CLOSE_TIMEOUT_SECS, TimeUnit.SECONDS);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * The loop run by each thread of the gang.
+   * @param index the index of the thread.
+   */
+  private void runThread(int index)
+  {
+    while (true) {
+      // Wait for the round to start.
+      phaser.arriveAndAwaitAdvance();
+
+      if (closed) {
+        phaser.arriveAndDeregister();
+        return;
+      }
+
+      try {
+        numStarted.incrementAndGet();
+        task.accept(index);
+
+      } finally {
+        // Tell the caller that this thread has finished the round.
+        phaser.arriveAndAwaitAdvance();
+      }
+    }
+  }
+}
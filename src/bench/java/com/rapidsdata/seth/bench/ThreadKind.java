@@ -0,0 +1,38 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.bench;
+
+import com.rapidsdata.seth.ThreadPools;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The kind of threads that the threads of a test run on, the same as SETH chooses with and
+ * without --virtualthreads.
+ */
+public enum ThreadKind
+{
+  PLATFORM,
+  VIRTUAL;
+
+  /**
+   * Returns a new executor service that runs each task on a thread of this kind.
+   * @return a new executor service that runs each task on a thread of this kind.
+   * @throws IllegalStateException if virtual threads are not supported by the running JVM.
+   */
+  public ExecutorService newExecutor()
+  {
+    if (this == PLATFORM) {
+      return Executors.newCachedThreadPool();
+    }
+
+    ExecutorService executor = ThreadPools.newVirtualThreadPerTaskExecutor();
+
+    if (executor == null) {
+      throw new IllegalStateException("Virtual threads are not supported by this JVM. Run with -p threadKind=PLATFORM.");
+    }
+
+    return executor;
+  }
+}
@@ -26,6 +26,7 @@ sethStatement     : compoundStatements | singularStatements ;
 compoundStatements : loopStatement
                    | createThreadStatement
                    | shuffleStatement
+                   | mixStatement
                    ;
 
 singularStatements : (  sleepStatement
@@ -44,10 +45,14 @@ singularStatements : (  sleepStatement
                      ) ';' ;
 
 loopStatement       : LOOP  (countedLoopStatement | timedLoopStatement);
-timedLoopStatement  : FOR count=INT (HOURS | MINUTES | SECONDS | MILLISECONDS) statementBlock;
+timedLoopStatement  : FOR count=INT (HOURS | MINUTES | SECONDS | MILLISECONDS)
+                      (AT rate=INT PER (rateHour=HOUR | rateMinute=MINUTE | rateSecond=SECOND))? statementBlock;
 countedLoopStatement: ( loopCount=INT )? statementBlock;
-createThreadStatement : CREATE (THREAD | (threadCount=INT (THREADS | THREAD))) testFileBlock ;
+createThreadStatement : CREATE (THREAD | (threadCount=INT (THREADS | THREAD)))
+                        (RAMP rampCount=INT (HOURS | MINUTES | SECONDS | MILLISECONDS))? testFileBlock ;
 shuffleStatement    : SHUFFLE statementBlock;
+mixStatement        : MIX (SEED seed=INT)? '{' mixBranch+ '}' ;
+mixBranch           : WEIGHT weight=INT ':' statement ;
 
 sleepStatement      : SLEEP  millis=INT ;
 logStatement        : LOG  logStr=STR ;
@@ -82,14 +87,18 @@ expectedResult      : opts?
 opts                : '[' optionList ']' ;
 optionList          : opt ( ',' opt )* ;
 opt                 : optKey ( '=' optVal)? ;
-optKey              : (ID | VARIABLE_ID | STR) ;
+optKey              : (ID | VARIABLE_ID | STR | nonReservedWord) ;
 optVal              : booleanVal | integerVal | decimalVal | floatVal | stringVal | idVal ;
 
 varList             : varPair ( ',' varPair )* ;
 varPair             : varName '=' varVal ;
-varName             : (ID | VARIABLE_ID) ;
+varName             : (ID | VARIABLE_ID | nonReservedWord) ;
 varVal              : booleanVal | integerVal | decimalVal | floatVal | stringVal | idVal ;
 
+// Keywords that were added after variables and options could already be named with them,
+// so they can still be used as the names of variables and options, and as their values.
+nonReservedWord     : AT | PER | RAMP | MIX | SEED | WEIGHT ;
+
 resultFile          : RESULT FILE? ':' filePath=STR ;
 
 success             : SUCCESS ;
@@ -146,7 +155,7 @@ integerVal          : INT ;
 decimalVal          : DEC ;
 floatVal            : FLT ;
 stringVal           : STR ;
-idVal               : (ID | VARIABLE_ID) ;
+idVal               : (ID | VARIABLE_ID | nonReservedWord) ;
 dateVal             : (DATE STR) | DTE ;
 timeVal             : (TIME STR) | TME ;
 timestampVal        : (TIMESTAMP STR) | TSP ;
@@ -180,6 +189,7 @@ strList             : STR ( (',')? STR )* ;
 AFFECTED              : A F F E C T E D;
 ALL                   : A L L;
 ANY                   : A N Y;
+AT                    : A T;
 CLEANUP               : C L E A N U P;
 CONNECTION            : C O N N E C T I O N;
 CONTAINS              : C O N T A I N S;
@@ -203,6 +213,7 @@ LOOP                  : L O O P;
 MILLISECONDS          : M I L L I S E C O N D S;
 MINUTES               : M I N U T E S;
 MINUTE                : M I N U T E;
+MIX                   : M I X;
 MONTH                 : M O N T H;
 MUST                  : M U S T;
 MUTE                  : M U T E;
@@ -211,13 +222,16 @@ NULL                  : N U L L;
 OPTIONS               : O P T I O N S;
 OPTION                : O P T I O N;
 ORDERED               : O R D E R E D;
+PER                   : P E R;
 PREFIX                : P R E F I X;
 RESULT                : R E S U L T;
+RAMP                  : R A M P;
 RANGE                 : R A N G E;
 ROWS                  : R O W S;
 ROW                   : R O W;
 SECONDS               : S E C O N D S;
 SECOND                : S E C O N D;
+SEED                  : S E E D;
 SET                   : S E T;
 SHUFFLE               : S H U F F L E;
 SLEEP                 : S L E E P;
@@ -241,6 +255,7 @@ VARS                  : V A R S;
 VAR                   : V A R;
 WARNINGS              : W A R N I N G S;
 WARNING               : W A R N I N G;
+WEIGHT                : W E I G H T;
 YEAR                  : Y E A R;
 
 HINT_START            : '/*+';
@@ -3,7 +3,11 @@
 package com.rapidsdata.seth;
 
 import com.rapidsdata.seth.exceptions.InvalidResultFormatException;
+import com.rapidsdata.seth.exceptions.InvalidSchedulePolicyException;
+import com.rapidsdata.seth.jdbc.fake.FakeDriver;
+import com.rapidsdata.seth.logging.FileLogger;
 import com.rapidsdata.seth.results.ResultWriterFactory;
+import com.rapidsdata.seth.scheduling.SchedulePolicyFactory;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -19,6 +23,8 @@ import java.util.List;
 
 public class CommandLineArgs
 {
+  /** The url used when -u isn't specified. */
+  private static final String DEFAULT_URL = "jdbc:se://localhost:9123";
 
   // --validate
   // -u <connection_url>
@@ -26,15 +32,37 @@ public class CommandLineArgs
   // --resultdir <path>
   // --resultformat <type>
   // --resultname <filename>
+  // --connpool <size>
+  // --connpoolmax <size>
+  // --connpoolidle <seconds>
+  // --connpoolreset <statement>
+  // --maxconnecting <count>
+  // --stmtcache <size>
+  // --prepareafter <count>
+  // --batchdml <size>
+  // --virtualthreads
+  // --syncstats
+  // --latencyreport
+  // --phasetimes
+  // --schedule <policy>
+  // --history <path>
+  // --shard <index>/<count>
+  // --mergeresults
+  // --selfbench
+  // --workers <count>
+  // --workerport <port>
+  // --workerjvmopts <options>
   // --clean
   // --logsteps
+  // --logbuffer <size>
+  // --status
   // <list_of_test_files_to_run>
 
 
   @Option(name      = "-u",
           required  = false,
           usage     = "The JDBC connection URL to use to connect to the system under test. The default is \"jdbc:se://localhost:9123\".")
-  public String url = "jdbc:se://localhost:9123";
+  public String url = DEFAULT_URL;
 
   @Option(name      = "-f",
           required  = false,
@@ -83,6 +111,18 @@ public class CommandLineArgs
           usage     = "Log the execution of each step to a log file in the resultdir. This logs in greater detail than --logtests. Default is not to log anything to file.")
   public boolean logSteps = false;
 
+  @Option(name      = "--logbuffer",
+          required  = false,
+          usage     = "The maximum number of messages waiting to be written to the log file. If it fills up then test " +
+                      "step messages are dropped and counted rather than slowing the tests down. Default is 65536.")
+  public int logBufferSize = FileLogger.DEFAULT_BUFFER_SIZE;
+
+  @Option(name      = "--status",
+          required  = false,
+          usage     = "Show a status line with the number of tests running, finished and failed, the number of test steps " +
+                      "executed per second and an estimate of the time remaining. Default is not to show it.")
+  public boolean showStatus = false;
+
   @Option(name      = "--lognameprefix",
       required  = false,
       usage     = "A prefix that will be prepended to the name of the log file.")
@@ -126,6 +166,149 @@ public class CommandLineArgs
           usage     = "Set to a value > 1 to run a maximum of this number of tests in parallel.")
   public int parallelTests = 1;
 
+  @Option(name      = "--virtualthreads",
+          required  = false,
+          usage     = "Run tests and the threads they create on virtual threads rather than platform threads, " +
+                      "if the JVM supports them (Java 21 or later).")
+  public boolean virtualThreads = false;
+
+  @Option(name      = "--syncstats",
+          required  = false,
+          usage     = "Log how long threads waited at each synchronise barrier of a test and which synchronise " +
+                      "command was the last to arrive.")
+  public boolean syncStats = false;
+
+  @Option(name      = "--latencyreport",
+          required  = false,
+          usage     = "Time every statement and write the latency percentiles of each statement of each test " +
+                      "to latency.csv and latency.json in the result directory.")
+  public boolean latencyReport = false;
+
+  @Option(name      = "--phasetimes",
+          required  = false,
+          usage     = "Log the total time spent planning tests, connecting, executing statements, verifying their " +
+                      "results and logging, added up across all threads, at the end of the run.")
+  public boolean phaseTimes = false;
+
+  @Option(name      = "--schedule",
+          required  = false,
+          usage     = "The order in which to start tests. Valid values are listed, longest, failedfirst. " +
+                      "Default is listed.")
+  public String schedule = "listed";
+
+  @Option(name      = "--history",
+          required  = false,
+          usage     = "A file of test durations and outcomes from previous runs, used by --schedule. This is " +
+                      "either a JUnit result file (*.xml) from a previous run, which is only read, or a " +
+                      "history file, which is updated at the end of each run.")
+  public File historyFile = null;
+
+  @Option(name      = "--shard",
+          required  = false,
+          usage     = "Only run one shard of the test files, given as <index>/<count>, e.g. \"2/4\" runs the second " +
+                      "of four shards. The test files are divided between the shards in the same way by every " +
+                      "process, balanced by the durations in --history where they are known.")
+  public String shard = null;
+
+  @Option(name      = "--mergeresults",
+          required  = false,
+          usage     = "Merge the JUnit result files given as the test files into a single result file in the " +
+                      "resultdir, rather than running any tests. Used to combine the results of shards.")
+  public boolean mergeResults = false;
+
+  @Option(name      = "--selfbench",
+          required  = false,
+          usage     = "Measure the speed of SETH itself rather than a database, by running tests against the " +
+                      "built-in fake driver (url \"jdbc:sethfake:\") and logging the statements per second, rows " +
+                      "compared per second and memory allocated for each test. If no test files are given then " +
+                      "a standard set of scenarios is written to the resultdir and run.")
+  public boolean selfBench = false;
+
+  @Option(name      = "--workers",
+          required  = false,
+          usage     = "Set to a value > 0 to start this number of worker processes and run the tests in them, " +
+                      "handing out each test file to the next worker that is free. Each worker runs up to " +
+                      "--parallel tests at a time. Default is 0, which runs all tests in this process.")
+  public int workers = 0;
+
+  @Option(name      = "--workerport",
+          required  = false,
+          usage     = "The local port that the worker processes connect to. Default is 0, which uses any free port.")
+  public int workerPort = 0;
+
+  @Option(name      = "--workerjvmopts",
+          required  = false,
+          usage     = "Options to pass to the JVM of each worker process, e.g. \"-Xmx2g\".")
+  public String workerJvmOpts = null;
+
+  @Option(name      = "--worker",
+          required  = false,
+          hidden    = true,
+          usage     = "Run as a worker process, fetching test files from the local port of the coordinator.")
+  public int coordinatorPort = 0;
+
+  /** The arguments that the application was started with. */
+  public String[] arguments = null;
+
+  /** The 1-based index of the shard to run, or 0 if the test files are not sharded. Set from --shard. */
+  public int shardIndex = 0;
+
+  /** The number of shards, or 0 if the test files are not sharded. Set from --shard. */
+  public int shardCount = 0;
+
+  @Option(name      = "--connpool",
+          required  = false,
+          usage     = "Set to a value > 0 to keep up to this number of idle connections for each url, so that " +
+                      "connections are reused between tests and threads rather than being closed. " +
+                      "Default is 0, which does not pool connections.")
+  public int connPoolSize = 0;
+
+  @Option(name      = "--connpoolmax",
+          required  = false,
+          usage     = "When --connpool is set, the maximum number of idle connections to keep across all urls. " +
+                      "The connection that has been idle the longest is closed to make room. " +
+                      "Default is 0, which only limits the number of idle connections for each url.")
+  public int connPoolMax = 0;
+
+  @Option(name      = "--connpoolidle",
+          required  = false,
+          usage     = "The number of seconds that a pooled connection may be idle before it is closed. Default is 60.")
+  public int connPoolIdleSecs = 60;
+
+  @Option(name      = "--connpoolreset",
+          required  = false,
+          usage     = "A statement to execute on a connection to reset its session before it is returned to the pool.")
+  public String connPoolReset = null;
+
+  @Option(name      = "--maxconnecting",
+          required  = false,
+          usage     = "The maximum number of connections that may be in the process of being made at once. Other " +
+                      "threads wait their turn to connect. Default is 0, which is unlimited.")
+  public int maxConnecting = 0;
+
+  @Option(name      = "--stmtcache",
+          required  = false,
+          usage     = "Set to a value > 0 to reuse statements on each connection rather than creating a new one for " +
+                      "every command, keeping up to this number of prepared statements per connection (see " +
+                      "--prepareafter). Default is 0, which creates a new statement for every command.")
+  public int stmtCacheSize = 0;
+
+  @Option(name      = "--prepareafter",
+          required  = false,
+          usage     = "When --stmtcache is set, a command that has been executed this number of times on the same " +
+                      "connection is executed as a prepared statement from then on. Default is 0, which never " +
+                      "prepares commands.")
+  public int prepareAfter = 0;
+
+  @Option(name      = "--batchdml",
+          required  = false,
+          usage     = "Set to a value > 1 to send runs of consecutive INSERT, UPDATE, DELETE and similar commands " +
+                      "to the server as JDBC batches of up to this number of commands, when their expected " +
+                      "results only need an update count. If the driver carries on with a batch after a command " +
+                      "fails, a test that fails at that command names the commands that were executed after it. " +
+                      "Default is 0, which executes each command individually.")
+  public int batchDml = 0;
+
   @Option(name      = "--ignore",
           aliases   = { "--ignoreCmd" },
           required  = false,
@@ -149,8 +332,29 @@ public class CommandLineArgs
    */
   public void validateSemantics(CmdLineParser parser) throws CmdLineException
   {
+    if (mergeResults) {
+      validateMergeSemantics(parser);
+      return;
+    }
+
+    // --selfbench uses the fake driver, with any settings given in the url.
+    if (selfBench && !url.startsWith(FakeDriver.URL_PREFIX)) {
+      if (!url.equals(DEFAULT_URL)) {
+        final String msg = "The \"--selfbench\" option can only be used with a \"" + FakeDriver.URL_PREFIX +
+                           "\" url." + System.lineSeparator();
+        throw new CmdLineException(parser, msg, null);
+      }
+
+      url = FakeDriver.URL_PREFIX;
+    }
+
     // Validate that the JDBC driver can be found and loaded.
     try {
+      // The fake driver is only available to a self-benchmark.
+      if (selfBench) {
+        DriverManager.registerDriver(new FakeDriver());
+      }
+
       Driver driver = DriverManager.getDriver(url);
 
     } catch (SQLException e) {
@@ -176,7 +380,8 @@ public class CommandLineArgs
     }
 
     // Check if no test files and no listfile and no script has been specified.
-    if (listFile == null && testFiles == null && (script == null || script.isEmpty())) {
+    // --selfbench has its own scenarios to run.
+    if (!selfBench && listFile == null && testFiles == null && (script == null || script.isEmpty())) {
       final String msg = "No test files have been specified." +
                          System.lineSeparator();
       throw new CmdLineException(parser, msg, null);
@@ -202,12 +407,125 @@ public class CommandLineArgs
       throw new CmdLineException(parser, e);
     }
 
+    // --schedule must be valid
+    try {
+      SchedulePolicyFactory.validate(schedule);
+    } catch (InvalidSchedulePolicyException e) {
+      throw new CmdLineException(parser, e);
+    }
+
     // --parallelTests must be >= 1
     if (parallelTests < 1) {
       final String msg = "The \"--parallel\" parameter must have a value >= 1." +
               System.lineSeparator();
       throw new CmdLineException(parser, msg, null);
     }
+
+    // --connpool and --connpoolmax must be >= 0
+    if (connPoolSize < 0 || connPoolMax < 0) {
+      final String msg = "The \"--connpool\" and \"--connpoolmax\" parameters must have values >= 0." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --stmtcache and --prepareafter must be >= 0
+    if (stmtCacheSize < 0 || prepareAfter < 0) {
+      final String msg = "The \"--stmtcache\" and \"--prepareafter\" parameters must have values >= 0." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --workers must be >= 0
+    if (workers < 0) {
+      final String msg = "The \"--workers\" parameter must have a value >= 0." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    if (workers > 0 && recordResults) {
+      final String msg = "Cannot specify both --workers and --record." +
+          System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --selfbench must run one test at a time so that each measurement belongs to a single test.
+    if (selfBench && (parallelTests > 1 || workers > 0)) {
+      final String msg = "Cannot specify --selfbench with --parallel or --workers." +
+          System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --batchdml must be >= 0
+    if (batchDml < 0) {
+      final String msg = "The \"--batchdml\" parameter must have a value >= 0." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --logbuffer must be >= 1
+    if (logBufferSize < 1) {
+      final String msg = "The \"--logbuffer\" parameter must have a value >= 1." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --maxconnecting must be >= 0
+    if (maxConnecting < 0) {
+      final String msg = "The \"--maxconnecting\" parameter must have a value >= 0." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --connpoolidle must be >= 1
+    if (connPoolIdleSecs < 1) {
+      final String msg = "The \"--connpoolidle\" parameter must have a value >= 1." +
+              System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --shard must be <index>/<count> where 1 <= index <= count
+    if (shard != null) {
+      String[] parts = shard.trim().split("/");
+
+      try {
+        if (parts.length != 2) {
+          throw new NumberFormatException();
+        }
+
+        shardIndex = Integer.parseInt(parts[0].trim());
+        shardCount = Integer.parseInt(parts[1].trim());
+
+      } catch (NumberFormatException e) {
+        shardIndex = 0;
+      }
+
+      if (shardIndex < 1 || shardCount < shardIndex) {
+        final String msg = "The \"--shard\" parameter must be given as <index>/<count>, where " +
+                "1 <= index <= count." + System.lineSeparator();
+        throw new CmdLineException(parser, msg, null);
+      }
+    }
+  }
+
+  /**
+   * Validates the semantics of the options when merging result files rather than running tests.
+   * @param parser
+   * @throws CmdLineException
+   */
+  private void validateMergeSemantics(CmdLineParser parser) throws CmdLineException
+  {
+    if (testFiles == null || testFiles.isEmpty()) {
+      final String msg = "No result files to merge have been specified." +
+                         System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
+
+    // --resultdir must be created if it doesn't exist.
+    if (!resultDir.exists() && !resultDir.mkdirs()) {
+      final String msg = "Unable to create the resultdir directory at " + resultDir.getPath() +
+                         "." + System.lineSeparator();
+      throw new CmdLineException(parser, msg, null);
+    }
   }
 
 }
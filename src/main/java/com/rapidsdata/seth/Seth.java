@@ -6,14 +6,22 @@ import com.rapidsdata.seth.contexts.AppContext;
 import com.rapidsdata.seth.contexts.AppContextImpl;
 import com.rapidsdata.seth.contexts.ParserTestContextImpl;
 import com.rapidsdata.seth.exceptions.*;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
+import com.rapidsdata.seth.latency.PhaseTimes;
 import com.rapidsdata.seth.logging.*;
 import com.rapidsdata.seth.parser.SethLexer;
 import com.rapidsdata.seth.parser.SethParser;
 import com.rapidsdata.seth.plan.TestPlanGenerator;
 import com.rapidsdata.seth.plan.TestPlanner;
+import com.rapidsdata.seth.results.JUnitResultMerger;
 import com.rapidsdata.seth.results.ResultSummary;
 import com.rapidsdata.seth.results.ResultWriter;
 import com.rapidsdata.seth.results.ResultWriterFactory;
+import com.rapidsdata.seth.selfbench.SelfBenchLogger;
+import com.rapidsdata.seth.selfbench.SelfBenchScenarios;
+import com.rapidsdata.seth.scheduling.TestHistory;
+import com.rapidsdata.seth.scheduling.TestSharder;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.InputMismatchException;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
@@ -92,6 +100,7 @@ public class Seth {
     try {
       parser.parseArgument(arguments);
       args.validateSemantics(parser);
+      args.arguments = arguments;
 
     } catch (CmdLineException e) {
       System.err.println(e.getMessage());
@@ -113,19 +122,46 @@ public class Seth {
     // Create an appropriate logger.
     TestLogger logger;
 
-    boolean logTestsPassed = (args.parallelTests > 1);
+    boolean logTestsPassed = (args.parallelTests > 1 || args.workers > 0);
 
-    if (args.logSteps) {
+    // When tests run in parallel, the console output of each test is printed as a single block so
+    // that the output of different tests isn't interleaved. A worker's output goes to the coordinator.
+    ConsoleWriter console = new ConsoleWriter(logTestsPassed && args.coordinatorPort == 0,
+                                              args.showStatus && args.coordinatorPort == 0);
+
+    if (args.coordinatorPort > 0) {
+      // A worker sends everything it logs to the coordinator, which writes the log files.
+      logger = new ConsoleLogger(logTestsPassed, console);
+
+    } else if (args.logSteps) {
       // This logger logs all test steps to the console and to a file.
-      logger = new StepFileLogger(args.resultDir, args.logNamePrefix, logTestsPassed);
+      logger = new StepFileLogger(args.resultDir, args.logNamePrefix, logTestsPassed, args.logBufferSize, console);
 
     } else if (args.logTests) {
       // This logger logs only messages about whole tests to the console and to a file.
-      logger = new TestFileLogger(args.resultDir, args.logNamePrefix, logTestsPassed);
+      logger = new TestFileLogger(args.resultDir, args.logNamePrefix, logTestsPassed, args.logBufferSize, console);
 
     } else {
       // This logger only logs to the screen.
-      logger = new ConsoleLogger(logTestsPassed);
+      logger = new ConsoleLogger(logTestsPassed, console);
+    }
+
+    if (args.mergeResults) {
+      // We're only merging the result files of other runs.
+      mergeResults(args, logger);
+      return ResultSummary.summariseFrom(Collections.emptyList());
+    }
+
+    // Record the time spent in each phase of running the tests, if asked to.
+    PhaseTimes.start(args.phaseTimes);
+
+    if (args.phaseTimes) {
+      logger = new PhaseTimingLogger(logger);
+    }
+
+    if (args.selfBench) {
+      // Measure how fast SETH executes each test.
+      logger = new SelfBenchLogger(logger);
     }
 
     Seth seth = new Seth(args, logger);
@@ -172,8 +208,25 @@ public class Seth {
   {
     logStartTime();
 
+    // Read the durations and outcomes of the tests from previous runs, if there are any.
+    TestHistory history = readHistory();
+
+    // A self-benchmark without any tests runs the standard scenarios.
+    if (args.selfBench && args.listFile == null && args.testFiles == null &&
+        (args.script == null || args.script.isEmpty())) {
+      File scenarioDir = new File(args.resultDir, "selfbench");
+
+      try {
+        args.testFiles = SelfBenchScenarios.writeTo(scenarioDir);
+
+      } catch (IOException e) {
+        final String msg = "Unable to write the self-benchmark scenarios to " + scenarioDir.getPath() + ".";
+        throw new SethSystemException(msg, e);
+      }
+    }
+
     // Build a list of test files to run and test files to be skipped.
-    List<TestableFile> testableFiles = getTestableFiles(args);
+    List<TestableFile> testableFiles = getTestableFiles(args, history);
 
     if (testableFiles.isEmpty()) {
       logger.log("There are no test files to execute!", false);
@@ -190,7 +243,19 @@ public class Seth {
       throw new SethSystemException(msg, e);
     }
 
-    ExecutorService threadPool = Executors.newCachedThreadPool();
+    ExecutorService threadPool = newThreadPool(args, logger);
+
+    ConnectionPool connectionPool = new ConnectionPool(driver,
+                                                       args.connPoolSize,
+                                                       args.connPoolMax,
+                                                       TimeUnit.SECONDS.toMillis(args.connPoolIdleSecs),
+                                                       args.connPoolReset,
+                                                       args.stmtCacheSize,
+                                                       args.prepareAfter,
+                                                       args.maxConnecting);
+
+    // Record the latency of every statement, if requested.
+    LatencyReportWriter latencyReportWriter = newLatencyReportWriter(args);
 
     // Extract any command line arguments.
     Options appOptions = new Options();
@@ -214,6 +279,8 @@ public class Seth {
                                                args.relativity,
                                                logger,
                                                threadPool,
+                                               connectionPool,
+                                               latencyReportWriter,
                                                appOptions,
                                                appVariables);
 
@@ -229,8 +296,31 @@ public class Seth {
 
     // Run the test suite.
     ResultSummary resultSummary;
-    TestSuite testSuite = new TestSuite(appContext, resultWriter);
-    resultSummary = testSuite.run();
+
+    if (args.coordinatorPort > 0) {
+      // We are a worker process, so run the tests that the coordinator hands out to us.
+      TestWorker testWorker = new TestWorker(args, workerLogger -> new AppContextImpl(jvmStartTime,
+                                                                                        args,
+                                                                                        testableFiles,
+                                                                                        args.url,
+                                                                                        args.relativity,
+                                                                                        workerLogger,
+                                                                                        threadPool,
+                                                                                        connectionPool,
+                                                                                        latencyReportWriter,
+                                                                                        appOptions,
+                                                                                        appVariables));
+      testWorker.run();
+      resultSummary = ResultSummary.summariseFrom(Collections.emptyList());
+
+    } else if (args.workers > 0) {
+      TestCoordinator testCoordinator = new TestCoordinator(appContext, resultWriter, history);
+      resultSummary = testCoordinator.run();
+
+    } else {
+      TestSuite testSuite = new TestSuite(appContext, resultWriter, history);
+      resultSummary = testSuite.run();
+    }
 
     // Shut down the thread pool we created for running the tests.
     // Wait 5 seconds for it to complete and then force it to shutdown.
@@ -244,6 +334,35 @@ public class Seth {
       threadPool.shutdownNow();
     }
 
+    // Close any pooled connections and report how well the pool was used.
+    connectionPool.close();
+
+    String poolMetrics = connectionPool.describeMetrics();
+    if (poolMetrics != null) {
+      logger.log(poolMetrics, false);
+    }
+
+    String connectMetrics = connectionPool.describeConnectMetrics();
+    if (connectMetrics != null) {
+      logger.log(connectMetrics, false);
+    }
+
+    String phaseTimes = PhaseTimes.describe();
+    if (phaseTimes != null) {
+      logger.log(phaseTimes, false);
+    }
+
+
+    // Finish the latency report.
+    if (latencyReportWriter != null) {
+      try {
+        latencyReportWriter.close();
+        logger.log("Statement latencies have been written out to: " + latencyReportWriter.describeFiles(), false);
+
+      } catch (IOException e) {
+        logger.error("Unable to write the latency report: " + e.getMessage());
+      }
+    }
 
     // Close the logger.
     try {
@@ -255,6 +374,25 @@ public class Seth {
   }
 
 
+  /**
+   * Creates the writer of the latency report, if latencies are to be recorded.
+   * @param args The parsed command line arguments provided to the application.
+   * @return the writer of the latency report, or null if latencies are not to be recorded.
+   */
+  private static LatencyReportWriter newLatencyReportWriter(CommandLineArgs args)
+  {
+    if (!args.latencyReport) {
+      return null;
+    }
+
+    try {
+      return new LatencyReportWriter(args.resultDir, LatencyReportWriter.baseNameFor(args));
+
+    } catch (IOException e) {
+      throw new SethSystemException("Unable to create the latency report in " + args.resultDir.getPath(), e);
+    }
+  }
+
   /**
    * Logs the time the application started.
    */
@@ -270,11 +408,80 @@ public class Seth {
 
 
   /**
-   * Builds a list of test files to run and validates that they all exist.
+   * Creates the thread pool that the threads created by tests run on.
+   * @param args The parsed command line arguments provided to the application.
+   * @param logger the thing to log messages to.
+   * @return the thread pool that the threads created by tests run on.
+   */
+  private static ExecutorService newThreadPool(CommandLineArgs args, TestLogger logger)
+  {
+    if (args.virtualThreads) {
+      ExecutorService threadPool = ThreadPools.newVirtualThreadPerTaskExecutor();
+
+      if (threadPool != null) {
+        return threadPool;
+      }
+
+      logger.warning("Virtual threads are not supported by this JVM. Platform threads will be used instead.");
+      args.virtualThreads = false;
+    }
+
+    return Executors.newCachedThreadPool();
+  }
+
+
+  /**
+   * Reads the durations and outcomes of tests from previous runs, if a history file was given.
+   * @return the history of the tests, which is empty if there isn't any or it couldn't be read.
+   */
+  private TestHistory readHistory()
+  {
+    if (args.historyFile == null) {
+      return new TestHistory();
+    }
+
+    try {
+      return TestHistory.readFrom(args.historyFile, args.testSuffix);
+
+    } catch (IOException e) {
+      logger.warning("Unable to read the test history, so tests will be started in the order " +
+                     "they are listed: " + e.getMessage());
+      return new TestHistory();
+    }
+  }
+
+
+  /**
+   * Merges the JUnit result files given as the test files into a single result file.
+   * @param args The parsed command line arguments provided to the application.
+   * @param logger the thing to log messages to.
+   */
+  private static void mergeResults(CommandLineArgs args, TestLogger logger)
+  {
+    File mergedFile = new File(args.resultDir, args.resultName);
+
+    try {
+      int numTestCases = JUnitResultMerger.merge(args.testFiles, mergedFile);
+      logger.log("Merged " + numTestCases + " test results from " + args.testFiles.size() +
+                 " result files into: " + mergedFile.getPath(), false);
+
+    } catch (IOException e) {
+      logger.error(e.getMessage());
+    }
+
+    try {
+      logger.close();
+    } catch (IOException e) { /*ignore*/ }
+  }
+
+  /**
+   * Builds a list of test files to run and validates that they all exist. If the test files are
+   * sharded then only the test files in our shard are returned.
    * @param args
+   * @param history the durations of the tests from previous runs, used to balance the shards.
    * @return
    */
-  private List<TestableFile> getTestableFiles(CommandLineArgs args)
+  private List<TestableFile> getTestableFiles(CommandLineArgs args, TestHistory history)
   {
     List<TestableFile> testableFiles;
 
@@ -308,6 +515,14 @@ public class Seth {
       }
     }
 
+    if (args.shardCount > 0) {
+      testableFiles = TestSharder.shardOf(testableFiles, args.shardIndex, args.shardCount, history);
+
+      final String msg = "Running shard " + args.shardIndex + " of " + args.shardCount + ", which has " +
+                         testableFiles.size() + " test files.";
+      logger.log(msg, false);
+    }
+
     return testableFiles;
   }
 
@@ -546,7 +761,7 @@ public class Seth {
     try {
       tree = parser.optionList();
 
-      TestPlanGenerator generator = new TestPlanGenerator(parser, null, null, null, null);
+      TestPlanGenerator generator = new TestPlanGenerator(parser.getTokenStream(), null, null, null, null);
       options = generator.generateOptionsFor(tree);
 
     } catch (SethBrownBagException e) {
@@ -603,7 +818,7 @@ public class Seth {
       tree = parser.varList();
 
       ParserTestContextImpl fauxTestContext = new ParserTestContextImpl();
-      TestPlanGenerator generator = new TestPlanGenerator(parser, null, null, fauxTestContext, null);
+      TestPlanGenerator generator = new TestPlanGenerator(parser.getTokenStream(), null, null, fauxTestContext, null);
       variableMap = generator.generateVariablesFor(tree);
 
     } catch (SethBrownBagException e) {
@@ -0,0 +1,475 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth;
+
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.exceptions.InvalidSchedulePolicyException;
+import com.rapidsdata.seth.exceptions.RemoteFailureException;
+import com.rapidsdata.seth.exceptions.SethSystemException;
+import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.results.ResultSummary;
+import com.rapidsdata.seth.results.ResultWriter;
+import com.rapidsdata.seth.scheduling.SchedulePolicy;
+import com.rapidsdata.seth.scheduling.SchedulePolicyFactory;
+import com.rapidsdata.seth.scheduling.TestHistory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the test files in a number of worker processes rather than in this process, so that a large
+ * machine can be kept busy without needing one very large heap.
+ *
+ * The coordinator starts the worker processes, which connect back to it over a local socket. Each
+ * connection runs one test at a time and asks for the next test file as soon as it is free, so a
+ * worker that is given short tests simply ends up running more of them. Test files are handed out in
+ * the order chosen by the scheduling policy. Workers started by hand with "--worker <port>" can
+ * also connect and share the work.
+ *
+ * Everything a worker logs is logged by the coordinator's logger, and the results of all tests are
+ * written by the coordinator's result writer, in the order the test files were listed.
+ */
+public class TestCoordinator
+{
+  /** How long to wait for the worker processes to exit once there are no more tests, in seconds. */
+  private static final int WORKER_EXIT_TIMEOUT_SECS = 10;
+
+  /** The application context, which contains various common bits of information applicable to all tests. */
+  private final AppContext appContext;
+
+  /** The object responsible for writing the final test results. */
+  private final ResultWriter resultWriter;
+
+  /** The durations and outcomes of tests from previous runs. */
+  private final TestHistory history;
+
+  /** The test files that have not been handed out yet, in the order they should be started. */
+  private final Queue<TestableFile> testsToRun = new ConcurrentLinkedQueue<>();
+
+  /** The result of each test file that is to be run. */
+  private final Map<TestableFile, TestResult> resultsByTest = new IdentityHashMap<>();
+
+  /** Counts down as each test finishes. */
+  private CountDownLatch testsRemaining;
+
+  /** The number of workers connected at the moment. */
+  private final AtomicInteger numConnections = new AtomicInteger(0);
+
+  /**
+   * Constructor
+   * @param appContext contains various common bits of information applicable to all tests.
+   * @param resultWriter the object responsible for writing the final test results.
+   * @param history the durations and outcomes of tests from previous runs.
+   */
+  public TestCoordinator(AppContext appContext, ResultWriter resultWriter, TestHistory history)
+  {
+    this.appContext = appContext;
+    this.resultWriter = resultWriter;
+    this.history = history;
+  }
+
+  /**
+   * Runs all the tests in worker processes.
+   * @return a summary of the results.
+   */
+  public ResultSummary run()
+  {
+    CommandLineArgs args = appContext.getCommandLineArgs();
+    TestLogger logger = appContext.getLogger();
+    List<TestResult> resultList = new LinkedList<>();
+    List<TestableFile> testsToPlan = new ArrayList<>();
+
+    for (TestableFile testableFile : appContext.getTestableFiles()) {
+      String testName = TestSuite.testNameFor(testableFile);
+
+      if (testableFile.getInstruction() == TestableFile.Instruction.SKIP) {
+        logger.testSkipping(testableFile);
+        TestResult skippedResult = TestResult.skipped(testableFile, testName);
+        resultList.add(skippedResult);
+        resultWriter.testFinished(skippedResult);
+        continue;
+      }
+
+      TestResult testResult = new TestResult(testableFile, testName);
+      resultList.add(testResult);
+      resultsByTest.put(testableFile, testResult);
+      testsToPlan.add(testableFile);
+    }
+
+    SchedulePolicy schedulePolicy;
+
+    try {
+      schedulePolicy = SchedulePolicyFactory.get(args.schedule);
+    } catch (InvalidSchedulePolicyException e) {
+      // This has already been validated.
+      throw new SethSystemException(e);
+    }
+
+    testsToRun.addAll(schedulePolicy.order(testsToPlan, history));
+    testsRemaining = new CountDownLatch(testsToRun.size());
+    logger.testsScheduled(testsToRun.size());
+
+    ExecutorService connectionThreads = Executors.newCachedThreadPool();
+    List<Process> workers = new ArrayList<>();
+
+    try (ServerSocket serverSocket = new ServerSocket(args.workerPort, 50, InetAddress.getLoopbackAddress())) {
+
+      logger.log("Coordinating " + args.workers + " worker processes on port " + serverSocket.getLocalPort() + ".", false);
+
+      for (int i = 0; i < args.workers; i++) {
+        try {
+          workers.add(startWorker(args, serverSocket.getLocalPort()));
+        } catch (IOException e) {
+          logger.error("Unable to start a worker process: " + e.getMessage());
+        }
+      }
+
+      connectionThreads.submit(() -> acceptConnections(serverSocket, connectionThreads));
+
+      // Wait for all the tests to finish, or for there to be no workers left to run them.
+      while (!testsRemaining.await(1, TimeUnit.SECONDS)) {
+        if (numConnections.get() == 0 && workers.stream().noneMatch(Process::isAlive)) {
+          logger.error("All of the worker processes have exited before all of the tests were run.");
+          break;
+        }
+      }
+
+    } catch (IOException e) {
+      throw new SethSystemException("Unable to listen for worker processes.", e);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+    } finally {
+      // Any test that was never handed out to a worker didn't get to run.
+      TestableFile testableFile;
+      while ((testableFile = testsToRun.poll()) != null) {
+        abortTest(testableFile, "The test was not run because there were no workers left to run it.", logger);
+      }
+
+      stopWorkers(workers);
+      connectionThreads.shutdownNow();
+
+      if (!resultList.isEmpty()) {
+        resultWriter.writeResults(resultList);
+      }
+
+      TestSuite.writeHistory(appContext, resultList);
+    }
+
+    return ResultSummary.summariseFrom(resultList);
+  }
+
+  /**
+   * Starts a worker process that connects back to the given port.
+   * @param args the command line arguments of this process.
+   * @param port the port to connect back to.
+   * @return the worker process.
+   * @throws IOException if the process cannot be started.
+   */
+  private static Process startWorker(CommandLineArgs args, int port) throws IOException
+  {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+    if (args.workerJvmOpts != null && !args.workerJvmOpts.trim().isEmpty()) {
+      command.addAll(Arrays.asList(args.workerJvmOpts.trim().split("\\s+")));
+    }
+
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Seth.class.getName());
+
+    // The worker gets the same arguments as us, except that it must not clean the result directory
+    // that we are logging to.
+    for (String arg : args.arguments) {
+      if (!arg.equals("--clean")) {
+        command.add(arg);
+      }
+    }
+
+    command.add("--worker");
+    command.add(String.valueOf(port));
+
+    // Everything the worker logs is sent to us, so its own output is only of interest if it fails.
+    ProcessBuilder processBuilder = new ProcessBuilder(command);
+    processBuilder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+    processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+    return processBuilder.start();
+  }
+
+  /**
+   * Waits for the worker processes to exit, forcing them to exit if they take too long.
+   * @param workers the worker processes.
+   */
+  private static void stopWorkers(List<Process> workers)
+  {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WORKER_EXIT_TIMEOUT_SECS);
+
+    for (Process worker : workers) {
+      try {
+        long remainingNs = deadline - System.nanoTime();
+
+        if (remainingNs <= 0 || !worker.waitFor(remainingNs, TimeUnit.NANOSECONDS)) {
+          worker.destroyForcibly();
+        }
+
+      } catch (InterruptedException e) {
+        worker.destroyForcibly();
+      }
+    }
+  }
+
+  /**
+   * Accepts connections from workers until the server socket is closed.
+   * @param serverSocket the socket to accept connections on.
+   * @param connectionThreads the threads to handle each connection on.
+   */
+  private void acceptConnections(ServerSocket serverSocket, ExecutorService connectionThreads)
+  {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        numConnections.incrementAndGet();
+
+        connectionThreads.submit(() -> {
+          try {
+            handleConnection(socket);
+          } finally {
+            numConnections.decrementAndGet();
+          }
+        });
+
+      } catch (SocketException e) {
+        // The server socket has been closed.
+        return;
+
+      } catch (IOException e) {
+        appContext.getLogger().error("Unable to accept a connection from a worker: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Hands out test files to a connection from a worker and processes the messages it sends back.
+   * @param socket the connection from the worker.
+   */
+  private void handleConnection(Socket socket)
+  {
+    TestLogger logger = appContext.getLogger();
+    TestableFile currentTest = null;
+
+    // The logger for the messages of the test that the worker is running.
+    TestLogger testLogger = logger;
+
+    // The test file of the last step the worker sent, which it only sends when it changes.
+    TestableFile stepFile = null;
+
+    try (Socket s = socket) {
+      s.setTcpNoDelay(true);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+      while (true) {
+        byte type = in.readByte();
+
+        switch (type) {
+          case WorkerProtocol.NEXT:
+            currentTest = testsToRun.poll();
+
+            if (currentTest == null) {
+              out.writeByte(WorkerProtocol.DONE);
+              out.flush();
+              return;
+            }
+
+            out.writeByte(WorkerProtocol.TEST);
+            WorkerProtocol.writeTestableFile(out, currentTest);
+            out.flush();
+            break;
+
+          case WorkerProtocol.VALIDATING:
+            logger.testValidating(localFileFor(WorkerProtocol.readTestableFile(in), currentTest));
+            break;
+
+          case WorkerProtocol.SKIPPING:
+            logger.testSkipping(localFileFor(WorkerProtocol.readTestableFile(in), currentTest));
+            break;
+
+          case WorkerProtocol.EXECUTING: {
+            TestableFile testableFile = localFileFor(WorkerProtocol.readTestableFile(in), currentTest);
+            testLogger = logger.forTest(testableFile);
+            testLogger.testExecuting(testableFile);
+            break;
+          }
+
+          case WorkerProtocol.STEP: {
+            if (in.readBoolean()) {
+              stepFile = localFileFor(WorkerProtocol.readTestableFile(in), currentTest);
+            }
+
+            String command = WorkerProtocol.readString(in);
+            long lineNum = in.readLong();
+            testLogger.testStepExecuting(stepFile, command, lineNum);
+            break;
+          }
+
+          case WorkerProtocol.STEPS:
+            testLogger.testStepsExecuted(currentTest, in.readLong());
+            break;
+
+          case WorkerProtocol.LOG: {
+            String msg = WorkerProtocol.readString(in);
+            testLogger.log(msg, in.readBoolean());
+            break;
+          }
+
+          case WorkerProtocol.WARNING: {
+            String msg = WorkerProtocol.readString(in);
+            in.readBoolean();
+            testLogger.warning(msg);
+            break;
+          }
+
+          case WorkerProtocol.ERROR: {
+            String msg = WorkerProtocol.readString(in);
+            in.readBoolean();
+            testLogger.error(msg);
+            break;
+          }
+
+          case WorkerProtocol.RESULT:
+            readResult(in, currentTest, testLogger);
+            currentTest = null;
+            testLogger = logger;
+            break;
+
+          default:
+            throw new IOException("Unknown message type " + type + " received from a worker.");
+        }
+      }
+
+    } catch (EOFException e) {
+      // The worker has gone away.
+
+    } catch (IOException e) {
+      logger.error("Lost the connection to a worker: " + e.getMessage());
+
+    } finally {
+      if (currentTest != null) {
+        abortTest(currentTest, "The worker process running the test exited before the test finished.", testLogger);
+      }
+    }
+  }
+
+  /**
+   * Reads the result of a test from a worker and records it.
+   * @param in the stream from the worker.
+   * @param testableFile the test that the result is for.
+   * @param logger the logger for the messages of the test.
+   * @throws IOException if the result cannot be read.
+   */
+  private void readResult(DataInputStream in, TestableFile testableFile, TestLogger logger) throws IOException
+  {
+    TestResult.ResultStatus status = TestResult.ResultStatus.values()[in.readByte()];
+    long steps = in.readLong();
+    long executionTimeNs = in.readLong();
+    String failureType = WorkerProtocol.readString(in);
+    String failureMessage = WorkerProtocol.readString(in);
+    String failureDescription = WorkerProtocol.readString(in);
+
+    int numIgnored = in.readInt();
+    Map<String,Integer> ignoredCounts = new HashMap<>();
+
+    for (int i = 0; i < numIgnored; i++) {
+      String cmd = WorkerProtocol.readString(in);
+      ignoredCounts.put(cmd, in.readInt());
+    }
+
+    if (testableFile == null) {
+      throw new IOException("A worker sent a result without having been given a test.");
+    }
+
+    if (!status.hasFinished()) {
+      status = TestResult.ResultStatus.ABORTED;
+    }
+
+    FailureException failure = null;
+
+    if (failureType != null) {
+      failure = new RemoteFailureException(failureType, failureMessage, failureDescription, testableFile);
+    }
+
+    TestResult testResult = resultsByTest.get(testableFile);
+
+    for (Map.Entry<String,Integer> entry : ignoredCounts.entrySet()) {
+      for (int i = 0; i < entry.getValue(); i++) {
+        testResult.accumulateIgnoredCommand(entry.getKey());
+      }
+    }
+
+    testResult.setRemoteOutcome(status, failure, steps, executionTimeNs);
+    logger.testExecutionFinished(testableFile, testResult);
+    resultWriter.testFinished(testResult);
+    testsRemaining.countDown();
+  }
+
+  /**
+   * Marks a test that didn't finish as aborted.
+   * @param testableFile the test that didn't finish.
+   * @param reason why the test didn't finish.
+   * @param logger the logger for the messages of the test.
+   */
+  private void abortTest(TestableFile testableFile, String reason, TestLogger logger)
+  {
+    TestResult testResult = resultsByTest.get(testableFile);
+    FailureException failure = new RemoteFailureException(SethSystemException.class.getName(), reason, reason, testableFile);
+
+    testResult.setRemoteOutcome(TestResult.ResultStatus.ABORTED, failure, 0, 0);
+    logger.testExecutionFinished(testableFile, testResult);
+    resultWriter.testFinished(testResult);
+    testsRemaining.countDown();
+  }
+
+  /**
+   * Returns the test file to log a message from a worker against. This is the test file that was
+   * handed out, if the message is about it, so that the same test file is logged as locally.
+   * @param remoteFile the test file given by the worker.
+   * @param currentTest the test file that was handed out to the worker, or null if there isn't one.
+   * @return the test file to log against.
+   */
+  private static TestableFile localFileFor(TestableFile remoteFile, TestableFile currentTest)
+  {
+    if (currentTest != null && currentTest.getInstruction() == remoteFile.getInstruction() &&
+        currentTest.describePath().equals(remoteFile.describePath())) {
+      return currentTest;
+    }
+
+    return remoteFile;
+  }
+}
@@ -182,6 +182,21 @@ public class TestResult
     }
   }
 
+  /**
+   * Sets the outcome of a test that was executed by another process.
+   * @param newStatus the final status of the test.
+   * @param e the reason why the test failed, or null if it didn't fail.
+   * @param steps the number of test steps that were executed.
+   * @param executionTimeNs how long the test took to execute, in nanoseconds.
+   */
+  public void setRemoteOutcome(ResultStatus newStatus, FailureException e, long steps, long executionTimeNs)
+  {
+    setStatus(newStatus);
+    this.failureException = e;
+    this.numStepsExecuted.set(steps);
+    this.executionTimeNs = executionTimeNs;
+  }
+
   /**
    * Marks the test as having been skipped on user request.
    */
@@ -7,19 +7,25 @@ import com.rapidsdata.seth.contexts.ExecutionContextImpl;
 import com.rapidsdata.seth.contexts.TestContext;
 import com.rapidsdata.seth.exceptions.FailureException;
 import com.rapidsdata.seth.exceptions.TestSetupException;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.PhaseTimes;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.jdbc.StatementCache;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.plan.Operation;
 import com.rapidsdata.seth.plan.Plan;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.rapidsdata.seth.TestResult.ResultStatus.NOT_STARTED;
 
@@ -42,9 +48,18 @@ public class TestRunner implements Runnable
   /** A map of connections keyed by a user-defined name. */
   private final Map<String, Connection> connectionMap = new HashMap<>();
 
+  /** The statement cache of each connection in the connectionMap, if statement caching is enabled. */
+  private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+
   /** The context containing common test information. */
   private final TestContext testContext;
 
+  /** The value of System.nanoTime() that a child thread waits until before it connects and starts running, or 0. */
+  private final long startAtNs;
+
+  /** The longest time to wait to start before checking whether the test has ended. */
+  private static final long MAX_START_WAIT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
   /**
    * Constructor
    * @param plan the plan to be executed.
@@ -56,6 +71,7 @@ public class TestRunner implements Runnable
     this.plan = plan;
     this.testContext = testContext;
     this.isPrimaryThread = isPrimaryThread;
+    this.startAtNs = 0;
 
     // increment the count of the active threads.
     testContext.incrementActiveThreads();
@@ -67,10 +83,23 @@ public class TestRunner implements Runnable
    * @param testContext the test context that holds various test information.
    */
   public TestRunner(Plan plan, TestContext testContext)
+  {
+    this(plan, testContext, 0);
+  }
+
+  /**
+   * Constructor for child threads of a test that are started some time after they are created.
+   * The thread counts as active while it waits to start.
+   * @param plan the plan to be executed.
+   * @param testContext the test context that holds various test information.
+   * @param startDelayNs how long to wait, in nanoseconds, before connecting and running the plan.
+   */
+  public TestRunner(Plan plan, TestContext testContext, long startDelayNs)
   {
     this.plan = plan;
     this.testContext = testContext;
     this.isPrimaryThread = false;
+    this.startAtNs = (startDelayNs > 0 ? System.nanoTime() + startDelayNs : 0);
 
     // increment the count of the active threads.
     testContext.incrementActiveThreads();
@@ -93,9 +122,26 @@ public class TestRunner implements Runnable
     try {
       runTest();
     } finally {
-      // Log the result of this test file
       TestLogger logger = testContext.getLogger();
-      logger.testExecutionFinished(testContext.getTestFile(), testContext.getResult());
+
+      // Write out the latencies of the statements that all the threads of the test executed.
+      if (isPrimaryThread) {
+        testContext.writeLatencies();
+      }
+
+      // Log how long the threads of the test waited for each other.
+      if (isPrimaryThread && testContext.getCommandLineArgs().syncStats) {
+        String syncStats = testContext.describeSyncStatistics();
+
+        if (syncStats != null) {
+          logger.log(syncStats);
+        }
+      }
+
+      // Log the result of this test file. Child threads finish before the primary thread does.
+      if (isPrimaryThread) {
+        logger.testExecutionFinished(testContext.getTestFile(), testContext.getResult());
+      }
     }
   }
 
@@ -110,9 +156,22 @@ public class TestRunner implements Runnable
       testContext.markAsStarted();
     }
 
+    // A ramped thread waits for its turn to start.
+    if (!waitToStart()) {
+      testContext.decrementActiveThreads();
+      return;
+    }
+
+    // Each thread records the latencies of its own statements.
+    LatencyRecorder latencyRecorder = null;
+
+    if (testContext.getLatencyReportWriter() != null) {
+      latencyRecorder = new LatencyRecorder();
+    }
+
     // Make the default connection.
     try {
-      createDefaultConnection();
+      createDefaultConnection(latencyRecorder);
 
     } catch (TestSetupException e) {
       testContext.markAsFailed(e);
@@ -122,10 +181,9 @@ public class TestRunner implements Runnable
       return;
     }
 
-
     try {
       // Make the execution context that each operation will use.
-      ExecutionContext xContext = new ExecutionContextImpl(testContext, childFutures, connectionMap);
+      ExecutionContext xContext = new ExecutionContextImpl(testContext, childFutures, connectionMap, statementCaches, latencyRecorder);
 
       // Run all of the test operations until they complete, an error occurs or
       // until we are told that the test is not longer continuing.
@@ -188,23 +246,59 @@ public class TestRunner implements Runnable
       waitForChildrenToExit();
 
     } finally {
+      if (latencyRecorder != null) {
+        testContext.addLatencies(latencyRecorder);
+      }
+
       closeAllConnections();
       testContext.decrementActiveThreads();
       testContext.accumulateTestSteps(stepCount);
     }
   }
 
+  /**
+   * Waits until it is time for this thread to start running, or until the test ends.
+   * @return true if the thread should start running, or false if the test has ended.
+   */
+  private boolean waitToStart()
+  {
+    if (startAtNs == 0) {
+      return true;
+    }
+
+    long remainingNs;
+
+    while ((remainingNs = startAtNs - System.nanoTime()) > 0) {
+      if (!testContext.continueTesting()) {
+        return false;
+      }
+
+      LockSupport.parkNanos(Math.min(remainingNs, MAX_START_WAIT_NS));
+    }
+
+    return testContext.continueTesting();
+  }
+
   /**
    * Creates the default connection to the server and saves it in the connection map
    * under the name "default".
+   * @param latencyRecorder records how long it took to connect. May be null.
    * @throws TestSetupException if there is an error creating the connection.
    */
-  protected void createDefaultConnection() throws TestSetupException
+  protected void createDefaultConnection(LatencyRecorder latencyRecorder) throws TestSetupException
   {
     Connection conn = null;
 
     try {
-      conn = DriverManager.getConnection(testContext.getUrl());
+      long startNs = System.nanoTime();
+      conn = testContext.getConnectionPool().acquire(testContext.getUrl(), testContext::continueTesting);
+      long connectNs = System.nanoTime() - startNs;
+
+      if (latencyRecorder != null) {
+        latencyRecorder.recordConnect(connectNs);
+      }
+
+      PhaseTimes.record(PhaseTimes.Phase.CONNECT, connectNs);
 
     } catch (SQLException e) {
       final String msg = "Could not create the default connection to the server with url: \"" +
@@ -239,14 +333,21 @@ public class TestRunner implements Runnable
   }
 
   /**
-   * Closes all open connections in the connectionMap.
+   * Releases all open connections in the connectionMap back to the connection pool.
    */
   protected void closeAllConnections()
   {
+    ConnectionPool connectionPool = testContext.getConnectionPool();
+
+    // Cached statements are not kept with a pooled connection, since resetting the session may invalidate them.
+    for (StatementCache statementCache : statementCaches.values()) {
+      statementCache.close();
+    }
+
+    statementCaches.clear();
+
     for (Connection conn : connectionMap.values()) {
-      try {
-        conn.close();
-      } catch (SQLException e) { /*ignore*/ }
+      connectionPool.release(conn);
     }
 
     connectionMap.clear();
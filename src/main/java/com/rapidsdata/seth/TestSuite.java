@@ -6,19 +6,26 @@ import com.rapidsdata.seth.contexts.AppContext;
 import com.rapidsdata.seth.contexts.TestContext;
 import com.rapidsdata.seth.contexts.TestContextImpl;
 import com.rapidsdata.seth.exceptions.*;
+import com.rapidsdata.seth.latency.PhaseTimes;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.plan.Plan;
 import com.rapidsdata.seth.plan.TestPlanner;
 import com.rapidsdata.seth.plan.annotated.TestAnnotationInfo;
 import com.rapidsdata.seth.results.ResultSummary;
 import com.rapidsdata.seth.results.ResultWriter;
+import com.rapidsdata.seth.scheduling.SchedulePolicy;
+import com.rapidsdata.seth.scheduling.SchedulePolicyFactory;
+import com.rapidsdata.seth.scheduling.TestHistory;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 
 import static com.rapidsdata.seth.TestResult.ResultStatus.NOT_STARTED;
 
@@ -31,21 +38,33 @@ public class TestSuite
   /** The object responsible for writing the final test results. */
   private final ResultWriter resultWriter;
 
+  /** The durations and outcomes of tests from previous runs. */
+  private final TestHistory history;
+
   /** Commands to be ignored when running tests in parallel. */
-  private static final String[] PARALLEL_IGNORE_CMDS_REGEX = { "trackmemory\\s*;\\s*", "trackmemory\\s+force\\s*;\\s*", "memoryleaks\\s*;\\s*" };
+  static final String[] PARALLEL_IGNORE_CMDS_REGEX = { "trackmemory\\s*;\\s*", "trackmemory\\s+force\\s*;\\s*", "memoryleaks\\s*;\\s*" };
 
   /**
    * Constructor
    * @param appContext contains various common bits of information applicable to all tests.
+   * @param resultWriter the object responsible for writing the final test results.
+   * @param history the durations and outcomes of tests from previous runs.
    */
-  public TestSuite(AppContext appContext , ResultWriter resultWriter )
+  public TestSuite(AppContext appContext , ResultWriter resultWriter, TestHistory history)
   {
     this.appContext = appContext;
     this.resultWriter = resultWriter;
+    this.history = history;
   }
 
   /**
    * Runs all the tests in the test suite.
+   *
+   * Test files are planned on a separate pool of planning threads, which feed a bounded queue of
+   * plans that are ready to run. Plans are taken from this queue and executed as soon as there is
+   * a free slot in the pool of test threads, so that parsing test files overlaps with running them.
+   * Test files are planned, and therefore generally started, in the order chosen by the scheduling
+   * policy, although the results are always reported in the order the test files were listed.
    */
   public ResultSummary run()
   {
@@ -53,19 +72,38 @@ public class TestSuite
     List<TestResult> resultList = new LinkedList<>();
     List<FutureContext>  futureContextList = new ArrayList<>();
 
-    Plan plan = null;
-
     TestLogger logger = appContext.getLogger();
-    TestContext testContext = null;
     List<TestAnnotationInfo> testsToAnnotate = null;
 
     if (appContext.getCommandLineArgs().recordResults) {
-      testsToAnnotate = new ArrayList<>();
+      // Tests are planned concurrently, so this list must be thread safe.
+      testsToAnnotate = Collections.synchronizedList(new ArrayList<>());
     }
 
     // Create an executor service with a fixed limit for parallelising the tests.
+    // When running on virtual threads, the test slots below are what enforce the limit.
     int numParallelTests = appContext.getCommandLineArgs().parallelTests;
-    ExecutorService threadPool = Executors.newFixedThreadPool(numParallelTests);
+    ExecutorService threadPool = null;
+
+    if (appContext.getCommandLineArgs().virtualThreads) {
+      threadPool = ThreadPools.newVirtualThreadPerTaskExecutor();
+    }
+
+    if (threadPool == null) {
+      threadPool = Executors.newFixedThreadPool(numParallelTests);
+    }
+
+    // The tests that are running, or have been submitted to the thread pool, may not exceed the pool size
+    // so that the plans that are ready to run wait in the ready queue rather than in the thread pool.
+    Semaphore testSlots = new Semaphore(numParallelTests);
+
+    // Create a separate executor service for planning the tests.
+    int numPlanningThreads = Math.max(1, Math.min(numParallelTests, Runtime.getRuntime().availableProcessors()));
+    ExecutorService planningPool = Executors.newFixedThreadPool(numPlanningThreads);
+
+    // The plans that are ready to be executed. This is bounded so that we don't hold the plans of
+    // every test file in memory at once.
+    BlockingQueue<PlannedTest> readyQueue = new LinkedBlockingQueue<>(numParallelTests);
 
     // if we are running tests in parallel then ignore the memoryleaks and trackmemory commands
     if (numParallelTests > 1) {
@@ -73,18 +111,33 @@ public class TestSuite
       appContext.addIgnorableCommand(Arrays.asList(PARALLEL_IGNORE_CMDS_REGEX));
     }
 
+    // Decide the order in which to start the tests.
+    SchedulePolicy schedulePolicy;
+
+    try {
+      schedulePolicy = SchedulePolicyFactory.get(appContext.getCommandLineArgs().schedule);
+    } catch (InvalidSchedulePolicyException e) {
+      // This has already been validated.
+      throw new SethSystemException(e);
+    }
+
     try {
+      int numTestsToPlan = 0;
+
+      // The tests to be planned and the task that plans each one.
+      List<TestableFile> testsToPlan = new ArrayList<>();
+      Map<TestableFile, PlanningTask> planningTasks = new IdentityHashMap<>();
 
       // Iterate each test file
       for (TestableFile testableFile : appContext.getTestableFiles()) {
 
-        String testName = testableFile.getInstruction() == TestableFile.Instruction.EXECUTE ?
-                            TestableFile.SCRIPT_TEST_NAME :
-                            testableFile.getFile().getName();
+        String testName = testNameFor(testableFile);
 
         if (testableFile.getInstruction() == TestableFile.Instruction.SKIP) {
           logger.testSkipping(testableFile);
-          resultList.add(TestResult.skipped(testableFile, testName));
+          TestResult skippedResult = TestResult.skipped(testableFile, testName);
+          resultList.add(skippedResult);
+          resultWriter.testFinished(skippedResult);
           continue;
         }
 
@@ -98,50 +151,70 @@ public class TestSuite
         resultList.add(testResult);
 
         // Make a new test context for executing this test.
-        testContext = new TestContextImpl(appContext, testableFile, testResult);
+        TestContext testContext = new TestContextImpl(appContext, testableFile, testResult);
 
-        // Parse each test file
-        try {
-          TestPlanner planner = new TestPlanner(testContext);
-          plan = planner.newPlanFor(testableFile, new ArrayList<TestableFile>(), testsToAnnotate);
-
-        } catch (FailureException e) {
-          if (testContext.getResult().getStatus() == NOT_STARTED) {
-            // This can happen with a failure during parsing
-            logger.testExecuting(testContext.getTestFile());
-            testContext.markAsStarted();
-          }
+        // Each test file will be parsed on the planning pool.
+        PlanningTask planningTask = new PlanningTask(testContext, testResult, testsToAnnotate, readyQueue);
+        testsToPlan.add(testableFile);
+        planningTasks.put(testableFile, planningTask);
+      }
 
-          testResult.setFailure(e);
-          logger.error("\n" + testResult.getFailureDescription());
-          continue;
+      // Plan the test files in the order they should be started.
+      for (TestableFile testableFile : schedulePolicy.order(testsToPlan, history)) {
+        planningPool.submit(planningTasks.get(testableFile));
+        ++numTestsToPlan;
+      }
 
-        } catch (FileNotFoundException e) {
-          testResult.setFailure(e);
-          logger.error(testResult.getFailureDescription());
-          continue;
+      logger.testsScheduled(numTestsToPlan);
 
-        } catch (PlanningException e) {
-          testResult.setFailure(e);
-          logger.error(testResult.getFailureDescription());
-          continue;
+      // Run each plan as it becomes ready.
+      for (int i = 0; i < numTestsToPlan; i++) {
+        PlannedTest plannedTest;
+
+        try {
+          plannedTest = readyQueue.take();
+
+        } catch (InterruptedException e) {
+          // Preserve the interrupt so that the running tests are aborted below.
+          Thread.currentThread().interrupt();
+          break;
+        }
 
-        } catch (Exception e) {
+        if (plannedTest.unexpectedException != null) {
           // Remove this result as it is probably incomplete.
-          resultList.remove(testResult);
-          throw e;
+          resultList.remove(plannedTest.testResult);
+          throw rethrow(plannedTest.unexpectedException);
         }
 
+        if (plannedTest.plan == null) {
+          // Planning failed. The failure has already been recorded in the test result.
+          resultWriter.testFinished(plannedTest.testResult);
+          continue;
+        }
+
+        try {
+          testSlots.acquire();
+
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
 
         // Make a new TestRunner to run the plan
-        TestRunner testRunner = new TestRunner(plan, testContext, true);
+        TestRunner testRunner = new TestRunner(plannedTest.plan, plannedTest.testContext, true);
 
         // Run each test file asynchronously.
-        Future<?> future = threadPool.submit(testRunner);
-        FutureContext futureContext = new FutureContext(future, testContext, testResult);
-        futureContextList.add(futureContext);
+        Future<?> future = threadPool.submit(() -> {
+          try {
+            testRunner.run();
+            resultWriter.testFinished(plannedTest.testResult);
+          } finally {
+            testSlots.release();
+          }
+        });
 
-        testContext = null;
+        FutureContext futureContext = new FutureContext(future, plannedTest.testContext, plannedTest.testResult);
+        futureContextList.add(futureContext);
       }
 
       // Wait for all tests to complete
@@ -183,12 +256,111 @@ public class TestSuite
         resultWriter.writeResults(resultList);
       }
 
+      writeHistory(appContext, resultList);
+
+      planningPool.shutdownNow();
       threadPool.shutdownNow();
     }
 
     return ResultSummary.summariseFrom(resultList);
   }
 
+  /**
+   * Updates the history file, if one was given, with the results of this run. A JUnit result
+   * file given as the history is not written to. Neither is the history of a sharded run, since
+   * every shard must read the same history to divide the tests in the same way.
+   * @param appContext the application context.
+   * @param resultList the results of the tests in this run.
+   */
+  static void writeHistory(AppContext appContext, List<TestResult> resultList)
+  {
+    CommandLineArgs args = appContext.getCommandLineArgs();
+    File historyFile = args.historyFile;
+
+    if (historyFile == null || TestHistory.isJUnitFile(historyFile) || args.shardCount > 0) {
+      return;
+    }
+
+    try {
+      TestHistory.updateFile(historyFile, resultList);
+
+    } catch (IOException e) {
+      appContext.getLogger().warning("Unable to update the test history in " + historyFile.getPath() + ": " +
+                                     e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the name that a test is reported under.
+   * @param testableFile the test file.
+   * @return the name that the test is reported under.
+   */
+  static String testNameFor(TestableFile testableFile)
+  {
+    return testableFile.getInstruction() == TestableFile.Instruction.EXECUTE ?
+             TestableFile.SCRIPT_TEST_NAME :
+             testableFile.getFile().getName();
+  }
+
+  /**
+   * Plans a single test file. If planning fails then the failure is recorded in the test result.
+   * @param testContext the context of the test.
+   * @param testResult the result of the test.
+   * @param testsToAnnotate the list to add the test to if its results are being recorded, or null.
+   * @return the plan of the test, or null if planning failed.
+   */
+  static Plan planTest(TestContext testContext, TestResult testResult, List<TestAnnotationInfo> testsToAnnotate)
+  {
+    TestLogger logger = testContext.getLogger();
+    long startNs = System.nanoTime();
+
+    try {
+      TestPlanner planner = new TestPlanner(testContext);
+      Plan plan = planner.newPlanFor(testContext.getTestFile(), new ArrayList<TestableFile>(), testsToAnnotate);
+      PhaseTimes.record(PhaseTimes.Phase.PLAN, System.nanoTime() - startNs);
+      return plan;
+
+    } catch (FailureException e) {
+      if (testContext.getResult().getStatus() == NOT_STARTED) {
+        // This can happen with a failure during parsing
+        logger.testExecuting(testContext.getTestFile());
+        testContext.markAsStarted();
+      }
+
+      testResult.setFailure(e);
+      logger.error("\n" + testResult.getFailureDescription());
+
+    } catch (FileNotFoundException e) {
+      testResult.setFailure(e);
+      logger.error(testResult.getFailureDescription());
+
+    } catch (PlanningException e) {
+      testResult.setFailure(e);
+      logger.error(testResult.getFailureDescription());
+    }
+
+    PhaseTimes.record(PhaseTimes.Phase.PLAN, System.nanoTime() - startNs);
+    return null;
+  }
+
+  /**
+   * Returns an unchecked form of the throwable so that it can be rethrown.
+   * @param t the throwable to be rethrown.
+   * @return an unchecked form of the throwable.
+   */
+  private static RuntimeException rethrow(Throwable t)
+  {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+
+    return new SethSystemException(t);
+  }
+
 
   /**
    * Returns the stack trace of an exception as a string.
@@ -204,6 +376,65 @@ public class TestSuite
   }
 
 
+  /**
+   * Plans a single test file and puts the result on the ready queue. Exactly one
+   * PlannedTest is put on the ready queue for each task, even if planning fails.
+   */
+  private static class PlanningTask implements Runnable
+  {
+    private final TestContext testContext;
+    private final TestResult testResult;
+    private final List<TestAnnotationInfo> testsToAnnotate;
+    private final BlockingQueue<PlannedTest> readyQueue;
+
+    public PlanningTask(TestContext testContext, TestResult testResult,
+                        List<TestAnnotationInfo> testsToAnnotate, BlockingQueue<PlannedTest> readyQueue)
+    {
+      this.testContext = testContext;
+      this.testResult = testResult;
+      this.testsToAnnotate = testsToAnnotate;
+      this.readyQueue = readyQueue;
+    }
+
+    @Override
+    public void run()
+    {
+      PlannedTest plannedTest = new PlannedTest(testContext, testResult);
+
+      try {
+        plannedTest.plan = planTest(testContext, testResult, testsToAnnotate);
+
+      } catch (Throwable t) {
+        plannedTest.unexpectedException = t;
+      }
+
+      try {
+        readyQueue.put(plannedTest);
+
+      } catch (InterruptedException e) {
+        // The test suite is being shut down.
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** The outcome of planning a test file. */
+  private static class PlannedTest {
+    public final TestContext testContext;
+    public final TestResult testResult;
+
+    /** The plan of the test, or null if planning failed. */
+    public Plan plan;
+
+    /** An unexpected exception thrown while planning, or null. */
+    public Throwable unexpectedException;
+
+    public PlannedTest(TestContext testContext, TestResult testResult) {
+      this.testContext = testContext;
+      this.testResult = testResult;
+    }
+  }
+
   private static class FutureContext {
     public Future<?> future;
     public TestContext testContext;
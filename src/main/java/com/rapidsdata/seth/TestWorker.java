@@ -0,0 +1,454 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth;
+
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.contexts.TestContext;
+import com.rapidsdata.seth.contexts.TestContextImpl;
+import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.plan.Plan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs tests in a worker process on behalf of a coordinator process.
+ *
+ * The worker makes one connection to the coordinator for each test it can run at a time. Each
+ * connection repeatedly asks the coordinator for the next test file, runs it and sends the result
+ * back, until the coordinator has no more test files. Everything that is logged while running a
+ * test is sent back to the coordinator to be logged there.
+ *
+ * Test steps are the exception, as there can be very many of them. Unless steps are being logged
+ * only the number of steps executed is sent, and either way they are buffered and sent
+ * periodically rather than one at a time.
+ */
+public class TestWorker
+{
+  /** How often the steps waiting to be sent to the coordinator are sent, in milliseconds. */
+  private static final long STEP_FLUSH_INTERVAL_MS = 100;
+
+  /** The size of the buffer of each connection, which is sent as soon as it fills up. */
+  private static final int SEND_BUFFER_SIZE = 64 * 1024;
+
+  /** Creates the application context that a connection runs its tests in. */
+  public interface AppContextFactory
+  {
+    /**
+     * Returns a new application context that logs to the given logger.
+     * @param logger the logger for the context.
+     * @return a new application context.
+     */
+    public AppContext create(TestLogger logger);
+  }
+
+  /** The parsed command line arguments provided to the application. */
+  private final CommandLineArgs args;
+
+  /** Creates the application context that each connection runs its tests in. */
+  private final AppContextFactory appContextFactory;
+
+  /** The connections to the coordinator that are open at the moment. */
+  private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+  /**
+   * Constructor
+   * @param args The parsed command line arguments provided to the application.
+   * @param appContextFactory Creates the application context that each connection runs its tests in.
+   */
+  public TestWorker(CommandLineArgs args, AppContextFactory appContextFactory)
+  {
+    this.args = args;
+    this.appContextFactory = appContextFactory;
+  }
+
+  /**
+   * Runs tests for the coordinator until it has no more test files.
+   */
+  public void run()
+  {
+    // The tests are always run in parallel with the tests in other workers.
+    Collections.addAll(args.ignoreCommands, TestSuite.PARALLEL_IGNORE_CMDS_REGEX);
+
+    // Periodically sends the steps that each connection has not sent yet.
+    ScheduledExecutorService stepFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "seth-worker-steps");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    stepFlusher.scheduleWithFixedDelay(this::flushSteps, STEP_FLUSH_INTERVAL_MS, STEP_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < args.parallelTests; i++) {
+      Thread thread = new Thread(this::runConnection, "seth-worker-" + i);
+      thread.start();
+      threads.add(thread);
+    }
+
+    try {
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      stepFlusher.shutdownNow();
+    }
+  }
+
+  /**
+   * Sends the steps that each open connection has not sent yet.
+   */
+  private void flushSteps()
+  {
+    for (Connection connection : connections) {
+      try {
+        connection.flushSteps();
+      } catch (IOException e) { /*ignore - the connection's own thread will find out too*/ }
+    }
+  }
+
+  /**
+   * Connects to the coordinator and runs the test files it hands out.
+   */
+  private void runConnection()
+  {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), args.coordinatorPort)) {
+      socket.setTcpNoDelay(true);
+
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), SEND_BUFFER_SIZE));
+      Connection connection = new Connection(out, args.logSteps);
+      AppContext appContext = appContextFactory.create(new RemoteLogger(connection));
+      appContext.addIgnorableCommand(Arrays.asList(TestSuite.PARALLEL_IGNORE_CMDS_REGEX));
+
+      connections.add(connection);
+
+      try {
+        while (true) {
+          connection.send(WorkerProtocol.NEXT);
+
+          if (in.readByte() != WorkerProtocol.TEST) {
+            return;
+          }
+
+          TestableFile testableFile = WorkerProtocol.readTestableFile(in);
+          connection.sendResult(runTest(appContext, testableFile));
+        }
+      } finally {
+        connections.remove(connection);
+      }
+
+    } catch (IOException e) {
+      // The coordinator has gone away, so there is nothing more to do.
+      System.err.println("Lost the connection to the coordinator: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Plans and runs a single test file.
+   * @param appContext the application context to run the test in.
+   * @param testableFile the test file to run.
+   * @return the result of the test.
+   */
+  private TestResult runTest(AppContext appContext, TestableFile testableFile)
+  {
+    TestResult testResult = new TestResult(testableFile, TestSuite.testNameFor(testableFile));
+    TestContext testContext = new TestContextImpl(appContext, testableFile, testResult);
+
+    try {
+      Plan plan = TestSuite.planTest(testContext, testResult, null);
+
+      if (plan != null) {
+        new TestRunner(plan, testContext, true).run();
+      }
+
+    } catch (Throwable t) {
+      StringWriter sw = new StringWriter();
+      t.printStackTrace(new PrintWriter(sw));
+      appContext.getLogger().error("Unexpected internal exception encountered -" + System.lineSeparator() + sw);
+      testResult.setAbort();
+    }
+
+    return testResult;
+  }
+
+
+  /**
+   * The connection to the coordinator that a test is being run for. Messages may be sent by any
+   * of the threads that the test creates.
+   *
+   * Every message is sent straight away except for test steps. If steps are being logged then each
+   * step is written to the buffer of the connection, which is sent when it fills up, when another
+   * message is sent or when the steps are flushed. Otherwise the steps are only counted, and the
+   * count is sent at those times instead.
+   */
+  private static class Connection
+  {
+    private final DataOutputStream out;
+    private final Lock lock = new ReentrantLock();
+
+    /** Whether each step is sent, rather than just the number of steps. */
+    private final boolean logSteps;
+
+    /** The number of steps executed that have not been sent yet, if steps are not being logged. */
+    private final AtomicLong unsentSteps = new AtomicLong(0);
+
+    /** Whether there are steps in the buffer that have not been sent yet, if steps are being logged. */
+    private volatile boolean stepsBuffered = false;
+
+    /** The test file of the last step that was sent, so that it is only sent when it changes. */
+    private TestableFile lastStepFile = null;
+
+    private Connection(DataOutputStream out, boolean logSteps)
+    {
+      this.out = out;
+      this.logSteps = logSteps;
+    }
+
+    private void send(byte type) throws IOException
+    {
+      lock.lock();
+
+      try {
+        writeUnsentSteps();
+        out.writeByte(type);
+        out.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void sendTestableFile(byte type, TestableFile testableFile) throws IOException
+    {
+      lock.lock();
+
+      try {
+        writeUnsentSteps();
+        out.writeByte(type);
+        WorkerProtocol.writeTestableFile(out, testableFile);
+        out.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void stepExecuted(TestableFile testableFile, String command, long lineNum) throws IOException
+    {
+      if (!logSteps) {
+        unsentSteps.incrementAndGet();
+        return;
+      }
+
+      lock.lock();
+
+      try {
+        out.writeByte(WorkerProtocol.STEP);
+
+        boolean newFile = (testableFile != lastStepFile);
+        out.writeBoolean(newFile);
+
+        if (newFile) {
+          WorkerProtocol.writeTestableFile(out, testableFile);
+          lastStepFile = testableFile;
+        }
+
+        WorkerProtocol.writeString(out, command);
+        out.writeLong(lineNum);
+        stepsBuffered = true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Sends the steps that have not been sent yet.
+     */
+    private void flushSteps() throws IOException
+    {
+      if (unsentSteps.get() == 0 && !stepsBuffered) {
+        return;
+      }
+
+      lock.lock();
+
+      try {
+        writeUnsentSteps();
+        out.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Writes the number of steps that have not been sent yet, so that they are sent ahead of the
+     * next message. Must be called with the lock held.
+     */
+    private void writeUnsentSteps() throws IOException
+    {
+      long numSteps = unsentSteps.getAndSet(0);
+
+      if (numSteps > 0) {
+        out.writeByte(WorkerProtocol.STEPS);
+        out.writeLong(numSteps);
+      }
+
+      stepsBuffered = false;
+    }
+
+    private void sendMessage(byte type, String msg, boolean indent) throws IOException
+    {
+      lock.lock();
+
+      try {
+        writeUnsentSteps();
+        out.writeByte(type);
+        WorkerProtocol.writeString(out, msg);
+        out.writeBoolean(indent);
+        out.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void sendResult(TestResult result) throws IOException
+    {
+      lock.lock();
+
+      try {
+        writeUnsentSteps();
+        out.writeByte(WorkerProtocol.RESULT);
+        out.writeByte(result.getStatus().ordinal());
+        out.writeLong(result.getSteps());
+        out.writeLong(result.getExecutionTimeNs());
+
+        if (result.getFailureException() == null) {
+          WorkerProtocol.writeString(out, null);
+          WorkerProtocol.writeString(out, null);
+          WorkerProtocol.writeString(out, null);
+        } else {
+          WorkerProtocol.writeString(out, result.getFailureException().getClass().getName());
+          WorkerProtocol.writeString(out, result.getFailureException().getMessage());
+          WorkerProtocol.writeString(out, result.getFailureDescription());
+        }
+
+        Map<String,Integer> ignoredCounts = result.getIgnoredCounts();
+        out.writeInt(ignoredCounts.size());
+
+        for (Map.Entry<String,Integer> entry : ignoredCounts.entrySet()) {
+          WorkerProtocol.writeString(out, entry.getKey());
+          out.writeInt(entry.getValue());
+        }
+
+        out.flush();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * A logger that sends everything it logs to the coordinator.
+   */
+  private static class RemoteLogger implements TestLogger
+  {
+    private final Connection connection;
+
+    private RemoteLogger(Connection connection)
+    {
+      this.connection = connection;
+    }
+
+    @Override
+    public void testValidating(TestableFile testFile)
+    {
+      try {
+        connection.sendTestableFile(WorkerProtocol.VALIDATING, testFile);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void testSkipping(TestableFile testFile)
+    {
+      try {
+        connection.sendTestableFile(WorkerProtocol.SKIPPING, testFile);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void testExecuting(TestableFile testFile)
+    {
+      try {
+        connection.sendTestableFile(WorkerProtocol.EXECUTING, testFile);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void testExecutionFinished(TestableFile testFile, TestResult result)
+    {
+      // The coordinator logs this when it receives the result.
+    }
+
+    @Override
+    public void testStepExecuting(TestableFile testFile, String command, long lineNum)
+    {
+      try {
+        connection.stepExecuted(testFile, command, lineNum);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void log(String msg)
+    {
+      log(msg, true);
+    }
+
+    @Override
+    public void log(String msg, boolean indent)
+    {
+      try {
+        connection.sendMessage(WorkerProtocol.LOG, msg, indent);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void warning(String msg)
+    {
+      try {
+        connection.sendMessage(WorkerProtocol.WARNING, msg, false);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void error(String msg)
+    {
+      try {
+        connection.sendMessage(WorkerProtocol.ERROR, msg, false);
+      } catch (IOException e) { /*ignore*/ }
+    }
+
+    @Override
+    public void close() {}
+  }
+}
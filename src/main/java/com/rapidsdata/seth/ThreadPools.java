@@ -0,0 +1,61 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executor services that tests and their threads run on.
+ *
+ * Virtual threads are cheap enough that a single process can run tens of thousands of simulated
+ * clients that each spend most of their time blocked waiting on the server. They only exist in
+ * Java 21 and later, whereas SETH is built for Java 11, so they are created by reflection when
+ * the running JVM supports them.
+ */
+public class ThreadPools
+{
+  /** The factory method for an executor of virtual threads, or null if the JVM doesn't have one. */
+  private static final Method VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+
+  private ThreadPools() {}
+
+  /**
+   * Returns whether the running JVM supports virtual threads.
+   * @return whether the running JVM supports virtual threads.
+   */
+  public static boolean isVirtualThreadSupported()
+  {
+    return VIRTUAL_THREAD_FACTORY != null;
+  }
+
+  /**
+   * Returns a new executor service that runs each task on its own virtual thread.
+   * @return a new executor service that runs each task on its own virtual thread, or null if the
+   *         running JVM does not support virtual threads.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor()
+  {
+    if (VIRTUAL_THREAD_FACTORY == null) {
+      return null;
+    }
+
+    try {
+      return (ExecutorService) VIRTUAL_THREAD_FACTORY.invoke(null);
+
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static Method findVirtualThreadFactory()
+  {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+    } catch (NoSuchMethodException | SecurityException e) {
+      return null;
+    }
+  }
+}
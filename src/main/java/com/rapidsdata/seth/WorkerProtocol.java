@@ -0,0 +1,90 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The messages exchanged between the coordinator and its worker processes over a local socket.
+ *
+ * Each connection from a worker runs one test at a time. The worker asks for the next test file
+ * to run, streams back what it logs while running it and then sends back the result of the test,
+ * before asking for the next one. The coordinator replies with DONE when there are no more tests.
+ * Test steps are sent as a STEPS count unless they are being logged, in which case each STEP only
+ * includes its test file when it differs from that of the previous STEP on the connection.
+ *
+ * Every message starts with a byte giving its type, followed by its fields. Strings are written
+ * as a length and UTF-8 bytes, so that they are not limited in size.
+ */
+class WorkerProtocol
+{
+  // Messages from a worker to the coordinator.
+  static final byte NEXT        = 1;
+  static final byte VALIDATING  = 2;
+  static final byte SKIPPING    = 3;
+  static final byte EXECUTING   = 4;
+  static final byte STEP        = 5;
+  static final byte LOG         = 6;
+  static final byte WARNING     = 7;
+  static final byte ERROR       = 8;
+  static final byte RESULT      = 9;
+  static final byte STEPS       = 10;
+
+  // Messages from the coordinator to a worker.
+  static final byte TEST        = 20;
+  static final byte DONE        = 21;
+
+  private WorkerProtocol() {}
+
+  static void writeString(DataOutputStream out, String str) throws IOException
+  {
+    if (str == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInputStream in) throws IOException
+  {
+    int length = in.readInt();
+
+    if (length < 0) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeTestableFile(DataOutputStream out, TestableFile testableFile) throws IOException
+  {
+    out.writeByte(testableFile.getInstruction().ordinal());
+
+    if (testableFile.getInstruction() == TestableFile.Instruction.EXECUTE) {
+      writeString(out, testableFile.getScript());
+    } else {
+      writeString(out, testableFile.getFile().getPath());
+    }
+  }
+
+  static TestableFile readTestableFile(DataInputStream in) throws IOException
+  {
+    TestableFile.Instruction instruction = TestableFile.Instruction.values()[in.readByte()];
+    String str = readString(in);
+
+    if (instruction == TestableFile.Instruction.EXECUTE) {
+      return new TestableFile(str);
+    }
+
+    return new TestableFile(new File(str), instruction);
+  }
+}
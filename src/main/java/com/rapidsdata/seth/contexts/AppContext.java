@@ -7,6 +7,8 @@ import com.rapidsdata.seth.Options;
 import com.rapidsdata.seth.PathRelativity;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
 
 import java.util.List;
 import java.util.Map;
@@ -51,6 +53,18 @@ public interface AppContext
    */
   public ExecutorService getThreadPool();
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  public ConnectionPool getConnectionPool();
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  public LatencyReportWriter getLatencyReportWriter();
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
@@ -7,6 +7,8 @@ import com.rapidsdata.seth.Options;
 import com.rapidsdata.seth.PathRelativity;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +39,12 @@ public class AppContextImpl implements AppContext
   /** The service that we create threads from for running tests. */
   private final ExecutorService threadPool;
 
+  /** The pool that connections to the system being tested are acquired from. */
+  private final ConnectionPool connectionPool;
+
+  /** The writer of the latency report, or null if latencies are not being recorded. */
+  private final LatencyReportWriter latencyReportWriter;
+
   /** The command line arguments. */
   private final CommandLineArgs args;
 
@@ -57,6 +65,8 @@ public class AppContextImpl implements AppContext
                         PathRelativity pathRelativity,
                         TestLogger logger,
                         ExecutorService threadPool,
+                        ConnectionPool connectionPool,
+                        LatencyReportWriter latencyReportWriter,
                         Options appOptions,
                         Map<String,String> appVariables)
   {
@@ -67,6 +77,8 @@ public class AppContextImpl implements AppContext
     this.pathRelativity = pathRelativity;
     this.logger = logger;
     this.threadPool = threadPool;
+    this.connectionPool = connectionPool;
+    this.latencyReportWriter = latencyReportWriter;
     this.appOptions = appOptions;
     this.appVariables = appVariables;
     this.ignorableCommands = new ArrayList<>();
@@ -132,6 +144,26 @@ public class AppContextImpl implements AppContext
     return threadPool;
   }
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  @Override
+  public ConnectionPool getConnectionPool()
+  {
+    return connectionPool;
+  }
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyReportWriter getLatencyReportWriter()
+  {
+    return latencyReportWriter;
+  }
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
@@ -5,6 +5,8 @@ package com.rapidsdata.seth.contexts;
 import com.rapidsdata.seth.exceptions.BadConnectionNameException;
 import com.rapidsdata.seth.exceptions.ConnectionNameExistsException;
 import com.rapidsdata.seth.exceptions.DefaultConnectionNameException;
+import com.rapidsdata.seth.jdbc.StatementCache;
+import com.rapidsdata.seth.latency.LatencyRecorder;
 import com.rapidsdata.seth.plan.Operation;
 
 import java.sql.Connection;
@@ -23,6 +25,13 @@ public interface ExecutionContext extends TestContext
    */
   public void registerFuture(Future<?> future);
 
+  /**
+   * Returns the recorder of the latencies of the statements executed by this thread, or null if
+   * latencies are not being recorded.
+   * @return the recorder of the latencies of this thread, or null if latencies are not being recorded.
+   */
+  public LatencyRecorder getLatencyRecorder();
+
   /**
    * Returns the name of the current connection object used by getConnection().
    * @return the name of the current connection object used by getConnection().
@@ -43,6 +52,25 @@ public interface ExecutionContext extends TestContext
    */
   public Connection getConnection();
 
+  /**
+   * Returns the cache of statements to execute commands with on the current connection.
+   * @return the cache of statements of the current connection, or null if statement caching is not enabled.
+   */
+  public StatementCache getStatementCache();
+
+  /**
+   * Returns whether the driver has returned an update count for every command of a batch executed
+   * on the current connection.
+   * @return true if the current connection has returned an update count for every command of a batch.
+   */
+  public boolean isReportingBatchCounts();
+
+  /**
+   * Records that the driver has returned an update count for every command of a batch executed on
+   * the current connection.
+   */
+  public void setReportingBatchCounts();
+
   /**
    * Adds a new Connection object and makes it the new default connection returned by getConnection().
    * @param connection The new Connection object we are saving.
@@ -54,7 +82,7 @@ public interface ExecutionContext extends TestContext
   /**
    * Removes the connection associated with this name. The next time getConnection() is called,
    * the Connection object associated with the name "default" will be returned.
-   * N.B.: This method does not close the Connection object.
+   * N.B.: This method does not close the Connection object, but does close any statements cached on it.
    * @param name the name associated with the Connection object that we wish to remove.
    * @returns the Connection object that was removed.
    * @throws BadConnectionNameException if there are no connections with this name.
@@ -6,10 +6,13 @@ import com.rapidsdata.seth.*;
 import com.rapidsdata.seth.exceptions.*;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.SethVariables;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.jdbc.StatementCache;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
 
 import java.sql.Connection;
 import java.util.*;
-import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.regex.Pattern;
@@ -32,18 +35,35 @@ public class ExecutionContextImpl implements ExecutionContext
   /** A map of Connections, keyed by a connection name. */
   private final Map<String,Connection> connectionMap;
 
+  /** The statement cache of each connection in the connectionMap that has executed a command, if statement caching is enabled. */
+  private final Map<Connection,StatementCache> statementCaches;
+
+  /** The recorder of the latencies of this thread, or null if latencies are not being recorded. */
+  private final LatencyRecorder latencyRecorder;
+
+  /** The connections in the connectionMap that have returned an update count for every command of a batch. */
+  private final Set<Connection> connectionsReportingBatchCounts = Collections.newSetFromMap(new IdentityHashMap<>());
+
 
   /**
    * Constructor
    * @param testContext The TestContext that this ExecutionContext uses.
+   * @param statementCaches The statement caches of the connections in the connectionMap, which
+   *                        this context adds to as connections are used.
+   * @param latencyRecorder The recorder of the latencies of this thread, or null if latencies
+   *                        are not being recorded.
    */
   public ExecutionContextImpl(TestContext testContext,
                               List<Future<?>> futures,
-                              Map<String,Connection> connectionMap)
+                              Map<String,Connection> connectionMap,
+                              Map<Connection,StatementCache> statementCaches,
+                              LatencyRecorder latencyRecorder)
   {
     this.testContext = testContext;
     this.futures = futures;
     this.connectionMap = connectionMap;
+    this.statementCaches = statementCaches;
+    this.latencyRecorder = latencyRecorder;
   }
 
 
@@ -60,6 +80,17 @@ public class ExecutionContextImpl implements ExecutionContext
     futures.add(future);
   }
 
+  /**
+   * Returns the recorder of the latencies of the statements executed by this thread, or null if
+   * latencies are not being recorded.
+   * @return the recorder of the latencies of this thread, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyRecorder getLatencyRecorder()
+  {
+    return latencyRecorder;
+  }
+
   /**
    * Returns the name of the current connection object used by getConnection().
    * @return the name of the current connection object used by getConnection().
@@ -106,6 +137,53 @@ public class ExecutionContextImpl implements ExecutionContext
     return conn;
   }
 
+  /**
+   * Returns the cache of statements to execute commands with on the current connection.
+   * @return the cache of statements of the current connection, or null if statement caching is not enabled.
+   */
+  @Override
+  public StatementCache getStatementCache()
+  {
+    ConnectionPool connectionPool = getConnectionPool();
+
+    if (!connectionPool.isCachingStatements()) {
+      return null;
+    }
+
+    // This doesn't need any synchronisation since an ExecutionContext is only ever
+    // used by a single thread.
+    Connection conn = getConnection();
+    StatementCache statementCache = statementCaches.get(conn);
+
+    if (statementCache == null) {
+      statementCache = connectionPool.newStatementCache(conn);
+      statementCaches.put(conn, statementCache);
+    }
+
+    return statementCache;
+  }
+
+  /**
+   * Returns whether the driver has returned an update count for every command of a batch executed
+   * on the current connection.
+   * @return true if the current connection has returned an update count for every command of a batch.
+   */
+  @Override
+  public boolean isReportingBatchCounts()
+  {
+    return connectionsReportingBatchCounts.contains(getConnection());
+  }
+
+  /**
+   * Records that the driver has returned an update count for every command of a batch executed on
+   * the current connection.
+   */
+  @Override
+  public void setReportingBatchCounts()
+  {
+    connectionsReportingBatchCounts.add(getConnection());
+  }
+
   /**
    * Adds a new Connection object and makes it the new default connection returned by getConnection().
    * @param connection The new Connection object we are saving.
@@ -135,7 +213,7 @@ public class ExecutionContextImpl implements ExecutionContext
   /**
    * Removes the connection associated with this name. The next time getConnection() is called,
    * the Connection object associated with the name "default" will be returned.
-   * N.B.: This method does not close the Connection object.
+   * N.B.: This method does not close the Connection object, but does close any statements cached on it.
    * @param name the name associated with the Connection object that we wish to remove.
    * @returns the Connection object that was removed.
    * @throws BadConnectionNameException if there are no connections with this name.
@@ -156,6 +234,12 @@ public class ExecutionContextImpl implements ExecutionContext
     }
 
     Connection conn = connectionMap.remove(name);
+    connectionsReportingBatchCounts.remove(conn);
+    StatementCache statementCache = statementCaches.remove(conn);
+
+    if (statementCache != null) {
+      statementCache.close();
+    }
 
     // Set the default connection as the current one.
     try {
@@ -313,25 +397,44 @@ public class ExecutionContextImpl implements ExecutionContext
   /**
    * Returns the synchronisation barrier associated with a given name for synchronising threads on.
    * Creates the barrier if one does not exist (threadsafe).
-   * @param name     the name to associate with the synchronisation barrier.
-   * @param parties  the number of threads to wait on.
+   * @param name the name to associate with the synchronisation barrier.
    * @return the synchronisation barrier.
    */
   @Override
-  public CyclicBarrier getOrCreateSyncObject(String name, int parties)
+  public SyncBarrier getOrCreateSyncObject(String name)
+  {
+    return testContext.getOrCreateSyncObject(name);
+  }
+
+  /**
+   * Returns a description of how long threads waited at each synchronisation barrier, or null if
+   * no barrier was used.
+   * @return a description of how long threads waited at each synchronisation barrier, or null.
+   */
+  @Override
+  public String describeSyncStatistics()
+  {
+    return testContext.describeSyncStatistics();
+  }
+
+  /**
+   * Adds the latencies recorded by one thread of the test. Called by each thread as it exits.
+   * @param recorder the latencies recorded by the thread.
+   */
+  @Override
+  public void addLatencies(LatencyRecorder recorder)
   {
-    return testContext.getOrCreateSyncObject(name, parties);
+    testContext.addLatencies(recorder);
   }
 
   /**
-   * Removes the given synchronisation barrier associated with a given name.
-   * @param name  the name of the object to remove.
-   * @param barrier the actual synchronisation object to be removed.
+   * Writes out the latencies recorded by all the threads of the test, if latencies are being
+   * recorded. Called once all the threads of the test have exited.
    */
   @Override
-  public void removeSyncObject(String name, CyclicBarrier barrier)
+  public void writeLatencies()
   {
-    testContext.removeSyncObject(name, barrier);
+    testContext.writeLatencies();
   }
 
   /**
@@ -394,6 +497,26 @@ public class ExecutionContextImpl implements ExecutionContext
     return testContext.getThreadPool();
   }
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  @Override
+  public ConnectionPool getConnectionPool()
+  {
+    return testContext.getConnectionPool();
+  }
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyReportWriter getLatencyReportWriter()
+  {
+    return testContext.getLatencyReportWriter();
+  }
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
@@ -9,11 +9,14 @@ package com.rapidsdata.seth.contexts;
 import com.rapidsdata.seth.*;
 import com.rapidsdata.seth.exceptions.*;
 import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.jdbc.StatementCache;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
 
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.regex.Pattern;
@@ -50,6 +53,17 @@ public class ParserExecutionContextImpl implements ExecutionContext
     // No-op
   }
 
+  /**
+   * Returns the recorder of the latencies of the statements executed by this thread, or null if
+   * latencies are not being recorded.
+   * @return the recorder of the latencies of this thread, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyRecorder getLatencyRecorder()
+  {
+    return null;
+  }
+
   /**
    * Returns the name of the current connection object used by getConnection().
    * @return the name of the current connection object used by getConnection().
@@ -82,6 +96,37 @@ public class ParserExecutionContextImpl implements ExecutionContext
     return null;
   }
 
+  /**
+   * Returns the cache of statements to execute commands with on the current connection.
+   * @return the cache of statements of the current connection, or null if statement caching is not enabled.
+   */
+  @Override
+  public StatementCache getStatementCache()
+  {
+    return null;
+  }
+
+  /**
+   * Returns whether the driver has returned an update count for every command of a batch executed
+   * on the current connection.
+   * @return true if the current connection has returned an update count for every command of a batch.
+   */
+  @Override
+  public boolean isReportingBatchCounts()
+  {
+    return false;
+  }
+
+  /**
+   * Records that the driver has returned an update count for every command of a batch executed on
+   * the current connection.
+   */
+  @Override
+  public void setReportingBatchCounts()
+  {
+    // no-op
+  }
+
   /**
    * Adds a new Connection object and makes it the new default connection returned by getConnection().
    * @param connection The new Connection object we are saving.
@@ -256,25 +301,44 @@ public class ParserExecutionContextImpl implements ExecutionContext
   /**
    * Returns the synchronisation barrier associated with a given name for synchronising threads on.
    * Creates the barrier if one does not exist (threadsafe).
-   * @param name     the name to associate with the synchronisation barrier.
-   * @param parties  the number of threads to wait on.
+   * @param name the name to associate with the synchronisation barrier.
    * @return the synchronisation barrier.
    */
   @Override
-  public CyclicBarrier getOrCreateSyncObject(String name, int parties)
+  public SyncBarrier getOrCreateSyncObject(String name)
+  {
+    return testContext.getOrCreateSyncObject(name);
+  }
+
+  /**
+   * Returns a description of how long threads waited at each synchronisation barrier, or null if
+   * no barrier was used.
+   * @return a description of how long threads waited at each synchronisation barrier, or null.
+   */
+  @Override
+  public String describeSyncStatistics()
+  {
+    return testContext.describeSyncStatistics();
+  }
+
+  /**
+   * Adds the latencies recorded by one thread of the test. Called by each thread as it exits.
+   * @param recorder the latencies recorded by the thread.
+   */
+  @Override
+  public void addLatencies(LatencyRecorder recorder)
   {
-    return testContext.getOrCreateSyncObject(name, parties);
+    testContext.addLatencies(recorder);
   }
 
   /**
-   * Removes the given synchronisation barrier associated with a given name.
-   * @param name  the name of the object to remove.
-   * @param barrier the actual synchronisation object to be removed.
+   * Writes out the latencies recorded by all the threads of the test, if latencies are being
+   * recorded. Called once all the threads of the test have exited.
    */
   @Override
-  public void removeSyncObject(String name, CyclicBarrier barrier)
+  public void writeLatencies()
   {
-    testContext.removeSyncObject(name, barrier);
+    testContext.writeLatencies();
   }
 
   /**
@@ -337,6 +401,26 @@ public class ParserExecutionContextImpl implements ExecutionContext
     return testContext.getThreadPool();
   }
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  @Override
+  public ConnectionPool getConnectionPool()
+  {
+    return testContext.getConnectionPool();
+  }
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyReportWriter getLatencyReportWriter()
+  {
+    return testContext.getLatencyReportWriter();
+  }
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
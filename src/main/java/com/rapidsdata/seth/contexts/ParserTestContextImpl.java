@@ -7,10 +7,12 @@ package com.rapidsdata.seth.contexts;
 import com.rapidsdata.seth.*;
 import com.rapidsdata.seth.exceptions.FailureException;
 import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
@@ -101,6 +103,26 @@ public class ParserTestContextImpl implements TestContext
     return null;
   }
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  @Override
+  public ConnectionPool getConnectionPool()
+  {
+    return null;
+  }
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyReportWriter getLatencyReportWriter()
+  {
+    return null;
+  }
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
@@ -279,24 +301,41 @@ public class ParserTestContextImpl implements TestContext
    * Returns the synchronisation barrier associated with a given name for synchronising threads on.
    * Creates the barrier if one does not exist (threadsafe).
    * @param name the name to associate with the synchronisation barrier.
-   * @param parties the number of threads to wait on.
    * @return the synchronisation barrier.
    */
   @Override
-  public CyclicBarrier getOrCreateSyncObject(String name, int parties)
+  public SyncBarrier getOrCreateSyncObject(String name)
   {
     return null;
   }
 
   /**
-   * Removes the given synchronisation barrier associated with a given name.
-   * @param name  the name of the object to remove.
-   * @param barrier the actual synchronisation object to be removed.
+   * Returns a description of how long threads waited at each synchronisation barrier, or null if
+   * no barrier was used.
+   * @return a description of how long threads waited at each synchronisation barrier, or null.
    */
   @Override
-  public void removeSyncObject(String name, CyclicBarrier barrier)
+  public String describeSyncStatistics()
+  {
+    return null;
+  }
+
+  /**
+   * Adds the latencies recorded by one thread of the test. Called by each thread as it exits.
+   * @param recorder the latencies recorded by the thread.
+   */
+  @Override
+  public void addLatencies(LatencyRecorder recorder)
+  {
+  }
+
+  /**
+   * Writes out the latencies recorded by all the threads of the test, if latencies are being
+   * recorded. Called once all the threads of the test have exited.
+   */
+  @Override
+  public void writeLatencies()
   {
-    // no-op
   }
 
   @Override
@@ -0,0 +1,216 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.contexts;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * A named barrier that the threads of a test synchronise on.
+ *
+ * Like a Phaser, the number of parties can change while threads are waiting. A thread waits either
+ * for a given number of threads to arrive, or for all of the active threads of the test to arrive,
+ * in which case the barrier is released as soon as a thread that hasn't arrived exits. Waiting
+ * threads are woken as soon as the barrier is released or the test ends, rather than polling.
+ *
+ * The barrier also keeps statistics of how long threads waited at it and which thread, and which
+ * synchronise command of that thread, was the last to arrive each time. Threads are numbered from
+ * 1 in the order that they first arrived at the barrier.
+ */
+public class SyncBarrier
+{
+  /** The name of the barrier. */
+  private final String name;
+
+  /** Returns the number of active threads in the test. */
+  private final IntSupplier numActiveThreads;
+
+  /** Guards the state of the barrier. This is a Lock so that virtual threads don't pin their carrier. */
+  private final Lock lock = new ReentrantLock();
+
+  /** Signalled when the barrier is released or when the waiting threads should check whether to stop waiting. */
+  private final Condition changed = lock.newCondition();
+
+  /** Incremented each time the barrier is released. */
+  private long generation = 0;
+
+  /** The number of threads that have arrived in the current generation. */
+  private int numArrived = 0;
+
+  /** The number of threads to wait for in the current generation, or -1 for all active threads. */
+  private int parties = 0;
+
+  /** The time the first thread arrived in the current generation. */
+  private long firstArrivalNs = 0;
+
+  /** The number of the last thread to arrive in the current generation. */
+  private int lastArrivalThread = 0;
+
+  /** The line number of the last synchronise command to arrive in the current generation. */
+  private long lastArrivalLine = -1;
+
+  /** The number of each thread that has arrived at the barrier, in the order they first arrived. */
+  private final Map<Thread, Integer> threadNumbers = new HashMap<>();
+
+  // Statistics
+  private long numReleases = 0;
+  private long numWaits = 0;
+  private long totalWaitNs = 0;
+  private long maxWaitNs = 0;
+  private long totalSpreadNs = 0;
+  private long maxSpreadNs = 0;
+
+  /** How many times each thread was the last to arrive, by thread number and then by line number. */
+  private final Map<Integer, Map<Long, Long>> lastArrivalCounts = new TreeMap<>();
+
+  /**
+   * Constructor
+   * @param name the name of the barrier.
+   * @param numActiveThreads returns the number of active threads in the test.
+   */
+  public SyncBarrier(String name, IntSupplier numActiveThreads)
+  {
+    this.name = name;
+    this.numActiveThreads = numActiveThreads;
+  }
+
+  /**
+   * Waits for the given number of threads to arrive at the barrier.
+   * @param parties the number of threads to wait for, or -1 to wait for all active threads.
+   * @param lineNum the line number of the synchronise command that is waiting.
+   * @param keepWaiting returns whether the thread should keep waiting. This is checked each time
+   *                    the waiting threads are woken.
+   * @return true if the barrier was released, or false if the thread stopped waiting.
+   */
+  public boolean await(int parties, long lineNum, BooleanSupplier keepWaiting)
+  {
+    long arrivalNs = System.nanoTime();
+
+    lock.lock();
+
+    try {
+      long arrivalGeneration = generation;
+
+      if (numArrived == 0) {
+        firstArrivalNs = arrivalNs;
+      }
+
+      ++numArrived;
+      this.parties = parties;
+      lastArrivalThread = threadNumbers.computeIfAbsent(Thread.currentThread(), t -> threadNumbers.size() + 1);
+      lastArrivalLine = lineNum;
+
+      if (!tryRelease()) {
+        while (generation == arrivalGeneration) {
+          if (!keepWaiting.getAsBoolean()) {
+            --numArrived;
+            return false;
+          }
+
+          changed.awaitUninterruptibly();
+        }
+      }
+
+      long waitNs = System.nanoTime() - arrivalNs;
+      ++numWaits;
+      totalWaitNs += waitNs;
+      maxWaitNs = Math.max(maxWaitNs, waitNs);
+      return true;
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wakes up the waiting threads so that they check again whether to keep waiting, and releases
+   * the barrier if all the active threads it is waiting for have now arrived. This should be
+   * called whenever a thread exits or the test ends.
+   */
+  public void wakeUp()
+  {
+    lock.lock();
+
+    try {
+      if (numArrived > 0 && !tryRelease()) {
+        changed.signalAll();
+      }
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the barrier if enough threads have arrived. Must be called while holding the lock.
+   * @return true if the barrier was released.
+   */
+  private boolean tryRelease()
+  {
+    int numToWaitFor = (parties == -1) ? numActiveThreads.getAsInt() : parties;
+
+    if (numArrived < numToWaitFor) {
+      return false;
+    }
+
+    long spreadNs = System.nanoTime() - firstArrivalNs;
+    ++numReleases;
+    totalSpreadNs += spreadNs;
+    maxSpreadNs = Math.max(maxSpreadNs, spreadNs);
+    lastArrivalCounts.computeIfAbsent(lastArrivalThread, t -> new TreeMap<>()).merge(lastArrivalLine, 1L, Long::sum);
+
+    ++generation;
+    numArrived = 0;
+    changed.signalAll();
+    return true;
+  }
+
+  /**
+   * Returns a description of how long threads waited at the barrier, or null if it was never released.
+   * @return a description of how long threads waited at the barrier, or null if it was never released.
+   */
+  public String describeStatistics()
+  {
+    lock.lock();
+
+    try {
+      if (numReleases == 0) {
+        return null;
+      }
+
+      StringBuilder sb = new StringBuilder(256);
+      sb.append("Synchronise \"").append(name).append("\" released ").append(numReleases).append(" times.")
+        .append(" Wait per thread: mean ").append(nanosToMillis(totalWaitNs / Math.max(1, numWaits)))
+        .append(", max ").append(nanosToMillis(maxWaitNs)).append(".")
+        .append(" First to last arrival: mean ").append(nanosToMillis(totalSpreadNs / numReleases))
+        .append(", max ").append(nanosToMillis(maxSpreadNs)).append(".")
+        .append(" Last to arrive:");
+
+      String separator = " ";
+      for (Map.Entry<Integer, Map<Long, Long>> threadEntry : lastArrivalCounts.entrySet()) {
+        for (Map.Entry<Long, Long> lineEntry : threadEntry.getValue().entrySet()) {
+          sb.append(separator).append("thread ").append(threadEntry.getKey())
+            .append(" at line ").append(lineEntry.getKey()).append(" (").append(lineEntry.getValue()).append(" times)");
+          separator = ", ";
+        }
+      }
+
+      return sb.toString();
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static String nanosToMillis(long nanos)
+  {
+    return String.format("%.3f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
@@ -6,9 +6,9 @@ import com.rapidsdata.seth.Options;
 import com.rapidsdata.seth.TestResult;
 import com.rapidsdata.seth.TestableFile;
 import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.latency.LatencyRecorder;
 import com.rapidsdata.seth.SethVariables;
 
-import java.util.concurrent.CyclicBarrier;
 
 public interface TestContext extends AppContext
 {
@@ -87,17 +87,28 @@ public interface TestContext extends AppContext
    * Returns the synchronisation barrier associated with a given name for synchronising threads on.
    * Creates the barrier if one does not exist (threadsafe).
    * @param name the name to associate with the synchronisation barrier.
-   * @param parties the number of threads to wait on.
    * @return the synchronisation barrier.
    */
-  public CyclicBarrier getOrCreateSyncObject(String name, int parties);
+  public SyncBarrier getOrCreateSyncObject(String name);
 
   /**
-   * Removes the given synchronisation barrier associated with a given name.
-   * @param name  the name of the object to remove.
-   * @param barrier the actual synchronisation object to be removed.
+   * Returns a description of how long threads waited at each synchronisation barrier, or null if
+   * no barrier was used.
+   * @return a description of how long threads waited at each synchronisation barrier, or null.
    */
-  public void removeSyncObject(String name, CyclicBarrier barrier);
+  public String describeSyncStatistics();
+
+  /**
+   * Adds the latencies recorded by one thread of the test. Called by each thread as it exits.
+   * @param recorder the latencies recorded by the thread.
+   */
+  public void addLatencies(LatencyRecorder recorder);
+
+  /**
+   * Writes out the latencies recorded by all the threads of the test, if latencies are being
+   * recorded. Called once all the threads of the test have exited.
+   */
+  public void writeLatencies();
 
   /**
    * Returns the options object that applies to this test.
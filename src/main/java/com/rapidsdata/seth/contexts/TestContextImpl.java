@@ -6,10 +6,16 @@ import com.rapidsdata.seth.*;
 import com.rapidsdata.seth.exceptions.FailureException;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.SethVariables;
+import com.rapidsdata.seth.jdbc.ConnectionPool;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.LatencyReportWriter;
+import com.rapidsdata.seth.plan.MixOp;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
@@ -41,7 +47,13 @@ public class TestContextImpl implements TestContext
   private final AtomicInteger numActiveThreads = new AtomicInteger(0);
 
   /** A map of objects that threads can synchronise on. */
-  private final Map<String, CyclicBarrier> syncMap = new ConcurrentHashMap<>();
+  private final Map<String, SyncBarrier> syncMap = new ConcurrentHashMap<>();
+
+  /**
+   * The latencies recorded by each thread of the test. Each thread adds its own recorder as it
+   * exits, so that threads never contend while recording.
+   */
+  private final Queue<LatencyRecorder> latencyRecorders = new ConcurrentLinkedQueue<>();
 
   /** Options that are specified to this test. */
   private final Options testOptions = new Options();
@@ -49,6 +61,9 @@ public class TestContextImpl implements TestContext
   /** A case-insensitive map of variable names and values. */
   private final SethVariables variables;
 
+  /** The logger for the messages of this test. */
+  private final TestLogger logger;
+
   /**
    * Constructor.
    * @param appContext The application context.
@@ -59,6 +74,7 @@ public class TestContextImpl implements TestContext
     this.testFile = testFile;
     this.testResult = testResult;
     this.variables = new SethVariables(testFile);
+    this.logger = appContext.getLogger().forTest(testFile);
 
     // Apply the app variables to this test context
     Map<String,String> appVariables = appContext.getAppVariables();
@@ -124,7 +140,7 @@ public class TestContextImpl implements TestContext
   @Override
   public TestLogger getLogger()
   {
-    return appContext.getLogger();
+    return logger;
   }
 
   /**
@@ -137,6 +153,26 @@ public class TestContextImpl implements TestContext
     return appContext.getThreadPool();
   }
 
+  /**
+   * Returns the pool that connections to the system being tested are acquired from.
+   * @return the pool that connections to the system being tested are acquired from.
+   */
+  @Override
+  public ConnectionPool getConnectionPool()
+  {
+    return appContext.getConnectionPool();
+  }
+
+  /**
+   * Returns the writer of the latency report, or null if latencies are not being recorded.
+   * @return the writer of the latency report, or null if latencies are not being recorded.
+   */
+  @Override
+  public LatencyReportWriter getLatencyReportWriter()
+  {
+    return appContext.getLatencyReportWriter();
+  }
+
   /**
    * Returns the command line arguments used to run the program.
    * @return the command line arguments used to run the program.
@@ -315,6 +351,8 @@ public class TestContextImpl implements TestContext
     } finally {
       lock.unlock();
     }
+
+    wakeSyncObjects();
   }
 
   /**
@@ -344,6 +382,7 @@ public class TestContextImpl implements TestContext
   public void decrementActiveThreads()
   {
     numActiveThreads.decrementAndGet();
+    wakeSyncObjects();
   }
 
   /**
@@ -360,42 +399,92 @@ public class TestContextImpl implements TestContext
    * Returns the synchronisation barrier associated with a given name for synchronising threads on.
    * Creates the barrier if one does not exist (threadsafe).
    * @param name the name to associate with the synchronisation barrier.
-   * @param parties the number of threads to wait on.
    * @return the synchronisation barrier.
    */
   @Override
-  public CyclicBarrier getOrCreateSyncObject(String name, int parties)
+  public SyncBarrier getOrCreateSyncObject(String name)
   {
-    // is there currently a sync object with the given name?
-    CyclicBarrier barrier = syncMap.get(name);
+    return syncMap.computeIfAbsent(name, n -> new SyncBarrier(n, numActiveThreads::get));
+  }
 
-    if (barrier == null || barrier.getParties() != parties) {
-      // Create a new CyclicBarrier and save it in the sync map.
+  /**
+   * Returns a description of how long threads waited at each synchronisation barrier, or null if
+   * no barrier was used.
+   * @return a description of how long threads waited at each synchronisation barrier, or null.
+   */
+  @Override
+  public String describeSyncStatistics()
+  {
+    StringBuilder sb = new StringBuilder();
 
-      synchronized (syncMap) {
-        // We had better check under synchronisation if someone got in before us.
-        barrier = syncMap.get(name);
+    for (SyncBarrier barrier : syncMap.values()) {
+      String stats = barrier.describeStatistics();
 
-        if (barrier == null || barrier.getParties() != parties) {
-          barrier = new CyclicBarrier(parties);
-          syncMap.put(name, barrier);
+      if (stats != null) {
+        if (sb.length() > 0) {
+          sb.append(System.lineSeparator());
         }
+
+        sb.append(stats);
       }
     }
 
-    return barrier;
+    return sb.length() == 0 ? null : sb.toString();
   }
 
   /**
-   * Removes the given synchronisation barrier associated with a given name.
-   * @param name  the name of the object to remove.
-   * @param barrier the actual synchronisation object to be removed.
+   * Adds the latencies recorded by one thread of the test. Called by each thread as it exits.
+   * @param recorder the latencies recorded by the thread.
    */
   @Override
-  public void removeSyncObject(String name, CyclicBarrier barrier)
+  public void addLatencies(LatencyRecorder recorder)
+  {
+    latencyRecorders.add(recorder);
+  }
+
+  /**
+   * Writes out the latencies recorded by all the threads of the test, if latencies are being
+   * recorded, and logs how often each branch of each mix block was chosen. Called once all the
+   * threads of the test have exited.
+   */
+  @Override
+  public void writeLatencies()
+  {
+    LatencyReportWriter latencyReportWriter = getLatencyReportWriter();
+
+    if (latencyReportWriter == null || latencyRecorders.isEmpty()) {
+      return;
+    }
+
+    LatencyRecorder merged = new LatencyRecorder();
+
+    for (LatencyRecorder recorder : latencyRecorders) {
+      merged.add(recorder);
+    }
+
+    latencyRecorders.clear();
+
+    try {
+      latencyReportWriter.writeTest(testFile, merged);
+
+    } catch (IOException e) {
+      getLogger().error("Unable to write the latency report: " + e.getMessage());
+    }
+
+    // Report how often each branch of each mix block was chosen.
+    for (String line : MixOp.describeStatistics(merged.getLatencies())) {
+      getLogger().log(line);
+    }
+  }
+
+  /**
+   * Wakes up any threads waiting at a synchronisation barrier so that they notice that a thread
+   * has exited or that the test has ended.
+   */
+  private void wakeSyncObjects()
   {
-    synchronized(syncMap) {
-      syncMap.remove(name, barrier);
+    for (SyncBarrier barrier : syncMap.values()) {
+      barrier.wakeUp();
     }
   }
 
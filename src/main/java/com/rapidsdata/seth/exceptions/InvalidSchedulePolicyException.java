@@ -0,0 +1,14 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.exceptions;
+
+/** Thrown if the test scheduling policy is not valid. */
+public class InvalidSchedulePolicyException extends SethException
+{
+
+  public InvalidSchedulePolicyException(String message)
+  {
+    super(message);
+  }
+
+}
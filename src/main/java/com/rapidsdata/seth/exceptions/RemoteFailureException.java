@@ -0,0 +1,67 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.exceptions;
+
+import com.rapidsdata.seth.TestableFile;
+
+/**
+ * A failure of a test that was executed by a worker process. Only the type and the descriptions
+ * of the original failure are passed back from the worker.
+ */
+public class RemoteFailureException extends FailureException
+{
+  /** The class name of the original failure. */
+  private final String failureType;
+
+  /** The full description of the original failure, as given by the worker. */
+  private final String message;
+
+  /** The description of the original failure relative to the test file that was executed. */
+  private final String description;
+
+  /**
+   * Constructor.
+   * @param failureType the class name of the original failure.
+   * @param message the full description of the original failure, as given by the worker.
+   * @param description the description of the original failure relative to the test file that was executed.
+   * @param testableFile the test file that failed.
+   */
+  public RemoteFailureException(String failureType, String message, String description, TestableFile testableFile)
+  {
+    super(description, testableFile, -1, null);
+    this.failureType = failureType;
+    this.message = message;
+    this.description = description;
+  }
+
+  /**
+   * Returns the class name of the original failure.
+   * @return the class name of the original failure.
+   */
+  public String getFailureType()
+  {
+    return failureType;
+  }
+
+  /**
+   * Return a description of the failure.
+   * @return a description of the failure.
+   */
+  @Override
+  public String getMessage()
+  {
+    return message;
+  }
+
+  /**
+   * Return a description of the failure. The worker has already described the failure relative
+   * to the test file that was executed.
+   * @param outerTestableFile the path of the outer-most test file.
+   * @return a description of the failure.
+   */
+  @Override
+  public String getMessage(TestableFile outerTestableFile)
+  {
+    return description;
+  }
+}
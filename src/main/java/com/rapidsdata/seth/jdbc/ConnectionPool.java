@@ -0,0 +1,566 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The source of all connections to the system being tested.
+ *
+ * Connections are obtained from the JDBC driver that the application resolved at startup, rather
+ * than by searching DriverManager each time. If pooling is enabled then connections that are
+ * released are reset and kept, keyed by their url, so that later tests and threads can reuse them
+ * rather than paying the cost of connecting again. A pooled connection is validated before it is
+ * handed out again, and is closed if it has been idle for too long. Idle connections that have
+ * expired are closed whenever a connection is released, so connections to a url that is no longer
+ * used don't stay open until the end of the run.
+ *
+ * The number of idle connections is limited for each url and, optionally, in total across all
+ * urls, in which case the connection that has been idle the longest is closed to make room. The
+ * connections that are in use are not limited by the pool: each thread of a test holds its own
+ * connections for as long as the test needs them.
+ *
+ * If pooling is not enabled then every connection is opened when it is acquired and closed when
+ * it is released, as before.
+ *
+ * The number of connections that may be in the process of being made at once can be limited, so
+ * that many threads starting together don't overwhelm the server with connection attempts. The
+ * other threads wait their turn, and stop waiting if the caller says they no longer need to.
+ *
+ * This class is thread safe.
+ */
+public class ConnectionPool
+{
+  /** The number of seconds to wait for a pooled connection to be validated. */
+  private static final int VALIDATION_TIMEOUT_SECS = 5;
+
+  /** How often a thread waiting for its turn to connect checks whether to keep waiting, in milliseconds. */
+  private static final long CONNECT_WAIT_CHECK_MS = 100;
+
+  /** The JDBC driver to use to make connections. */
+  private final Driver driver;
+
+  /** The maximum number of idle connections to keep for each url. Zero disables pooling. */
+  private final int maxIdlePerUrl;
+
+  /** The maximum number of idle connections to keep across all urls. Zero means no limit other than maxIdlePerUrl. */
+  private final int maxIdleTotal;
+
+  /** The number of idle connections across all urls. */
+  private int numIdle = 0;
+
+  /** The time at which the idle connections are next checked for any that have expired, in milliseconds. */
+  private long nextSweepAt = 0;
+
+  /** The number of milliseconds that a connection may be idle in the pool before it is closed. */
+  private final long idleTimeoutMs;
+
+  /** A statement to execute on a connection to reset the session when it is released. May be null. */
+  private final String resetStatement;
+
+  /** The idle connections for each url, with the most recently released at the front. */
+  private final Map<String, Deque<IdleConnection>> idleConnections = new HashMap<>();
+
+  /** The url of each pooled connection that is currently acquired. */
+  private final Map<Connection, String> acquiredUrls = new IdentityHashMap<>();
+
+  /** The maximum number of prepared statements to keep for each connection. Zero disables statement caching. */
+  private final int statementCacheSize;
+
+  /** The number of times a command must be executed on a connection before it is prepared. Zero means never. */
+  private final int prepareThreshold;
+
+  /** Limits the number of connections being made at once, or null if there is no limit. */
+  private final Semaphore connectPermits;
+
+  /** Whether the pool has been closed. */
+  private boolean closed = false;
+
+  private final AtomicLong hits               = new AtomicLong();
+  private final AtomicLong misses             = new AtomicLong();
+  private final AtomicLong validationFailures = new AtomicLong();
+  private final AtomicLong resetFailures      = new AtomicLong();
+  private final AtomicLong evictions          = new AtomicLong();
+  private final AtomicLong connects           = new AtomicLong();
+  private final AtomicLong connectFailures    = new AtomicLong();
+  private final AtomicLong connectWaits       = new AtomicLong();
+  private final AtomicLong totalConnectWaitNs = new AtomicLong();
+  private final AtomicLong maxConnectWaitNs   = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param driver The JDBC driver to use to make connections.
+   * @param maxIdlePerUrl The maximum number of idle connections to keep for each url. Zero disables pooling.
+   * @param maxIdleTotal The maximum number of idle connections to keep across all urls. Zero means no overall limit.
+   * @param idleTimeoutMs The number of milliseconds that a connection may be idle in the pool before it is closed.
+   * @param resetStatement A statement to execute on a connection to reset the session when it is released. May be null.
+   * @param statementCacheSize The maximum number of prepared statements to keep for each connection. Zero disables statement caching.
+   * @param prepareThreshold The number of times a command must be executed on a connection before it is prepared. Zero means never.
+   * @param maxConnecting The maximum number of connections that may be in the process of being made at once. Zero means unlimited.
+   */
+  public ConnectionPool(Driver driver,
+                        int maxIdlePerUrl,
+                        int maxIdleTotal,
+                        long idleTimeoutMs,
+                        String resetStatement,
+                        int statementCacheSize,
+                        int prepareThreshold,
+                        int maxConnecting)
+  {
+    this.driver = driver;
+    this.maxIdlePerUrl = maxIdlePerUrl;
+    this.maxIdleTotal = maxIdleTotal;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.resetStatement = (resetStatement == null || resetStatement.trim().isEmpty() ? null : resetStatement);
+    this.statementCacheSize = statementCacheSize;
+    this.prepareThreshold = prepareThreshold;
+    this.connectPermits = (maxConnecting > 0 ? new Semaphore(maxConnecting, true) : null);
+  }
+
+  /**
+   * Returns whether released connections are kept for reuse.
+   * @return whether released connections are kept for reuse.
+   */
+  public boolean isPooling()
+  {
+    return maxIdlePerUrl > 0;
+  }
+
+  /**
+   * Returns a connection to the given url, reusing an idle pooled connection if there is a valid one.
+   * @param url The url to connect to.
+   * @param keepWaiting Returns whether to keep waiting for a turn to connect. This is checked
+   *                    periodically while waiting.
+   * @return a connection to the given url.
+   * @throws SQLException if a new connection cannot be made, or the wait for a turn to connect was
+   *                      abandoned or interrupted.
+   */
+  public Connection acquire(String url, BooleanSupplier keepWaiting) throws SQLException
+  {
+    if (isPooling()) {
+      while (true) {
+        Connection conn = takeIdle(url);
+
+        if (conn == null) {
+          break;
+        }
+
+        if (isValid(conn)) {
+          hits.incrementAndGet();
+          markAcquired(conn, url);
+          return conn;
+        }
+
+        validationFailures.incrementAndGet();
+        closeQuietly(conn);
+      }
+
+      misses.incrementAndGet();
+
+      Connection conn = connect(url, keepWaiting);
+      markAcquired(conn, url);
+      return conn;
+    }
+
+    return connect(url, keepWaiting);
+  }
+
+  /**
+   * Returns whether statements are reused to execute commands on each connection.
+   * @return whether statements are reused to execute commands on each connection.
+   */
+  public boolean isCachingStatements()
+  {
+    return statementCacheSize > 0;
+  }
+
+  /**
+   * Returns a new cache of statements to execute commands with on an acquired connection. The
+   * cache belongs to the thread using the connection, which keeps it with the connection and must
+   * close it before the connection is released.
+   * @param conn The acquired connection.
+   * @return a new cache of statements for the connection, or null if statement caching is not enabled.
+   */
+  public StatementCache newStatementCache(Connection conn)
+  {
+    if (!isCachingStatements()) {
+      return null;
+    }
+
+    return new StatementCache(conn, statementCacheSize, prepareThreshold);
+  }
+
+  /**
+   * Returns a connection to the pool once the caller has finished with it. The connection is
+   * closed if pooling is not enabled, if it cannot be reset, or if the pool is already full.
+   * Any statement cache of the connection must already have been closed, since resetting the
+   * session may invalidate the cached statements.
+   * @param conn The connection being released.
+   */
+  public void release(Connection conn)
+  {
+    if (conn == null) {
+      return;
+    }
+
+    if (!isPooling()) {
+      closeQuietly(conn);
+      return;
+    }
+
+    String url;
+
+    synchronized (this) {
+      url = acquiredUrls.remove(conn);
+    }
+
+    if (url == null || !reset(conn)) {
+      closeQuietly(conn);
+      return;
+    }
+
+    Deque<IdleConnection> evicted = new ArrayDeque<>();
+    Connection toClose = conn;
+
+    synchronized (this) {
+      if (!closed) {
+        long now = System.currentTimeMillis();
+
+        // Close any connections that have expired since the last sweep, whichever url they are for.
+        if (now >= nextSweepAt) {
+          for (Deque<IdleConnection> idle : idleConnections.values()) {
+            removeExpired(idle, now, evicted);
+          }
+
+          nextSweepAt = now + Math.max(1, idleTimeoutMs / 2);
+        }
+
+        Deque<IdleConnection> idle = idleConnections.computeIfAbsent(url, k -> new ArrayDeque<>());
+
+        if (idle.size() < maxIdlePerUrl) {
+          // Make room by closing the connection that has been idle the longest, whichever url it is for.
+          if (maxIdleTotal > 0 && numIdle >= maxIdleTotal) {
+            removeOldest(evicted);
+          }
+
+          idle.addFirst(new IdleConnection(conn, now));
+          numIdle++;
+          toClose = null;
+        }
+      }
+    }
+
+    for (IdleConnection ic : evicted) {
+      evictions.incrementAndGet();
+      closeQuietly(ic.conn);
+    }
+
+    if (toClose != null) {
+      closeQuietly(toClose);
+    }
+  }
+
+  /**
+   * Closes all idle connections. Connections released after this are closed rather than pooled.
+   */
+  public void close()
+  {
+    Deque<IdleConnection> toClose = new ArrayDeque<>();
+
+    synchronized (this) {
+      closed = true;
+
+      for (Deque<IdleConnection> idle : idleConnections.values()) {
+        toClose.addAll(idle);
+      }
+
+      idleConnections.clear();
+      numIdle = 0;
+    }
+
+    for (IdleConnection ic : toClose) {
+      closeQuietly(ic.conn);
+    }
+  }
+
+  /**
+   * Returns a one line description of the pool's activity, or null if pooling is not enabled.
+   * @return a one line description of the pool's activity, or null if pooling is not enabled.
+   */
+  public String describeMetrics()
+  {
+    if (!isPooling()) {
+      return null;
+    }
+
+    return String.format("Connection pool: %d hits, %d misses, %d failed validation, %d failed reset, %d evicted.",
+                         hits.get(), misses.get(), validationFailures.get(), resetFailures.get(), evictions.get());
+  }
+
+  /**
+   * Returns a one line description of the connections made and how long threads waited to make
+   * them, or null if the number of connections being made at once is not limited.
+   * @return a one line description of the connections made, or null if they are not limited.
+   */
+  public String describeConnectMetrics()
+  {
+    if (connectPermits == null) {
+      return null;
+    }
+
+    long numWaits = connectWaits.get();
+
+    return String.format("Connections: %d made, %d failed, %d waited for a turn to connect (mean wait %.3f ms, max %.3f ms).",
+                         connects.get(), connectFailures.get(), numWaits,
+                         nanosToMillis(numWaits == 0 ? 0 : totalConnectWaitNs.get() / numWaits),
+                         nanosToMillis(maxConnectWaitNs.get()));
+  }
+
+  private synchronized void markAcquired(Connection conn, String url)
+  {
+    acquiredUrls.put(conn, url);
+  }
+
+  /**
+   * Removes and returns the most recently released idle connection for the url, first closing any
+   * connections that have been idle for too long.
+   * @param url The url of the connection.
+   * @return an idle connection, or null if there isn't one.
+   */
+  private Connection takeIdle(String url)
+  {
+    Deque<IdleConnection> expired = new ArrayDeque<>();
+    Connection conn = null;
+
+    synchronized (this) {
+      Deque<IdleConnection> idle = idleConnections.get(url);
+
+      if (idle != null) {
+        removeExpired(idle, System.currentTimeMillis(), expired);
+
+        IdleConnection ic = idle.pollFirst();
+
+        if (ic != null) {
+          numIdle--;
+          conn = ic.conn;
+        }
+      }
+    }
+
+    for (IdleConnection ic : expired) {
+      evictions.incrementAndGet();
+      closeQuietly(ic.conn);
+    }
+
+    return conn;
+  }
+
+  /**
+   * Removes the connections that have been idle for too long from the idle connections of a url.
+   * Must be called while synchronized on the pool.
+   * @param idle The idle connections of a url, with the most recently released at the front.
+   * @param now The current time in milliseconds.
+   * @param expired The collection to add the removed connections to, which the caller closes.
+   */
+  private void removeExpired(Deque<IdleConnection> idle, long now, Collection<IdleConnection> expired)
+  {
+    // The oldest connections are at the back.
+    Iterator<IdleConnection> it = idle.descendingIterator();
+
+    while (it.hasNext()) {
+      IdleConnection ic = it.next();
+
+      if (now - ic.releasedAt < idleTimeoutMs) {
+        break;
+      }
+
+      it.remove();
+      numIdle--;
+      expired.add(ic);
+    }
+  }
+
+  /**
+   * Removes the connection that has been idle the longest, across all urls.
+   * Must be called while synchronized on the pool.
+   * @param evicted The collection to add the removed connection to, which the caller closes.
+   */
+  private void removeOldest(Collection<IdleConnection> evicted)
+  {
+    Deque<IdleConnection> oldest = null;
+
+    for (Deque<IdleConnection> idle : idleConnections.values()) {
+      if (!idle.isEmpty() && (oldest == null || idle.peekLast().releasedAt < oldest.peekLast().releasedAt)) {
+        oldest = idle;
+      }
+    }
+
+    if (oldest != null) {
+      evicted.add(oldest.pollLast());
+      numIdle--;
+    }
+  }
+
+  /**
+   * Makes a new connection to the url, using the application's driver if it accepts the url.
+   * @param url The url to connect to.
+   * @param keepWaiting Returns whether to keep waiting for a turn to connect.
+   * @return a new connection.
+   * @throws SQLException if the connection cannot be made, or the wait for a turn to connect was
+   *                      abandoned or interrupted.
+   */
+  private Connection connect(String url, BooleanSupplier keepWaiting) throws SQLException
+  {
+    if (connectPermits == null) {
+      return connectNow(url);
+    }
+
+    if (!connectPermits.tryAcquire()) {
+      long startNs = System.nanoTime();
+
+      try {
+        while (!connectPermits.tryAcquire(CONNECT_WAIT_CHECK_MS, TimeUnit.MILLISECONDS)) {
+          if (!keepWaiting.getAsBoolean()) {
+            throw new SQLException("Stopped waiting for a turn to connect to \"" + url + "\" because the test has ended.");
+          }
+        }
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted while waiting for a turn to connect to \"" + url + "\".", e);
+      }
+
+      long waitNs = System.nanoTime() - startNs;
+
+      connectWaits.incrementAndGet();
+      totalConnectWaitNs.addAndGet(waitNs);
+      maxConnectWaitNs.accumulateAndGet(waitNs, Math::max);
+    }
+
+    try {
+      Connection conn = connectNow(url);
+      connects.incrementAndGet();
+      return conn;
+
+    } catch (SQLException | RuntimeException e) {
+      connectFailures.incrementAndGet();
+      throw e;
+
+    } finally {
+      connectPermits.release();
+    }
+  }
+
+  /**
+   * Makes a new connection to the url straight away.
+   * @param url The url to connect to.
+   * @return a new connection.
+   * @throws SQLException if the connection cannot be made.
+   */
+  private Connection connectNow(String url) throws SQLException
+  {
+    // A test may create a connection with a url of its own, which may need a different driver.
+    if (!driver.acceptsURL(url)) {
+      return DriverManager.getConnection(url);
+    }
+
+    Connection conn = driver.connect(url, new Properties());
+
+    if (conn == null) {
+      throw new SQLException("The JDBC driver did not accept the url \"" + url + "\".");
+    }
+
+    return conn;
+  }
+
+  /**
+   * Returns whether a pooled connection can still be used.
+   * @param conn The connection to check.
+   * @return whether the connection can still be used.
+   */
+  private boolean isValid(Connection conn)
+  {
+    try {
+      return !conn.isClosed() && conn.isValid(VALIDATION_TIMEOUT_SECS);
+
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Resets the state of a session so that it can be reused by another test.
+   * @param conn The connection to reset.
+   * @return true if the connection was reset, or false if it cannot be reused.
+   */
+  private boolean reset(Connection conn)
+  {
+    try {
+      if (conn.isClosed()) {
+        return false;
+      }
+
+      // Don't let an open transaction leak into the next user of the connection.
+      if (!conn.getAutoCommit()) {
+        conn.rollback();
+        conn.setAutoCommit(true);
+      }
+
+      conn.clearWarnings();
+
+      if (resetStatement != null) {
+        try (Statement stmt = conn.createStatement()) {
+          stmt.execute(resetStatement);
+        }
+      }
+
+      return true;
+
+    } catch (SQLException e) {
+      resetFailures.incrementAndGet();
+      return false;
+    }
+  }
+
+  private static void closeQuietly(Connection conn)
+  {
+    try {
+      conn.close();
+    } catch (SQLException e) { /*ignore*/ }
+  }
+
+  private static double nanosToMillis(long nanos)
+  {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+
+  /** A connection waiting in the pool to be reused. */
+  private static class IdleConnection
+  {
+    private final Connection conn;
+    private final long releasedAt;
+
+    private IdleConnection(Connection conn, long releasedAt)
+    {
+      this.conn = conn;
+      this.releasedAt = releasedAt;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The statements that are reused to execute commands on a single connection.
+ *
+ * Rather than creating and closing a new Statement for every command, one Statement is kept and
+ * reused. Optionally, a command that has been executed a given number of times on the connection
+ * is promoted to a PreparedStatement, so that a server that supports prepared statements doesn't
+ * need to parse and plan the same command again each time a loop executes it. The most recently
+ * used prepared statements are kept, up to a maximum number.
+ *
+ * A StatementCache is not thread safe; it belongs to the thread that is using the connection.
+ */
+public class StatementCache
+{
+  /** A use count marking a command that could not be prepared, so it is never tried again. */
+  private static final int UNPREPARABLE = -1;
+
+  /** The connection the statements belong to. */
+  private final Connection connection;
+
+  /** The maximum number of prepared statements to keep. */
+  private final int maxPrepared;
+
+  /** The number of times a command is executed before it is prepared. Zero means never. */
+  private final int prepareThreshold;
+
+  /** The statement that is reused for commands that are not prepared. */
+  private Statement statement = null;
+
+  /** The prepared statements, keyed by their command, in least recently used order. */
+  private final Map<String, PreparedStatement> preparedStatements;
+
+  /** The number of times each recent command has been executed, in least recently used order. */
+  private final Map<String, Integer> useCounts;
+
+  /**
+   * Constructor.
+   * @param connection The connection the statements belong to.
+   * @param maxPrepared The maximum number of prepared statements to keep.
+   * @param prepareThreshold The number of times a command is executed before it is prepared. Zero means never.
+   */
+  public StatementCache(Connection connection, int maxPrepared, int prepareThreshold)
+  {
+    this.connection = connection;
+    this.maxPrepared = maxPrepared;
+    this.prepareThreshold = prepareThreshold;
+
+    this.preparedStatements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest)
+      {
+        if (size() <= StatementCache.this.maxPrepared) {
+          return false;
+        }
+
+        closeQuietly(eldest.getValue());
+        return true;
+      }
+    };
+
+    // Remember the counts of more commands than are prepared, so that a loop with more distinct
+    // commands than there are prepared statements can still have them promoted.
+    final int maxCounts = Math.max(maxPrepared, 1) * 4;
+
+    this.useCounts = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest)
+      {
+        return size() > maxCounts;
+      }
+    };
+  }
+
+  /**
+   * Executes a command and returns the statement that it was executed with. The results of the
+   * command are then available from the statement as usual. The caller must not close the statement.
+   * @param cmd The command to be executed.
+   * @return the statement the command was executed with.
+   * @throws SQLException if the command fails.
+   */
+  public Statement execute(String cmd) throws SQLException
+  {
+    PreparedStatement ps = preparedFor(cmd);
+
+    if (ps != null) {
+      ps.clearWarnings();
+      ps.execute();
+      return ps;
+    }
+
+    if (statement == null || statement.isClosed()) {
+      statement = connection.createStatement();
+    }
+
+    statement.clearWarnings();
+    statement.execute(cmd);
+    return statement;
+  }
+
+  /**
+   * Closes all of the statements in the cache.
+   */
+  public void close()
+  {
+    for (PreparedStatement ps : preparedStatements.values()) {
+      closeQuietly(ps);
+    }
+
+    preparedStatements.clear();
+    useCounts.clear();
+
+    if (statement != null) {
+      closeQuietly(statement);
+      statement = null;
+    }
+  }
+
+  /**
+   * Returns the prepared statement for a command, preparing it if it has now been executed often
+   * enough.
+   * @param cmd The command to be executed.
+   * @return the prepared statement for the command, or null if it should not be prepared.
+   */
+  private PreparedStatement preparedFor(String cmd)
+  {
+    // A command containing a '?' could be mistaken for one with parameter markers.
+    if (prepareThreshold <= 0 || maxPrepared <= 0 || cmd.indexOf('?') >= 0) {
+      return null;
+    }
+
+    PreparedStatement ps = preparedStatements.get(cmd);
+
+    if (ps != null) {
+      return ps;
+    }
+
+    Integer count = useCounts.get(cmd);
+
+    if (count != null && count == UNPREPARABLE) {
+      return null;
+    }
+
+    int newCount = (count == null ? 1 : count + 1);
+
+    if (newCount <= prepareThreshold) {
+      useCounts.put(cmd, newCount);
+      return null;
+    }
+
+    try {
+      ps = connection.prepareStatement(cmd);
+
+    } catch (SQLException e) {
+      // Not every command can be prepared, so just execute it as a plain statement instead.
+      useCounts.put(cmd, UNPREPARABLE);
+      return null;
+    }
+
+    useCounts.remove(cmd);
+    preparedStatements.put(cmd, ps);
+    return ps;
+  }
+
+  private static void closeQuietly(Statement statement)
+  {
+    try {
+      statement.close();
+    } catch (SQLException e) { /*ignore*/ }
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+/**
+ * A column of a FakeResultSet.
+ */
+public final class FakeColumn
+{
+  /** The name of the column. */
+  private final String name;
+
+  /** The type of the column, from java.sql.Types. */
+  private final int sqlType;
+
+  /** The name of the type of the column. */
+  private final String typeName;
+
+  /**
+   * Constructor
+   * @param name the name of the column.
+   * @param sqlType the type of the column, from java.sql.Types.
+   * @param typeName the name of the type of the column.
+   */
+  public FakeColumn(String name, int sqlType, String typeName)
+  {
+    this.name = name;
+    this.sqlType = sqlType;
+    this.typeName = typeName;
+  }
+
+  /**
+   * Returns the name of the column.
+   * @return the name of the column.
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+  /**
+   * Returns the type of the column, from java.sql.Types.
+   * @return the type of the column, from java.sql.Types.
+   */
+  public int getSqlType()
+  {
+    return sqlType;
+  }
+
+  /**
+   * Returns the name of the type of the column.
+   * @return the name of the type of the column.
+   */
+  public String getTypeName()
+  {
+    return typeName;
+  }
+}
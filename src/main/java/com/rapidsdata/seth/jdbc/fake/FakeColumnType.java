@@ -0,0 +1,108 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * The types of the columns that the fake driver generates. The value of each column is derived
+ * from the number of the row, so a test can know what a result will contain without storing it.
+ */
+public enum FakeColumnType
+{
+  INTEGER   (Types.BIGINT,    "BIGINT"),
+  DECIMAL   (Types.DECIMAL,   "DECIMAL"),
+  FLOAT     (Types.DOUBLE,    "DOUBLE"),
+  STRING    (Types.VARCHAR,   "VARCHAR"),
+  BOOLEAN   (Types.BOOLEAN,   "BOOLEAN"),
+  DATE      (Types.DATE,      "DATE"),
+  TIMESTAMP (Types.TIMESTAMP, "TIMESTAMP");
+
+  /** The first date, which is the value of a DATE column in the first row. */
+  private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+  /** The first timestamp, which is the value of a TIMESTAMP column in the first row. */
+  private static final LocalDateTime FIRST_TIMESTAMP = FIRST_DATE.atStartOfDay();
+
+  /** The type of the column, from java.sql.Types. */
+  private final int sqlType;
+
+  /** The name of the type of the column. */
+  private final String typeName;
+
+  FakeColumnType(int sqlType, String typeName)
+  {
+    this.sqlType = sqlType;
+    this.typeName = typeName;
+  }
+
+  /**
+   * Returns a column of this type.
+   * @param name the name of the column.
+   * @return a column of this type.
+   */
+  public FakeColumn column(String name)
+  {
+    return new FakeColumn(name, sqlType, typeName);
+  }
+
+  /**
+   * Returns the value of a column of this type in a given row.
+   * @param rowIndex the 0-based index of the row.
+   * @return the value of the column in the row.
+   */
+  public Object valueFor(int rowIndex)
+  {
+    switch (this) {
+      case INTEGER:   return (long) rowIndex;
+      case DECIMAL:   return BigDecimal.valueOf(rowIndex, 2);
+      case FLOAT:     return rowIndex * 0.25d;
+      case STRING:    return "row-" + rowIndex;
+      case BOOLEAN:   return (rowIndex % 2 == 0);
+      case DATE:      return Date.valueOf(FIRST_DATE.plusDays(rowIndex));
+      case TIMESTAMP: return Timestamp.valueOf(FIRST_TIMESTAMP.plusSeconds(rowIndex));
+      default:        throw new IllegalStateException("Unknown column type: " + this);
+    }
+  }
+
+  /**
+   * Returns the value of a column of this type in a given row, written the way that an expected
+   * result is written in a test file.
+   * @param rowIndex the 0-based index of the row.
+   * @return the value of the column in the row, as it is written in an expected result.
+   */
+  public String literalFor(int rowIndex)
+  {
+    switch (this) {
+      case INTEGER:
+      case BOOLEAN:
+        return valueFor(rowIndex).toString();
+
+      case DECIMAL:
+        return ((BigDecimal) valueFor(rowIndex)).toPlainString();
+
+      case FLOAT:
+        // Floating point values are written in scientific notation.
+        String value = Double.toString(rowIndex * 0.25d).toLowerCase(Locale.ROOT);
+        return value.contains("e") ? value : value + "e0";
+
+      case STRING:
+        return "'" + valueFor(rowIndex) + "'";
+
+      case DATE:
+        return "DATE '" + FIRST_DATE.plusDays(rowIndex) + "'";
+
+      case TIMESTAMP:
+        return "TIMESTAMP '" + Timestamp.valueOf(FIRST_TIMESTAMP.plusSeconds(rowIndex)) + "'";
+
+      default:
+        throw new IllegalStateException("Unknown column type: " + this);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * A connection of the fake driver. Transactions are accepted but have no effect.
+ */
+public class FakeConnection extends UnsupportedConnection
+{
+  /** The settings from the url, which statements may override. */
+  private final FakeSettings settings;
+
+  private volatile boolean closed = false;
+
+  private boolean autoCommit = true;
+
+  /**
+   * Constructor
+   * @param settings the settings from the url, which statements may override.
+   */
+  public FakeConnection(FakeSettings settings)
+  {
+    this.settings = settings;
+  }
+
+  @Override
+  public Statement createStatement() throws SQLException
+  {
+    checkOpen();
+    return new FakeStatement(this, settings, null);
+  }
+
+  @Override
+  public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException
+  {
+    checkResultSetType(resultSetType, resultSetConcurrency);
+    return createStatement();
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql) throws SQLException
+  {
+    checkOpen();
+    return new FakeStatement(this, settings, sql);
+  }
+
+  @Override
+  public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
+  {
+    checkResultSetType(resultSetType, resultSetConcurrency);
+    return prepareStatement(sql);
+  }
+
+  @Override
+  public boolean getAutoCommit() throws SQLException
+  {
+    checkOpen();
+    return autoCommit;
+  }
+
+  @Override
+  public void setAutoCommit(boolean autoCommit) throws SQLException
+  {
+    checkOpen();
+    this.autoCommit = autoCommit;
+  }
+
+  @Override
+  public void commit() throws SQLException
+  {
+    checkOpen();
+  }
+
+  @Override
+  public void rollback() throws SQLException
+  {
+    checkOpen();
+  }
+
+  @Override
+  public int getTransactionIsolation() throws SQLException
+  {
+    return Connection.TRANSACTION_NONE;
+  }
+
+  @Override
+  public boolean isReadOnly() throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException
+  {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException
+  {
+    // There are never any warnings.
+  }
+
+  @Override
+  public boolean isValid(int timeout) throws SQLException
+  {
+    return !closed;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException
+  {
+    return closed;
+  }
+
+  @Override
+  public void close() throws SQLException
+  {
+    closed = true;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException
+  {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException
+  {
+    return iface.isInstance(this);
+  }
+
+  private void checkOpen() throws SQLException
+  {
+    if (closed) {
+      throw new SQLException("The connection is closed.");
+    }
+  }
+
+  private void checkResultSetType(int resultSetType, int resultSetConcurrency) throws SQLException
+  {
+    if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+      throw unsupported();
+    }
+  }
+}
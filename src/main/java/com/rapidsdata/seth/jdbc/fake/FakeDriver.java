@@ -0,0 +1,112 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * A JDBC driver that doesn't connect to anything. Queries return generated results and other
+ * statements return an update count, as described by FakeSettings, so that SETH itself can be
+ * measured without the time taken by a database.
+ *
+ * The url is "jdbc:sethfake:", optionally followed by settings, e.g.
+ * "jdbc:sethfake:rows=100;columns=integer,string;latencyms=1".
+ *
+ * The driver counts the statements it executes and the rows it returns, across all connections.
+ * It is only registered with the DriverManager when SETH is run with --selfbench.
+ */
+public class FakeDriver implements Driver
+{
+  /** The prefix of the urls that this driver accepts. */
+  public static final String URL_PREFIX = "jdbc:sethfake:";
+
+  /** The number of statements executed. */
+  private static final LongAdder numStatements = new LongAdder();
+
+  /** The number of rows returned by queries. */
+  private static final LongAdder numRows = new LongAdder();
+
+  /**
+   * Returns the number of statements that have been executed by all connections.
+   * @return the number of statements that have been executed by all connections.
+   */
+  public static long getNumStatements()
+  {
+    return numStatements.sum();
+  }
+
+  /**
+   * Returns the number of rows that have been read from the results of all queries.
+   * @return the number of rows that have been read from the results of all queries.
+   */
+  public static long getNumRows()
+  {
+    return numRows.sum();
+  }
+
+  /** Counts a statement that has been executed. */
+  static void statementExecuted()
+  {
+    numStatements.increment();
+  }
+
+  /** Counts a row that has been read from the result of a query. */
+  static void rowReturned()
+  {
+    numRows.increment();
+  }
+
+  @Override
+  public Connection connect(String url, Properties info) throws SQLException
+  {
+    if (!acceptsURL(url)) {
+      return null;
+    }
+
+    FakeSettings settings = FakeSettings.DEFAULTS.overriddenBy(url.substring(URL_PREFIX.length()));
+    return new FakeConnection(settings);
+  }
+
+  @Override
+  public boolean acceptsURL(String url) throws SQLException
+  {
+    return url != null && url.startsWith(URL_PREFIX);
+  }
+
+  @Override
+  public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException
+  {
+    return new DriverPropertyInfo[0];
+  }
+
+  @Override
+  public int getMajorVersion()
+  {
+    return 1;
+  }
+
+  @Override
+  public int getMinorVersion()
+  {
+    return 0;
+  }
+
+  @Override
+  public boolean jdbcCompliant()
+  {
+    return false;
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException
+  {
+    throw new SQLFeatureNotSupportedException();
+  }
+}
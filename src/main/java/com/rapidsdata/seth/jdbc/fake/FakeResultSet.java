@@ -0,0 +1,323 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * A forward-only ResultSet that doesn't come from a database. Subclasses supply the value of each
+ * column of each row, which is converted to the type asked for in the same way as most drivers do.
+ * The same ResultSet can be read again after calling reset().
+ */
+public abstract class FakeResultSet extends UnsupportedResultSet
+{
+  /** The columns of the result. */
+  private final List<FakeColumn> columns;
+
+  /** The number of rows. */
+  private final int numRows;
+
+  /** The metadata describing the columns. */
+  private final ResultSetMetaData metaData;
+
+  /** The index of the current row, or -1 if next() hasn't been called yet. */
+  private int rowIndex = -1;
+
+  /** Whether the last value read was null. */
+  private boolean wasNull = false;
+
+  private boolean closed = false;
+
+  /**
+   * Constructor
+   * @param columns the columns of the result.
+   * @param numRows the number of rows.
+   */
+  protected FakeResultSet(List<FakeColumn> columns, int numRows)
+  {
+    this.columns = columns;
+    this.numRows = numRows;
+    this.metaData = new FakeResultSetMetaData(columns);
+  }
+
+  /**
+   * Returns the value of a column of a row.
+   * @param rowIndex the 0-based index of the row.
+   * @param columnIndex the 0-based index of the column.
+   * @return the value, which may be null.
+   */
+  protected abstract Object valueAt(int rowIndex, int columnIndex);
+
+  /**
+   * Moves back to before the first row, so that the rows can be read again.
+   * @return this ResultSet.
+   */
+  public FakeResultSet reset()
+  {
+    rowIndex = -1;
+    wasNull = false;
+    closed = false;
+    return this;
+  }
+
+  /**
+   * Returns the number of rows.
+   * @return the number of rows.
+   */
+  public int getRowCount()
+  {
+    return numRows;
+  }
+
+  @Override
+  public boolean next() throws SQLException
+  {
+    if (rowIndex < numRows) {
+      ++rowIndex;
+    }
+
+    return rowIndex < numRows;
+  }
+
+  @Override
+  public void close() throws SQLException
+  {
+    closed = true;
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException
+  {
+    return closed;
+  }
+
+  @Override
+  public boolean wasNull() throws SQLException
+  {
+    return wasNull;
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException
+  {
+    return metaData;
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException
+  {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException
+  {
+    // There are never any warnings.
+  }
+
+  @Override
+  public int getType() throws SQLException
+  {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  @Override
+  public int getConcurrency() throws SQLException
+  {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  @Override
+  public int getRow() throws SQLException
+  {
+    return (rowIndex >= 0 && rowIndex < numRows ? rowIndex + 1 : 0);
+  }
+
+  @Override
+  public int findColumn(String columnLabel) throws SQLException
+  {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getName().equalsIgnoreCase(columnLabel)) {
+        return i + 1;
+      }
+    }
+
+    throw new SQLException("No such column: " + columnLabel);
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException
+  {
+    return value(columnIndex);
+  }
+
+  @Override
+  public Object getObject(String columnLabel) throws SQLException
+  {
+    return getObject(findColumn(columnLabel));
+  }
+
+  @Override
+  public String getString(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+    return (value == null ? null : value.toString());
+  }
+
+  @Override
+  public String getString(String columnLabel) throws SQLException
+  {
+    return getString(findColumn(columnLabel));
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null) {
+      return false;
+    }
+
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+
+    if (value instanceof Number) {
+      return ((Number) value).longValue() != 0;
+    }
+
+    return Boolean.parseBoolean(value.toString());
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null) {
+      return 0;
+    }
+
+    if (value instanceof Number) {
+      return ((Number) value).longValue();
+    }
+
+    try {
+      return Long.parseLong(value.toString());
+    } catch (NumberFormatException e) {
+      throw new SQLException("Not a number: " + value, e);
+    }
+  }
+
+  @Override
+  public int getInt(int columnIndex) throws SQLException
+  {
+    return (int) getLong(columnIndex);
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null) {
+      return 0.0d;
+    }
+
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    }
+
+    try {
+      return Double.parseDouble(value.toString());
+    } catch (NumberFormatException e) {
+      throw new SQLException("Not a number: " + value, e);
+    }
+  }
+
+  @Override
+  public BigDecimal getBigDecimal(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null) {
+      return null;
+    }
+
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+
+    try {
+      return new BigDecimal(value.toString());
+    } catch (NumberFormatException e) {
+      throw new SQLException("Not a number: " + value, e);
+    }
+  }
+
+  @Override
+  public Date getDate(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null || value instanceof Date) {
+      return (Date) value;
+    }
+
+    return Date.valueOf(value.toString());
+  }
+
+  @Override
+  public Time getTime(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null || value instanceof Time) {
+      return (Time) value;
+    }
+
+    return Time.valueOf(value.toString());
+  }
+
+  @Override
+  public Timestamp getTimestamp(int columnIndex) throws SQLException
+  {
+    Object value = value(columnIndex);
+
+    if (value == null || value instanceof Timestamp) {
+      return (Timestamp) value;
+    }
+
+    return Timestamp.valueOf(value.toString());
+  }
+
+  /**
+   * Returns a value of the current row, and remembers whether it was null.
+   * @param columnIndex the 1-based index of the column.
+   * @return the value, which may be null.
+   * @throws SQLException if there is no current row or no such column.
+   */
+  private Object value(int columnIndex) throws SQLException
+  {
+    if (rowIndex < 0 || rowIndex >= numRows) {
+      throw new SQLException("There is no current row.");
+    }
+
+    if (columnIndex < 1 || columnIndex > columns.size()) {
+      throw new SQLException("No such column: " + columnIndex);
+    }
+
+    Object value = valueAt(rowIndex, columnIndex - 1);
+    wasNull = (value == null);
+    return value;
+  }
+}
@@ -0,0 +1,176 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The metadata of a FakeResultSet.
+ */
+public class FakeResultSetMetaData implements ResultSetMetaData
+{
+  /** The columns of the result. */
+  private final List<FakeColumn> columns;
+
+  /**
+   * Constructor
+   * @param columns the columns of the result.
+   */
+  public FakeResultSetMetaData(List<FakeColumn> columns)
+  {
+    this.columns = columns;
+  }
+
+  @Override
+  public int getColumnCount() throws SQLException
+  {
+    return columns.size();
+  }
+
+  @Override
+  public String getColumnLabel(int columnIndex) throws SQLException
+  {
+    return column(columnIndex).getName();
+  }
+
+  @Override
+  public String getColumnName(int columnIndex) throws SQLException
+  {
+    return column(columnIndex).getName();
+  }
+
+  @Override
+  public int getColumnType(int columnIndex) throws SQLException
+  {
+    return column(columnIndex).getSqlType();
+  }
+
+  @Override
+  public String getColumnTypeName(int columnIndex) throws SQLException
+  {
+    return column(columnIndex).getTypeName();
+  }
+
+  @Override
+  public String getColumnClassName(int columnIndex) throws SQLException
+  {
+    return Object.class.getName();
+  }
+
+  @Override
+  public int getColumnDisplaySize(int columnIndex) throws SQLException
+  {
+    return 0;
+  }
+
+  @Override
+  public int getPrecision(int columnIndex) throws SQLException
+  {
+    return 0;
+  }
+
+  @Override
+  public int getScale(int columnIndex) throws SQLException
+  {
+    return 0;
+  }
+
+  @Override
+  public String getCatalogName(int columnIndex) throws SQLException
+  {
+    return "";
+  }
+
+  @Override
+  public String getSchemaName(int columnIndex) throws SQLException
+  {
+    return "";
+  }
+
+  @Override
+  public String getTableName(int columnIndex) throws SQLException
+  {
+    return "";
+  }
+
+  @Override
+  public boolean isAutoIncrement(int columnIndex) throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isCaseSensitive(int columnIndex) throws SQLException
+  {
+    return true;
+  }
+
+  @Override
+  public boolean isCurrency(int columnIndex) throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public int isNullable(int columnIndex) throws SQLException
+  {
+    return ResultSetMetaData.columnNullableUnknown;
+  }
+
+  @Override
+  public boolean isSearchable(int columnIndex) throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isSigned(int columnIndex) throws SQLException
+  {
+    return true;
+  }
+
+  @Override
+  public boolean isReadOnly(int columnIndex) throws SQLException
+  {
+    return true;
+  }
+
+  @Override
+  public boolean isWritable(int columnIndex) throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isDefinitelyWritable(int columnIndex) throws SQLException
+  {
+    return false;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException
+  {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException
+  {
+    return iface.isInstance(this);
+  }
+
+  private FakeColumn column(int columnIndex) throws SQLException
+  {
+    if (columnIndex < 1 || columnIndex > columns.size()) {
+      throw new SQLException("No such column: " + columnIndex);
+    }
+
+    return columns.get(columnIndex - 1);
+  }
+}
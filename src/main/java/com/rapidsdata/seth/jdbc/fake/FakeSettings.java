@@ -0,0 +1,220 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What the fake driver does when it executes a statement: how many rows a query returns and of
+ * what types, how many rows any other statement affects, how long it takes and how often it fails.
+ *
+ * Settings are written as key=value pairs. The defaults come from the url, separated by
+ * semicolons, e.g. "jdbc:sethfake:rows=100;columns=integer,string". Any statement can override
+ * them with pairs anywhere in its text, e.g. "SELECT rows=1000 columns=integer,decimal latencyms=2".
+ *
+ * The keys are:
+ *   rows      - the number of rows a query returns.
+ *   columns   - the types of the columns a query returns, separated by commas. The types are
+ *               integer, decimal, float, string, boolean, date and timestamp.
+ *   affected  - the number of rows any other statement affects.
+ *   latencyms - the number of milliseconds the statement takes.
+ *   errorrate - the fraction of the statements that fail, from 0 to 1.
+ *
+ * This class is immutable.
+ */
+public class FakeSettings
+{
+  /** The settings used when the url and the statement don't specify them. */
+  public static final FakeSettings DEFAULTS = new FakeSettings(1, Collections.singletonList(FakeColumnType.INTEGER), 1, 0, 0.0);
+
+  /** Matches a setting in a url or in the text of a statement. */
+  private static final Pattern SETTING_PATTERN =
+      Pattern.compile("\\b(rows|columns|affected|latencyms|errorrate)\\s*=\\s*([A-Za-z0-9_.,]+)", Pattern.CASE_INSENSITIVE);
+
+  /** The number of rows a query returns. */
+  private final int rows;
+
+  /** The types of the columns a query returns. */
+  private final List<FakeColumnType> columnTypes;
+
+  /** The number of rows any other statement affects. */
+  private final int affected;
+
+  /** The number of milliseconds a statement takes. */
+  private final long latencyMs;
+
+  /** The fraction of the statements that fail. */
+  private final double errorRate;
+
+  /**
+   * Constructor
+   * @param rows the number of rows a query returns.
+   * @param columnTypes the types of the columns a query returns.
+   * @param affected the number of rows any other statement affects.
+   * @param latencyMs the number of milliseconds a statement takes.
+   * @param errorRate the fraction of the statements that fail.
+   */
+  private FakeSettings(int rows, List<FakeColumnType> columnTypes, int affected, long latencyMs, double errorRate)
+  {
+    this.rows = rows;
+    this.columnTypes = columnTypes;
+    this.affected = affected;
+    this.latencyMs = latencyMs;
+    this.errorRate = errorRate;
+  }
+
+  /**
+   * Returns these settings, overridden by any settings written in the given text.
+   * @param text a url without its prefix, or the text of a statement.
+   * @return the new settings, or these settings if the text doesn't contain any.
+   * @throws SQLException if a setting has an invalid value.
+   */
+  public FakeSettings overriddenBy(String text) throws SQLException
+  {
+    // Most statements don't have any settings.
+    if (text.indexOf('=') < 0) {
+      return this;
+    }
+
+    int newRows = rows;
+    List<FakeColumnType> newColumnTypes = columnTypes;
+    int newAffected = affected;
+    long newLatencyMs = latencyMs;
+    double newErrorRate = errorRate;
+    boolean found = false;
+
+    Matcher matcher = SETTING_PATTERN.matcher(text);
+
+    while (matcher.find()) {
+      String key = matcher.group(1).toLowerCase(Locale.ROOT);
+      String value = matcher.group(2);
+      found = true;
+
+      try {
+        switch (key) {
+          case "rows":
+            newRows = nonNegative(Integer.parseInt(value));
+            break;
+
+          case "columns":
+            newColumnTypes = parseColumnTypes(value);
+            break;
+
+          case "affected":
+            newAffected = nonNegative(Integer.parseInt(value));
+            break;
+
+          case "latencyms":
+            newLatencyMs = nonNegative(Long.parseLong(value));
+            break;
+
+          case "errorrate":
+            newErrorRate = Double.parseDouble(value);
+
+            if (!(newErrorRate >= 0.0 && newErrorRate <= 1.0)) {
+              throw new IllegalArgumentException();
+            }
+            break;
+
+          default:
+            break;
+        }
+
+      } catch (IllegalArgumentException e) {
+        throw new SQLException("Invalid fake driver setting \"" + matcher.group() + "\".", e);
+      }
+    }
+
+    if (!found) {
+      return this;
+    }
+
+    return new FakeSettings(newRows, newColumnTypes, newAffected, newLatencyMs, newErrorRate);
+  }
+
+  /**
+   * Returns the number of rows a query returns.
+   * @return the number of rows a query returns.
+   */
+  public int getRows()
+  {
+    return rows;
+  }
+
+  /**
+   * Returns the types of the columns a query returns.
+   * @return the types of the columns a query returns.
+   */
+  public List<FakeColumnType> getColumnTypes()
+  {
+    return columnTypes;
+  }
+
+  /**
+   * Returns the number of rows any other statement affects.
+   * @return the number of rows any other statement affects.
+   */
+  public int getAffected()
+  {
+    return affected;
+  }
+
+  /**
+   * Returns the number of milliseconds a statement takes.
+   * @return the number of milliseconds a statement takes.
+   */
+  public long getLatencyMs()
+  {
+    return latencyMs;
+  }
+
+  /**
+   * Returns the fraction of the statements that fail.
+   * @return the fraction of the statements that fail.
+   */
+  public double getErrorRate()
+  {
+    return errorRate;
+  }
+
+  private static List<FakeColumnType> parseColumnTypes(String value)
+  {
+    List<FakeColumnType> types = new ArrayList<>();
+
+    for (String name : value.split(",")) {
+      if (!name.isEmpty()) {
+        types.add(FakeColumnType.valueOf(name.toUpperCase(Locale.ROOT)));
+      }
+    }
+
+    if (types.isEmpty()) {
+      throw new IllegalArgumentException();
+    }
+
+    return Collections.unmodifiableList(types);
+  }
+
+  private static int nonNegative(int value)
+  {
+    if (value < 0) {
+      throw new IllegalArgumentException();
+    }
+
+    return value;
+  }
+
+  private static long nonNegative(long value)
+  {
+    if (value < 0) {
+      throw new IllegalArgumentException();
+    }
+
+    return value;
+  }
+}
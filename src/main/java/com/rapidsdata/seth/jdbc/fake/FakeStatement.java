@@ -0,0 +1,399 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A statement of the fake driver, which may also be a prepared statement. A statement that starts
+ * with SELECT, WITH, VALUES, SHOW, EXPLAIN or DESCRIBE is a query that returns a generated result.
+ * Any other statement returns an update count.
+ */
+public class FakeStatement extends UnsupportedPreparedStatement
+{
+  /** Matches the start of a statement that returns a result. */
+  private static final Pattern QUERY_PATTERN =
+      Pattern.compile("^\\s*(SELECT|WITH|VALUES|SHOW|EXPLAIN|DESCRIBE)\\b", Pattern.CASE_INSENSITIVE);
+
+  /** The SQL state of a statement that fails at random. */
+  private static final String RANDOM_FAILURE_SQLSTATE = "HY000";
+
+  /** The connection that created this statement. */
+  private final FakeConnection connection;
+
+  /** The settings from the url of the connection. */
+  private final FakeSettings settings;
+
+  /** The prepared statement, or null if this is not a prepared statement. */
+  private final String preparedSql;
+
+  /** The statements that have been added to the batch. */
+  private final List<String> batch = new ArrayList<>();
+
+  /** The result of the last statement executed, or null. */
+  private ResultSet resultSet = null;
+
+  /** The update count of the last statement executed, or -1. */
+  private int updateCount = -1;
+
+  private int fetchSize = 0;
+  private int maxRows = 0;
+  private int queryTimeout = 0;
+  private boolean closed = false;
+
+  /**
+   * Constructor
+   * @param connection the connection that created this statement.
+   * @param settings the settings from the url of the connection.
+   * @param preparedSql the prepared statement, or null if this is not a prepared statement.
+   */
+  public FakeStatement(FakeConnection connection, FakeSettings settings, String preparedSql)
+  {
+    this.connection = connection;
+    this.settings = settings;
+    this.preparedSql = preparedSql;
+  }
+
+  @Override
+  public boolean execute(String sql) throws SQLException
+  {
+    checkOpen();
+    return executeSql(sql);
+  }
+
+  @Override
+  public boolean execute() throws SQLException
+  {
+    checkPrepared();
+    return executeSql(preparedSql);
+  }
+
+  @Override
+  public ResultSet executeQuery(String sql) throws SQLException
+  {
+    checkOpen();
+
+    if (!executeSql(sql)) {
+      throw new SQLException("The statement did not return a result.");
+    }
+
+    return resultSet;
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException
+  {
+    checkPrepared();
+    return executeQuery(preparedSql);
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws SQLException
+  {
+    checkOpen();
+
+    if (executeSql(sql)) {
+      throw new SQLException("The statement returned a result.");
+    }
+
+    return updateCount;
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException
+  {
+    checkPrepared();
+    return executeUpdate(preparedSql);
+  }
+
+  @Override
+  public void addBatch(String sql) throws SQLException
+  {
+    checkOpen();
+    batch.add(sql);
+  }
+
+  @Override
+  public void addBatch() throws SQLException
+  {
+    checkPrepared();
+    batch.add(preparedSql);
+  }
+
+  @Override
+  public void clearBatch() throws SQLException
+  {
+    batch.clear();
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException
+  {
+    checkOpen();
+
+    int[] updateCounts = new int[batch.size()];
+
+    try {
+      for (int i = 0; i < batch.size(); i++) {
+        try {
+          if (executeSql(batch.get(i))) {
+            throw new BatchUpdateException("A statement in a batch returned a result.", truncate(updateCounts, i));
+          }
+
+        } catch (BatchUpdateException e) {
+          throw e;
+
+        } catch (SQLException e) {
+          throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), truncate(updateCounts, i), e);
+        }
+
+        updateCounts[i] = updateCount;
+      }
+
+    } finally {
+      batch.clear();
+    }
+
+    updateCount = -1;
+    return updateCounts;
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException
+  {
+    return resultSet;
+  }
+
+  @Override
+  public int getUpdateCount() throws SQLException
+  {
+    return updateCount;
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException
+  {
+    closeResultSet();
+    updateCount = -1;
+    return false;
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException
+  {
+    return null;
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException
+  {
+    // There are never any warnings.
+  }
+
+  @Override
+  public void clearParameters() throws SQLException
+  {
+    // The statements never have any parameters.
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException
+  {
+    return connection;
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException
+  {
+    return fetchSize;
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException
+  {
+    fetchSize = rows;
+  }
+
+  @Override
+  public int getMaxRows() throws SQLException
+  {
+    return maxRows;
+  }
+
+  @Override
+  public void setMaxRows(int max) throws SQLException
+  {
+    maxRows = max;
+  }
+
+  @Override
+  public int getQueryTimeout() throws SQLException
+  {
+    return queryTimeout;
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws SQLException
+  {
+    queryTimeout = seconds;
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws SQLException
+  {
+    // There is nothing to escape.
+  }
+
+  @Override
+  public void cancel() throws SQLException
+  {
+    // The statements can't be cancelled, but they never take long.
+  }
+
+  @Override
+  public int getResultSetType() throws SQLException
+  {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws SQLException
+  {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  @Override
+  public int getResultSetHoldability() throws SQLException
+  {
+    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+  }
+
+  @Override
+  public boolean isPoolable() throws SQLException
+  {
+    return preparedSql != null;
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws SQLException
+  {
+    // All prepared statements are poolable.
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException
+  {
+    return closed;
+  }
+
+  @Override
+  public void close() throws SQLException
+  {
+    closeResultSet();
+    closed = true;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException
+  {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+
+    throw new SQLException("Not a wrapper for " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException
+  {
+    return iface.isInstance(this);
+  }
+
+  /**
+   * Executes a statement as described by its settings.
+   * @param sql the statement to execute.
+   * @return true if the statement returned a result, or false if it returned an update count.
+   * @throws SQLException if the statement fails.
+   */
+  private boolean executeSql(String sql) throws SQLException
+  {
+    closeResultSet();
+    updateCount = -1;
+
+    FakeDriver.statementExecuted();
+    FakeSettings statementSettings = settings.overriddenBy(sql);
+
+    if (statementSettings.getLatencyMs() > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(statementSettings.getLatencyMs());
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("The statement was interrupted.", e);
+      }
+    }
+
+    if (statementSettings.getErrorRate() > 0.0 &&
+        ThreadLocalRandom.current().nextDouble() < statementSettings.getErrorRate()) {
+      throw new SQLException("The fake driver failed the statement at random.", RANDOM_FAILURE_SQLSTATE);
+    }
+
+    if (QUERY_PATTERN.matcher(sql).find()) {
+      int numRows = statementSettings.getRows();
+
+      if (maxRows > 0) {
+        numRows = Math.min(numRows, maxRows);
+      }
+
+      resultSet = new GeneratedResultSet(this, statementSettings.getColumnTypes(), numRows);
+      return true;
+    }
+
+    updateCount = statementSettings.getAffected();
+    return false;
+  }
+
+  private void closeResultSet() throws SQLException
+  {
+    if (resultSet != null) {
+      resultSet.close();
+      resultSet = null;
+    }
+  }
+
+  private void checkOpen() throws SQLException
+  {
+    if (closed) {
+      throw new SQLException("The statement is closed.");
+    }
+
+    if (connection.isClosed()) {
+      throw new SQLException("The connection is closed.");
+    }
+  }
+
+  private void checkPrepared() throws SQLException
+  {
+    checkOpen();
+
+    if (preparedSql == null) {
+      throw new SQLException("This is not a prepared statement.");
+    }
+  }
+
+  private static int[] truncate(int[] updateCounts, int length)
+  {
+    int[] truncated = new int[length];
+    System.arraycopy(updateCounts, 0, truncated, 0, length);
+    return truncated;
+  }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a query executed by the fake driver. The values are generated as each row is
+ * read rather than held in memory, so a result can have any number of rows. The columns are
+ * named c1, c2, etc.
+ */
+public class GeneratedResultSet extends FakeResultSet
+{
+  /** The statement that produced this result. */
+  private final Statement statement;
+
+  /** The type of each column. */
+  private final List<FakeColumnType> columnTypes;
+
+  /**
+   * Constructor
+   * @param statement the statement that produced this result.
+   * @param columnTypes the type of each column.
+   * @param numRows the number of rows.
+   */
+  public GeneratedResultSet(Statement statement, List<FakeColumnType> columnTypes, int numRows)
+  {
+    super(columnsFor(columnTypes), numRows);
+    this.statement = statement;
+    this.columnTypes = columnTypes;
+  }
+
+  @Override
+  public boolean next() throws SQLException
+  {
+    if (!super.next()) {
+      return false;
+    }
+
+    FakeDriver.rowReturned();
+    return true;
+  }
+
+  @Override
+  public Statement getStatement() throws SQLException
+  {
+    return statement;
+  }
+
+  @Override
+  protected Object valueAt(int rowIndex, int columnIndex)
+  {
+    return columnTypes.get(columnIndex).valueFor(rowIndex);
+  }
+
+  /**
+   * Returns the columns of a result with the given types.
+   * @param columnTypes the type of each column.
+   * @return the columns of a result.
+   */
+  private static List<FakeColumn> columnsFor(List<FakeColumnType> columnTypes)
+  {
+    List<FakeColumn> columns = new ArrayList<>(columnTypes.size());
+
+    for (int i = 0; i < columnTypes.size(); i++) {
+      columns.add(columnTypes.get(i).column("c" + (i + 1)));
+    }
+
+    return columns;
+  }
+}
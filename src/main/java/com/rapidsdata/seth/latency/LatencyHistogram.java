@@ -0,0 +1,151 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.latency;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies in nanoseconds, in the style of HdrHistogram.
+ *
+ * Values below 128 ns are counted exactly. Above that, each power of two is divided into 64
+ * buckets of equal width, so any value is reported to within 1/64th (about 1.6%) of its true value
+ * no matter how large it is. The buckets are only allocated up to the largest value recorded, so a
+ * histogram of millisecond latencies takes a few kilobytes.
+ *
+ * A histogram is not threadsafe. Each thread records into its own histograms, which are added
+ * together once the threads have finished.
+ */
+public class LatencyHistogram
+{
+  /** The log2 of the number of buckets each power of two is divided into. */
+  private static final int SUB_BUCKET_BITS = 6;
+
+  /** The number of buckets each power of two is divided into. */
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** The count of values in each bucket. */
+  private long[] counts = new long[0];
+
+  /** The total number of values recorded. */
+  private long totalCount = 0;
+
+  /** The largest value recorded. */
+  private long maxValue = 0;
+
+  /**
+   * Records a value.
+   * @param value the value to record, in nanoseconds. Negative values are recorded as 0.
+   */
+  public void record(long value)
+  {
+    if (value < 0) {
+      value = 0;
+    }
+
+    int index = bucketIndexOf(value);
+
+    if (index >= counts.length) {
+      counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+    }
+
+    ++counts[index];
+    ++totalCount;
+    maxValue = Math.max(maxValue, value);
+  }
+
+  /**
+   * Adds all the values recorded in another histogram to this histogram.
+   * @param other the histogram to add.
+   */
+  public void add(LatencyHistogram other)
+  {
+    if (other.counts.length > counts.length) {
+      counts = Arrays.copyOf(counts, other.counts.length);
+    }
+
+    for (int i = 0; i < other.counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+
+    totalCount += other.totalCount;
+    maxValue = Math.max(maxValue, other.maxValue);
+  }
+
+  /**
+   * Returns the total number of values recorded.
+   * @return the total number of values recorded.
+   */
+  public long getTotalCount()
+  {
+    return totalCount;
+  }
+
+  /**
+   * Returns the largest value recorded, or 0 if no values have been recorded.
+   * @return the largest value recorded, or 0 if no values have been recorded.
+   */
+  public long getMaxValue()
+  {
+    return maxValue;
+  }
+
+  /**
+   * Returns the value that the given percentage of the recorded values are less than or equal to,
+   * to within the precision of the histogram, or 0 if no values have been recorded.
+   * @param percentile the percentage, between 0 and 100.
+   * @return the value at the given percentile.
+   */
+  public long getValueAtPercentile(double percentile)
+  {
+    if (totalCount == 0) {
+      return 0;
+    }
+
+    long countAtPercentile = (long) Math.ceil(Math.min(100.0d, Math.max(0.0d, percentile)) / 100.0d * totalCount);
+    countAtPercentile = Math.max(1, countAtPercentile);
+
+    long cumulativeCount = 0;
+
+    for (int i = 0; i < counts.length; i++) {
+      cumulativeCount += counts[i];
+
+      if (cumulativeCount >= countAtPercentile) {
+        return Math.min(highestValueOf(i), maxValue);
+      }
+    }
+
+    return maxValue;
+  }
+
+  /**
+   * Returns the index of the bucket that a value is counted in.
+   * @param value the value, which must not be negative.
+   * @return the index of the bucket.
+   */
+  private static int bucketIndexOf(long value)
+  {
+    if (value < 2 * SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    // Shift the value down so that it falls in [SUB_BUCKET_COUNT, 2 * SUB_BUCKET_COUNT).
+    int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+    return SUB_BUCKET_COUNT * (shift + 1) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  /**
+   * Returns the highest value that is counted in a bucket.
+   * @param index the index of the bucket.
+   * @return the highest value that is counted in the bucket.
+   */
+  private static long highestValueOf(int index)
+  {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long subBucket = (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.latency;
+
+import com.rapidsdata.seth.plan.Operation;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Records the latencies of the statements executed by a single thread of a test. Since it is only
+ * used by one thread it needs no synchronisation. The recorders of all the threads of a test are
+ * added together once the test has finished.
+ */
+public class LatencyRecorder
+{
+  /**
+   * The latencies of each statement, keyed by the operation. Threads created by the same
+   * CREATE THREAD command, and each iteration of a loop, execute the same operation objects.
+   */
+  private final Map<Operation, StatementLatency> latencies = new IdentityHashMap<>();
+
+  /** The time taken to make each connection to the server, including any wait for a turn to connect. */
+  private final LatencyHistogram connectHistogram = new LatencyHistogram();
+
+  /**
+   * Records the latency of one execution of a statement.
+   * @param operation the statement that was executed.
+   * @param executeNs the time taken to execute the statement, in nanoseconds.
+   * @param verifyNs the time taken to fetch and verify the result of the statement, in nanoseconds.
+   */
+  public void record(Operation operation, long executeNs, long verifyNs)
+  {
+    StatementLatency latency = latencyOf(operation, StatementLatency.Kind.STATEMENT);
+    latency.getExecuteHistogram().record(executeNs);
+    latency.getVerifyHistogram().record(verifyNs);
+  }
+
+  /**
+   * Records the latency of one iteration of a rate-limited loop. Both times are measured from when
+   * the iteration was scheduled to start, so the time spent waiting for earlier iterations that
+   * ran late is included.
+   * @param loop the loop that the iteration belongs to.
+   * @param responseNs the time from when the iteration was scheduled to start until it finished, in nanoseconds.
+   * @param startDelayNs the time from when the iteration was scheduled to start until it started, in nanoseconds.
+   */
+  public void recordScheduled(Operation loop, long responseNs, long startDelayNs)
+  {
+    StatementLatency latency = latencyOf(loop, StatementLatency.Kind.RATE_LIMITED_LOOP);
+    latency.getExecuteHistogram().record(responseNs);
+    latency.getVerifyHistogram().record(startDelayNs);
+  }
+
+  /**
+   * Records the time taken to run one branch of a mix block.
+   * @param branch the branch that was chosen.
+   * @param branchNs the time taken to run the branch, in nanoseconds.
+   */
+  public void recordMixBranch(Operation branch, long branchNs)
+  {
+    latencyOf(branch, StatementLatency.Kind.MIX_BRANCH).getExecuteHistogram().record(branchNs);
+  }
+
+  /**
+   * Records the time taken to make a connection to the server.
+   * @param connectNs the time taken to make the connection, in nanoseconds.
+   */
+  public void recordConnect(long connectNs)
+  {
+    connectHistogram.record(connectNs);
+  }
+
+  /**
+   * Adds the latencies recorded by another thread to this recorder.
+   * @param other the latencies recorded by another thread.
+   */
+  public void add(LatencyRecorder other)
+  {
+    for (StatementLatency otherLatency : other.latencies.values()) {
+      latencyOf(otherLatency.getOperation(), otherLatency.getKind()).add(otherLatency);
+    }
+
+    connectHistogram.add(other.connectHistogram);
+  }
+
+  /**
+   * Returns the latencies of each statement that was executed.
+   * @return the latencies of each statement that was executed.
+   */
+  public Collection<StatementLatency> getLatencies()
+  {
+    return latencies.values();
+  }
+
+  /**
+   * Returns the histogram of the time taken to make each connection to the server.
+   * @return the histogram of the time taken to make each connection to the server.
+   */
+  public LatencyHistogram getConnectHistogram()
+  {
+    return connectHistogram;
+  }
+
+  private StatementLatency latencyOf(Operation operation, StatementLatency.Kind kind)
+  {
+    StatementLatency latency = latencies.get(operation);
+
+    if (latency == null) {
+      latency = new StatementLatency(operation, kind);
+      latencies.put(operation, latency);
+    }
+
+    return latency;
+  }
+}
@@ -0,0 +1,290 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.latency;
+
+import com.rapidsdata.seth.CommandLineArgs;
+import com.rapidsdata.seth.TestableFile;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes the latency percentiles of each statement of each test to a CSV file and a JSON file in
+ * the result directory. The latencies of a test are written as soon as the test finishes, so that
+ * a long run doesn't need to keep them all in memory.
+ *
+ * There is one row in the CSV file for each phase of each statement, and one object in the JSON
+ * file for each statement. A rate-limited loop is reported like a statement, with the response
+ * time and start delay of its iterations in place of the execute and verify phases. The time taken
+ * to make the connections of a test is reported as a "connect" phase at line 0. All latencies are
+ * in milliseconds.
+ */
+public class LatencyReportWriter implements Closeable
+{
+  /** The percentiles that are reported, in addition to the maximum. */
+  private static final double[] PERCENTILES = { 50.0d, 90.0d, 99.0d, 99.9d };
+
+  /** The names of the percentiles in the report. */
+  private static final String[] PERCENTILE_NAMES = { "p50_ms", "p90_ms", "p99_ms", "p99_9_ms" };
+
+  /** The statement that the connections of a test are reported under. */
+  private static final String CONNECT_STATEMENT = "(connect)";
+
+  private static final String CSV_HEADER = "test,file,line,phase,count,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,statement";
+
+  /** The CSV file being written. */
+  private final File csvFile;
+
+  /** The JSON file being written. */
+  private final File jsonFile;
+
+  private final BufferedWriter csvWriter;
+  private final BufferedWriter jsonWriter;
+
+  /** Guards the files, since tests finish on many threads. */
+  private final Lock lock = new ReentrantLock();
+
+  /** Whether anything has been written to the JSON array yet. */
+  private boolean jsonEmpty = true;
+
+  /**
+   * Constructor. Creates the CSV and JSON files.
+   * @param resultDir the directory to write the files to.
+   * @param baseName the name of the files, without the extension.
+   * @throws IOException if the files cannot be created.
+   */
+  public LatencyReportWriter(File resultDir, String baseName) throws IOException
+  {
+    csvFile = new File(resultDir, baseName + ".csv");
+    jsonFile = new File(resultDir, baseName + ".json");
+
+    csvWriter = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.UTF_8);
+
+    try {
+      jsonWriter = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8);
+
+    } catch (IOException e) {
+      csvWriter.close();
+      throw e;
+    }
+
+    csvWriter.write(CSV_HEADER);
+    csvWriter.newLine();
+    jsonWriter.write("[");
+  }
+
+  /**
+   * Returns the name of the latency report files, without the extension. Each shard of the tests
+   * and each worker process writes its own files.
+   * @param args the command line arguments.
+   * @return the name of the latency report files.
+   */
+  public static String baseNameFor(CommandLineArgs args)
+  {
+    String baseName = "latency";
+
+    if (args.logNamePrefix != null && !args.logNamePrefix.isEmpty()) {
+      baseName = args.logNamePrefix + "-" + baseName;
+    }
+
+    if (args.shardCount > 0) {
+      baseName += "-shard" + args.shardIndex + "of" + args.shardCount;
+    }
+
+    if (args.coordinatorPort > 0) {
+      baseName += "-worker" + ProcessHandle.current().pid();
+    }
+
+    return baseName;
+  }
+
+  /**
+   * Returns a description of where the latency reports are written.
+   * @return a description of where the latency reports are written.
+   */
+  public String describeFiles()
+  {
+    return csvFile.getPath() + " and " + jsonFile.getPath();
+  }
+
+  /**
+   * Writes out the latencies recorded by all the threads of a test.
+   * @param testFile the test that the latencies were recorded in.
+   * @param merged the latencies recorded by each thread of the test, added together.
+   * @throws IOException if the latencies cannot be written.
+   */
+  public void writeTest(TestableFile testFile, LatencyRecorder merged) throws IOException
+  {
+    List<StatementLatency> latencies = new ArrayList<>(merged.getLatencies());
+    LatencyHistogram connectHistogram = merged.getConnectHistogram();
+
+    if (latencies.isEmpty() && connectHistogram.getTotalCount() == 0) {
+      return;
+    }
+
+    latencies.sort(Comparator.comparing((StatementLatency l) -> l.getOperation().getTestFile().describePath())
+                             .thenComparingLong(l -> l.getOperation().getLine()));
+
+    String testPath = testFile.describePath();
+    StringBuilder csv = new StringBuilder(256 * latencies.size());
+    StringBuilder json = new StringBuilder(512 * latencies.size());
+
+    // The connections made by all the threads of the test are reported as a single entry at line 0.
+    if (connectHistogram.getTotalCount() > 0) {
+      appendCsvRow(csv, testPath, testPath, 0, "connect", connectHistogram, CONNECT_STATEMENT);
+
+      json.append("  {\"test\": ").append(jsonString(testPath))
+          .append(", \"file\": ").append(jsonString(testPath))
+          .append(", \"line\": 0")
+          .append(", \"statement\": ").append(jsonString(CONNECT_STATEMENT))
+          .append(", \"connect\": ");
+      appendJsonPercentiles(json, connectHistogram);
+      json.append("}");
+    }
+
+    for (StatementLatency latency : latencies) {
+      String filePath = latency.getOperation().getTestFile().describePath();
+      long line = latency.getOperation().getLine();
+      String statement = latency.getOperation().toString();
+
+      appendCsvRow(csv, testPath, filePath, line, latency.getExecutePhaseName(), latency.getExecuteHistogram(), statement);
+
+      if (latency.getVerifyPhaseName() != null) {
+        appendCsvRow(csv, testPath, filePath, line, latency.getVerifyPhaseName(), latency.getVerifyHistogram(), statement);
+      }
+
+      if (json.length() > 0) {
+        json.append(",").append(System.lineSeparator());
+      }
+
+      json.append("  {\"test\": ").append(jsonString(testPath))
+          .append(", \"file\": ").append(jsonString(filePath))
+          .append(", \"line\": ").append(line)
+          .append(", \"statement\": ").append(jsonString(statement))
+          .append(", \"").append(latency.getExecutePhaseName()).append("\": ");
+      appendJsonPercentiles(json, latency.getExecuteHistogram());
+
+      if (latency.getVerifyPhaseName() != null) {
+        json.append(", \"").append(latency.getVerifyPhaseName()).append("\": ");
+        appendJsonPercentiles(json, latency.getVerifyHistogram());
+      }
+
+      json.append("}");
+    }
+
+    lock.lock();
+
+    try {
+      csvWriter.write(csv.toString());
+      csvWriter.flush();
+      jsonWriter.write(jsonEmpty ? System.lineSeparator() : "," + System.lineSeparator());
+      jsonWriter.write(json.toString());
+      jsonWriter.flush();
+      jsonEmpty = false;
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Finishes the JSON array and closes the files.
+   * @throws IOException if the files cannot be written.
+   */
+  @Override
+  public void close() throws IOException
+  {
+    lock.lock();
+
+    try {
+      jsonWriter.write(System.lineSeparator() + "]" + System.lineSeparator());
+      jsonWriter.close();
+      csvWriter.close();
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static void appendCsvRow(StringBuilder sb, String testPath, String filePath, long line,
+                                   String phase, LatencyHistogram histogram, String statement)
+  {
+    sb.append(csvString(testPath)).append(',')
+      .append(csvString(filePath)).append(',')
+      .append(line).append(',')
+      .append(phase).append(',')
+      .append(histogram.getTotalCount());
+
+    for (double percentile : PERCENTILES) {
+      sb.append(',').append(nanosToMillis(histogram.getValueAtPercentile(percentile)));
+    }
+
+    sb.append(',').append(nanosToMillis(histogram.getMaxValue()))
+      .append(',').append(csvString(statement))
+      .append(System.lineSeparator());
+  }
+
+  private static void appendJsonPercentiles(StringBuilder sb, LatencyHistogram histogram)
+  {
+    sb.append("{\"count\": ").append(histogram.getTotalCount());
+
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      sb.append(", \"").append(PERCENTILE_NAMES[i]).append("\": ")
+        .append(nanosToMillis(histogram.getValueAtPercentile(PERCENTILES[i])));
+    }
+
+    sb.append(", \"max_ms\": ").append(nanosToMillis(histogram.getMaxValue())).append("}");
+  }
+
+  private static String nanosToMillis(long nanos)
+  {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1000000.0d);
+  }
+
+  private static String csvString(String str)
+  {
+    if (str.indexOf(',') == -1 && str.indexOf('"') == -1 && str.indexOf('\n') == -1 && str.indexOf('\r') == -1) {
+      return str;
+    }
+
+    return "\"" + str.replace("\"", "\"\"") + "\"";
+  }
+
+  private static String jsonString(String str)
+  {
+    StringBuilder sb = new StringBuilder(str.length() + 2);
+    sb.append('"');
+
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+
+      switch (c) {
+        case '"':  sb.append("\\\""); break;
+        case '\\': sb.append("\\\\"); break;
+        case '\n': sb.append("\\n");  break;
+        case '\r': sb.append("\\r");  break;
+        case '\t': sb.append("\\t");  break;
+
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+          break;
+      }
+    }
+
+    return sb.append('"').toString();
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.latency;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The total time that this process has spent in each phase of running the tests, added up across
+ * all of their threads. Nothing is recorded unless it has been enabled with --phasetimes.
+ */
+public class PhaseTimes
+{
+  /** The phases of running the tests. */
+  public enum Phase
+  {
+    /** Parsing the test files and planning their operations. */
+    PLAN,
+
+    /** Making connections to the server, including waiting for a turn to connect. */
+    CONNECT,
+
+    /** Executing statements on the server and fetching their results. */
+    EXECUTE,
+
+    /** Comparing the results of statements to their expected results. */
+    VERIFY,
+
+    /** Writing messages to the console and the log files. */
+    LOG;
+
+    /**
+     * Returns the name of the phase as it is reported.
+     * @return the name of the phase as it is reported.
+     */
+    public String getName()
+    {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /** The total number of nanoseconds spent in each phase, indexed by ordinal. */
+  private static final LongAdder[] totalNs = new LongAdder[Phase.values().length];
+
+  private static volatile boolean enabled = false;
+
+  static {
+    for (int i = 0; i < totalNs.length; i++) {
+      totalNs[i] = new LongAdder();
+    }
+  }
+
+  private PhaseTimes() {}
+
+  /**
+   * Starts recording the phase times from zero, or stops recording them.
+   * @param enable whether to record the phase times.
+   */
+  public static void start(boolean enable)
+  {
+    for (LongAdder total : totalNs) {
+      total.reset();
+    }
+
+    enabled = enable;
+  }
+
+  /**
+   * Returns whether the phase times are being recorded.
+   * @return whether the phase times are being recorded.
+   */
+  public static boolean isEnabled()
+  {
+    return enabled;
+  }
+
+  /**
+   * Adds time spent in a phase, if the phase times are being recorded.
+   * @param phase the phase.
+   * @param ns the number of nanoseconds spent in the phase.
+   */
+  public static void record(Phase phase, long ns)
+  {
+    if (enabled) {
+      totalNs[phase.ordinal()].add(ns);
+    }
+  }
+
+  /**
+   * Returns the total time spent in a phase.
+   * @param phase the phase.
+   * @return the total number of nanoseconds spent in the phase.
+   */
+  public static long getTotalNs(Phase phase)
+  {
+    return totalNs[phase.ordinal()].sum();
+  }
+
+  /**
+   * Returns a description of the time spent in each phase, or null if they are not being recorded.
+   * @return a description of the time spent in each phase, or null.
+   */
+  public static String describe()
+  {
+    if (!enabled) {
+      return null;
+    }
+
+    StringBuilder sb = new StringBuilder("Phase times (added up across threads):");
+    String separator = " ";
+
+    for (Phase phase : Phase.values()) {
+      double ms = getTotalNs(phase) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+      sb.append(separator).append(phase.getName()).append(String.format(" %.3f ms", ms));
+      separator = ", ";
+    }
+
+    return sb.append('.').toString();
+  }
+}
@@ -0,0 +1,121 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.latency;
+
+import com.rapidsdata.seth.plan.Operation;
+
+/**
+ * The latencies of the executions of a single statement in a test file. Each execution is timed
+ * in two phases: executing the statement on the server, and fetching and verifying its result.
+ *
+ * The iterations of a rate-limited loop are also timed in two phases: the response time, from when
+ * the iteration was scheduled to start until it finished, and the start delay, from when it was
+ * scheduled to start until it actually started. The branches of a mix block are timed in a single
+ * phase, from when the branch was chosen until it finished.
+ */
+public class StatementLatency
+{
+  /** The kinds of statement that latencies are recorded for, and the names of their phases. */
+  public enum Kind
+  {
+    STATEMENT("execute", "verify"),
+    RATE_LIMITED_LOOP("response", "start_delay"),
+    MIX_BRANCH("branch", null);
+
+    private final String executePhaseName;
+    private final String verifyPhaseName;
+
+    Kind(String executePhaseName, String verifyPhaseName)
+    {
+      this.executePhaseName = executePhaseName;
+      this.verifyPhaseName = verifyPhaseName;
+    }
+  }
+
+  /** The statement that was executed. */
+  private final Operation operation;
+
+  /** The kind of statement that was executed. */
+  private final Kind kind;
+
+  /** The time taken to execute the statement, up until its result is available, or the time of the first phase of another kind. */
+  private final LatencyHistogram executeHistogram = new LatencyHistogram();
+
+  /** The time taken to fetch the result of the statement and compare it to the expected result, or the time of the second phase of another kind. */
+  private final LatencyHistogram verifyHistogram = new LatencyHistogram();
+
+  /**
+   * Constructor
+   * @param operation the statement that was executed.
+   * @param kind the kind of statement that was executed.
+   */
+  public StatementLatency(Operation operation, Kind kind)
+  {
+    this.operation = operation;
+    this.kind = kind;
+  }
+
+  /**
+   * Returns the statement that was executed.
+   * @return the statement that was executed.
+   */
+  public Operation getOperation()
+  {
+    return operation;
+  }
+
+  /**
+   * Returns the kind of statement that was executed.
+   * @return the kind of statement that was executed.
+   */
+  public Kind getKind()
+  {
+    return kind;
+  }
+
+  /**
+   * Returns the name of the phase timed by the execute histogram.
+   * @return the name of the phase timed by the execute histogram.
+   */
+  public String getExecutePhaseName()
+  {
+    return kind.executePhaseName;
+  }
+
+  /**
+   * Returns the name of the phase timed by the verify histogram, or null if this kind of statement has only one phase.
+   * @return the name of the phase timed by the verify histogram, or null if this kind of statement has only one phase.
+   */
+  public String getVerifyPhaseName()
+  {
+    return kind.verifyPhaseName;
+  }
+
+  /**
+   * Returns the histogram of the time taken to execute the statement.
+   * @return the histogram of the time taken to execute the statement.
+   */
+  public LatencyHistogram getExecuteHistogram()
+  {
+    return executeHistogram;
+  }
+
+  /**
+   * Returns the histogram of the time taken to fetch and verify the result of the statement.
+   * @return the histogram of the time taken to fetch and verify the result of the statement.
+   */
+  public LatencyHistogram getVerifyHistogram()
+  {
+    return verifyHistogram;
+  }
+
+  /**
+   * Adds the latencies recorded for the same statement by another thread.
+   * @param other the latencies recorded by another thread.
+   */
+  public void add(StatementLatency other)
+  {
+    executeHistogram.add(other.executeHistogram);
+    verifyHistogram.add(other.verifyHistogram);
+  }
+}
@@ -5,11 +5,19 @@ package com.rapidsdata.seth.logging;
 import com.rapidsdata.seth.TestResult;
 import com.rapidsdata.seth.TestableFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * A logger that logs to the console stdout.
+ *
+ * The lines are printed by the single thread of a ConsoleWriter, so logging never blocks the tests.
+ * When the output is grouped by test, each test logs through its own TestOutput, which collects the
+ * console output of the test and hands it to the writer as one block when the test finishes, or
+ * when it logs an error.
  */
 public class ConsoleLogger implements TestLogger
 {
@@ -19,9 +27,38 @@ public class ConsoleLogger implements TestLogger
 
   private final boolean logTestsPassed;
 
-  public ConsoleLogger(boolean logTestsPassed)
+  /** Prints the lines to the console. */
+  private final ConsoleWriter console;
+
+  /** The output of the test that the current thread is logging for, if the output is grouped by test. */
+  private final ThreadLocal<TestOutput> currentOutput = new ThreadLocal<>();
+
+  public ConsoleLogger(boolean logTestsPassed, ConsoleWriter console)
   {
     this.logTestsPassed = logTestsPassed;
+    this.console = console;
+  }
+
+  /**
+   * Returns the logger to use for the messages of a single test. If the output is grouped by test
+   * then this collects the console output of the test so that it is printed as a single block.
+   * @param testFile the test that the messages are for.
+   * @return the logger to use for the messages of the test.
+   */
+  @Override
+  public TestLogger forTest(TestableFile testFile)
+  {
+    return (console.isGroupingByTest() ? new TestOutput() : this);
+  }
+
+  /**
+   * Logs how many tests are going to be executed.
+   * @param numTests the number of tests that are going to be executed.
+   */
+  @Override
+  public void testsScheduled(int numTests)
+  {
+    console.testsScheduled(numTests);
   }
 
   /**
@@ -34,9 +71,7 @@ public class ConsoleLogger implements TestLogger
   {
     final String msg = String.format(FMT, "Validating", testFile.describePath());
 
-    synchronized(this) {
-      System.out.println(msg);
-    }
+    print(msg, false);
   }
 
   /**
@@ -48,9 +83,7 @@ public class ConsoleLogger implements TestLogger
   public void testSkipping(TestableFile testFile)
   {
     final String msg = String.format(FMT, "Skipping", testFile.describePath());
-    synchronized(this) {
-      System.out.println(msg);
-    }
+    print(msg, false);
   }
 
   /**
@@ -62,9 +95,8 @@ public class ConsoleLogger implements TestLogger
   public void testExecuting(TestableFile testFile)
   {
     final String msg = String.format(FMT, "Executing", testFile.describePath());
-    synchronized(this) {
-      System.out.println(msg);
-    }
+    print(msg, false);
+    console.testStarted();
   }
 
   /**
@@ -76,24 +108,21 @@ public class ConsoleLogger implements TestLogger
   @Override
   public void testExecutionFinished(TestableFile testFile, TestResult result)
   {
+    console.testFinished(result.getStatus() == TestResult.ResultStatus.FAILED ||
+                         result.getStatus() == TestResult.ResultStatus.ABORTED);
+
     if (result.getStatus() == TestResult.ResultStatus.FAILED) {
       final String msg = String.format(FMT, "Test Failed",
           testFile.describePath() + System.lineSeparator() + indent(result.getFailureDescription()));
-      synchronized(this) {
-        System.out.println(msg);
-      }
+      print(msg, false);
 
     } else if (result.getStatus() == TestResult.ResultStatus.ABORTED) {
       final String msg = String.format(FMT, "Test Aborted", testFile.describePath());
-      synchronized(this) {
-        System.out.println(msg);
-      }
+      print(msg, false);
 
     } else if (result.getStatus() == TestResult.ResultStatus.SUCCEEDED && logTestsPassed) {
       final String msg = String.format(FMT, "Test Passed", testFile.describePath());
-      synchronized(this) {
-        System.out.println(msg);
-      }
+      print(msg, false);
     }
 
     // Not printing other result types.
@@ -110,7 +139,21 @@ public class ConsoleLogger implements TestLogger
   public void testStepExecuting(TestableFile testFile, String command, long lineNum)
   {
     // We won't print test steps to the console - it would be waaay too noisy.
-    // Save this for the log files.
+    // Save this for the log files, and just count them for the status line.
+    console.stepExecuted();
+  }
+
+  /**
+   * Logs that a number of test steps have been executed, when the details of each step are not
+   * known.
+   *
+   * @param testFile the path of the test being executed.
+   * @param numSteps the number of test steps that were executed.
+   */
+  @Override
+  public void testStepsExecuted(TestableFile testFile, long numSteps)
+  {
+    console.stepsExecuted(numSteps);
   }
 
   /**
@@ -131,13 +174,11 @@ public class ConsoleLogger implements TestLogger
    * @param indent indent the message for easier reading relative to the current test?
    */
   @Override
-  public synchronized void log(String msg, boolean indent)
+  public void log(String msg, boolean indent)
   {
     String loggable = (indent ? indent(msg): msg);
 
-    synchronized(this) {
-      System.out.println(loggable);
-    }
+    print(loggable, false);
   }
 
   /**
@@ -147,9 +188,7 @@ public class ConsoleLogger implements TestLogger
   @Override
   public void warning(String msg)
   {
-    synchronized(this) {
-      System.out.println("Warning: " + indent(msg));
-    }
+    print("Warning: " + indent(msg), false);
   }
 
   /**
@@ -159,9 +198,7 @@ public class ConsoleLogger implements TestLogger
   @Override
   public void error(String msg)
   {
-    synchronized(this) {
-      System.err.println("Error: " + indent(msg));
-    }
+    print("Error: " + indent(msg), true);
   }
 
   /**
@@ -180,7 +217,23 @@ public class ConsoleLogger implements TestLogger
   @Override
   public void close() throws IOException
   {
-    // nothing to do here.
+    console.close();
+  }
+
+  /**
+   * Prints a line to the console, or adds it to the output of the current test if it is being grouped.
+   * @param text the line to print.
+   * @param isError true to print the line to stderr rather than stdout.
+   */
+  private void print(String text, boolean isError)
+  {
+    TestOutput output = currentOutput.get();
+
+    if (output != null) {
+      output.lines.add(new ConsoleWriter.Line(text, isError));
+    } else {
+      console.write(text, isError);
+    }
   }
 
   /**
@@ -202,4 +255,169 @@ public class ConsoleLogger implements TestLogger
 
     return newStr;
   }
+
+
+  /**
+   * The logger that a test logs through when its output is grouped. Each message is logged by the
+   * ConsoleLogger (or the FileLogger extending it) as usual, but whatever it prints to the console is
+   * collected here, and printed as one block when the test finishes or logs an error.
+   */
+  private class TestOutput implements TestLogger
+  {
+    /** The lines printed by the threads of the test that haven't been handed to the writer yet. */
+    private final Queue<ConsoleWriter.Line> lines = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void testValidating(TestableFile testFile)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.testValidating(testFile);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void testSkipping(TestableFile testFile)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.testSkipping(testFile);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void testExecuting(TestableFile testFile)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.testExecuting(testFile);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void testExecutionFinished(TestableFile testFile, TestResult result)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.testExecutionFinished(testFile, result);
+      } finally {
+        exit(previous);
+      }
+
+      flush();
+    }
+
+    @Override
+    public void testStepExecuting(TestableFile testFile, String command, long lineNum)
+    {
+      // Test steps are never printed to the console.
+      ConsoleLogger.this.testStepExecuting(testFile, command, lineNum);
+    }
+
+    @Override
+    public void testStepsExecuted(TestableFile testFile, long numSteps)
+    {
+      ConsoleLogger.this.testStepsExecuted(testFile, numSteps);
+    }
+
+    @Override
+    public void log(String msg)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.log(msg);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void log(String msg, boolean indent)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.log(msg, indent);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void warning(String msg)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.warning(msg);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override
+    public void error(String msg)
+    {
+      TestOutput previous = enter();
+      try {
+        ConsoleLogger.this.error(msg);
+      } finally {
+        exit(previous);
+      }
+
+      // Don't hold back errors until the end of the test.
+      flush();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+      flush();
+    }
+
+    /**
+     * Makes this the output that the current thread prints to.
+     * @return the output that the current thread was printing to before, or null.
+     */
+    private TestOutput enter()
+    {
+      TestOutput previous = currentOutput.get();
+      currentOutput.set(this);
+      return previous;
+    }
+
+    /**
+     * Restores the output that the current thread prints to.
+     * @param previous the output that the current thread was printing to before, or null.
+     */
+    private void exit(TestOutput previous)
+    {
+      if (previous == null) {
+        currentOutput.remove();
+      } else {
+        currentOutput.set(previous);
+      }
+    }
+
+    /**
+     * Hands the lines collected so far to the writer as a single block.
+     */
+    private void flush()
+    {
+      List<ConsoleWriter.Line> block = new ArrayList<>();
+      ConsoleWriter.Line line;
+
+      while ((line = lines.poll()) != null) {
+        block.add(line);
+      }
+
+      if (!block.isEmpty()) {
+        console.write(block);
+      }
+    }
+  }
 }
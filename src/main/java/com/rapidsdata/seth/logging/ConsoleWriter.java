@@ -0,0 +1,412 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.logging;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Writes the output of the loggers to the console from a single thread.
+ *
+ * A thread that logs a message only adds it to a lock-free queue, so the threads running the tests
+ * never wait for each other or for the console. The writer thread drains the queue in batches and
+ * prints each batch to stdout in a single write. The lines of a test can be handed over as a single
+ * block, which is printed without the output of any other test in the middle of it.
+ *
+ * The writer can also show a status line with the number of tests running, finished and failed,
+ * the number of test steps executed each second, and an estimate of how long the remaining tests
+ * will take. On a terminal the status line is redrawn in place, below the rest of the output, once
+ * a second. Otherwise it is printed as an ordinary line every ten seconds.
+ */
+public class ConsoleWriter implements Closeable
+{
+  /** How often the status line is redrawn on a terminal. */
+  private static final long TERMINAL_STATUS_INTERVAL_MS = 1000;
+
+  /** How often the status line is printed when the output is not a terminal. */
+  private static final long STATUS_INTERVAL_MS = 10000;
+
+  /** How long to wait for the writer thread to print what is left in the queue when it is closed. */
+  private static final int CLOSE_TIMEOUT_SECS = 10;
+
+  /** The blocks of lines waiting to be printed. */
+  private final LinkedTransferQueue<List<Line>> queue = new LinkedTransferQueue<>();
+
+  /** Whether the output of each test is printed as a single block when the test finishes. */
+  private final boolean groupByTest;
+
+  /** Whether to show the status line. */
+  private final boolean showStatus;
+
+  /** Whether stdout is a terminal, so that the status line can be redrawn in place. */
+  private final boolean onTerminal;
+
+  /** The thread that prints the lines. */
+  private final Thread thread;
+
+  /** Prints what is left in the queue if the JVM exits without the writer being closed. */
+  private final Thread shutdownHook;
+
+  /** Set when the writer is closed, after which lines are printed straight away by the caller. */
+  private volatile boolean closed = false;
+
+  /**
+   * Held for reading while lines are queued and for writing while the writer is closed, so that
+   * no lines are queued after the writer thread has been told to stop.
+   */
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+  // Status
+  private final long startNs = System.nanoTime();
+  private volatile int testsToRun = 0;
+  private final AtomicInteger testsStarted = new AtomicInteger();
+  private final AtomicInteger testsFinished = new AtomicInteger();
+  private final AtomicInteger testsFailed = new AtomicInteger();
+  private final LongAdder stepsExecuted = new LongAdder();
+
+  // Only used by the writer thread.
+  private String statusLine = null;
+  private long lastStatusNs;
+  private long lastStatusSteps = 0;
+
+  /**
+   * Constructor. Starts the writer thread.
+   * @param groupByTest whether the output of each test is printed as a single block when the test finishes.
+   * @param showStatus whether to show the status line.
+   */
+  public ConsoleWriter(boolean groupByTest, boolean showStatus)
+  {
+    this.groupByTest = groupByTest;
+    this.showStatus = showStatus;
+    this.onTerminal = (System.console() != null);
+    this.lastStatusNs = startNs;
+
+    thread = new Thread(this::run, "ConsoleWriter");
+    thread.setDaemon(true);
+    thread.start();
+
+    shutdownHook = new Thread(this::close, "ConsoleWriterShutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  /**
+   * Returns whether the output of each test is printed as a single block when the test finishes.
+   * @return whether the output of each test is printed as a single block when the test finishes.
+   */
+  public boolean isGroupingByTest()
+  {
+    return groupByTest;
+  }
+
+  /**
+   * Prints a line.
+   * @param text the line to print.
+   * @param isError true to print the line to stderr rather than stdout.
+   */
+  public void write(String text, boolean isError)
+  {
+    write(Collections.singletonList(new Line(text, isError)));
+  }
+
+  /**
+   * Prints a block of lines without the lines of any other block in the middle of them.
+   * @param lines the lines to print.
+   */
+  public void write(List<Line> lines)
+  {
+    closeLock.readLock().lock();
+
+    try {
+      if (!closed) {
+        queue.offer(lines);
+        return;
+      }
+    } finally {
+      closeLock.readLock().unlock();
+    }
+
+    for (Line line : lines) {
+      (line.isError ? System.err : System.out).println(line.text);
+    }
+  }
+
+  /**
+   * Records how many tests are going to be executed, for the status line.
+   * @param numTests the number of tests that are going to be executed.
+   */
+  public void testsScheduled(int numTests)
+  {
+    testsToRun = numTests;
+  }
+
+  /**
+   * Records that a test has started executing, for the status line.
+   */
+  public void testStarted()
+  {
+    if (showStatus) {
+      testsStarted.incrementAndGet();
+    }
+  }
+
+  /**
+   * Records that a test has finished executing, for the status line.
+   * @param failed whether the test failed or was aborted.
+   */
+  public void testFinished(boolean failed)
+  {
+    if (showStatus) {
+      testsFinished.incrementAndGet();
+
+      if (failed) {
+        testsFailed.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Records that a test step has been executed, for the status line.
+   */
+  public void stepExecuted()
+  {
+    if (showStatus) {
+      stepsExecuted.increment();
+    }
+  }
+
+  /**
+   * Records that a number of test steps have been executed, for the status line.
+   * @param numSteps the number of test steps that were executed.
+   */
+  public void stepsExecuted(long numSteps)
+  {
+    if (showStatus) {
+      stepsExecuted.add(numSteps);
+    }
+  }
+
+  /**
+   * Prints everything that is waiting to be printed and stops the writer thread. Anything written
+   * after this is printed straight away.
+   */
+  @Override
+  public void close()
+  {
+    closeLock.writeLock().lock();
+
+    try {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+
+      // Wake the writer thread so that it prints what is left and exits.
+      queue.offer(Collections.emptyList());
+
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (Thread.currentThread() != shutdownHook) {
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) { /*ignore - the JVM is already shutting down*/ }
+    }
+  }
+
+  /**
+   * The main loop of the writer thread.
+   */
+  private void run()
+  {
+    final long statusIntervalMs = (onTerminal ? TERMINAL_STATUS_INTERVAL_MS : STATUS_INTERVAL_MS);
+    List<List<Line>> batch = new ArrayList<>();
+
+    while (!closed || !queue.isEmpty()) {
+      List<Line> first;
+
+      try {
+        first = (showStatus ? queue.poll(statusIntervalMs, TimeUnit.MILLISECONDS) : queue.take());
+      } catch (InterruptedException e) {
+        continue;
+      }
+
+      batch.clear();
+
+      if (first != null) {
+        batch.add(first);
+        queue.drainTo(batch);
+      }
+
+      StringBuilder out = new StringBuilder(4096);
+      clearStatus(out);
+      print(batch, out);
+
+      if (showStatus) {
+        long nowNs = System.nanoTime();
+
+        if (nowNs - lastStatusNs >= TimeUnit.MILLISECONDS.toNanos(statusIntervalMs)) {
+          statusLine = describeStatus(nowNs);
+
+          if (!onTerminal) {
+            out.append(statusLine).append(System.lineSeparator());
+          }
+        }
+
+        drawStatus(out);
+      }
+
+      if (out.length() > 0) {
+        System.out.print(out);
+        System.out.flush();
+      }
+    }
+
+    // Leave the last status line on the screen.
+    if (onTerminal && statusLine != null) {
+      System.out.println();
+    }
+  }
+
+  /**
+   * Prints a batch of blocks of lines. Lines for stdout are collected so that they are printed
+   * with a single write. Lines for stderr are printed straight away, after anything before them.
+   * @param batch the blocks of lines to print.
+   * @param out the lines to print to stdout.
+   */
+  private void print(List<List<Line>> batch, StringBuilder out)
+  {
+    for (List<Line> block : batch) {
+      for (Line line : block) {
+        if (line.isError) {
+          System.out.print(out);
+          System.out.flush();
+          out.setLength(0);
+          System.err.println(line.text);
+
+        } else {
+          out.append(line.text).append(System.lineSeparator());
+        }
+      }
+    }
+  }
+
+  /**
+   * Rubs out the status line on a terminal so that other output can be printed in its place.
+   * @param out the output to print to stdout.
+   */
+  private void clearStatus(StringBuilder out)
+  {
+    if (onTerminal && statusLine != null) {
+      out.append('\r');
+
+      for (int i = 0; i < statusLine.length(); i++) {
+        out.append(' ');
+      }
+
+      out.append('\r');
+    }
+  }
+
+  /**
+   * Draws the status line on a terminal, without a newline so that it can be redrawn in place.
+   * @param out the output to print to stdout.
+   */
+  private void drawStatus(StringBuilder out)
+  {
+    if (onTerminal && statusLine != null) {
+      out.append(statusLine);
+    }
+  }
+
+  /**
+   * Returns the status line, and starts counting the steps executed for the next one.
+   * @param nowNs the current value of System.nanoTime().
+   * @return the status line.
+   */
+  private String describeStatus(long nowNs)
+  {
+    long elapsedNs = nowNs - startNs;
+    long steps = stepsExecuted.sum();
+    long stepsPerSec = (steps - lastStatusSteps) * TimeUnit.SECONDS.toNanos(1) / Math.max(1, nowNs - lastStatusNs);
+
+    lastStatusNs = nowNs;
+    lastStatusSteps = steps;
+
+    int finished = testsFinished.get();
+    int running = testsStarted.get() - finished;
+    int total = testsToRun;
+
+    StringBuilder sb = new StringBuilder(128);
+    sb.append("[").append(formatDuration(elapsedNs)).append("] Tests: ")
+      .append(running).append(" running, ")
+      .append(finished);
+
+    if (total > 0) {
+      sb.append("/").append(total);
+    }
+
+    sb.append(" done, ").append(testsFailed.get()).append(" failed. ")
+      .append(stepsPerSec).append(" steps/s.");
+
+    if (total > 0 && finished > 0 && finished < total) {
+      sb.append(" ETA ").append(formatDuration(elapsedNs / finished * (total - finished))).append(".");
+    }
+
+    return sb.toString();
+  }
+
+  private static String formatDuration(long nanos)
+  {
+    long secs = TimeUnit.NANOSECONDS.toSeconds(nanos);
+
+    if (secs < 60) {
+      return secs + "s";
+    }
+
+    if (secs < 3600) {
+      return String.format("%dm%02ds", secs / 60, secs % 60);
+    }
+
+    return String.format("%dh%02dm%02ds", secs / 3600, (secs / 60) % 60, secs % 60);
+  }
+
+
+  /**
+   * A line waiting to be printed.
+   */
+  public static final class Line
+  {
+    /** The text of the line. */
+    private final String text;
+
+    /** Whether the line is printed to stderr rather than stdout. */
+    private final boolean isError;
+
+    /**
+     * Constructor
+     * @param text the text of the line.
+     * @param isError true to print the line to stderr rather than stdout.
+     */
+    public Line(String text, boolean isError)
+    {
+      this.text = text;
+      this.isError = isError;
+    }
+  }
+}
@@ -10,37 +10,69 @@ import java.io.*;
 import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-
-/** A class that logs to a file and to the console. */
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class that logs to a file and to the console.
+ *
+ * Messages are written to the file by a separate writer thread so that the threads running the
+ * tests never wait for the disk. Each message is put in a bounded buffer along with the time and
+ * the thread that logged it, and is only formatted by the writer thread, which drains the buffer in
+ * batches and flushes the file when it has caught up, or at least once a second while it is busy.
+ *
+ * If the buffer fills up because the messages are logged faster than they can be written, then
+ * test step messages are dropped and counted, and the count is written to the log in their place.
+ * Other messages wait for space in the buffer, since they are logged rarely and must not be lost.
+ */
 public abstract class FileLogger extends ConsoleLogger implements Closeable
 {
+  /** The default maximum number of messages waiting to be written to the log file. */
+  public static final int DEFAULT_BUFFER_SIZE = 65536;
+
   /** The file that we write the log to. */
   private File logfile;
 
-  /** The queue of messages that will be written to file by the writing thread. */
-  protected BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+  /** The buffer of messages that will be written to file by the writing thread. */
+  private final BlockingQueue<LogRecord> queue;
+
+  /** The number of test step messages that have been dropped since the writer thread last checked. */
+  private final AtomicLong droppedSteps = new AtomicLong();
 
   /** The thread that writes to the logfile. */
   private WriterThread writerThread;
 
+  /** The size of the buffer of the file writer, so that it writes to the file in large blocks. */
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  /** How long to wait for the writer thread to finish writing the log when it is closed. */
+  private static final int CLOSE_TIMEOUT_SECS = 10;
+
+  /** The thread running the writerThread. */
+  private final Thread thread;
+
   /**
    * Constructor
    * @param parentDir the directory that will contain the log file.
+   * @param bufferSize the maximum number of messages waiting to be written to the log file.
+   * @param console prints the lines that are logged to the console.
    */
-  public FileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed)
+  public FileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed, int bufferSize, ConsoleWriter console)
   {
-    super(logTestsPassed);
+    super(logTestsPassed, console);
 
     this.logfile = makeLogFile(parentDir, logNamePrefix);
+    this.queue = new ArrayBlockingQueue<>(bufferSize);
 
     // Create a buffered writer for writing to the log file.
     BufferedWriter writer;
     try {
-      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(logfile), "utf-8"));
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(logfile), "utf-8"), WRITE_BUFFER_SIZE);
 
     } catch (IOException e) {
       final String msg = "Could not open the log file for writing: " + logfile.getPath();
@@ -48,11 +80,57 @@ public abstract class FileLogger extends ConsoleLogger implements Closeable
     }
 
     writerThread = new WriterThread(writer);
-    Thread t = new Thread(writerThread);
-    t.setDaemon(true); // So this thread doesn't prevent the application from exiting.
-    t.start();
+    thread = new Thread(writerThread, "seth-log-writer");
+    thread.setDaemon(true); // So this thread doesn't prevent the application from exiting.
+    thread.start();
   }
 
+  /**
+   * Adds a message to be written to the log file, waiting for space in the buffer if necessary.
+   * @param msg the message to be written.
+   */
+  protected void enqueue(String msg)
+  {
+    LogRecord record = new LogRecord(System.currentTimeMillis(), Thread.currentThread().getId(), msg, null, 0);
+
+    if (queue.offer(record)) {
+      return;
+    }
+
+    while (writerThread.isWriting()) {
+      try {
+        if (queue.offer(record, WriterThread.POLL_TIME_MS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Adds a test step message to be written to the log file. The message is formatted later by the
+   * writer thread. If the buffer is full then the message is dropped and counted.
+   * @param command the test step command being executed.
+   * @param lineNum the line number of the command in the test file.
+   */
+  protected void enqueueStep(String command, long lineNum)
+  {
+    LogRecord record = new LogRecord(System.currentTimeMillis(), Thread.currentThread().getId(), null, command, lineNum);
+
+    if (!queue.offer(record)) {
+      droppedSteps.incrementAndGet();
+    }
+  }
+
+  /**
+   * Formats a message to be written to the log file. This is only called by the writer thread.
+   * @param record the message to be formatted.
+   * @return the text to be written to the log file.
+   */
+  protected abstract String format(LogRecord record);
+
   /**
    * Logs that the test is currently being validated.
    *
@@ -218,6 +296,47 @@ public abstract class FileLogger extends ConsoleLogger implements Closeable
   {
     super.close();
     writerThread.close();
+
+    // Wake the writer thread so that it writes out what is left and closes the file.
+    thread.interrupt();
+
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+
+  /**
+   * A message waiting to be written to the log file. Test step messages keep their arguments so that
+   * they are only formatted by the writer thread.
+   */
+  protected static final class LogRecord
+  {
+    /** The time the message was logged. */
+    protected final long timeMillis;
+
+    /** The id of the thread that logged the message. */
+    protected final long threadId;
+
+    /** The message, or null if this is a test step message. */
+    protected final String msg;
+
+    /** The test step command being executed, or null if this is not a test step message. */
+    protected final String command;
+
+    /** The line number of the test step command in the test file. */
+    protected final long lineNum;
+
+    private LogRecord(long timeMillis, long threadId, String msg, String command, long lineNum)
+    {
+      this.timeMillis = timeMillis;
+      this.threadId = threadId;
+      this.msg = msg;
+      this.command = command;
+      this.lineNum = lineNum;
+    }
   }
 
 
@@ -229,12 +348,21 @@ public abstract class FileLogger extends ConsoleLogger implements Closeable
     /** How long to wait for a log object to be written to the queue. */
     private static final int POLL_TIME_MS = 1000;
 
+    /** The longest time that written messages are left unflushed while the writer is busy. */
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    /** The maximum number of messages that are taken from the queue at once. */
+    private static final int MAX_BATCH_SIZE = 1024;
+
     /** The object that we use for writing to the file. */
     protected BufferedWriter writer;
 
     /** A flag indicating that the file should be closed. */
     protected volatile boolean toBeClosed = false;
 
+    /** A flag indicating that the writer has stopped writing, because it was closed or failed. */
+    private volatile boolean stopped = false;
+
     /**
      * Constructor.
      * @param writer The object that we will use for writing to the log file.
@@ -245,17 +373,16 @@ public abstract class FileLogger extends ConsoleLogger implements Closeable
     }
 
     /**
-     * Closes this stream and releases any system resources associated
-     * with it. If the stream is already closed then invoking this
-     * method has no effect.
-     * <p>
-     * <p> As noted in {@link AutoCloseable#close()}, cases where the
-     * close may fail require careful attention. It is strongly advised
-     * to relinquish the underlying resources and to internally
-     * <em>mark</em> the {@code Closeable} as closed, prior to throwing
-     * the {@code IOException}.
-     *
-     * @throws IOException if an I/O error occurs
+     * Returns whether the writer is still writing messages to the file.
+     * @return whether the writer is still writing messages to the file.
+     */
+    public boolean isWriting()
+    {
+      return !stopped;
+    }
+
+    /**
+     * Tells the writer to write out the messages that are left and close the file.
      */
     @Override
     public void close() throws IOException
@@ -265,46 +392,75 @@ public abstract class FileLogger extends ConsoleLogger implements Closeable
 
 
     /**
-     * When an object implementing interface <code>Runnable</code> is used
-     * to create a thread, starting the thread causes the object's
-     * <code>run</code> method to be called in that separately executing
-     * thread.
-     * <p>
-     * The general contract of the method <code>run</code> is that it may
-     * take any action whatsoever.
+     * Writes the messages in the queue to the file in batches until the writer is closed.
      *
      * @see Thread#run()
      */
     @Override
     public void run()
     {
-      int factor = 1;
+      List<LogRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      long lastFlushMs = System.currentTimeMillis();
+      boolean unflushed = false;
 
-      while (toBeClosed == false) {
+      try {
+        while (true) {
+          boolean closing = toBeClosed;
 
-        String msg = null;
+          try {
+            LogRecord first = queue.poll(unflushed ? FLUSH_INTERVAL_MS : POLL_TIME_MS, TimeUnit.MILLISECONDS);
 
-        try {
-          msg = queue.poll(POLL_TIME_MS/factor, TimeUnit.MILLISECONDS);
+            if (first != null) {
+              batch.add(first);
+              queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            }
 
-          if (msg != null) {
-            writer.write(msg);
+          } catch (InterruptedException e) {
+            // We are being closed. Carry on until the queue is empty.
+          }
+
+          for (LogRecord record : batch) {
+            writer.write(format(record));
             writer.newLine();
-            writer.flush();
           }
 
-        } catch (InterruptedException e) {
-          factor = 10;
+          unflushed |= !batch.isEmpty();
+          batch.clear();
+
+          long numDropped = droppedSteps.getAndSet(0);
+
+          if (numDropped > 0) {
+            String msg = numDropped + " test step messages were not logged because they were logged faster than they could be written.";
+            writer.write(format(new LogRecord(System.currentTimeMillis(), Thread.currentThread().getId(), msg, null, 0)));
+            writer.newLine();
+            unflushed = true;
+          }
+
+          // Flush once we have caught up, and regularly while we are busy.
+          long now = System.currentTimeMillis();
+
+          if (unflushed && (queue.isEmpty() || now - lastFlushMs >= FLUSH_INTERVAL_MS)) {
+            writer.flush();
+            lastFlushMs = now;
+            unflushed = false;
+          }
 
-        } catch (IOException e) {
-          final String err = "Could not write log message to file.";
-          throw new SethSystemException(err, e);
+          if (closing && queue.isEmpty()) {
+            break;
+          }
         }
-      }
 
-      try {
-        writer.close();
-      } catch (Exception e) { /*ignore*/ }
+      } catch (IOException e) {
+        System.err.println("Could not write log message to file: " + e.getMessage());
+
+      } finally {
+        stopped = true;
+        queue.clear();
+
+        try {
+          writer.close();
+        } catch (Exception e) { /*ignore*/ }
+      }
     }
   }
 }
@@ -0,0 +1,140 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.logging;
+
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.latency.PhaseTimes;
+
+import java.io.IOException;
+
+/**
+ * A logger that records the time spent by another logger as the "log" phase of PhaseTimes.
+ */
+public class PhaseTimingLogger implements TestLogger
+{
+  /** The logger being timed. */
+  private final TestLogger delegate;
+
+  /**
+   * Constructor
+   * @param delegate the logger being timed.
+   */
+  public PhaseTimingLogger(TestLogger delegate)
+  {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public TestLogger forTest(TestableFile testFile)
+  {
+    TestLogger testLogger = delegate.forTest(testFile);
+    return (testLogger == delegate ? this : new PhaseTimingLogger(testLogger));
+  }
+
+  @Override
+  public void testsScheduled(int numTests)
+  {
+    long startNs = System.nanoTime();
+    delegate.testsScheduled(numTests);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testValidating(TestableFile testFile)
+  {
+    long startNs = System.nanoTime();
+    delegate.testValidating(testFile);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testSkipping(TestableFile testFile)
+  {
+    long startNs = System.nanoTime();
+    delegate.testSkipping(testFile);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testExecuting(TestableFile testFile)
+  {
+    long startNs = System.nanoTime();
+    delegate.testExecuting(testFile);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testExecutionFinished(TestableFile testFile, TestResult result)
+  {
+    long startNs = System.nanoTime();
+    delegate.testExecutionFinished(testFile, result);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testStepExecuting(TestableFile testFile, String command, long lineNum)
+  {
+    long startNs = System.nanoTime();
+    delegate.testStepExecuting(testFile, command, lineNum);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void testStepsExecuted(TestableFile testFile, long numSteps)
+  {
+    long startNs = System.nanoTime();
+    delegate.testStepsExecuted(testFile, numSteps);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void log(String msg)
+  {
+    long startNs = System.nanoTime();
+    delegate.log(msg);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void log(String msg, boolean indent)
+  {
+    long startNs = System.nanoTime();
+    delegate.log(msg, indent);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void warning(String msg)
+  {
+    long startNs = System.nanoTime();
+    delegate.warning(msg);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void error(String msg)
+  {
+    long startNs = System.nanoTime();
+    delegate.error(msg);
+    recordSince(startNs);
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    long startNs = System.nanoTime();
+
+    try {
+      delegate.close();
+
+    } finally {
+      recordSince(startNs);
+    }
+  }
+
+  private static void recordSince(long startNs)
+  {
+    PhaseTimes.record(PhaseTimes.Phase.LOG, System.nanoTime() - startNs);
+  }
+}
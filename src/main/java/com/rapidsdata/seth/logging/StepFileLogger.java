@@ -12,10 +12,12 @@ public class StepFileLogger extends TestFileLogger
    * Constructor
    *
    * @param parentDir the directory that will contain the log file.
+   * @param bufferSize the maximum number of messages waiting to be written to the log file.
+   * @param console prints the lines that are logged to the console.
    */
-  public StepFileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed)
+  public StepFileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed, int bufferSize, ConsoleWriter console)
   {
-    super(parentDir, logNamePrefix, logTestsPassed);
+    super(parentDir, logNamePrefix, logTestsPassed, bufferSize, console);
   }
 
   /**
@@ -31,7 +33,7 @@ public class StepFileLogger extends TestFileLogger
     // Ensure we write to the console.
     super.testStepExecuting(testFile, command, lineNum);
 
-    String msg = String.format("Executing line #%03d : %s", lineNum, command);
-    queue.add(decorateMessage(msg));
+    // The message is formatted by the writer thread, so that tight loops don't pay for it.
+    enqueueStep(command, lineNum);
   }
 }
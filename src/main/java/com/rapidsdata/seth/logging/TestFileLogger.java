@@ -8,7 +8,7 @@ import com.rapidsdata.seth.TestableFile;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.Date;
 
 /**
  * A class that writes to a file log entries about overall tests, as well as the console.
@@ -24,13 +24,18 @@ public class TestFileLogger extends FileLogger
   // Get the time that the application started.
   private long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
 
+  /** Formats the time of each message. Only used by the writer thread, so it needs no synchronisation. */
+  private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+
   /**
    * Constructor
    * @param parentDir the directory that will contain the log file.
+   * @param bufferSize the maximum number of messages waiting to be written to the log file.
+   * @param console prints the lines that are logged to the console.
    */
-  public TestFileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed)
+  public TestFileLogger(File parentDir, String logNamePrefix, boolean logTestsPassed, int bufferSize, ConsoleWriter console)
   {
-    super(parentDir, logNamePrefix, logTestsPassed);
+    super(parentDir, logNamePrefix, logTestsPassed, bufferSize, console);
   }
 
   /**
@@ -45,7 +50,7 @@ public class TestFileLogger extends FileLogger
     super.testValidating(testFile);
 
     String msg = "Validating test file " + testFile.describePath();
-    queue.add(decorateMessage(msg));
+    enqueue(msg);
   }
 
   /**
@@ -60,7 +65,7 @@ public class TestFileLogger extends FileLogger
     super.testSkipping(testFile);
 
     String msg = "Skipping test file " + testFile.describePath();
-    queue.add(decorateMessage(msg));
+    enqueue(msg);
   }
 
   /**
@@ -75,7 +80,7 @@ public class TestFileLogger extends FileLogger
     super.testExecuting(testFile);
 
     String msg = "Executing test: " + testFile.describePath();
-    queue.add(decorateMessage(msg));
+    enqueue(msg);
   }
 
   /**
@@ -92,7 +97,7 @@ public class TestFileLogger extends FileLogger
 
     if (result.getStatus() == TestResult.ResultStatus.FAILED) {
       String msg = result.getFailureDescription().trim();
-      queue.add(decorateMessage(msg));
+      enqueue(msg);
     }
   }
 
@@ -121,7 +126,7 @@ public class TestFileLogger extends FileLogger
   public void log(String msg)
   {
     super.log(msg);
-    queue.add(decorateMessage(msg));
+    enqueue(msg);
   }
 
   /**
@@ -134,7 +139,7 @@ public class TestFileLogger extends FileLogger
   public void log(String msg, boolean indent)
   {
     super.log(msg, indent);
-    queue.add(decorateMessage(msg));
+    enqueue(msg);
   }
 
   /**
@@ -146,7 +151,7 @@ public class TestFileLogger extends FileLogger
   public void warning(String msg)
   {
     super.warning(msg);
-    queue.add(decorateMessage("WARNING: " + msg));
+    enqueue("WARNING: " + msg);
   }
 
   /**
@@ -158,19 +163,33 @@ public class TestFileLogger extends FileLogger
   public void error(String msg)
   {
     super.error(msg);
-    queue.add(decorateMessage("ERROR: " + msg));
+    enqueue("ERROR: " + msg);
+  }
+
+  /**
+   * Formats a message to be written to the log file. This is only called by the writer thread.
+   * @param record the message to be formatted.
+   * @return the text to be written to the log file.
+   */
+  @Override
+  protected String format(LogRecord record)
+  {
+    if (record.command != null) {
+      return decorateMessage(record, String.format("Executing line #%03d : %s", record.lineNum, record.command));
+    }
+
+    return decorateMessage(record, record.msg);
   }
 
   /**
    * Wraps a timestamped header around a log message
+   * @param record the time and thread of the log message.
    * @param content the log message to be decorated.
    * @return a new string with a timestamp prefixed to the log message.
    */
-  protected String decorateMessage(String content)
+  protected String decorateMessage(LogRecord record, String content)
   {
-    SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss.SSS");
-    Calendar cal = Calendar.getInstance();
-    long elapsedTime = cal.getTimeInMillis() - jvmStartTime;
+    long elapsedTime = record.timeMillis - jvmStartTime;
 
     long minutes;
     long seconds;
@@ -182,9 +201,9 @@ public class TestFileLogger extends FileLogger
     millis = elapsedTime % MILLIS_PER_SECOND;
 
     StringBuilder sb = new StringBuilder(1024);
-    sb.append(sdf.format(cal.getTime()))
+    sb.append(timeFormat.format(new Date(record.timeMillis)))
       .append("/T+")
-      .append(String.format("%02d:%02d.%03d (%03d): ", minutes, seconds, millis, Thread.currentThread().getId()));
+      .append(String.format("%02d:%02d.%03d (%03d): ", minutes, seconds, millis, record.threadId));
 
     // Replace any tabs with 2 spaces.
     content = content.replace("\t", "  ");
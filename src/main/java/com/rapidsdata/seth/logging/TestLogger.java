@@ -10,6 +10,25 @@ import java.io.File;
 
 public interface TestLogger extends Closeable
 {
+  /**
+   * Returns the logger to use for the messages of a single test. By default this is the same logger.
+   * @param testFile the test that the messages are for.
+   * @return the logger to use for the messages of the test.
+   */
+  public default TestLogger forTest(TestableFile testFile)
+  {
+    return this;
+  }
+
+  /**
+   * Logs how many tests are going to be executed.
+   * @param numTests the number of tests that are going to be executed.
+   */
+  public default void testsScheduled(int numTests)
+  {
+    // Most loggers don't need to know.
+  }
+
   /**
    * Logs that the test is currently being validated.
    * @param testFile the path of the test being validated.
@@ -43,6 +62,14 @@ public interface TestLogger extends Closeable
    */
   public void testStepExecuting(TestableFile testFile, String command, long lineNum);
 
+  /**
+   * Logs that a number of test steps have been executed, when the details of each step are not
+   * known. By default nothing is logged.
+   * @param testFile the path of the test being executed.
+   * @param numSteps the number of test steps that were executed.
+   */
+  public default void testStepsExecuted(TestableFile testFile, long numSteps) {}
+
   /**
    * Log a general purpose message.
    * @param msg the message to be logged.
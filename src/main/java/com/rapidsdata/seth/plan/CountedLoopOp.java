@@ -44,6 +44,15 @@ public class CountedLoopOp extends Operation
     return new CountedLoopOp(this.metadata, expectedResult, this.loopCount, this.operations);
   }
 
+  /**
+   * Returns the list of operations to run.
+   * @return the list of operations to run.
+   */
+  List<Operation> getOperations()
+  {
+    return operations;
+  }
+
   /**
    * Executes the operation.
    * @param xContext The execution context, which encapsulates any necessary parameters.
@@ -4,10 +4,10 @@ package com.rapidsdata.seth.plan;
 
 import com.rapidsdata.seth.contexts.ExecutionContext;
 import com.rapidsdata.seth.exceptions.*;
+import com.rapidsdata.seth.latency.PhaseTimes;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 
@@ -71,7 +71,17 @@ public class CreateConnectionOp extends Operation
 
     Connection conn;
     try {
-      conn = DriverManager.getConnection(connUrl);
+      long startNs = System.nanoTime();
+      // A connection in the cleanup phase is still needed after the test has ended.
+      conn = xContext.getConnectionPool().acquire(connUrl,
+                                                  () -> xContext.continueTesting() || metadata.getPhase() != TestPhase.TEST);
+      long connectNs = System.nanoTime() - startNs;
+
+      if (xContext.getLatencyRecorder() != null) {
+        xContext.getLatencyRecorder().recordConnect(connectNs);
+      }
+
+      PhaseTimes.record(PhaseTimes.Phase.CONNECT, connectNs);
 
     } catch (SQLException e) {
       expectedResult.assertActualAsException(xContext, e);
@@ -10,12 +10,19 @@ import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class CreateThreadOp extends Operation
 {
   /** The number of threads to create. */
   private final int numThreads;
 
+  /**
+   * The period of time over which the threads start, in milliseconds. The threads start at even
+   * intervals over this period rather than all at once. Zero starts them all at once.
+   */
+  private final long rampMs;
+
   /** The plan that each of the threads will execute. */
   private final Plan subPlan;
 
@@ -23,12 +30,14 @@ public class CreateThreadOp extends Operation
    * Constructor
    * @param metadata The metadata about where this operation came from in the test file.
    * @param numThreads The number of threads to create.
+   * @param rampMs The period of time over which the threads start, in milliseconds, or 0 to start them all at once.
    * @param subPlan The plan that each of the threads will execute.
    */
-  public CreateThreadOp(OperationMetadata metadata, ExpectedResult expectedResult, int numThreads, Plan subPlan)
+  public CreateThreadOp(OperationMetadata metadata, ExpectedResult expectedResult, int numThreads, long rampMs, Plan subPlan)
   {
     super(metadata, expectedResult);
     this.numThreads = numThreads;
+    this.rampMs = rampMs;
     this.subPlan = subPlan;
   }
 
@@ -40,7 +49,16 @@ public class CreateThreadOp extends Operation
   @Override
   public Operation rewriteWith(ExpectedResult expectedResult)
   {
-    return new CreateThreadOp(this.metadata, expectedResult, this.numThreads, this.subPlan);
+    return new CreateThreadOp(this.metadata, expectedResult, this.numThreads, this.rampMs, this.subPlan);
+  }
+
+  /**
+   * Returns the plan that each of the threads will execute.
+   * @return the plan that each of the threads will execute.
+   */
+  Plan getSubPlan()
+  {
+    return subPlan;
   }
 
   /**
@@ -52,9 +70,13 @@ public class CreateThreadOp extends Operation
   @Override
   public void execute(ExecutionContext xContext) throws FailureException
   {
+    final long rampNs = TimeUnit.MILLISECONDS.toNanos(rampMs);
+
     for (int i = 0; i < numThreads; i++) {
-      // Create the TestRunner that executes all the operations of the subplan.
-      TestRunner runner = new TestRunner(subPlan, xContext);
+      // Create the TestRunner that executes all the operations of the subplan. When ramping, the
+      // threads are all created now but each one waits for its turn to connect and start.
+      long startDelayNs = (rampNs * i) / numThreads;
+      TestRunner runner = new TestRunner(subPlan, xContext, startDelayNs);
 
       // Launch it!
       Future<?> future;
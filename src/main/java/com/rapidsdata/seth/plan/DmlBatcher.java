@@ -0,0 +1,146 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.plan.expectedResults.AffectedRowsExpectedResult;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
+import com.rapidsdata.seth.plan.expectedResults.MuteExpectedResult;
+import com.rapidsdata.seth.plan.expectedResults.SuccessExpectedResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a plan so that runs of consecutive DML commands are executed as JDBC batches.
+ *
+ * A command can be batched if it is an INSERT, UPDATE, DELETE, MERGE, UPSERT or REPLACE command
+ * whose expected result only needs an update count: success, mute, an affected row count, or no
+ * expected result at all. Consecutive server commands always execute on the same connection,
+ * since changing the connection is an operation of its own.
+ *
+ * The operations of loops and threads are batched too. The operations of shuffle and mix blocks
+ * are not, since they must run in a random order.
+ */
+class DmlBatcher
+{
+  /** Matches a command that starts with a DML keyword, after any leading whitespace and comments. */
+  private static final Pattern DML_COMMAND =
+      Pattern.compile("^(\\s|--[^\\n]*(\\n|$)|/\\*.*?\\*/)*(INSERT|UPDATE|DELETE|MERGE|UPSERT|REPLACE)\\b",
+                      Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+  /** The maximum number of commands in a batch. */
+  private final int maxBatchSize;
+
+  /**
+   * Constructor.
+   * @param maxBatchSize The maximum number of commands in a batch.
+   */
+  DmlBatcher(int maxBatchSize)
+  {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Batches the commands in the test and cleanup operations of a plan.
+   * @param plan The plan to be rewritten.
+   */
+  void batch(Plan plan)
+  {
+    batch(plan.getTestOperations());
+    batch(plan.getCleanupOperations());
+  }
+
+  /**
+   * Batches the commands in a list of operations, replacing each run of batchable commands with
+   * a single ServerBatchOp.
+   * @param operations The list of operations to be rewritten.
+   */
+  private void batch(List<Operation> operations)
+  {
+    List<Operation> batched = new ArrayList<>(operations.size());
+    List<ServerOp> run = new ArrayList<>();
+
+    for (Operation op : operations) {
+
+      if (isBatchable(op)) {
+        run.add((ServerOp) op);
+
+        if (run.size() == maxBatchSize) {
+          flush(run, batched);
+        }
+        continue;
+      }
+
+      flush(run, batched);
+
+      if (op instanceof CountedLoopOp) {
+        batch(((CountedLoopOp) op).getOperations());
+
+      } else if (op instanceof TimedLoopOp) {
+        batch(((TimedLoopOp) op).getOperations());
+
+      } else if (op instanceof CreateThreadOp) {
+        batch(((CreateThreadOp) op).getSubPlan());
+      }
+
+      batched.add(op);
+    }
+
+    flush(run, batched);
+
+    // Replace the contents of the list, since the list object is shared with its owner.
+    ListIterator<Operation> it = operations.listIterator();
+    for (Operation op : batched) {
+      it.next();
+      it.set(op);
+    }
+
+    while (it.hasNext()) {
+      it.next();
+      it.remove();
+    }
+  }
+
+  /**
+   * Adds the current run of commands to the list of operations, as a batch if there is more than one.
+   * @param run The current run of batchable commands. This is cleared.
+   * @param batched The list of operations being built.
+   */
+  private static void flush(List<ServerOp> run, List<Operation> batched)
+  {
+    if (run.size() == 1) {
+      batched.add(run.get(0));
+
+    } else if (run.size() > 1) {
+      batched.add(new ServerBatchOp(new ArrayList<>(run)));
+    }
+
+    run.clear();
+  }
+
+  /**
+   * Returns true if the operation is a DML command whose expected result can be checked from
+   * an update count alone.
+   * @param op The operation to check.
+   * @return true if the operation can be batched.
+   */
+  private static boolean isBatchable(Operation op)
+  {
+    if (op.getClass() != ServerOp.class) {
+      return false;
+    }
+
+    // N.B.: a command without an expected result has a DontCareExpectedResult, which is a MuteExpectedResult.
+    ExpectedResult er = op.expectedResult;
+
+    if (!(er instanceof SuccessExpectedResult ||
+          er instanceof MuteExpectedResult ||
+          er instanceof AffectedRowsExpectedResult)) {
+      return false;
+    }
+
+    return DML_COMMAND.matcher(op.getCommandDesc()).lookingAt();
+  }
+}
@@ -7,7 +7,6 @@ import com.rapidsdata.seth.exceptions.*;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
 import java.sql.Connection;
-import java.sql.SQLException;
 
 public class DropConnectionOp extends Operation
 {
@@ -47,21 +46,11 @@ public class DropConnectionOp extends Operation
   {
     try {
       Connection conn = xContext.removeConnection(name);
-
-      if (!conn.isClosed()) {
-        conn.close();
-      }
+      xContext.getConnectionPool().release(conn);
 
     } catch (BadConnectionNameException | DefaultConnectionNameException e) {
       expectedResult.assertActualAsFailure(xContext, e.getMessage());
 
-      // Since the above call returned, we must have expected this failure otherwise
-      // an exception would have been thrown. Job done.
-      return;
-
-    } catch (SQLException e) {
-      expectedResult.assertActualAsException(xContext, e);
-
       // Since the above call returned, we must have expected this failure otherwise
       // an exception would have been thrown. Job done.
       return;
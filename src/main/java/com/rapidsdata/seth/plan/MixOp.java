@@ -0,0 +1,383 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.latency.LatencyHistogram;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.StatementLatency;
+import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An operation that runs one of its branches, chosen at random according to the weight of each
+ * branch. Run inside a loop, this gives a workload with a fixed mix of statements.
+ *
+ * A branch is chosen in constant time with the alias method. Each thread has its own random number
+ * generator, split from a generator seeded with the seed of the mix block. If the mix block has no
+ * seed then one is chosen at random and logged, so that the run can be repeated. When a seed is
+ * given, a single thread chooses the same sequence of branches each time the test is run.
+ */
+public class MixOp extends Operation
+{
+  /** The branches to choose from. */
+  private final List<Branch> branches;
+
+  /** The seed of the random number generator, or null to choose one at random. */
+  private final Long seed;
+
+  /** The probability of choosing each branch rather than its alias, for the alias method. */
+  private final double[] probabilities;
+
+  /** The branch to choose instead of each branch, for the alias method. */
+  private final int[] aliases;
+
+  /** Guards the creation of the random number generators of each thread. */
+  private final Lock lock = new ReentrantLock();
+
+  /** The generator that the generator of each thread is split from. Created when the mix is first run. */
+  private SplittableRandom rootRandom = null;
+
+  /** The random number generator of each thread. */
+  private final ThreadLocal<SplittableRandom> threadRandom = new ThreadLocal<>();
+
+  /**
+   * Constructor
+   * @param metadata The metadata about where this operation came from in the test file.
+   * @param branches The branches to choose from. There must be at least one, and the total of
+   *                 their weights must fit in a long.
+   * @param seed The seed of the random number generator, or null to choose one at random.
+   */
+  public MixOp(OperationMetadata metadata, ExpectedResult expectedResult, List<Branch> branches, Long seed)
+  {
+    super(metadata, expectedResult);
+    this.branches = branches;
+    this.seed = seed;
+    this.probabilities = new double[branches.size()];
+    this.aliases = new int[branches.size()];
+
+    for (Branch branch : branches) {
+      branch.mix = this;
+    }
+
+    buildAliasTable();
+  }
+
+  /**
+   * Rewrites the current operation with the given expected result.
+   * @param expectedResult the expected result to compare to.
+   * @return the newly rewritten, immutable Operation with the new expected result.
+   */
+  @Override
+  public Operation rewriteWith(ExpectedResult expectedResult)
+  {
+    // Each branch refers to the mix block it belongs to, so the new mix block needs its own.
+    List<Branch> newBranches = new ArrayList<>(branches.size());
+
+    for (Branch branch : branches) {
+      newBranches.add((Branch) branch.rewriteWith(branch.expectedResult));
+    }
+
+    return new MixOp(this.metadata, expectedResult, newBranches, this.seed);
+  }
+
+  /**
+   * Builds the tables for choosing a branch with the alias method (Vose's algorithm). Each branch
+   * is given an equal share of the table, which is made up of the branch's own probability and
+   * the remainder given to the branch's alias.
+   */
+  private void buildAliasTable()
+  {
+    final int n = branches.size();
+    long totalWeight = 0;
+
+    for (Branch branch : branches) {
+      totalWeight = Math.addExact(totalWeight, branch.weight);
+    }
+
+    double[] scaled = new double[n];
+    Deque<Integer> small = new ArrayDeque<>();
+    Deque<Integer> large = new ArrayDeque<>();
+
+    for (int i = 0; i < n; i++) {
+      scaled[i] = branches.get(i).weight * (double) n / totalWeight;
+      (scaled[i] < 1.0d ? small : large).push(i);
+    }
+
+    while (!small.isEmpty() && !large.isEmpty()) {
+      int less = small.pop();
+      int more = large.pop();
+
+      probabilities[less] = scaled[less];
+      aliases[less] = more;
+
+      scaled[more] = (scaled[more] + scaled[less]) - 1.0d;
+      (scaled[more] < 1.0d ? small : large).push(more);
+    }
+
+    // Whatever is left over has a probability of 1, give or take rounding errors.
+    while (!large.isEmpty()) {
+      int i = large.pop();
+      probabilities[i] = 1.0d;
+      aliases[i] = i;
+    }
+
+    while (!small.isEmpty()) {
+      int i = small.pop();
+      probabilities[i] = 1.0d;
+      aliases[i] = i;
+    }
+  }
+
+  /**
+   * Executes the operation.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @throws FailureException if an error occurs during the execution. e.g., if the
+   *                          expected response does not meet the actual response.
+   */
+  @Override
+  public void execute(ExecutionContext xContext) throws FailureException
+  {
+    final TestLogger logger = xContext.getLogger();
+    final LatencyRecorder latencyRecorder = xContext.getLatencyRecorder();
+    long statementCount = 0;
+
+    Branch branch = branches.get(chooseBranch(randomFor(logger)));
+    long startNs = System.nanoTime();
+
+    try {
+      for (Operation op : branch.operations) {
+
+        // Check if a failure occurred in another thread and we have to stop running the test.
+        if (!xContext.continueTesting()) {
+          return;
+        }
+
+        logger.testStepExecuting(op.getTestFile(), op.toString(), op.getLine());
+        ++statementCount;
+
+        try {
+          op.execute(xContext);
+
+        } catch (FailureException e) {
+          xContext.markAsFailed(e);
+          return;
+        }
+      }
+
+      if (latencyRecorder != null) {
+        latencyRecorder.recordMixBranch(branch, System.nanoTime() - startNs);
+      }
+
+      expectedResult.assertActualAsSuccess(xContext, null);
+
+    } finally {
+      // Accumulate the number of operation steps we executed.
+      xContext.accumulateTestSteps(statementCount);
+    }
+  }
+
+  /**
+   * Chooses a branch at random according to the weights of the branches.
+   * @param random the random number generator to use.
+   * @return the index of the chosen branch.
+   */
+  int chooseBranch(SplittableRandom random)
+  {
+    int index = random.nextInt(branches.size());
+
+    if (random.nextDouble() >= probabilities[index]) {
+      index = aliases[index];
+    }
+
+    return index;
+  }
+
+  /**
+   * Returns the probability of choosing each branch, as given by the tables of the alias method.
+   * @return the probability of choosing each branch.
+   */
+  double[] branchProbabilities()
+  {
+    final int n = branches.size();
+    double[] result = new double[n];
+
+    for (int i = 0; i < n; i++) {
+      result[i] += probabilities[i] / n;
+      result[aliases[i]] += (1.0d - probabilities[i]) / n;
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the branches to choose from.
+   * @return the branches to choose from.
+   */
+  List<Branch> getBranches()
+  {
+    return branches;
+  }
+
+  /**
+   * Returns the random number generator of the current thread, creating it if necessary.
+   * @param logger the logger to log the seed to, if one has to be chosen.
+   * @return the random number generator of the current thread.
+   */
+  private SplittableRandom randomFor(TestLogger logger)
+  {
+    SplittableRandom random = threadRandom.get();
+
+    if (random != null) {
+      return random;
+    }
+
+    lock.lock();
+
+    try {
+      if (rootRandom == null) {
+        long rootSeed;
+
+        if (seed != null) {
+          rootSeed = seed;
+
+        } else {
+          rootSeed = new SplittableRandom().nextLong();
+          logger.log("Mix on line " + getLine() + " is using seed " + rootSeed + ".");
+        }
+
+        rootRandom = new SplittableRandom(rootSeed);
+      }
+
+      random = rootRandom.split();
+
+    } finally {
+      lock.unlock();
+    }
+
+    threadRandom.set(random);
+    return random;
+  }
+
+  /**
+   * Returns a description of how many times each branch of each mix block was chosen and how long
+   * it took to run, one line per mix block and one line per branch.
+   * @param latencies the latencies recorded by all the threads of a test.
+   * @return the lines describing each mix block, which is empty if no mix blocks were run.
+   */
+  public static List<String> describeStatistics(Collection<StatementLatency> latencies)
+  {
+    // Find the branches of each mix that were run, keeping the mixes in the order they were found.
+    Map<MixOp, Map<Branch, LatencyHistogram>> mixes = new LinkedHashMap<>();
+
+    for (StatementLatency latency : latencies) {
+      if (latency.getKind() == StatementLatency.Kind.MIX_BRANCH) {
+        Branch branch = (Branch) latency.getOperation();
+        mixes.computeIfAbsent(branch.mix, m -> new IdentityHashMap<>()).put(branch, latency.getExecuteHistogram());
+      }
+    }
+
+    List<String> lines = new ArrayList<>();
+
+    for (Map.Entry<MixOp, Map<Branch, LatencyHistogram>> entry : mixes.entrySet()) {
+      MixOp mix = entry.getKey();
+      long total = 0;
+
+      for (LatencyHistogram histogram : entry.getValue().values()) {
+        total += histogram.getTotalCount();
+      }
+
+      lines.add("Mix on line " + mix.getLine() + " ran " + total + " branches:");
+
+      for (Branch branch : mix.branches) {
+        LatencyHistogram histogram = entry.getValue().getOrDefault(branch, new LatencyHistogram());
+
+        lines.add(String.format("  line %d, weight %d: %d runs (%.1f%%), p50 %s, p99 %s, max %s",
+                                branch.getLine(), branch.weight, histogram.getTotalCount(),
+                                100.0d * histogram.getTotalCount() / Math.max(1, total),
+                                nanosToMillis(histogram.getValueAtPercentile(50.0d)),
+                                nanosToMillis(histogram.getValueAtPercentile(99.0d)),
+                                nanosToMillis(histogram.getMaxValue())));
+      }
+    }
+
+    return lines;
+  }
+
+  private static String nanosToMillis(long nanos)
+  {
+    return String.format("%.3f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+
+  /**
+   * One branch of a mix block, which runs its operations in order when it is chosen.
+   */
+  public static class Branch extends Operation
+  {
+    /** The relative likelihood of choosing this branch. */
+    private final long weight;
+
+    /** The list of operations to run. */
+    private final List<Operation> operations;
+
+    /** The mix block that this branch belongs to. Set when the mix block is created, or rewritten. */
+    private MixOp mix = null;
+
+    /**
+     * Constructor
+     * @param metadata The metadata about where this branch came from in the test file.
+     * @param weight The relative likelihood of choosing this branch.
+     * @param operations The list of operations to run.
+     */
+    public Branch(OperationMetadata metadata, ExpectedResult expectedResult, long weight, List<Operation> operations)
+    {
+      super(metadata, expectedResult);
+      this.weight = weight;
+      this.operations = operations;
+    }
+
+    @Override
+    public Operation rewriteWith(ExpectedResult expectedResult)
+    {
+      return new Branch(this.metadata, expectedResult, this.weight, this.operations);
+    }
+
+    /**
+     * Returns the mix block that this branch belongs to.
+     * @return the mix block that this branch belongs to.
+     */
+    MixOp getMix()
+    {
+      return mix;
+    }
+
+    /**
+     * Runs the operations of the branch. A mix block runs the operations of the branch it chooses
+     * itself, so that it can log and count each step.
+     * @param xContext The execution context, which encapsulates any necessary parameters.
+     * @throws FailureException if an error occurs during the execution.
+     */
+    @Override
+    public void execute(ExecutionContext xContext) throws FailureException
+    {
+      for (Operation op : operations) {
+        op.execute(xContext);
+      }
+    }
+  }
+}
@@ -0,0 +1,271 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.parser.SethLexer;
+import com.rapidsdata.seth.parser.SethParser;
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A process-wide cache of the token streams and parse trees of files that are referenced
+ * by other files, i.e. included files and expected result files.
+ *
+ * The same file is often referenced by many tests, so it is only lexed and parsed once per run.
+ * Entries are keyed by the canonical path of the file and are only reused while the modification
+ * time and size of the file are unchanged. A file is only kept once it has been referenced a second
+ * time, so that result files used by a single test are not held for the rest of the run, and the
+ * parse trees are held through soft references so that the garbage collector can reclaim them if
+ * memory runs short. Only the output of the parser is shared: the
+ * parse tree is still walked by a new TestPlanGenerator for every reference, so variables and
+ * options are evaluated in the context of each referencing test.
+ *
+ * A cached token stream and parse tree are only ever read after they have been published, so
+ * they can be shared between the threads that plan tests concurrently. A file is parsed outside
+ * of any lock on the map; other threads that want the same file while it is being parsed wait
+ * for that parse rather than starting their own.
+ */
+public class ParseCache
+{
+  /** The grammar rules that a cached file can be parsed with. */
+  public enum Rule
+  {
+    TEST_FILE,
+    EXPECTED_RESULT
+  }
+
+  /** The cached entries, keyed by the canonical path of each file and the rule it was parsed with. */
+  private static final ConcurrentMap<Key, Entry> cache = new ConcurrentHashMap<>();
+
+  private ParseCache() {}
+
+  /**
+   * Returns the parsed contents of a file, parsing it if it has not been parsed before or has
+   * changed since it was last parsed.
+   * @param testableFile The file to be parsed.
+   * @param rule The grammar rule to parse the file with.
+   * @param cacheable Whether the parsed file may be cached. Files that are only referenced once,
+   *                  such as top-level test files, are not worth keeping in memory.
+   * @return the parsed contents of the file.
+   */
+  public static ParsedFile parse(TestableFile testableFile, Rule rule, boolean cacheable)
+  {
+    if (!cacheable || testableFile.getInstruction() != TestableFile.Instruction.READ) {
+      return parseFile(testableFile, rule);
+    }
+
+    File canonicalFile;
+
+    try {
+      canonicalFile = testableFile.getFile().getCanonicalFile();
+    } catch (IOException | SecurityException e) {
+      // Let the file be parsed as normal; any real problem reading it will be reported from there.
+      return parseFile(testableFile, rule);
+    }
+
+    // Stat the file before it is read, so that a concurrent modification is seen as
+    // a change the next time it is referenced.
+    final long lastModified = canonicalFile.lastModified();
+    final long length = canonicalFile.length();
+    final Key key = new Key(canonicalFile.getPath(), rule);
+
+    while (true) {
+      Entry entry = cache.get(key);
+
+      if (entry == null || entry.lastModified != lastModified || entry.length != length) {
+        // This is the first reference to the file, or it has changed. Remember that it has been
+        // seen, but don't keep it in memory until it is referenced again.
+        cache.put(key, new Entry(lastModified, length, null, null));
+        return parseFile(testableFile, rule);
+      }
+
+      ParsedFile parsedFile = (entry.parsedFile == null ? null : entry.parsedFile.get());
+      if (parsedFile != null) {
+        return parsedFile;
+      }
+
+      if (entry.parsing != null) {
+        // Another thread is parsing the file. Wait for it rather than parsing it again.
+        try {
+          return entry.parsing.get();
+
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return parseFile(testableFile, rule);
+
+        } catch (ExecutionException e) {
+          // Parse it again in this thread, so that the error is reported in the context of this reference.
+          return parseFile(testableFile, rule);
+        }
+      }
+
+      // The file has been referenced before, or its parse tree has been reclaimed, so parse it and keep it.
+      FutureTask<ParsedFile> task = new FutureTask<>(() -> parseFile(testableFile, rule));
+      Entry parsing = new Entry(lastModified, length, task, null);
+
+      if (!cache.replace(key, entry, parsing)) {
+        // Another thread changed the entry first; look at it again.
+        continue;
+      }
+
+      task.run();
+
+      try {
+        parsedFile = task.get();
+
+      } catch (InterruptedException | ExecutionException e) {
+        // The parse failed, so go back to the entry that was there before and report the error.
+        cache.replace(key, parsing, entry);
+
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+
+        return parseFile(testableFile, rule);
+      }
+
+      cache.replace(key, parsing, new Entry(lastModified, length, null, new SoftReference<>(parsedFile)));
+      return parsedFile;
+    }
+  }
+
+  /**
+   * Lexes and parses the contents of a file.
+   * @param testableFile The file to be parsed.
+   * @param rule The grammar rule to parse the file with.
+   * @return the parsed contents of the file.
+   */
+  private static ParsedFile parseFile(TestableFile testableFile, Rule rule)
+  {
+    String contents = testableFile.contents();
+    SethLexer lexer = new SethLexer(new ANTLRInputStream(contents));
+    CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+    SethParser parser = new SethParser(tokenStream);
+    parser.setErrorHandler(new TestPlanner.ErrorHandler(testableFile));
+
+    ParseTree tree;
+
+    switch (rule) {
+      case TEST_FILE:
+        tree = parser.testFile(); // This will typically throw SyntaxExceptions.
+        break;
+
+      case EXPECTED_RESULT:
+        tree = parser.expectedResult(); // This will typically throw SyntaxExceptions.
+        break;
+
+      default:
+        throw new IllegalArgumentException("Unhandled rule: " + rule.name());
+    }
+
+    // Make sure every token has been fetched, so that later reads of the stream don't modify it.
+    tokenStream.fill();
+
+    return new ParsedFile(tokenStream, tree);
+  }
+
+  /** The parsed contents of a file. */
+  public static class ParsedFile
+  {
+    private final CommonTokenStream tokenStream;
+    private final ParseTree tree;
+
+    private ParsedFile(CommonTokenStream tokenStream, ParseTree tree)
+    {
+      this.tokenStream = tokenStream;
+      this.tree = tree;
+    }
+
+    /**
+     * Returns the stream of tokens that the file was parsed from.
+     * @return the stream of tokens that the file was parsed from.
+     */
+    public CommonTokenStream getTokenStream()
+    {
+      return tokenStream;
+    }
+
+    /**
+     * Returns the parse tree of the file.
+     * @return the parse tree of the file.
+     */
+    public ParseTree getTree()
+    {
+      return tree;
+    }
+  }
+
+  /** The key of a cached file. */
+  private static class Key
+  {
+    private final String canonicalPath;
+    private final Rule rule;
+
+    private Key(String canonicalPath, Rule rule)
+    {
+      this.canonicalPath = canonicalPath;
+      this.rule = rule;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key other = (Key) o;
+      return rule == other.rule && canonicalPath.equals(other.canonicalPath);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(canonicalPath, rule);
+    }
+  }
+
+  /**
+   * A file that has been referenced, together with the state of the file when it was referenced.
+   * An entry with neither a parse in progress nor a parsed file means that the file has been
+   * referenced once, but has not been kept.
+   */
+  private static class Entry
+  {
+    private final long lastModified;
+    private final long length;
+
+    /** The parse of the file that is in progress, or null. */
+    private final FutureTask<ParsedFile> parsing;
+
+    /** The parsed file, or null if it has not been kept. */
+    private final SoftReference<ParsedFile> parsedFile;
+
+    private Entry(long lastModified, long length, FutureTask<ParsedFile> parsing, SoftReference<ParsedFile> parsedFile)
+    {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.parsing = parsing;
+      this.parsedFile = parsedFile;
+    }
+  }
+}
@@ -0,0 +1,449 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.exceptions.OperationException;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.PhaseTimes;
+import com.rapidsdata.seth.logging.TestLogger;
+import com.rapidsdata.seth.plan.expectedResults.AffectedRowsExpectedResult;
+import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An operation that sends a run of consecutive server commands to the server as a single JDBC batch.
+ *
+ * Each command keeps its own expected result, which is compared to the update count that the
+ * batch returned for that command, so a failure is reported against the line of the command
+ * that caused it. If the server stops processing the batch at a failed command and that failure
+ * was acceptable to its expected result, the remaining commands, which were not executed, are
+ * executed individually. If the batch fails in a way that doesn't say which commands were
+ * executed, every command in the batch is failed with that error, since executing any of them
+ * again could apply them twice.
+ *
+ * Some drivers carry on with a batch after a command fails, and return update counts for the
+ * commands after it. If the failure fails the test then the commands that were executed after it
+ * are named in the failure, since a test stops at the first failure when commands are not batched.
+ *
+ * Some drivers don't return an update count for each command in a batch. A command whose
+ * expected result is an affected row count is only sent in a batch once the driver has returned
+ * update counts for a batch on the same connection; until then it is executed by itself.
+ */
+public class ServerBatchOp extends Operation
+{
+  /** How the outcome of a command in a batch is checked. */
+  enum Outcome
+  {
+    /** The batch returned an update count for the command. */
+    UPDATE_COUNT,
+
+    /** The command succeeded, but the batch did not return an update count for it. */
+    SUCCESS,
+
+    /** The command failed, or the batch failed in a way that doesn't say whether the command was executed. */
+    FAILURE,
+
+    /** The command was not executed as part of the batch, so it is executed by itself. */
+    EXECUTE_INDIVIDUALLY
+  }
+
+  /** The server commands in the batch, in the order they appear in the test file. */
+  private final List<ServerOp> operations;
+
+  /**
+   * Constructor
+   * @param operations The server commands in the batch, in the order they appear in the test file.
+   */
+  public ServerBatchOp(List<ServerOp> operations)
+  {
+    super(operations.get(0).metadata, operations.get(0).expectedResult);
+    this.operations = operations;
+  }
+
+  /**
+   * Rewrites the current operation with the given expected result.
+   * @param expectedResult the expected result to compare to.
+   * @return the newly rewritten, immutable Operation with the new expected result.
+   */
+  @Override
+  public Operation rewriteWith(ExpectedResult expectedResult)
+  {
+    // The expected result belongs to the last command in the batch.
+    List<ServerOp> newOperations = new ArrayList<>(operations);
+    int last = newOperations.size() - 1;
+    newOperations.set(last, (ServerOp) newOperations.get(last).rewriteWith(expectedResult));
+
+    return new ServerBatchOp(newOperations);
+  }
+
+  /**
+   * Executes the operation.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @throws FailureException if an error occurs during the execution. e.g., if the
+   *                          expected response does not meet the actual response.
+   */
+  @Override
+  public void execute(ExecutionContext xContext) throws FailureException
+  {
+    List<ServerOp> opsToRun = new ArrayList<>(operations.size());
+
+    for (ServerOp op : operations) {
+      if (!op.isIgnored(xContext)) {
+        opsToRun.add(op);
+      }
+    }
+
+    // Split the commands to run into batches. A command that is run by itself has no batch.
+    boolean countsReported = xContext.isReportingBatchCounts();
+
+    List<List<ServerOp>> runs = splitRuns(opsToRun, op -> !countsReported && op.expectedResult instanceof AffectedRowsExpectedResult);
+    Batch[] batchOf = new Batch[opsToRun.size()];
+    int[] indexInBatch = new int[opsToRun.size()];
+    int runIndex = 0;
+
+    for (List<ServerOp> run : runs) {
+      Batch batch = (run.size() > 1 ? new Batch(run) : null);
+
+      for (int i = 0; i < run.size(); i++, runIndex++) {
+        batchOf[runIndex] = batch;
+        indexInBatch[runIndex] = i;
+      }
+    }
+
+    // Check the outcome of each command in turn. The first command has already been logged as
+    // the step that is executing, so log the others as we go so that the log and the count of
+    // steps read the same as if the commands were not batched. Each batch is executed when its
+    // first command is reached, so the commands still execute in the order of the test file.
+    TestLogger logger = xContext.getLogger();
+    long stepCount = 0;
+    runIndex = 0;
+
+    try {
+      for (int i = 0; i < operations.size(); i++) {
+        ServerOp op = operations.get(i);
+
+        if (i > 0) {
+          logger.testStepExecuting(op.getTestFile(), op.toString(), op.getLine());
+          ++stepCount;
+        }
+
+        if (runIndex == opsToRun.size() || opsToRun.get(runIndex) != op) {
+          // This command is ignored.
+          continue;
+        }
+
+        Batch batch = batchOf[runIndex];
+        int index = indexInBatch[runIndex++];
+
+        if (batch == null) {
+          // The command is executed by itself, which records its own latency.
+          op.execute(xContext);
+          continue;
+        }
+
+        if (index == 0) {
+          batch.execute(xContext);
+        }
+
+        try {
+          assertOutcome(xContext, op, index, batch);
+
+        } catch (FailureException e) {
+          List<Integer> executedAfter = executedAfter(index, batch.updateCounts);
+
+          if (executedAfter.isEmpty()) {
+            throw e;
+          }
+
+          throw executedAfterFailure(op, batch, executedAfter, e);
+        }
+      }
+
+    } finally {
+      xContext.accumulateTestSteps(stepCount);
+    }
+  }
+
+  /**
+   * Splits a list of commands into runs of consecutive commands to send as batches, where some
+   * commands must be executed by themselves.
+   * @param ops The commands, in order.
+   * @param mustRunAlone Returns true for a command that must be executed by itself.
+   * @return the runs of commands, in order. A run of a single command is executed by itself.
+   */
+  static <T> List<List<T>> splitRuns(List<T> ops, Predicate<T> mustRunAlone)
+  {
+    List<List<T>> runs = new ArrayList<>();
+    List<T> run = new ArrayList<>();
+
+    for (T op : ops) {
+      if (mustRunAlone.test(op)) {
+        if (!run.isEmpty()) {
+          runs.add(run);
+          run = new ArrayList<>();
+        }
+
+        runs.add(Collections.singletonList(op));
+
+      } else {
+        run.add(op);
+      }
+    }
+
+    if (!run.isEmpty()) {
+      runs.add(run);
+    }
+
+    return runs;
+  }
+
+  /**
+   * Returns how the outcome of one command in a batch is to be checked.
+   * @param index The index of the command in the batch.
+   * @param sent Whether the batch was sent to the server.
+   * @param updateCounts The update counts returned for the batch. Only used if the batch was sent.
+   * @param batchFailure The exception that the batch failed with, or null if it succeeded.
+   * @return how the outcome of the command is to be checked.
+   */
+  static Outcome outcomeOf(int index, boolean sent, int[] updateCounts, SQLException batchFailure)
+  {
+    if (!sent) {
+      // Nothing was executed, so each command is executed by itself.
+      return Outcome.EXECUTE_INDIVIDUALLY;
+    }
+
+    if (batchFailure != null && !(batchFailure instanceof BatchUpdateException)) {
+      // We can't tell which commands were executed, so none of them can be executed again.
+      return Outcome.FAILURE;
+    }
+
+    if (index < updateCounts.length) {
+      switch (updateCounts[index]) {
+        case Statement.EXECUTE_FAILED:  return Outcome.FAILURE;
+        case Statement.SUCCESS_NO_INFO: return Outcome.SUCCESS;
+        default:                        return Outcome.UPDATE_COUNT;
+      }
+    }
+
+    if (batchFailure == null) {
+      // The driver didn't report a count for this command, but the batch succeeded.
+      return Outcome.SUCCESS;
+    }
+
+    // The server stopped processing the batch at the first command without a count, which is the
+    // one that failed. The commands after it were not executed.
+    return (index == updateCounts.length ? Outcome.FAILURE : Outcome.EXECUTE_INDIVIDUALLY);
+  }
+
+  /**
+   * Returns the indexes of the commands in a batch that the driver executed after a failed command,
+   * which it does if it carries on with a batch after a command fails.
+   * @param index The index of the failed command in the batch.
+   * @param updateCounts The update counts returned for the batch.
+   * @return the indexes of the commands after the failed command that returned an update count.
+   */
+  static List<Integer> executedAfter(int index, int[] updateCounts)
+  {
+    List<Integer> indexes = new ArrayList<>();
+
+    for (int i = index + 1; i < updateCounts.length; i++) {
+      if (updateCounts[i] != Statement.EXECUTE_FAILED) {
+        indexes.add(i);
+      }
+    }
+
+    return indexes;
+  }
+
+  /**
+   * Returns the failure of a command in a batch that the driver carried on executing, which names
+   * the commands that were executed after it.
+   * @param op The command that failed.
+   * @param batch The batch, which has been executed.
+   * @param executedAfter The indexes of the commands that were executed after the failed command.
+   * @param failure The failure of the command.
+   * @return the failure to fail the test with.
+   */
+  private static FailureException executedAfterFailure(ServerOp op,
+                                                       Batch batch,
+                                                       List<Integer> executedAfter,
+                                                       FailureException failure)
+  {
+    StringBuilder sb = new StringBuilder(256);
+    sb.append("The command failed as part of a batch, but the driver carried on executing the batch, ")
+      .append("so these commands after it were executed anyway:");
+
+    for (int i : executedAfter) {
+      ServerOp executedOp = batch.operations.get(i);
+      sb.append(System.lineSeparator()).append("line ").append(executedOp.getLine())
+        .append(": ").append(executedOp.getCommandDesc());
+    }
+
+    return new OperationException(sb.toString(), failure, op.getTestFile(), op.getLine(), op.getCommandDesc());
+  }
+
+  /**
+   * Compares the outcome of one command in the batch to its expected result.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @param op The command.
+   * @param index The index of the command in the batch.
+   * @param batch The batch, which has been executed.
+   * @throws FailureException if the outcome does not meet the expected result.
+   */
+  private static void assertOutcome(ExecutionContext xContext,
+                                    ServerOp op,
+                                    int index,
+                                    Batch batch) throws FailureException
+  {
+    Outcome outcome = outcomeOf(index, batch.sent, batch.updateCounts, batch.failure);
+
+    if (outcome == Outcome.EXECUTE_INDIVIDUALLY) {
+      // The command is executed by itself, which records its own latency.
+      op.execute(xContext);
+      return;
+    }
+
+    // Each command in the batch waited for the whole batch to execute.
+    LatencyRecorder latencyRecorder = xContext.getLatencyRecorder();
+    long startNs = System.nanoTime();
+
+    try {
+      switch (outcome) {
+        case UPDATE_COUNT:
+          op.expectedResult.assertActualAsUpdateCount(xContext, batch.updateCounts[index], batch.warnings);
+          break;
+
+        case SUCCESS:
+          op.expectedResult.assertActualAsSuccess(xContext, batch.warnings);
+          break;
+
+        case FAILURE:
+        default:
+          SQLException failure = (batch.failure != null ? batch.failure :
+                                  new SQLException("The command failed as part of a batch."));
+          op.expectedResult.assertActualAsException(xContext, failure);
+          break;
+      }
+
+    } finally {
+      long verifyNs = System.nanoTime() - startNs;
+
+      if (latencyRecorder != null) {
+        latencyRecorder.record(op, batch.executeNs, verifyNs);
+      }
+
+      PhaseTimes.record(PhaseTimes.Phase.VERIFY, verifyNs);
+    }
+  }
+
+  private static void closeQuietly(Statement statement)
+  {
+    if (statement == null) {
+      return;
+    }
+
+    try {
+      statement.close();
+    } catch (SQLException e) { /*ignore*/ }
+  }
+
+
+  /** A run of commands sent to the server as one JDBC batch, and what the server returned for it. */
+  private static class Batch
+  {
+    private final List<ServerOp> operations;
+
+    /** Whether the batch was sent to the server. */
+    private boolean sent = false;
+
+    /** The update counts returned for the batch. */
+    private int[] updateCounts = new int[0];
+
+    /** The exception that the batch failed with, or null if it succeeded. */
+    private SQLException failure = null;
+
+    /** Any warnings from executing the batch. */
+    private SQLWarning warnings = null;
+
+    /** The time taken to execute the batch, in nanoseconds. */
+    private long executeNs = 0;
+
+    private Batch(List<ServerOp> operations)
+    {
+      this.operations = operations;
+    }
+
+    /**
+     * Sends the batch to the server. If the batch can't be sent at all then it is left unsent,
+     * so that each command is executed by itself.
+     * @param xContext The execution context, whose current connection the batch is executed on.
+     */
+    private void execute(ExecutionContext xContext)
+    {
+      Statement statement = null;
+
+      try {
+        statement = xContext.getConnection().createStatement();
+
+        for (ServerOp op : operations) {
+          statement.addBatch(op.getCommandDesc());
+        }
+
+        long startNs = System.nanoTime();
+        sent = true;
+
+        try {
+          updateCounts = statement.executeBatch();
+
+          if (reportsEveryCount(updateCounts)) {
+            xContext.setReportingBatchCounts();
+          }
+
+        } catch (BatchUpdateException e) {
+          updateCounts = (e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts());
+          failure = e;
+
+        } catch (SQLException e) {
+          failure = e;
+        }
+
+        executeNs = System.nanoTime() - startNs;
+        PhaseTimes.record(PhaseTimes.Phase.EXECUTE, executeNs);
+
+        warnings = statement.getWarnings();
+
+      } catch (SQLException e) {
+        // Either nothing has been executed yet, or the warnings can't be read.
+        warnings = null;
+
+      } finally {
+        closeQuietly(statement);
+      }
+    }
+
+    private boolean reportsEveryCount(int[] counts)
+    {
+      if (counts == null || counts.length != operations.size()) {
+        return false;
+      }
+
+      for (int count : counts) {
+        if (count < 0) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
@@ -4,6 +4,9 @@ package com.rapidsdata.seth.plan;
 
 import com.rapidsdata.seth.contexts.ExecutionContext;
 import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.jdbc.StatementCache;
+import com.rapidsdata.seth.latency.LatencyRecorder;
+import com.rapidsdata.seth.latency.PhaseTimes;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
@@ -37,6 +40,31 @@ public class ServerOp extends Operation
     return new ServerOp(this.metadata, expectedResult);
   }
 
+  /**
+   * Returns true if the command matches one of the commands to be ignored, in which case the
+   * number of times it was ignored is recorded.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @return true if the command is to be ignored.
+   */
+  boolean isIgnored(ExecutionContext xContext)
+  {
+    String cmd = metadata.getDescription();
+    List<Pattern> cmdIgnoreList = xContext.getIgnorableCommands();
+
+    if (!cmdIgnoreList.isEmpty()) {
+      for (Pattern ignorableCmd : cmdIgnoreList) {
+        if (ignorableCmd.matcher(cmd).matches()) {
+
+          // Record the count of how many times this command was ignored
+          xContext.getResult().accumulateIgnoredCommand(cmd);
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
   /**
    * Executes the operation.
    *
@@ -57,37 +85,51 @@ public class ServerOp extends Operation
     String cmd = metadata.getDescription();
 
     // Check if the command is to be ignored
-    List<Pattern> cmdIgnoreList = xContext.getIgnorableCommands();
+    if (isIgnored(xContext)) {
+      // Don't do anything more with this command
+      return;
+    }
 
-    if (!cmdIgnoreList.isEmpty()) {
-      for (Pattern ignorableCmd : cmdIgnoreList) {
-        if (ignorableCmd.matcher(cmd).matches()) {
+    // Reuse the connection's cached statements, if statement caching is enabled.
+    StatementCache statementCache = xContext.getStatementCache();
 
-          // Record the count of how many times this command was ignored
-          xContext.getResult().accumulateIgnoredCommand(cmd);
+    if (statementCache == null) {
+      try {
+        statement = connection.createStatement();
 
-          // Don't do anything more with this command
-          return;
-        }
+      } catch (SQLException e) {
+        expectedResult.assertActualAsException(xContext, e);
+
+        // Since the above call returned, we must have expected this failure otherwise
+        // an exception would have been thrown. Job done.
+        return;
       }
     }
 
+    // Time the execution of the command and the checking of its result separately.
+    LatencyRecorder latencyRecorder = xContext.getLatencyRecorder();
+    long startNs = System.nanoTime();
+    long executedNs = Long.MIN_VALUE;
+
     try {
-      statement = connection.createStatement();
+      boolean hasResultSet;
 
-    } catch (SQLException e) {
-      expectedResult.assertActualAsException(xContext, e);
+      if (statementCache == null) {
+        hasResultSet = statement.execute(cmd);
 
-      // Since the above call returned, we must have expected this failure otherwise
-      // an exception would have been thrown. Job done.
-      return;
-    }
+        if (hasResultSet) {
+          rs = statement.getResultSet();
+        }
 
-    try {
-      boolean hasResultSet = statement.execute(cmd);
+      } else {
+        statement = statementCache.execute(cmd);
+        rs = statement.getResultSet();
+        hasResultSet = (rs != null);
+      }
+
+      executedNs = System.nanoTime();
 
       if (hasResultSet) {
-        rs = statement.getResultSet();
         expectedResult.assertActualAsResultSet(xContext, rs, statement.getWarnings());
 
       } else {
@@ -95,13 +137,31 @@ public class ServerOp extends Operation
       }
 
     } catch (SQLException e) {
+      executedNs = System.nanoTime();
       expectedResult.assertActualAsException(xContext, e);
 
     } finally {
+      if (latencyRecorder != null || PhaseTimes.isEnabled()) {
+        long endNs = System.nanoTime();
+
+        if (executedNs == Long.MIN_VALUE) {
+          executedNs = endNs;
+        }
+
+        if (latencyRecorder != null) {
+          latencyRecorder.record(this, executedNs - startNs, endNs - executedNs);
+        }
+
+        PhaseTimes.record(PhaseTimes.Phase.EXECUTE, executedNs - startNs);
+        PhaseTimes.record(PhaseTimes.Phase.VERIFY, endNs - executedNs);
+      }
 
       try {
         if (rs != null && !rs.isClosed())                 { rs.close();         }
-        if (statement != null && !statement.isClosed())   { statement.close();  }
+
+        // A cached statement stays open to be reused.
+        if (statementCache == null &&
+            statement != null && !statement.isClosed())   { statement.close();  }
       } catch (SQLException e) {
         // ignore
       }
@@ -3,14 +3,10 @@
 package com.rapidsdata.seth.plan;
 
 import com.rapidsdata.seth.contexts.ExecutionContext;
+import com.rapidsdata.seth.contexts.SyncBarrier;
 import com.rapidsdata.seth.exceptions.FailureException;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
-import java.util.concurrent.BrokenBarrierException;
-import java.util.concurrent.CyclicBarrier;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-
 public class SyncOp extends Operation
 {
   /** The name of the default synchronisation object. */
@@ -61,48 +57,17 @@ public class SyncOp extends Operation
   @Override
   public void execute(ExecutionContext xContext) throws FailureException
   {
-    int parties = count;
-
-    if (parties == -1) {
-      parties = xContext.getNumActiveThreads();
-    }
-
-    CyclicBarrier barrier = xContext.getOrCreateSyncObject(name, parties);
+    SyncBarrier barrier = xContext.getOrCreateSyncObject(name);
 
     // Now we can wait for all threads to join us.
-    while (true) {
-
-      // A synchronise in the test phase can be broken by the end of test or
-      // a test failure, however a synchronise in the cleanup phase cannot be
-      // interrupted in this way.
-      if (!xContext.continueTesting() && metadata.getPhase() == TestPhase.TEST) {
-        xContext.removeSyncObject(name, barrier);
-        return;
-      }
-
-      if (barrier.isBroken()) {
-
-        // Only 1 thread can reset the barrier, so use the barrier as a synchronisation object.
-        synchronized (barrier) {
-          if (barrier.isBroken()) {
-            //System.err.println("Thread " + Thread.currentThread().getId() + " resetting barrier.");
-            barrier.reset();
-          }
-        }
-      }
-
-      int arrivalIndex = -1;
-
-      try {
-        arrivalIndex = barrier.await(200, TimeUnit.MILLISECONDS);
-
-        // We achieved synchronisation!
-        break;
-
-      } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
-        // Try again.
-        continue;
-      }
+    // A synchronise in the test phase can be broken by the end of test or
+    // a test failure, however a synchronise in the cleanup phase cannot be
+    // interrupted in this way.
+    boolean released = barrier.await(count, getLine(),
+                                     () -> xContext.continueTesting() || metadata.getPhase() != TestPhase.TEST);
+
+    if (!released) {
+      return;
     }
 
     expectedResult.assertActualAsSuccess(xContext, null);
@@ -13,7 +13,6 @@ import com.rapidsdata.seth.parser.SethBaseVisitor;
 import com.rapidsdata.seth.parser.SethParser;
 import com.rapidsdata.seth.plan.annotated.TestAnnotationInfo;
 import com.rapidsdata.seth.plan.expectedResults.*;
-import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
@@ -33,8 +32,8 @@ import static com.rapidsdata.seth.TestResult.ResultStatus.NOT_STARTED;
 
 public class TestPlanGenerator extends SethBaseVisitor
 {
-  /** The parser we're using to parse the test file. */
-  private final Parser parser;
+  /** The stream of tokens that the test file was parsed from. */
+  private final TokenStream tokenStream;
 
   /** The test file we're reading. */
   private final TestableFile testableFile;
@@ -101,12 +100,12 @@ public class TestPlanGenerator extends SethBaseVisitor
 
   /**
    * Constructor.
-   * @param parser The parser we're using to parse the test file.
+   * @param tokenStream The stream of tokens that the test file was parsed from.
    * @param testableFile The test file we're reading.
    */
-  public TestPlanGenerator(SethParser parser, TestableFile testableFile, List<TestableFile> callStack, TestContext testContext, List<TestAnnotationInfo> testsToAnnotate)
+  public TestPlanGenerator(TokenStream tokenStream, TestableFile testableFile, List<TestableFile> callStack, TestContext testContext, List<TestAnnotationInfo> testsToAnnotate)
   {
-    this.parser = parser;
+    this.tokenStream = tokenStream;
     this.testableFile = testableFile;
     this.callStack = callStack;
     this.testContext = testContext;
@@ -118,17 +117,17 @@ public class TestPlanGenerator extends SethBaseVisitor
 
   /**
    * Constructor.
-   * @param parser The parser we're using to parse the test file.
+   * @param tokenStream The stream of tokens that the test file was parsed from.
    * @param testableFile The test file we're reading.
    */
-  public TestPlanGenerator(SethParser parser,
+  public TestPlanGenerator(TokenStream tokenStream,
                            TestableFile testableFile,
                            List<TestableFile> callStack,
                            TestContext testContext,
                            Deque<List<Operation>> currentOpQueueStack,
                            List<TestAnnotationInfo> testsToAnnotate)
   {
-    this.parser = parser;
+    this.tokenStream = tokenStream;
     this.testableFile = testableFile;
     this.callStack = callStack;
     this.testContext = testContext;
@@ -237,7 +236,6 @@ public class TestPlanGenerator extends SethBaseVisitor
     // immediately before it that are not on the default token channel (0). This will include
     // any comments and whitespace, and allow us to save the statement string that the user
     // typed in.
-    TokenStream tokenStream = parser.getTokenStream();
     Token startToken = getStartTokenIncludingHiddenToken(ctx.getStart());
     Token stopToken  = (ctx.sethStatement() != null ? ctx.sethStatement().getStop() : ctx.serverStatement().getStop());
     String statementText = tokenStream.getText(startToken, stopToken);
@@ -443,11 +441,40 @@ public class TestPlanGenerator extends SethBaseVisitor
       throw new SethSystemException("Unhandled time unit.");
     }
 
+    long intervalNs = 0;
+
+    if (ctx.rate != null) {
+      long rate = convertToLong(ctx.rate);
+
+      if (rate <= 0) {
+        final String msg = "Loop rate must be positive: " + rate;
+        throw semanticException(testableFile, ctx.rate.getLine(), ctx.rate.getCharPositionInLine(),
+                                opMetadata.getDescription(), msg);
+      }
+
+      Duration ratePeriod;
+
+      if (ctx.rateHour != null) {
+        ratePeriod = Duration.ofHours(1);
+
+      } else if (ctx.rateMinute != null) {
+        ratePeriod = Duration.ofMinutes(1);
+
+      } else if (ctx.rateSecond != null) {
+        ratePeriod = Duration.ofSeconds(1);
+
+      } else {
+        throw new SethSystemException("Unhandled rate unit.");
+      }
+
+      intervalNs = Math.max(1, ratePeriod.toNanos() / rate);
+    }
+
     Plan loopPlan = planStack.pop();
     currentOpQueueStack.pop();
 
     ExpectedResult expectedResult = new DontCareExpectedResult(opMetadata, testContext, options);
-    Operation op = new TimedLoopOp(opMetadata, expectedResult, duration.toMillis(), loopPlan.getTestOperations());
+    Operation op = new TimedLoopOp(opMetadata, expectedResult, duration.toMillis(), intervalNs, loopPlan.getTestOperations());
     currentOpQueueStack.peek().add(op);
 
     return null;
@@ -470,6 +497,38 @@ public class TestPlanGenerator extends SethBaseVisitor
                               opMetadataStack.peek().getDescription(), msg);
     }
 
+    long rampMs = 0;
+
+    if (ctx.rampCount != null) {
+      long rampCount = convertToLong(ctx.rampCount);
+
+      if (rampCount < 0) {
+        final String msg = "Ramp time must be positive: " + rampCount;
+        throw semanticException(testableFile, ctx.rampCount.getLine(), ctx.rampCount.getCharPositionInLine(),
+                                opMetadataStack.peek().getDescription(), msg);
+      }
+
+      Duration ramp;
+
+      if (ctx.HOURS() != null) {
+        ramp = Duration.ofHours(rampCount);
+
+      } else if (ctx.MINUTES() != null) {
+        ramp = Duration.ofMinutes(rampCount);
+
+      } else if (ctx.SECONDS() != null) {
+        ramp = Duration.ofSeconds(rampCount);
+
+      } else if (ctx.MILLISECONDS() != null) {
+        ramp = Duration.ofMillis(rampCount);
+
+      } else {
+        throw new SethSystemException("Unhandled time unit.");
+      }
+
+      rampMs = ramp.toMillis();
+    }
+
     // Rewrite the operation description so it doesn't contain all the thread operations.
     OperationMetadata opMetadata = opMetadataStack.pop();
     String desc = opMetadata.getDescription();
@@ -480,7 +539,7 @@ public class TestPlanGenerator extends SethBaseVisitor
     currentOpQueueStack.pop();
 
     ExpectedResult expectedResult = new DontCareExpectedResult(newOpMetadata, testContext, options);
-    Operation op = new CreateThreadOp(newOpMetadata, expectedResult, numThreads, threadPlan);
+    Operation op = new CreateThreadOp(newOpMetadata, expectedResult, numThreads, rampMs, threadPlan);
     currentOpQueueStack.peek().add(op);
 
     return null;
@@ -518,6 +577,69 @@ public class TestPlanGenerator extends SethBaseVisitor
     return null;
   }
 
+  @Override
+  public Void visitMixStatement(SethParser.MixStatementContext ctx)
+  {
+    // Rewrite the operation description so it doesn't contain all the branch operations.
+    OperationMetadata originalOpMetadata = opMetadataStack.pop();
+    String desc = originalOpMetadata.getDescription();
+    desc = desc.substring(0, desc.indexOf('{') + 1) + " ... }";
+    OperationMetadata newOpMetadata = originalOpMetadata.rewriteWith(desc);
+
+    Long seed = null;
+
+    if (ctx.seed != null) {
+      seed = convertToLong(ctx.seed);
+    }
+
+    List<MixOp.Branch> branches = new ArrayList<>();
+    long totalWeight = 0;
+
+    for (SethParser.MixBranchContext branchCtx : ctx.mixBranch()) {
+      long weight = convertToLong(branchCtx.weight);
+
+      if (weight <= 0) {
+        final String msg = "Mix weight must be positive: " + weight;
+        throw semanticException(testableFile, branchCtx.weight.getLine(), branchCtx.weight.getCharPositionInLine(),
+                                newOpMetadata.getDescription(), msg);
+      }
+
+      try {
+        totalWeight = Math.addExact(totalWeight, weight);
+
+      } catch (ArithmeticException e) {
+        final String msg = "The total of the mix weights must be no more than " + Long.MAX_VALUE + ".";
+        throw semanticException(testableFile, branchCtx.weight.getLine(), branchCtx.weight.getCharPositionInLine(),
+                                newOpMetadata.getDescription(), msg);
+      }
+
+      // Create a new plan for the operations of the branch to be put into and push it onto the stack.
+      List<Operation> branchOps = new LinkedList<>();
+      List<Operation> cleanupOps = new LinkedList<>();
+      Plan plan = new Plan(testableFile, branchOps, cleanupOps);
+
+      planStack.push(plan);
+      currentOpQueueStack.push(branchOps);
+
+      visit(branchCtx.statement());
+
+      planStack.pop();
+      currentOpQueueStack.pop();
+
+      String branchDesc = tokenStream.getText(branchCtx.getStart(), branchCtx.getStop());
+      OperationMetadata branchMetadata = new OperationMetadata(branchDesc, testableFile, branchCtx.getStart().getLine(),
+                                                               newOpMetadata.getPhase());
+      ExpectedResult branchExpectedResult = new DontCareExpectedResult(branchMetadata, testContext, options);
+      branches.add(new MixOp.Branch(branchMetadata, branchExpectedResult, weight, branchOps));
+    }
+
+    ExpectedResult expectedResult = new DontCareExpectedResult(newOpMetadata, testContext, options);
+    Operation op = new MixOp(newOpMetadata, expectedResult, branches, seed);
+    currentOpQueueStack.peek().add(op);
+
+    return null;
+  }
+
   @Override
   public Void visitSleepStatement(SethParser.SleepStatementContext ctx)
   {
@@ -592,7 +714,18 @@ public class TestPlanGenerator extends SethBaseVisitor
     visitChildren(ctx);
 
     for (SethParser.OptKeyContext keyCtx : ctx.optKey()) {
-      String key = (keyCtx.ID() != null ? keyCtx.ID().getText() : cleanString(keyCtx.STR().getSymbol()));
+      String key;
+
+      if (keyCtx.ID() != null) {
+        key = keyCtx.ID().getText();
+
+      } else if (keyCtx.nonReservedWord() != null) {
+        key = keyCtx.nonReservedWord().getText();
+
+      } else {
+        key = cleanString(keyCtx.STR().getSymbol());
+      }
+
       keys.add(key);
     }
 
@@ -659,7 +792,7 @@ public class TestPlanGenerator extends SethBaseVisitor
     visitChildren(ctx);
 
     for (SethParser.VarNameContext varNameCtx : ctx.varName()) {
-      String varName = varNameCtx.ID().getText();
+      String varName = (varNameCtx.ID() != null ? varNameCtx.ID().getText() : varNameCtx.getText());
       varNames.add(varName);
     }
 
@@ -932,12 +1065,12 @@ public class TestPlanGenerator extends SethBaseVisitor
     if (rowData != null && rowData.size() > MAX_EXPECTED_ROWS) {
       // Too big. Let's only show the first x rows.
       SethParser.RowDataContext endContext = rowData.get(MAX_EXPECTED_ROWS);
-      currentExpectedResultDesc = parser.getTokenStream().getText(ctx.getStart(), endContext.getStop()) +
+      currentExpectedResultDesc = tokenStream.getText(ctx.getStart(), endContext.getStop()) +
                                   "\n...and " + (rowData.size() - MAX_EXPECTED_ROWS) + " more rows.";
 
     } else {
       // Just get the text, it should be small enough.
-      currentExpectedResultDesc = parser.getTokenStream().getText(ctx.getStart(), ctx.getStop());
+      currentExpectedResultDesc = tokenStream.getText(ctx.getStart(), ctx.getStop());
     }
 
     if (testContext.getCommandLineArgs().recordResults) {
@@ -993,6 +1126,9 @@ public class TestPlanGenerator extends SethBaseVisitor
     } else if (ctx.optKey().STR() != null) {
       key = cleanString(ctx.optKey().STR().getSymbol());
 
+    } else if (ctx.optKey().nonReservedWord() != null) {
+      key = ctx.optKey().nonReservedWord().getText();
+
     } else {
       throw new IllegalStateException();
     }
@@ -1047,7 +1183,7 @@ public class TestPlanGenerator extends SethBaseVisitor
     ArrayList<Object> oldColumnVals = this.columnVals;  // backup
     this.columnVals = new ArrayList<Object>(1);
 
-    String varName = ctx.varName().ID().getText();
+    String varName;
 
     if (ctx.varName().ID() != null) {
       varName = ctx.varName().ID().getText();
@@ -1055,6 +1191,9 @@ public class TestPlanGenerator extends SethBaseVisitor
     } else if (ctx.varName().VARIABLE_ID() != null) {
       varName = cleanVariableRefs(ctx.varName().VARIABLE_ID().getSymbol());
 
+    } else if (ctx.varName().nonReservedWord() != null) {
+      varName = ctx.varName().nonReservedWord().getText();
+
     } else {
       throw new IllegalStateException();
     }
@@ -1737,6 +1876,9 @@ public class TestPlanGenerator extends SethBaseVisitor
     } else if (ctx.VARIABLE_ID() != null) {
       val = cleanVariableRefs(ctx.VARIABLE_ID().getSymbol());
 
+    } else if (ctx.nonReservedWord() != null) {
+      val = ctx.nonReservedWord().getText();
+
     } else {
       throw new IllegalStateException();
     }
@@ -2145,7 +2287,6 @@ public class TestPlanGenerator extends SethBaseVisitor
    */
   private Token getStartTokenIncludingHiddenToken(Token startToken)
   {
-    TokenStream tokenStream = parser.getTokenStream();
     int index = startToken.getTokenIndex() - 1;
 
     while(index >= 0) {
@@ -2,20 +2,15 @@
 
 package com.rapidsdata.seth.plan;
 
+import com.rapidsdata.seth.CommandLineArgs;
 import com.rapidsdata.seth.TestableFile;
 import com.rapidsdata.seth.contexts.TestContext;
 import com.rapidsdata.seth.exceptions.*;
-import com.rapidsdata.seth.parser.SethLexer;
-import com.rapidsdata.seth.parser.SethParser;
 import com.rapidsdata.seth.plan.annotated.TestAnnotationInfo;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.tree.ParseTree;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Deque;
 import java.util.List;
 
@@ -50,23 +45,20 @@ public class TestPlanner
       throw new FileNotFoundException("File not found: " + testableFile.describePath());
     }
 
-    String contents = testableFile.contents();
-    SethLexer lexer = new SethLexer(new ANTLRInputStream(contents));
-    SethParser parser = new SethParser(new CommonTokenStream(lexer));
-    parser.setErrorHandler(new ErrorHandler(testableFile));
-
-    // Parse the contents of the file.
-    ParseTree tree;
+    // Parse the contents of the file. Included files are often referenced by many tests,
+    // so they are parsed once and shared from the parse cache.
+    boolean isIncluded = !callStack.isEmpty();
     Plan plan;
 
     try {
-      tree = parser.testFile(); // This will typically throw SyntaxExceptions.
+      ParseCache.ParsedFile parsedFile = ParseCache.parse(testableFile, ParseCache.Rule.TEST_FILE, isIncluded);
+                                                           // This will typically throw SyntaxExceptions.
 
       // Now that we've parsed the statement into a ParseTree we now need to build
       // the list of Operations. We use the visitor pattern for walking the ParseTree.
-      TestPlanGenerator generator = new TestPlanGenerator(parser, testableFile, callStack, testContext, testsToAnnotate);
+      TestPlanGenerator generator = new TestPlanGenerator(parsedFile.getTokenStream(), testableFile, callStack, testContext, testsToAnnotate);
 
-      plan = generator.generatePlanFor(tree); // This will typically throw SemanticExceptions,
+      plan = generator.generatePlanFor(parsedFile.getTree()); // This will typically throw SemanticExceptions,
                                           // but can also throw SyntaxExceptions from included files
                                           // or even a FileNotFoundException for an included path.
 
@@ -87,6 +79,14 @@ public class TestPlanner
       }
     }
 
+    // Batch runs of DML commands, once the whole test file and its included files have been planned.
+    // Batching is not used with --nostop, which needs each command to fail independently.
+    CommandLineArgs args = testContext.getCommandLineArgs();
+
+    if (!isIncluded && args != null && args.batchDml > 1 && !args.nostop) {
+      new DmlBatcher(args.batchDml).batch(plan);
+    }
+
     return plan;
   }
 
@@ -109,24 +109,19 @@ public class TestPlanner
       throw new FileNotFoundException("File not found: " + resultFile.describePath());
     }
 
-    String contents = resultFile.contents();
-
-    SethLexer lexer = new SethLexer(new ANTLRInputStream(contents));
-    SethParser parser = new SethParser(new CommonTokenStream(lexer));
-    parser.setErrorHandler(new ErrorHandler(resultFile));
-
-    // Parse the contents of the file.
-    ParseTree tree;
+    // Parse the contents of the file. Result files are always referenced from another file,
+    // so they are shared from the parse cache.
     ExpectedResult er;
 
     try {
-      tree = parser.expectedResult(); // This will typically throw SyntaxExceptions.
+      ParseCache.ParsedFile parsedFile = ParseCache.parse(resultFile, ParseCache.Rule.EXPECTED_RESULT, true);
+                                                           // This will typically throw SyntaxExceptions.
 
       // Now that we've parsed the statement into a ParseTree we now need to build
       // the list of Operations. We use the visitor pattern for walking the ParseTree.
-      TestPlanGenerator generator = new TestPlanGenerator(parser, resultFile, callStack, testContext, currentOpQueueStack, testsToAnnotate);
+      TestPlanGenerator generator = new TestPlanGenerator(parsedFile.getTokenStream(), resultFile, callStack, testContext, currentOpQueueStack, testsToAnnotate);
 
-      er = generator.generateExpectedResultFor(tree); // This will typically throw SemanticExceptions,
+      er = generator.generateExpectedResultFor(parsedFile.getTree()); // This will typically throw SemanticExceptions,
                                                       // but can also throw SyntaxExceptions from included files
                                                       // or even a FileNotFoundException for an included path.
 
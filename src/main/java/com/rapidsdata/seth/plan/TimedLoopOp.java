@@ -4,32 +4,57 @@ package com.rapidsdata.seth.plan;
 
 import com.rapidsdata.seth.contexts.ExecutionContext;
 import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.latency.LatencyHistogram;
+import com.rapidsdata.seth.latency.LatencyRecorder;
 import com.rapidsdata.seth.logging.TestLogger;
 import com.rapidsdata.seth.plan.expectedResults.ExpectedResult;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * An operation that runs sub-operations in a loop for a given period of time.
+ *
+ * By default the loop is closed: each iteration starts as soon as the previous one finishes. If a
+ * rate is given then the loop is open: the iterations are scheduled to start at a fixed interval,
+ * and an iteration that is scheduled to start while an earlier one is still running starts late,
+ * as soon as the earlier ones have finished. The response time of each iteration is measured from
+ * when it was scheduled to start rather than when it actually started, so a slow server shows up
+ * as queueing in the response times instead of as a lower rate (i.e. coordinated omission is
+ * corrected for).
  */
 public class TimedLoopOp extends Operation
 {
   /** How long to run the loop for, in milliseconds. */
   private final long durationMs;
 
+  /** The interval between the scheduled starts of each iteration, in nanoseconds, or 0 to run the iterations back to back. */
+  private final long intervalNs;
+
   /** The list of operations to run. */
   private final List<Operation> operations;
 
+  /** An iteration that starts more than this long after it was scheduled to is counted as late. */
+  private static final long LATE_THRESHOLD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /** The longest time to wait for the next iteration before checking whether to stop testing. */
+  private static final long MAX_PARK_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
   /**
    * Constructor
    * @param metadata The metadata about where this operation came from in the test file.
    * @param durationMs How long to run the loop for, in milliseconds.
+   * @param intervalNs The interval between the scheduled starts of each iteration, in nanoseconds,
+   *                   or 0 to run the iterations back to back.
    * @param operations The list of operations to run.
    */
-  public TimedLoopOp(OperationMetadata metadata, ExpectedResult expectedResult, long durationMs, List<Operation> operations)
+  public TimedLoopOp(OperationMetadata metadata, ExpectedResult expectedResult, long durationMs,
+                     long intervalNs, List<Operation> operations)
   {
     super(metadata, expectedResult);
     this.durationMs = durationMs;
+    this.intervalNs = intervalNs;
     this.operations = operations;
   }
 
@@ -41,7 +66,16 @@ public class TimedLoopOp extends Operation
   @Override
   public Operation rewriteWith(ExpectedResult expectedResult)
   {
-    return new TimedLoopOp(this.metadata, expectedResult, this.durationMs, this.operations);
+    return new TimedLoopOp(this.metadata, expectedResult, this.durationMs, this.intervalNs, this.operations);
+  }
+
+  /**
+   * Returns the list of operations to run.
+   * @return the list of operations to run.
+   */
+  List<Operation> getOperations()
+  {
+    return operations;
   }
 
   /**
@@ -53,6 +87,11 @@ public class TimedLoopOp extends Operation
   @Override
   public void execute(ExecutionContext xContext) throws FailureException
   {
+    if (intervalNs > 0) {
+      executeAtRate(xContext);
+      return;
+    }
+
     final TestLogger logger = xContext.getLogger();
     long count = 0;
 
@@ -87,4 +126,116 @@ public class TimedLoopOp extends Operation
       xContext.accumulateTestSteps(count);
     }
   }
+
+  /**
+   * Executes the loop with the iterations scheduled to start at a fixed interval.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @throws FailureException if an error occurs during the execution.
+   */
+  private void executeAtRate(ExecutionContext xContext) throws FailureException
+  {
+    final TestLogger logger = xContext.getLogger();
+    final LatencyRecorder latencyRecorder = xContext.getLatencyRecorder();
+    final LatencyHistogram responseHistogram = new LatencyHistogram();
+    long count = 0;
+    long numLate = 0;
+    long maxStartDelayNs = 0;
+
+    final long startNs = System.nanoTime();
+    final long durationNs = TimeUnit.MILLISECONDS.toNanos(durationMs);
+    final long numScheduled = (durationNs + intervalNs - 1) / intervalNs;
+    long numDispatched = 0;
+
+    try {
+
+      while (numDispatched < numScheduled) {
+        final long scheduledNs = startNs + numDispatched * intervalNs;
+
+        if (!waitUntil(xContext, scheduledNs)) {
+          return;
+        }
+
+        final long actualStartNs = System.nanoTime();
+
+        // If we have fallen so far behind that the loop should already have finished then the
+        // iterations that are left are missed rather than started late.
+        if (actualStartNs - startNs >= durationNs) {
+          break;
+        }
+
+        for (Operation op : operations) {
+          // Check if a failure occurred in another thread and we have to stop running the test.
+          if (!xContext.continueTesting()) {
+            return;
+          }
+
+          logger.testStepExecuting(op.getTestFile(), op.toString(), op.getLine());
+          ++count;
+
+          try {
+            op.execute(xContext);
+
+          } catch (FailureException e) {
+            xContext.markAsFailed(e);
+            return;
+          }
+        }
+
+        final long startDelayNs = actualStartNs - scheduledNs;
+        final long responseNs = System.nanoTime() - scheduledNs;
+
+        ++numDispatched;
+        responseHistogram.record(responseNs);
+        maxStartDelayNs = Math.max(maxStartDelayNs, startDelayNs);
+
+        if (startDelayNs > LATE_THRESHOLD_NS) {
+          ++numLate;
+        }
+
+        if (latencyRecorder != null) {
+          latencyRecorder.recordScheduled(this, responseNs, startDelayNs);
+        }
+      }
+
+      logger.log(String.format("Loop on line %d ran %d of %d scheduled iterations at %.1f per second: " +
+                               "%d missed, %d started late (max %s late). Response time p50 %s, p99 %s, max %s.",
+                               getLine(), numDispatched, numScheduled, TimeUnit.SECONDS.toNanos(1) / (double) intervalNs,
+                               numScheduled - numDispatched, numLate, nanosToMillis(maxStartDelayNs),
+                               nanosToMillis(responseHistogram.getValueAtPercentile(50.0d)),
+                               nanosToMillis(responseHistogram.getValueAtPercentile(99.0d)),
+                               nanosToMillis(responseHistogram.getMaxValue())));
+
+      expectedResult.assertActualAsSuccess(xContext, null);
+
+    } finally {
+      // Accumulate the number of operation steps we executed.
+      xContext.accumulateTestSteps(count);
+    }
+  }
+
+  /**
+   * Waits until the given time, or until testing should stop.
+   * @param xContext The execution context, which encapsulates any necessary parameters.
+   * @param deadlineNs the value of System.nanoTime() to wait until.
+   * @return true if the time was reached, or false if testing should stop.
+   */
+  private static boolean waitUntil(ExecutionContext xContext, long deadlineNs)
+  {
+    long remainingNs;
+
+    while ((remainingNs = deadlineNs - System.nanoTime()) > 0) {
+      if (!xContext.continueTesting()) {
+        return false;
+      }
+
+      LockSupport.parkNanos(Math.min(remainingNs, MAX_PARK_NS));
+    }
+
+    return true;
+  }
+
+  private static String nanosToMillis(long nanos)
+  {
+    return String.format("%.3f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
 }
@@ -0,0 +1,443 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan.expectedResults;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * A buffer holding the values of the current row of a ResultSet, so that comparing the row to
+ * many expected rows (and describing it afterwards) only reads each value from the driver once.
+ *
+ * Values are read lazily, the first time they are asked for in a particular form, and are then
+ * kept until the cursor is moved with next(). Primitive values are kept in primitive slots and
+ * the null state of each column is kept in a bitmap, so reading a row doesn't allocate anything
+ * beyond what the driver itself allocates.
+ *
+ * The ResultSet must only be moved through this class, otherwise the buffer will be stale.
+ * This class is not thread safe.
+ */
+public class ActualRow
+{
+  // The forms in which a column value has been read for the current row.
+  private static final int NULL_KNOWN     = 1;
+  private static final int OBJECT         = 1 << 1;
+  private static final int LONG           = 1 << 2;
+  private static final int BOOLEAN        = 1 << 3;
+  private static final int DOUBLE         = 1 << 4;
+  private static final int STRING         = 1 << 5;
+  private static final int DECIMAL        = 1 << 6;
+  private static final int SQL_DATE       = 1 << 7;
+  private static final int LOCAL_DATE     = 1 << 8;
+  private static final int SQL_TIME       = 1 << 9;
+  private static final int LOCAL_TIME     = 1 << 10;
+  private static final int SQL_TIMESTAMP  = 1 << 11;
+  private static final int LOCAL_DATETIME = 1 << 12;
+  private static final int INTERVAL       = 1 << 13;
+
+  /** All of the forms that share the refSlots array. Only one of them can be held at a time. */
+  private static final int REF_FORMS = DECIMAL | SQL_DATE | LOCAL_DATE | SQL_TIME | LOCAL_TIME |
+                                       SQL_TIMESTAMP | LOCAL_DATETIME | INTERVAL;
+
+  private final ResultSet rs;
+  private final ResultSetMetaData rsmd;
+  private final int columnCount;
+
+  /** The JDBC type of each column (0-based). */
+  private final int[] columnTypes;
+
+  /**
+   * For each column (0-based), whether the value can be read with getObject(i, LocalDate.class)
+   * or getObject(i, LocalDateTime.class) instead of going via java.sql.Date or java.sql.Timestamp.
+   */
+  private final boolean[] typedTemporalAccess;
+
+  /** For each column (0-based), whether the column is an interval type that we know how to parse. */
+  private final boolean[] isIntervalColumn;
+
+  /** For each column (0-based), the forms in which the value has been read for the current row. */
+  private final int[] decoded;
+
+  /** A bit for each column (0-based) that is set if the value of the current row is null. */
+  private final long[] nullBits;
+
+  /** A bit for each column (0-based) holding the value read with getBoolean(). */
+  private final long[] booleanBits;
+
+  private final long[] longSlots;
+  private final double[] doubleSlots;
+  private final Object[] objectSlots;
+  private final String[] stringSlots;
+  private final Object[] refSlots;
+
+  /**
+   * Constructor
+   * @param rs The ResultSet whose rows are to be buffered.
+   * @throws SQLException
+   */
+  public ActualRow(ResultSet rs) throws SQLException
+  {
+    this.rs          = rs;
+    this.rsmd        = rs.getMetaData();
+    this.columnCount = rsmd.getColumnCount();
+
+    this.columnTypes         = new int[columnCount];
+    this.typedTemporalAccess = new boolean[columnCount];
+    this.isIntervalColumn    = new boolean[columnCount];
+
+    for (int i = 0; i < columnCount; i++) {
+      columnTypes[i]         = rsmd.getColumnType(i + 1);
+      typedTemporalAccess[i] = (columnTypes[i] == Types.DATE || columnTypes[i] == Types.TIMESTAMP);
+      isIntervalColumn[i]    = ComparableInterval.isIntervalColumn(rsmd, i + 1);
+    }
+
+    int numWords = (columnCount + 63) / 64;
+
+    this.decoded     = new int[columnCount];
+    this.nullBits    = new long[numWords];
+    this.booleanBits = new long[numWords];
+    this.longSlots   = new long[columnCount];
+    this.doubleSlots = new double[columnCount];
+    this.objectSlots = new Object[columnCount];
+    this.stringSlots = new String[columnCount];
+    this.refSlots    = new Object[columnCount];
+  }
+
+  /**
+   * Moves the cursor of the ResultSet to the next row.
+   * @return true if the new current row is valid; false if there are no more rows.
+   * @throws SQLException
+   */
+  public boolean next() throws SQLException
+  {
+    Arrays.fill(decoded, 0);
+    return rs.next();
+  }
+
+  /**
+   * Returns the underlying ResultSet.
+   * @return the underlying ResultSet.
+   */
+  public ResultSet getResultSet()
+  {
+    return rs;
+  }
+
+  /**
+   * Returns the metadata of the underlying ResultSet.
+   * @return the metadata of the underlying ResultSet.
+   */
+  public ResultSetMetaData getMetaData()
+  {
+    return rsmd;
+  }
+
+  /**
+   * Returns the number of columns in the row.
+   * @return the number of columns in the row.
+   */
+  public int getColumnCount()
+  {
+    return columnCount;
+  }
+
+  /**
+   * Returns the JDBC type of a column.
+   * @param colIndex The 1-based index of the column.
+   * @return the JDBC type of a column.
+   */
+  public int getColumnType(int colIndex)
+  {
+    return columnTypes[colIndex - 1];
+  }
+
+  /**
+   * Returns true if the value of a column in the current row is null.
+   * @param colIndex The 1-based index of the column.
+   * @return true if the value of a column in the current row is null.
+   * @throws SQLException
+   */
+  public boolean isNull(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & NULL_KNOWN) == 0) {
+      getObject(colIndex);
+    }
+
+    return (nullBits[i >>> 6] & (1L << i)) != 0;
+  }
+
+  public Object getObject(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & OBJECT) == 0) {
+      objectSlots[i] = rs.getObject(colIndex);
+      setDecoded(i, OBJECT);
+    }
+
+    return objectSlots[i];
+  }
+
+  public long getLong(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & LONG) == 0) {
+      longSlots[i] = rs.getLong(colIndex);
+      setDecoded(i, LONG);
+    }
+
+    return longSlots[i];
+  }
+
+  public boolean getBoolean(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & BOOLEAN) == 0) {
+      if (rs.getBoolean(colIndex)) {
+        booleanBits[i >>> 6] |= (1L << i);
+      } else {
+        booleanBits[i >>> 6] &= ~(1L << i);
+      }
+
+      setDecoded(i, BOOLEAN);
+    }
+
+    return (booleanBits[i >>> 6] & (1L << i)) != 0;
+  }
+
+  public double getDouble(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & DOUBLE) == 0) {
+      doubleSlots[i] = rs.getDouble(colIndex);
+      setDecoded(i, DOUBLE);
+    }
+
+    return doubleSlots[i];
+  }
+
+  public String getString(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & STRING) == 0) {
+      stringSlots[i] = rs.getString(colIndex);
+      setDecoded(i, STRING);
+    }
+
+    return stringSlots[i];
+  }
+
+  public BigDecimal getBigDecimal(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & DECIMAL) == 0) {
+      setRef(i, DECIMAL, rs.getBigDecimal(colIndex));
+    }
+
+    return (BigDecimal) refSlots[i];
+  }
+
+  public Date getDate(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & SQL_DATE) == 0) {
+      setRef(i, SQL_DATE, rs.getDate(colIndex));
+    }
+
+    return (Date) refSlots[i];
+  }
+
+  public Time getTime(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & SQL_TIME) == 0) {
+      setRef(i, SQL_TIME, rs.getTime(colIndex));
+    }
+
+    return (Time) refSlots[i];
+  }
+
+  public Timestamp getTimestamp(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & SQL_TIMESTAMP) == 0) {
+      setRef(i, SQL_TIMESTAMP, rs.getTimestamp(colIndex));
+    }
+
+    return (Timestamp) refSlots[i];
+  }
+
+  /**
+   * Returns the value of a column of the current row as a LocalDate, or null if the value is null.
+   * @param colIndex The 1-based index of the column.
+   * @return the value of a column of the current row as a LocalDate, or null if the value is null.
+   * @throws SQLException
+   */
+  public LocalDate getLocalDate(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & LOCAL_DATE) == 0) {
+      LocalDate value = null;
+      boolean gotValue = false;
+
+      if (typedTemporalAccess[i]) {
+        try {
+          value = rs.getObject(colIndex, LocalDate.class);
+          gotValue = true;
+
+        } catch (SQLException e) {
+          // The driver doesn't support JDBC 4.2 conversions. Don't try it again.
+          typedTemporalAccess[i] = false;
+        }
+      }
+
+      if (!gotValue) {
+        Date date = rs.getDate(colIndex);
+        value = (date == null ? null : date.toLocalDate());
+      }
+
+      setRef(i, LOCAL_DATE, value);
+    }
+
+    return (LocalDate) refSlots[i];
+  }
+
+  /**
+   * Returns the value of a column of the current row as a LocalDateTime, or null if the value is null.
+   * @param colIndex The 1-based index of the column.
+   * @return the value of a column of the current row as a LocalDateTime, or null if the value is null.
+   * @throws SQLException
+   */
+  public LocalDateTime getLocalDateTime(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & LOCAL_DATETIME) == 0) {
+      LocalDateTime value = null;
+      boolean gotValue = false;
+
+      if (typedTemporalAccess[i]) {
+        try {
+          value = rs.getObject(colIndex, LocalDateTime.class);
+          gotValue = true;
+
+        } catch (SQLException e) {
+          // The driver doesn't support JDBC 4.2 conversions. Don't try it again.
+          typedTemporalAccess[i] = false;
+        }
+      }
+
+      if (!gotValue) {
+        Timestamp tsp = rs.getTimestamp(colIndex);
+        value = (tsp == null ? null : tsp.toLocalDateTime());
+      }
+
+      setRef(i, LOCAL_DATETIME, value);
+    }
+
+    return (LocalDateTime) refSlots[i];
+  }
+
+  /**
+   * Returns the value of a column of the current row as a LocalTime, or null if the value is null.
+   * @param colIndex The 1-based index of the column.
+   * @return the value of a column of the current row as a LocalTime, or null if the value is null.
+   * @throws SQLException
+   */
+  public LocalTime getLocalTime(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & LOCAL_TIME) == 0) {
+      Object obj = getObject(colIndex);
+      LocalTime value;
+
+      if (obj == null) {
+        value = null;
+
+      } else if (obj instanceof LocalTime) {
+        // Special case, to support time with fractional seconds.
+        value = (LocalTime) obj;
+
+      } else {
+        // normal case
+        Time time = rs.getTime(colIndex);
+        value = (time == null ? null : time.toLocalTime());
+      }
+
+      // The null state is already known from reading the value with getObject().
+      refSlots[i] = value;
+      decoded[i] = (decoded[i] & ~REF_FORMS) | LOCAL_TIME;
+    }
+
+    return (LocalTime) refSlots[i];
+  }
+
+  /**
+   * Returns the value of a column of the current row as a ComparableInterval, or null if the value
+   * is null, is not an interval or cannot be parsed.
+   * @param colIndex The 1-based index of the column.
+   * @return the value of a column of the current row as a ComparableInterval, or null.
+   * @throws SQLException
+   */
+  public ComparableInterval getInterval(int colIndex) throws SQLException
+  {
+    int i = colIndex - 1;
+
+    if ((decoded[i] & INTERVAL) == 0) {
+      ComparableInterval value = null;
+
+      if (isIntervalColumn[i] && !isNull(colIndex)) {
+        value = ComparableInterval.fromIntervalColumn(rs, colIndex);
+      }
+
+      // The null state is already known, or is irrelevant if this isn't an interval column.
+      refSlots[i] = value;
+      decoded[i] = (decoded[i] & ~REF_FORMS) | INTERVAL;
+    }
+
+    return (ComparableInterval) refSlots[i];
+  }
+
+  private void setRef(int i, int form, Object value) throws SQLException
+  {
+    refSlots[i] = value;
+    decoded[i] &= ~REF_FORMS;
+    setDecoded(i, form);
+  }
+
+  /**
+   * Marks a column as having been read in the given form, and records whether the value was null.
+   */
+  private void setDecoded(int i, int form) throws SQLException
+  {
+    if (rs.wasNull()) {
+      nullBits[i >>> 6] |= (1L << i);
+    } else {
+      nullBits[i >>> 6] &= ~(1L << i);
+    }
+
+    decoded[i] |= form | NULL_KNOWN;
+  }
+}
@@ -197,15 +197,41 @@ public class ComparableInterval
   public static ComparableInterval fromResultSet(ResultSet rs, int columnIdx)
   {
     try {
-      ResultSetMetaData rsmd = rs.getMetaData();
-
-      boolean isIndexType = rsmd.getColumnType(columnIdx) == Types.JAVA_OBJECT &&
-                            rsmd.getColumnTypeName(columnIdx).toLowerCase().startsWith("interval");
-
-      if (!isIndexType) {
+      if (!isIntervalColumn(rs.getMetaData(), columnIdx)) {
         return null;
       }
 
+    } catch (SQLException e) {
+      return null;
+    }
+
+    return fromIntervalColumn(rs, columnIdx);
+  }
+
+  /**
+   * Returns true if the column of the resultset is an interval type that we know how to parse.
+   * @param rsmd The metadata of the resultset.
+   * @param columnIdx The 1-based index of the column.
+   * @return true if the column of the resultset is an interval type that we know how to parse.
+   * @throws SQLException
+   */
+  public static boolean isIntervalColumn(ResultSetMetaData rsmd, int columnIdx) throws SQLException
+  {
+    return rsmd.getColumnType(columnIdx) == Types.JAVA_OBJECT &&
+           rsmd.getColumnTypeName(columnIdx).toLowerCase().startsWith("interval");
+  }
+
+  /**
+   * Tries to create a ComparableInterval from a column of the current row of the resultSet
+   * that is already known to be an interval column (see isIntervalColumn()).
+   * Returns null if it cannot create one.
+   * @param rs
+   * @param columnIdx
+   * @return a ComparableInterval instance, or null
+   */
+  public static ComparableInterval fromIntervalColumn(ResultSet rs, int columnIdx)
+  {
+    try {
       // Try parsing an SE interval
       ComparableInterval actualInterval = ComparableInterval.parseIntervalLiteral(rs.getString(columnIdx));
       if (actualInterval != null) {
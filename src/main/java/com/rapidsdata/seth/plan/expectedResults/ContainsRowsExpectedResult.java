@@ -13,7 +13,6 @@ import com.rapidsdata.seth.plan.OperationMetadata;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -30,6 +29,8 @@ public class ContainsRowsExpectedResult extends RowDataExpectedResult
    */
   private final boolean invert;
 
+  /** An index over the expected rows so that actual rows can be matched without scanning them all. */
+  private final ExpectedRowIndex expectedRowIndex;
 
   /**
    * Constructor
@@ -49,6 +50,7 @@ public class ContainsRowsExpectedResult extends RowDataExpectedResult
     super(ExpectedResultType.CONTAINS_ROWS, description, opMetadata, appContext, options, expectedRows, null);
 
     this.invert = invert;
+    this.expectedRowIndex = new ExpectedRowIndex(expectedRows);
   }
 
   /**
@@ -89,28 +91,29 @@ public class ContainsRowsExpectedResult extends RowDataExpectedResult
   {
     LinkedList<Options> optionList = Options.listOf(xContext.getAppOptions(), xContext.getTestOptions(), resultOptions);
 
-    try {
-      // For each actual row
-      while (rs.next()) {
+    // No expected rows are ever removed, so this matcher only serves as a lookup.
+    ExpectedRowIndex.Matcher matcher = expectedRowIndex.newMatcher();
 
-        Iterator<ExpectedRow> erIterator = expectedRows.iterator();
+    try {
+      // Compile the comparison of expected rows to the rows of this resultset.
+      ActualRow row = new ActualRow(rs);
+      RowComparator comparator = RowComparator.compile(row, optionList);
 
-        while (erIterator.hasNext()) {
-          ExpectedRow expectedRow = erIterator.next();
+      // For each actual row
+      while (row.next()) {
 
-          // Compare the current actual row to this expected row.
-          if (expectedRow.compareTo(rs, optionList)) {
-            // The current row matches one that we shouldn't have.
+        // Compare the current actual row to the expected rows.
+        if (matcher.find(comparator) >= 0) {
+          // The current row matches one that we shouldn't have.
 
-            final String commentDesc = "A row was returned that matches one on the 'DOES NOT CONTAIN' expected row list.";
+          final String commentDesc = "A row was returned that matches one on the 'DOES NOT CONTAIN' expected row list.";
 
-            AlignmentInfo alignment = ResultSetFormatter.alignRows(rs, expectedRows);
+          AlignmentInfo alignment = ResultSetFormatter.alignRows(row, expectedRows);
 
-            final String actualResultDesc = ResultSetFormatter.describeCurrentRow(rs, alignment.columnWidths);
-            final String expectedRowDesc  = ResultSetFormatter.describeExpectedRows(expectedRows, alignment, MAX_NUM_ROWS_TO_SHOW);
+          final String actualResultDesc = ResultSetFormatter.describeCurrentRow(row, alignment.columnWidths);
+          final String expectedRowDesc  = ResultSetFormatter.describeExpectedRows(expectedRows, alignment, MAX_NUM_ROWS_TO_SHOW);
 
-            throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, expectedRowDesc);
-          }
+          throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, expectedRowDesc);
         }
       }
 
@@ -126,41 +129,28 @@ public class ContainsRowsExpectedResult extends RowDataExpectedResult
   private void assertActualContainsAllExpectedRows(ExecutionContext xContext, ResultSet rs) throws FailureException
   {
     try {
-      // Make a copy of the expected row list so we can remove entries from it as we match them.
-      List<ExpectedRow> remainingExpectedRows = new LinkedList<ExpectedRow>(expectedRows);
+      // Keep track of which expected rows have been matched so far.
+      ExpectedRowIndex.Matcher matcher = expectedRowIndex.newMatcher();
 
       LinkedList<Options> optionList = Options.listOf(xContext.getAppOptions(), xContext.getTestOptions(), resultOptions);
 
+      // Compile the comparison of expected rows to the rows of this resultset.
+      ActualRow row = new ActualRow(rs);
+      RowComparator comparator = RowComparator.compile(row, optionList);
+
       // For each actual row
-      while (rs.next()) {
+      while (row.next()) {
 
         // Have we run out of expected rows to compare actual rows to?
-        if (remainingExpectedRows.isEmpty()) {
+        if (matcher.isExhausted()) {
           // We found the expected subset and can ignore all the other rows.
           return;
         }
 
-        Iterator<ExpectedRow> erIterator = remainingExpectedRows.iterator();
-
-        // For each expected row remaining
-        while (erIterator.hasNext()) {
-          ExpectedRow expectedRow = erIterator.next();
-
-          // Compare the current actual row to this expected row.
-          if (expectedRow.compareTo(rs, optionList)) {
-            // We got a match! Remove this expected row.
-            erIterator.remove();
-
-            if (remainingExpectedRows.isEmpty()) {
-              // We found all expected rows
-              return;
-            }
-
-            // Still more expected rows to find.
-            break;
-          }
-
-          // No match for this expected and actual row. Try another expected row.
+        // Find the first remaining expected row that matches the current actual row, and remove it.
+        if (matcher.match(comparator) != null && matcher.isExhausted()) {
+          // We found all expected rows
+          return;
         }
 
         // Actual row doesn't match any expected rows. That's ok so long as we find all expected rows.
@@ -169,7 +159,8 @@ public class ContainsRowsExpectedResult extends RowDataExpectedResult
 
 
       // Are there any expected rows left over?
-      if (!remainingExpectedRows.isEmpty()) {
+      if (!matcher.isExhausted()) {
+        List<ExpectedRow> remainingExpectedRows = matcher.remainingRows();
         String commentDesc;
 
         if (remainingExpectedRows.size() == 1) {
@@ -41,326 +41,11 @@ public class ExpectedRow
     return columnDefs;
   }
 
-  /**
-   * Compares the expected row to the row that the cursor is at in the ResultSet parameter.
-   * @param rs The resultset which has the cursor on the current row to be compared.
-   * @param optionList a list of any options on the whole expected result, test file, application, etc.
-   * @return true if the rows compare equally or false if they are different.
-   * @throws SQLException
-   */
-  public boolean compareTo(ResultSet rs, LinkedList<Options> optionList) throws SQLException
+  public List<Object> getColumnValues()
   {
-    ResultSetMetaData rsmd = rs.getMetaData();
-
-    int actualColumnCount = rsmd.getColumnCount();
-    int expectedColumnDefCount = columnDefs.size();
-
-    // If the last column definition is not '...' then the number of expected columns
-    // should equal the number of actual columns.
-    if (columnDefs.get(expectedColumnDefCount - 1) != IGNORE_REMAINING &&
-        actualColumnCount != expectedColumnDefCount) {
-      return false;
-    }
-
-    int precisionRounding = Options.NO_ROUNDING;
-    int decimalRounding = Options.NO_ROUNDING;
-
-    // Compare column by column
-    int defIndex = -1;
-
-    while (++defIndex < columnDefs.size()) {
-
-      ExpectedColumnType type = columnDefs.get(defIndex);
-      int rsIndex = defIndex + 1; // rs.getXXXX() uses 1-based indexes.
-
-      if (type == IGNORE_REMAINING) {
-        // We don't care about comparing this column or any other remaining ones.
-        break;
-      }
-
-      if (defIndex + 1 > actualColumnCount) {
-        // We received less actual columns than we were expecting.
-        return false;
-      }
-
-      Object expectedVal = columnValues.get(defIndex);
-      Object actualVal = rs.getObject(rsIndex);
-      boolean wasNull = rs.wasNull();
-      String actualStr;
-
-      switch (type) {
-        case DONT_CARE:
-          // We don't care about comparing this column.
-          continue;
-
-        case NULL:
-          if (!wasNull) {
-            return false;
-          }
-          break;
-
-        case BOOLEAN:
-          boolean expectedBoolean = (boolean) expectedVal;
-          if (wasNull || expectedBoolean != rs.getBoolean(rsIndex)) {
-            return false;
-          }
-          break;
-
-        case INTEGER:
-          long expectedLong = (long) expectedVal;
-          if (wasNull || expectedLong != rs.getLong(rsIndex)) {
-            return false;
-          }
-          break;
-
-        case DECIMAL:
-          BigDecimal expectedDecimal = (BigDecimal) expectedVal;
-          optionList.addFirst(rowOptions);
-          precisionRounding = Options.getPrecisionRounding(optionList);
-          decimalRounding = Options.getDecimalRounding(optionList);
-          optionList.removeFirst();
-
-          if (wasNull) {
-            return false;
-
-          } else if (precisionRounding != Options.NO_ROUNDING &&
-                     !equalPrecisionRounded(expectedDecimal, rs.getBigDecimal(rsIndex), precisionRounding)) {
-            return false;
-
-          } else if (!equalDecimalRounded(expectedDecimal, rs.getBigDecimal(rsIndex), decimalRounding)) {
-            return false;
-          }
-          break;
-
-        case FLOAT:
-          // Compare floating points up to the requested level of precision
-          optionList.addFirst(rowOptions);
-          precisionRounding = Options.getPrecisionRounding(optionList);
-          decimalRounding = Options.getDecimalRounding(optionList);
-          optionList.removeFirst();
-
-          if (wasNull) {
-            return false;
-
-          } else if (precisionRounding != Options.NO_ROUNDING &&
-                    !equalPrecisionRounded((ComparableFloat) expectedVal, rs.getDouble(rsIndex), precisionRounding)) {
-            return false;
-
-          } else if (!equalDecimalRounded((ComparableFloat) expectedVal, rs.getDouble(rsIndex), decimalRounding)) {
-            return false;
-          }
-          break;
-
-        case STRING:
-          String expectedString = (String) expectedVal;
-          if (wasNull) {
-            return false;
-          }
-
-          // Any row options override result options.
-          optionList.addFirst(rowOptions);
-          boolean ignoreCase = Options.getIgnoreCase(optionList);
-          boolean ignoreTrailingWhitespace = Options.getIgnoreTrailingWhitespace(optionList);
-          optionList.removeFirst();
-
-          actualStr = rs.getString(rsIndex);
-
-          if (ignoreTrailingWhitespace) {
-            actualStr = actualStr.stripTrailing();
-
-            // The expected string may also end in whitespace,
-            // so it needs to be stripped as well
-            expectedString = expectedString.stripTrailing();
-          }
-
-          if ( (ignoreCase && !expectedString.equalsIgnoreCase(actualStr)) ||
-               (!ignoreCase && !expectedString.equals(actualStr)) ) {
-            return false;
-          }
-          break;
-
-        case DATE:
-          LocalDate expectedDate = (LocalDate) expectedVal;
-
-          if (wasNull) {
-            return false;
-          }
-
-          LocalDate actualDate = rs.getDate(rsIndex).toLocalDate();
-          if (!expectedDate.equals(actualDate)) {
-            return false;
-          }
-          break;
-
-        case TIME:
-          LocalTime expectedTime = (LocalTime) expectedVal;
-
-          if (wasNull) {
-            return false;
-          }
-
-          LocalTime actualTime;
-
-          // Special case, to support time with fractional seconds.
-          if (rs.getObject(rsIndex) instanceof LocalTime) {
-            actualTime = (LocalTime) rs.getObject(rsIndex);
-          } else {
-            // normal case
-            actualTime = rs.getTime(rsIndex).toLocalTime();
-          }
-
-          if (!expectedTime.equals(actualTime)) {
-            return false;
-          }
-          break;
-
-        case TIMESTAMP:
-          LocalDateTime expectedTsp = (LocalDateTime) expectedVal;
-
-          if (wasNull) {
-            return false;
-          }
-
-          LocalDateTime actualTsp = rs.getTimestamp(rsIndex).toLocalDateTime();
-          if (!expectedTsp.equals(actualTsp)) {
-            return false;
-          }
-          break;
-
-        case INTERVAL:
-          ComparableInterval expectedInterval = (ComparableInterval) expectedVal;
-
-          if (wasNull) {
-            return false;
-          }
-
-          ComparableInterval actualInterval = ComparableInterval.fromResultSet(rs, rsIndex);
-          if (actualInterval == null) {
-            return false;
-          }
-
-          if( !expectedInterval.comparesTo(actualInterval)) {
-            return false;
-          }
-          break;  // Matched
-
-        case IGNORE_REMAINING: // Falls through
-        default:
-          throw new SethSystemException("Unhandled column type: " + type.name());
-      }
-
-    }
-
-    return true;
+    return columnValues;
   }
 
-
-  private boolean equalPrecisionRounded(BigDecimal x, BigDecimal y, int precisionRound)
-  {
-    if (precisionRound != Options.NO_ROUNDING) {
-      MathContext mc = new MathContext(precisionRound, RoundingMode.DOWN);
-
-      x = x.round(mc);
-      y = y.round(mc);
-    }
-
-    return x.equals(y);
-  }
-
-  private boolean equalDecimalRounded(BigDecimal x, BigDecimal y, int decimalRound)
-  {
-    if (decimalRound != Options.NO_ROUNDING) {
-
-      x = x.setScale(decimalRound, RoundingMode.HALF_UP);
-      y = y.setScale(decimalRound, RoundingMode.HALF_UP);
-    }
-
-    return x.equals(y);
-  }
-
-  private boolean equalPrecisionRounded(ComparableFloat cf, double y, int precisionRound)
-  {
-    if (precisionRound == Options.NO_ROUNDING) {
-      // This will look very odd, but there is a reason for it, and it is
-      // mainly because Java does some weird stuff with floating point numbers
-      // it cannot represent precisely.
-      //
-      // e.g. the float value 0.12 cannot be represented exactly. But if we print it
-      // to a string then no matter how many digits are used it will always print as
-      // "0.12". But if we take the same float value and convert it to a BigDecimal
-      // then we get the value 0.119999999999999995559...
-      //
-      // This means that we cannot compare an expected and actual value of 0.12
-      // unless we loosen the expected value to 0.1 or use some rounding.
-      // So to be user friendly we first convert the float to a string (with the
-      // implied rounding that occurs) and then convert that string to a BigDecimal
-      // for comparison. We are in control how many digits we use when we print
-      // the float to the string, whereas if we simply asked the JDBC driver for
-      // the string representation of this value (the previous implementation)
-      // then we are at the whims of the JDBC driver.
-      String strVal = String.format("%.40e", y);
-
-      return cf.comparesTo(strVal);
-    }
-
-    MathContext mc = new MathContext(precisionRound, RoundingMode.DOWN);
-
-    BigDecimal bdx = new BigDecimal(cf.toString(), mc);
-    BigDecimal bdy = new BigDecimal(y, mc);
-
-    return bdx.equals(bdy);
-  }
-
-  private boolean equalDecimalRounded(ComparableFloat cf, double y, int decimalRound)
-  {
-    if (decimalRound == Options.NO_ROUNDING) {
-      // This will look very odd, but there is a reason for it, and it is
-      // mainly because Java does some weird stuff with floating point numbers
-      // it cannot represent precisely.
-      //
-      // e.g. the float value 0.12 cannot be represented exactly. But if we print it
-      // to a string then no matter how many digits are used it will always print as
-      // "0.12". But if we take the same float value and convert it to a BigDecimal
-      // then we get the value 0.119999999999999995559...
-      //
-      // This means that we cannot compare an expected and actual value of 0.12
-      // unless we loosen the expected value to 0.1 or use some rounding.
-      // So to be user friendly we first convert the float to a string (with the
-      // implied rounding that occurs) and then convert that string to a BigDecimal
-      // for comparison. We are in control how many digits we use when we print
-      // the float to the string, whereas if we simply asked the JDBC driver for
-      // the string representation of this value (the previous implementation)
-      // then we are at the whims of the JDBC driver.
-      String strVal = String.format("%.40e", y);
-
-      return cf.comparesTo(strVal);
-    }
-
-
-    BigDecimal bdx = new BigDecimal(cf.toString());
-    BigDecimal bdy = new BigDecimal(y);
-
-    bdx = bdx.setScale(decimalRound);
-    bdy = bdy.setScale(decimalRound);
-
-    return bdx.equals(bdy);
-  }
-
-  private boolean equalPrecisionRounded(ComparableFloat cf, String y, int round)
-  {
-    if (round == Options.NO_ROUNDING) {
-      return cf.comparesTo(y);
-    }
-
-    MathContext mc = new MathContext(round, RoundingMode.DOWN);
-
-    BigDecimal bdx = new BigDecimal(cf.toString(), mc);
-    BigDecimal bdy = new BigDecimal(y, mc);
-
-    return bdx.equals(bdy);
-  }
-
-
   public Options getRowOptions()
   {
     return rowOptions;
@@ -716,17 +401,15 @@ public class ExpectedRow
 
   /**
    * Calculates a score that represents the distance that this expected row is from an actual row in the ResultSet.
-   * @param rs the ResultSet that is pointing to an actual row.
+   * @param row the buffer holding the actual row.
    * @return the score. A perfect score would be 0.
    */
-  private double distanceFrom(ResultSet rs, int precisionRounding, int decimalRounding) throws SQLException
+  private double distanceFrom(ActualRow row, int precisionRounding, int decimalRounding) throws SQLException
   {
     // The accumulated score for a final geometric mean result.
     double cumulativeScore = 1f;
 
-    ResultSetMetaData rsmd = rs.getMetaData();
-
-    int actualColumnCount = rsmd.getColumnCount();
+    int actualColumnCount = row.getColumnCount();
     int expectedColumnDefCount = columnDefs.size();
 
     // If the last column definition is not '...' then the number of expected columns
@@ -743,7 +426,7 @@ public class ExpectedRow
     while (++defIndex < columnDefs.size()) {
 
       ExpectedColumnType type = columnDefs.get(defIndex);
-      int rsIndex = defIndex + 1; // rs.getXXXX() uses 1-based indexes.
+      int rsIndex = defIndex + 1; // row.getXXXX() uses 1-based indexes.
 
       if (type == IGNORE_REMAINING) {
         // We don't care about comparing this column or any other remaining ones.
@@ -758,8 +441,8 @@ public class ExpectedRow
 
 
       Object expectedVal = columnValues.get(defIndex);
-      Object actualVal = rs.getObject(rsIndex);
-      boolean wasNull = rs.wasNull();
+      Object actualVal = row.getObject(rsIndex);
+      boolean wasNull = row.isNull(rsIndex);
       double columnScore;
 
       switch (type) {
@@ -776,13 +459,13 @@ public class ExpectedRow
         case BOOLEAN:
           boolean expectedBoolean = (boolean) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedBoolean); }
-          else            { columnScore = ERScoring.compare(rs.getBoolean(rsIndex), expectedBoolean); }
+          else            { columnScore = ERScoring.compare(row.getBoolean(rsIndex), expectedBoolean); }
           break;
 
         case INTEGER:
           long expectedLong = (long) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedLong); }
-          else            { columnScore = ERScoring.compare(rs.getLong(rsIndex), expectedLong); }
+          else            { columnScore = ERScoring.compare(row.getLong(rsIndex), expectedLong); }
           break;
 
         case DECIMAL:
@@ -793,17 +476,17 @@ public class ExpectedRow
           } else if (precisionRounding != Options.NO_ROUNDING) {
             // Round the numbers and compare as decimals
             MathContext mc = new MathContext(precisionRounding, RoundingMode.HALF_UP);
-            BigDecimal bd1 = rs.getBigDecimal(rsIndex).round(mc);
+            BigDecimal bd1 = row.getBigDecimal(rsIndex).round(mc);
             BigDecimal bd2 = expectedDecimal.round(mc);
             columnScore = ERScoring.compare(bd1, bd2);
 
           } else if (decimalRounding != Options.NO_ROUNDING) {
-            BigDecimal bd1 = rs.getBigDecimal(rsIndex).setScale(decimalRounding);
+            BigDecimal bd1 = row.getBigDecimal(rsIndex).setScale(decimalRounding);
             BigDecimal bd2 = expectedDecimal.setScale(decimalRounding);
             columnScore = ERScoring.compare(bd1, bd2);
 
           } else {
-            columnScore = ERScoring.compare(rs.getBigDecimal(rsIndex), expectedDecimal);
+            columnScore = ERScoring.compare(row.getBigDecimal(rsIndex), expectedDecimal);
           }
           break;
 
@@ -815,55 +498,51 @@ public class ExpectedRow
           } else if (precisionRounding != Options.NO_ROUNDING) {
             // Round the numbers and compare as decimals
             MathContext mc = new MathContext(precisionRounding, RoundingMode.HALF_UP);
-            BigDecimal bd1 = rs.getBigDecimal(rsIndex).round(mc);
+            BigDecimal bd1 = row.getBigDecimal(rsIndex).round(mc);
             BigDecimal bd2 = cf.toBigDecimal().round(mc);
             columnScore = ERScoring.compare(bd1, bd2);
 
           } else if (decimalRounding != Options.NO_ROUNDING) {
-            BigDecimal bd1 = rs.getBigDecimal(rsIndex).setScale(decimalRounding);
+            BigDecimal bd1 = row.getBigDecimal(rsIndex).setScale(decimalRounding);
             BigDecimal bd2 = cf.toBigDecimal().setScale(decimalRounding);
             columnScore = ERScoring.compare(bd1, bd2);
 
           } else {
-            columnScore = ERScoring.compare(rs.getDouble(rsIndex), cf.toDouble());
+            columnScore = ERScoring.compare(row.getDouble(rsIndex), cf.toDouble());
           }
           break;
 
         case STRING:
           String expectedString = (String) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedString); }
-          else            { columnScore = ERScoring.compare(rs.getString(rsIndex), expectedString); }
+          else            { columnScore = ERScoring.compare(row.getString(rsIndex), expectedString); }
           break;
 
         case DATE:
           LocalDate expectedDate = (LocalDate) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedDate); }
-          else            { columnScore = ERScoring.compare(rs.getDate(rsIndex).toLocalDate(), expectedDate); }
+          else            { columnScore = ERScoring.compare(row.getLocalDate(rsIndex), expectedDate); }
           break;
 
         case TIME:
           LocalTime expectedTime = (LocalTime) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedTime); }
           else            {
-            if (rs.getObject(rsIndex) instanceof LocalTime) {
-              columnScore = ERScoring.compare( (LocalTime)rs.getObject(rsIndex), expectedTime);
-            } else {
-              columnScore = ERScoring.compare(rs.getTime(rsIndex).toLocalTime(), expectedTime);
-            }
+            columnScore = ERScoring.compare(row.getLocalTime(rsIndex), expectedTime);
           }
           break;
 
         case TIMESTAMP:
           LocalDateTime expectedTsp = (LocalDateTime) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedTsp); }
-          else            { columnScore = ERScoring.compare(rs.getTimestamp(rsIndex).toLocalDateTime(), expectedTsp); }
+          else            { columnScore = ERScoring.compare(row.getLocalDateTime(rsIndex), expectedTsp); }
           break;
 
         case INTERVAL:
           ComparableInterval expectedInterval = (ComparableInterval) expectedVal;
           if (wasNull)    { columnScore = ERScoring.compareWithNull(expectedInterval); }
           else {
-            ComparableInterval actualInterval = ComparableInterval.fromResultSet(rs, rsIndex);
+            ComparableInterval actualInterval = row.getInterval(rsIndex);
 
             if (actualInterval == null) {
               // Actual value is not a parseable interval
@@ -901,12 +580,11 @@ public class ExpectedRow
   /**
    * Returns the ExpectedRow that most closely matches the row that the ResultSet argument is currently set at.
    * @param expectedRows the list of ExpectedRows to be compared.
-   * @param rs an actual ResultSet, set at the current row to be compared.
-   * @param optionList the list of options that may apply to this operation.
+   * @param comparator the comparator for the actual ResultSet, which is set at the current row to be compared.
    * @param maxNumRows the maximum number of rows to be returned.
    * @return A list of ScoredExpectedRows that most closely matches the actual row, in descending order.
    */
-  public static List<ScoredExpectedRow> findClosestMatchOf(List<ExpectedRow> expectedRows, ResultSet rs, LinkedList<Options> optionList, int maxNumRows)
+  public static List<ScoredExpectedRow> findClosestMatchOf(List<ExpectedRow> expectedRows, RowComparator comparator, int maxNumRows)
                                                           throws SQLException
   {
     assert (expectedRows.size() > 0);
@@ -921,14 +599,10 @@ public class ExpectedRow
     SortedSet<ScoredExpectedRow> sortedSet = new TreeSet<>();
 
     for (ExpectedRow er : expectedRows) {
-      optionList.addFirst(er.rowOptions);
-      int precisionRounding = Options.getPrecisionRounding(optionList);
-      int decimalRounding = Options.getDecimalRounding(optionList);
-      optionList.removeFirst();
-
+      RowComparator.ResolvedOptions options = comparator.optionsFor(er);
 
       // calculate the Levenstein-like distance of this expected row to the actual row.
-      double score = er.distanceFrom(rs, precisionRounding, decimalRounding);
+      double score = er.distanceFrom(comparator.getRow(), options.precisionRounding, options.decimalRounding);
 
       if (score >= 0f) {
         ScoredExpectedRow scoredExpectedRow = new ScoredExpectedRow(score, i++, er);
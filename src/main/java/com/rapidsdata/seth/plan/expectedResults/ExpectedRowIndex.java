@@ -0,0 +1,600 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan.expectedResults;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hash index over a list of expected rows, allowing an actual row to be matched against
+ * the expected rows without comparing it to every one of them.
+ *
+ * Rows are keyed on their exact-match columns only (NULL, BOOLEAN, INTEGER, STRING, DATE and
+ * TIMESTAMP). The other columns, which are '*', '...' or values that are compared with rounding
+ * (DECIMAL, FLOAT) or with special comparison rules (TIME, INTERVAL), are left out of the key and
+ * are checked by the RowComparator when the candidate rows in a bucket are confirmed. Only rows
+ * that have no exact-match columns at all are kept in a fallback list that is scanned linearly.
+ *
+ * The index is built once when the test file is planned, but options such as ignoreCase can
+ * change while the test is running. So the keys are deliberately coarser than any comparison
+ * mode (strings are case folded and have trailing whitespace removed) and every candidate row
+ * found through the index is confirmed with a RowComparator.
+ *
+ * The index itself is immutable and can be shared between threads. The state of which rows
+ * have been matched is held in a Matcher, of which a new one is needed for each actual result.
+ */
+public class ExpectedRowIndex
+{
+  /** The maximum number of different row shapes that we will build indexes for. */
+  private static final int MAX_SIGNATURES = 16;
+
+  /** The key component used for a column whose actual value is null. */
+  private static final Object NULL_KEY = new Object();
+
+  /** The list of expected rows, in their original order. */
+  private final List<ExpectedRow> expectedRows;
+
+  /** The indexes of each distinct row shape. */
+  private final List<Signature> signatures;
+
+  /** The indexes (into expectedRows) of the rows that could not be indexed, in ascending order. */
+  private final int[] fallbackRows;
+
+  /** The total number of buckets across all signatures. */
+  private final int numBuckets;
+
+  /**
+   * Constructor
+   * @param expectedRows The list of rows to be indexed.
+   */
+  public ExpectedRowIndex(List<ExpectedRow> expectedRows)
+  {
+    this.expectedRows = new ArrayList<>(expectedRows);
+
+    Map<List<ExpectedColumnType>, SignatureBuilder> builders = new HashMap<>();
+    List<SignatureBuilder> builderList = new ArrayList<>();
+    List<Integer> fallbackList = new ArrayList<>();
+    int bucketCount = 0;
+
+    for (int rowIndex = 0; rowIndex < this.expectedRows.size(); rowIndex++) {
+      ExpectedRow er = this.expectedRows.get(rowIndex);
+      List<ExpectedColumnType> columnDefs = er.getColumnDefs();
+
+      if (!hasKeyColumns(columnDefs)) {
+        fallbackList.add(rowIndex);
+        continue;
+      }
+
+      SignatureBuilder builder = builders.get(columnDefs);
+
+      if (builder == null) {
+        if (builders.size() >= MAX_SIGNATURES) {
+          fallbackList.add(rowIndex);
+          continue;
+        }
+
+        builder = new SignatureBuilder(columnDefs);
+        builders.put(columnDefs, builder);
+        builderList.add(builder);
+      }
+
+      bucketCount = builder.add(keyOf(er, builder.keyColumns), rowIndex, bucketCount);
+    }
+
+    this.signatures = new ArrayList<>(builderList.size());
+    for (SignatureBuilder builder : builderList) {
+      this.signatures.add(builder.build());
+    }
+
+    this.fallbackRows = new int[fallbackList.size()];
+    for (int i = 0; i < fallbackRows.length; i++) {
+      fallbackRows[i] = fallbackList.get(i);
+    }
+
+    this.numBuckets = bucketCount;
+  }
+
+  /**
+   * Returns a new matcher that tracks which expected rows have been matched for a single actual result.
+   * @return a new matcher that tracks which expected rows have been matched for a single actual result.
+   */
+  public Matcher newMatcher()
+  {
+    return new Matcher();
+  }
+
+  /**
+   * Returns true if the column type is compared exactly, so that it can be part of the hash key.
+   * @param type The column type.
+   * @return true if the column type is compared exactly.
+   */
+  private static boolean isExactMatch(ExpectedColumnType type)
+  {
+    switch (type) {
+      case NULL:
+      case BOOLEAN:
+      case INTEGER:
+      case STRING:
+      case DATE:
+      case TIMESTAMP:
+        return true;
+
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Returns the positions of the columns of a row that make up its hash key. These are the
+   * exact-match columns that come before any '...', because nothing after it is compared.
+   * @param columnDefs The column types of the expected row.
+   * @return the 0-based positions of the key columns, in ascending order.
+   */
+  private static int[] keyColumnsOf(List<ExpectedColumnType> columnDefs)
+  {
+    List<Integer> keyColumns = new ArrayList<>(columnDefs.size());
+
+    for (int i = 0; i < columnDefs.size() && columnDefs.get(i) != ExpectedColumnType.IGNORE_REMAINING; i++) {
+      if (isExactMatch(columnDefs.get(i))) {
+        keyColumns.add(i);
+      }
+    }
+
+    int[] result = new int[keyColumns.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = keyColumns.get(i);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns true if the row has at least one column that can be part of the hash key.
+   * @param columnDefs The column types of the expected row.
+   * @return true if the row has at least one column that can be part of the hash key.
+   */
+  private static boolean hasKeyColumns(List<ExpectedColumnType> columnDefs)
+  {
+    for (ExpectedColumnType type : columnDefs) {
+      if (type == ExpectedColumnType.IGNORE_REMAINING) {
+        return false;
+      }
+
+      if (isExactMatch(type)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the hash key of an expected row.
+   * @param er The expected row.
+   * @param keyColumns The positions of the columns that make up the key.
+   * @return the hash key of an expected row.
+   */
+  private static RowKey keyOf(ExpectedRow er, int[] keyColumns)
+  {
+    List<ExpectedColumnType> columnDefs = er.getColumnDefs();
+    List<Object> columnValues = er.getColumnValues();
+    Object[] components = new Object[keyColumns.length];
+
+    for (int i = 0; i < components.length; i++) {
+      int column = keyColumns[i];
+
+      switch (columnDefs.get(column)) {
+        case NULL:
+          components[i] = NULL_KEY;
+          break;
+
+        case STRING:
+          components[i] = foldString((String) columnValues.get(column));
+          break;
+
+        default:
+          components[i] = columnValues.get(column);
+          break;
+      }
+    }
+
+    return new RowKey(components);
+  }
+
+  /**
+   * Returns the hash key of the current row of the ResultSet, interpreting the key columns as per
+   * the column types of the signature.
+   * @param row The buffer holding the row of the ResultSet to get the key of.
+   * @param signature The signature whose key is wanted.
+   * @return the hash key of the current row of the ResultSet.
+   * @throws SQLException
+   */
+  private static RowKey keyOf(ActualRow row, Signature signature) throws SQLException
+  {
+    Object[] components = new Object[signature.keyColumns.length];
+
+    for (int i = 0; i < components.length; i++) {
+      int column = signature.keyColumns[i];
+      int rsIndex = column + 1;
+      Object component;
+
+      // Read the typed value first, so that the null check doesn't need another read.
+      switch (signature.columnDefs.get(column)) {
+        case BOOLEAN:
+          component = row.getBoolean(rsIndex);
+          break;
+
+        case INTEGER:
+          component = row.getLong(rsIndex);
+          break;
+
+        case STRING:
+          component = foldString(row.getString(rsIndex));
+          break;
+
+        case DATE:
+          component = row.getLocalDate(rsIndex);
+          break;
+
+        case TIMESTAMP:
+          component = row.getLocalDateTime(rsIndex);
+          break;
+
+        case NULL:  // Falls through
+        default:
+          // A non-null value for a NULL column can never match, but any non-null marker will do.
+          component = Boolean.FALSE;
+          break;
+      }
+
+      components[i] = (component == null || row.isNull(rsIndex) ? NULL_KEY : component);
+    }
+
+    return new RowKey(components);
+  }
+
+  /**
+   * Returns a canonical form of a string such that any two strings that could compare equally
+   * under any combination of the ignoreCase and ignoreTrailingWhitespace options have the same
+   * canonical form.
+   * @param s The string to be canonicalised.
+   * @return the canonical form of the string.
+   */
+  private static String foldString(String s)
+  {
+    if (s == null) {
+      return null;
+    }
+
+    s = s.stripTrailing();
+
+    StringBuilder sb = new StringBuilder(s.length());
+    s.codePoints().forEach(cp -> sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+    return sb.toString();
+  }
+
+
+  /**
+   * A tuple of key components that uses value equality.
+   */
+  private static class RowKey
+  {
+    private final Object[] components;
+    private final int hash;
+
+    private RowKey(Object[] components)
+    {
+      this.components = components;
+      this.hash = Arrays.hashCode(components);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof RowKey)) {
+        return false;
+      }
+
+      RowKey other = (RowKey) o;
+      return hash == other.hash && Arrays.equals(components, other.components);
+    }
+  }
+
+  /**
+   * A set of expected rows that share the same key, in their original order.
+   */
+  private static class Bucket
+  {
+    /** A unique number of this bucket across all signatures. */
+    private final int id;
+
+    /** Indexes into the expectedRows list, in ascending order. */
+    private final int[] rows;
+
+    private Bucket(int id, int[] rows)
+    {
+      this.id = id;
+      this.rows = rows;
+    }
+  }
+
+  /**
+   * The index of all expected rows that have the same column types.
+   */
+  private static class Signature
+  {
+    private final List<ExpectedColumnType> columnDefs;
+    private final int[] keyColumns;
+    private final Map<RowKey, Bucket> buckets;
+
+    /** The number of columns before any '...', which an actual row must have at least. */
+    private final int numComparedColumns;
+
+    /** True if the last column is '...', so an actual row may have more columns than numComparedColumns. */
+    private final boolean ignoresRemaining;
+
+    private Signature(List<ExpectedColumnType> columnDefs, int[] keyColumns, Map<RowKey, Bucket> buckets)
+    {
+      this.columnDefs = columnDefs;
+      this.keyColumns = keyColumns;
+      this.buckets = buckets;
+
+      int firstIgnored = columnDefs.indexOf(ExpectedColumnType.IGNORE_REMAINING);
+      this.numComparedColumns = (firstIgnored < 0 ? columnDefs.size() : firstIgnored);
+      this.ignoresRemaining = (columnDefs.get(columnDefs.size() - 1) == ExpectedColumnType.IGNORE_REMAINING);
+    }
+
+    /**
+     * Returns true if rows of this signature can match an actual row with the given number of columns,
+     * following the same rules as RowComparator.
+     * @param columnCount The number of columns in the actual row.
+     * @return true if rows of this signature can match an actual row with the given number of columns.
+     */
+    private boolean accepts(int columnCount)
+    {
+      return (ignoresRemaining ? columnCount >= numComparedColumns : columnCount == columnDefs.size());
+    }
+  }
+
+  /**
+   * Accumulates the rows of a signature while the index is being built.
+   */
+  private static class SignatureBuilder
+  {
+    private final List<ExpectedColumnType> columnDefs;
+    private final int[] keyColumns;
+    private final Map<RowKey, List<Integer>> rowsByKey = new HashMap<>();
+    private final Map<RowKey, Integer> bucketIds = new HashMap<>();
+
+    private SignatureBuilder(List<ExpectedColumnType> columnDefs)
+    {
+      this.columnDefs = columnDefs;
+      this.keyColumns = keyColumnsOf(columnDefs);
+    }
+
+    /**
+     * Adds a row to this signature.
+     * @param key The key of the row.
+     * @param rowIndex The index of the row in the expectedRows list.
+     * @param nextBucketId The next free bucket id.
+     * @return the next free bucket id after adding this row.
+     */
+    private int add(RowKey key, int rowIndex, int nextBucketId)
+    {
+      List<Integer> rows = rowsByKey.get(key);
+
+      if (rows == null) {
+        rows = new ArrayList<>(1);
+        rowsByKey.put(key, rows);
+        bucketIds.put(key, nextBucketId++);
+      }
+
+      rows.add(rowIndex);
+      return nextBucketId;
+    }
+
+    private Signature build()
+    {
+      Map<RowKey, Bucket> buckets = new HashMap<>(rowsByKey.size() * 4 / 3 + 1);
+
+      for (Map.Entry<RowKey, List<Integer>> entry : rowsByKey.entrySet()) {
+        List<Integer> rowList = entry.getValue();
+        int[] rows = new int[rowList.size()];
+
+        for (int i = 0; i < rows.length; i++) {
+          rows[i] = rowList.get(i);
+        }
+
+        buckets.put(entry.getKey(), new Bucket(bucketIds.get(entry.getKey()), rows));
+      }
+
+      return new Signature(columnDefs, keyColumns, buckets);
+    }
+  }
+
+
+  /**
+   * Tracks which expected rows have been matched while comparing the rows of one actual result.
+   * A matcher always finds the same expected row that a linear scan of the remaining expected
+   * rows (in their original order) would find.
+   */
+  public class Matcher
+  {
+    /** Which expected rows have already been matched. */
+    private final boolean[] matched = new boolean[expectedRows.size()];
+
+    /** For each bucket, the position of the first row in it that may not yet have been matched. */
+    private final int[] bucketHeads = new int[numBuckets];
+
+    /** The position in fallbackRows of the first row that may not yet have been matched. */
+    private int fallbackHead = 0;
+
+    /** The number of expected rows that have not been matched. */
+    private int numRemaining = expectedRows.size();
+
+    private Matcher()
+    {
+    }
+
+    /**
+     * Returns true if all expected rows have been matched.
+     * @return true if all expected rows have been matched.
+     */
+    public boolean isExhausted()
+    {
+      return numRemaining == 0;
+    }
+
+    /**
+     * Returns the number of expected rows that have not been matched.
+     * @return the number of expected rows that have not been matched.
+     */
+    public int numRemaining()
+    {
+      return numRemaining;
+    }
+
+    /**
+     * Finds the first unmatched expected row that matches the current row of the ResultSet.
+     * The expected row is not marked as matched.
+     * @param comparator The comparator for the ResultSet, which is positioned on the row to be matched.
+     * @return the index of the expected row that matches, or -1 if there is no match.
+     * @throws SQLException
+     */
+    public int find(RowComparator comparator) throws SQLException
+    {
+      int best = Integer.MAX_VALUE;
+
+      for (Signature signature : signatures) {
+        if (!signature.accepts(comparator.getColumnCount())) {
+          continue;
+        }
+
+        int candidate = findInSignature(signature, comparator, best);
+        if (candidate < best) {
+          best = candidate;
+        }
+      }
+
+      // Any fallback row that comes before the best indexed row takes precedence over it.
+      for (int i = fallbackHead; i < fallbackRows.length && fallbackRows[i] < best; i++) {
+        int rowIndex = fallbackRows[i];
+
+        if (!matched[rowIndex] && comparator.matches(expectedRows.get(rowIndex))) {
+          return rowIndex;
+        }
+      }
+
+      return (best == Integer.MAX_VALUE ? -1 : best);
+    }
+
+    /**
+     * Finds and removes the first unmatched expected row that matches the current row of the ResultSet.
+     * @param comparator The comparator for the ResultSet, which is positioned on the row to be matched.
+     * @return the expected row that matched, or null if there is no match.
+     * @throws SQLException
+     */
+    public ExpectedRow match(RowComparator comparator) throws SQLException
+    {
+      int rowIndex = find(comparator);
+
+      if (rowIndex < 0) {
+        return null;
+      }
+
+      markMatched(rowIndex);
+      return expectedRows.get(rowIndex);
+    }
+
+    /**
+     * Returns the list of expected rows that have not been matched, in their original order.
+     * @return the list of expected rows that have not been matched, in their original order.
+     */
+    public List<ExpectedRow> remainingRows()
+    {
+      List<ExpectedRow> remaining = new ArrayList<>(numRemaining);
+
+      for (int i = 0; i < matched.length; i++) {
+        if (!matched[i]) {
+          remaining.add(expectedRows.get(i));
+        }
+      }
+
+      return remaining;
+    }
+
+    private void markMatched(int rowIndex)
+    {
+      matched[rowIndex] = true;
+      numRemaining--;
+
+      while (fallbackHead < fallbackRows.length && matched[fallbackRows[fallbackHead]]) {
+        fallbackHead++;
+      }
+    }
+
+    /**
+     * Returns the index of the first unmatched row of the signature that matches the current actual row
+     * and comes before the given limit, or Integer.MAX_VALUE if there is none.
+     */
+    private int findInSignature(Signature signature, RowComparator comparator, int limit) throws SQLException
+    {
+      RowKey key;
+
+      try {
+        key = keyOf(comparator.getRow(), signature);
+
+      } catch (SQLException e) {
+        // The actual values can't be read as these types. Compare each row directly so that
+        // we behave exactly as a linear scan would.
+        for (Bucket bucket : signature.buckets.values()) {
+          for (int rowIndex : bucket.rows) {
+            if (rowIndex < limit && !matched[rowIndex] && comparator.matches(expectedRows.get(rowIndex))) {
+              limit = rowIndex;
+              break;
+            }
+          }
+        }
+
+        return limit;
+      }
+
+      Bucket bucket = signature.buckets.get(key);
+      if (bucket == null) {
+        return Integer.MAX_VALUE;
+      }
+
+      int pos = bucketHeads[bucket.id];
+
+      // Skip over the rows at the head of the bucket that have already been matched.
+      while (pos < bucket.rows.length && matched[bucket.rows[pos]]) {
+        pos++;
+      }
+      bucketHeads[bucket.id] = pos;
+
+      for (; pos < bucket.rows.length && bucket.rows[pos] < limit; pos++) {
+        int rowIndex = bucket.rows[pos];
+
+        if (!matched[rowIndex] && comparator.matches(expectedRows.get(rowIndex))) {
+          return rowIndex;
+        }
+      }
+
+      return Integer.MAX_VALUE;
+    }
+  }
+}
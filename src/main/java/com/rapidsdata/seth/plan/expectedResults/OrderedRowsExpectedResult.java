@@ -78,11 +78,15 @@ public class OrderedRowsExpectedResult extends RowDataExpectedResult
 
       LinkedList<Options> optionList = Options.listOf(xContext.getAppOptions(), xContext.getTestOptions(), resultOptions);
 
+      // Compile the comparison of expected rows to the rows of this resultset.
+      ActualRow row = new ActualRow(rs);
+      RowComparator comparator = RowComparator.compile(row, optionList);
+
       int erIndex = -1;
       for (ExpectedRow expectedRow : expectedRows) {
         ++erIndex;
 
-        if (!rs.next()) {
+        if (!row.next()) {
           final String commentDesc = "There are no more actual rows to compare to the expected rows.";
           final String actualResultDesc = "<no remaining rows>";
           final String expectedRowsDesc = ResultSetFormatter.describeExpectedRows(rs.getMetaData(),
@@ -91,14 +95,14 @@ public class OrderedRowsExpectedResult extends RowDataExpectedResult
           throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, expectedRowsDesc);
         }
 
-        if (!expectedRow.compareTo(rs, optionList)) {
+        if (!comparator.matches(expectedRow)) {
           final String commentDesc = "The actual row does not match the expected row.";
 
           List<ExpectedRow> expectedRows = new ArrayList<ExpectedRow>();
           expectedRows.add(expectedRow);
-          AlignmentInfo alignment = ResultSetFormatter.alignRows(rs, expectedRows);
+          AlignmentInfo alignment = ResultSetFormatter.alignRows(row, expectedRows);
 
-          final String actualResultDesc = ResultSetFormatter.describeCurrentRow(rs, alignment.columnWidths);
+          final String actualResultDesc = ResultSetFormatter.describeCurrentRow(row, alignment.columnWidths);
           final String expectedRowDesc  = ResultSetFormatter.describeExpectedRows(expectedRows, alignment, MAX_NUM_ROWS_TO_SHOW);
 
           throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, expectedRowDesc);
@@ -106,9 +110,9 @@ public class OrderedRowsExpectedResult extends RowDataExpectedResult
       }
 
       // Are there more actual rows compared to expected rows?
-      if (rs.next()) {
+      if (row.next()) {
         final String commentDesc = "There are more actual rows than expected rows.";
-        final String actualResultDesc = ResultSetFormatter.describeRemainingActualRows(rs, MAX_NUM_ROWS_TO_SHOW);
+        final String actualResultDesc = ResultSetFormatter.describeRemainingActualRows(row, MAX_NUM_ROWS_TO_SHOW);
         throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, "<no more expected rows>");
       }
 
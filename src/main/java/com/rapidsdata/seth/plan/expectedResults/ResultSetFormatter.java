@@ -18,18 +18,22 @@ public class ResultSetFormatter
 
   public static String describeCurrentRow(ResultSet rs) throws SQLException
   {
-    ResultSetMetaData rsmd = rs.getMetaData();
+    return describeCurrentRow(new ActualRow(rs));
+  }
+
+  public static String describeCurrentRow(ActualRow row) throws SQLException
+  {
     StringBuilder sb = new StringBuilder(1024);
 
     sb.append('(');
 
-    int numColumns = rsmd.getColumnCount();
+    int numColumns = row.getColumnCount();
 
     for (int colIndex = 1; colIndex <= numColumns; colIndex++) {
-      int columnType = rsmd.getColumnType(colIndex);
+      int columnType = row.getColumnType(colIndex);
 
       // check for null first
-      if (rs.getObject(colIndex) == null) {
+      if (row.isNull(colIndex)) {
         sb.append("NULL");
 
       } else {
@@ -40,41 +44,41 @@ public class ResultSetFormatter
           case Types.INTEGER:  // falls through
           case Types.SMALLINT: // falls through
           case Types.TINYINT:
-            sb.append(rs.getLong(colIndex));
+            sb.append(row.getLong(colIndex));
             break;
 
           case Types.BOOLEAN:
-            sb.append(rs.getBoolean(colIndex));
+            sb.append(row.getBoolean(colIndex));
             break;
 
 
           case Types.CHAR:
           case Types.VARCHAR:
             sb.append('\'');
-            sb.append(rs.getString(colIndex).replace("'", "''"));
+            sb.append(row.getString(colIndex).replace("'", "''"));
             sb.append('\'');
             break;
 
           case Types.DATE:
             sb.append("DATE '");
-            sb.append(rs.getDate(colIndex).toString());
+            sb.append(row.getDate(colIndex).toString());
             sb.append("'");
             break;
 
           case Types.DECIMAL:
           case Types.NUMERIC:
-            sb.append(rs.getBigDecimal(colIndex).toPlainString());
+            sb.append(row.getBigDecimal(colIndex).toPlainString());
             break;
 
           case Types.DOUBLE:
           case Types.FLOAT:
           case Types.REAL:
-            sb.append(formatFloat(rs.getDouble(colIndex), 13)); // width of 13 ensures at least 6 decimal digits
+            sb.append(formatFloat(row.getDouble(colIndex), 13)); // width of 13 ensures at least 6 decimal digits
             break;
 
           case Types.JAVA_OBJECT:
           case Types.OTHER:
-            sb.append(rs.getObject(colIndex).toString());
+            sb.append(row.getObject(colIndex).toString());
             break;
 
           case Types.NULL:
@@ -84,10 +88,10 @@ public class ResultSetFormatter
           case Types.TIME:
           case Types.TIME_WITH_TIMEZONE:
             sb.append("TIME '");
-            if (rs.getObject(colIndex) instanceof LocalTime) {
-              sb.append( ((LocalTime) rs.getObject(colIndex)).toString());
+            if (row.getObject(colIndex) instanceof LocalTime) {
+              sb.append( ((LocalTime) row.getObject(colIndex)).toString());
             } else {
-              sb.append(rs.getTime(colIndex).toString());
+              sb.append(row.getTime(colIndex).toString());
             }
             sb.append("'");
             break;
@@ -95,7 +99,7 @@ public class ResultSetFormatter
           case Types.TIMESTAMP:
           case Types.TIMESTAMP_WITH_TIMEZONE:
             sb.append("TIMESTAMP '");
-            sb.append(rs.getTimestamp(colIndex).toString());
+            sb.append(row.getTimestamp(colIndex).toString());
             sb.append("'");
             break;
 
@@ -134,22 +138,21 @@ public class ResultSetFormatter
     return sb.toString();
   }
 
-  public static String describeCurrentRow(ResultSet rs, int[] columnWidths) throws SQLException
+  public static String describeCurrentRow(ActualRow row, int[] columnWidths) throws SQLException
   {
-    ResultSetMetaData rsmd = rs.getMetaData();
     StringBuilder sb = new StringBuilder(1024);
 
     sb.append('(');
 
-    int numColumns = rsmd.getColumnCount();
+    int numColumns = row.getColumnCount();
     String columnVal;
     int padding;
 
     for (int colIndex = 1; colIndex <= numColumns; colIndex++) {
-      int columnType = rsmd.getColumnType(colIndex);
+      int columnType = row.getColumnType(colIndex);
 
       // check for null first
-      if (rs.getObject(colIndex) == null) {
+      if (row.isNull(colIndex)) {
         sb.append("NULL");
 
       } else {
@@ -160,7 +163,7 @@ public class ResultSetFormatter
           case Types.INTEGER:  // falls through
           case Types.SMALLINT: // falls through
           case Types.TINYINT:
-            columnVal = String.valueOf(rs.getLong(colIndex));
+            columnVal = String.valueOf(row.getLong(colIndex));
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             // left padding
@@ -172,7 +175,7 @@ public class ResultSetFormatter
             break;
 
           case Types.BOOLEAN:
-            columnVal = String.valueOf(rs.getBoolean(colIndex));
+            columnVal = String.valueOf(row.getBoolean(colIndex));
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             sb.append(columnVal);
@@ -186,7 +189,7 @@ public class ResultSetFormatter
 
           case Types.CHAR:
           case Types.VARCHAR:
-            columnVal = "'" + rs.getString(colIndex).replace("'", "''") + "'";
+            columnVal = "'" + row.getString(colIndex).replace("'", "''") + "'";
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             sb.append(columnVal);
@@ -198,7 +201,7 @@ public class ResultSetFormatter
             break;
 
           case Types.DATE:
-            columnVal = "DATE '" + rs.getDate(colIndex).toString() + "'";
+            columnVal = "DATE '" + row.getDate(colIndex).toString() + "'";
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             sb.append(columnVal);
@@ -211,7 +214,7 @@ public class ResultSetFormatter
 
           case Types.DECIMAL:
           case Types.NUMERIC:
-            columnVal = rs.getBigDecimal(colIndex).toPlainString();
+            columnVal = row.getBigDecimal(colIndex).toPlainString();
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             // left padding
@@ -225,7 +228,7 @@ public class ResultSetFormatter
           case Types.DOUBLE:
           case Types.FLOAT:
           case Types.REAL:
-            columnVal = formatFloat(rs.getDouble(colIndex), columnWidths[colIndex-1]);
+            columnVal = formatFloat(row.getDouble(colIndex), columnWidths[colIndex-1]);
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             // left padding
@@ -238,7 +241,7 @@ public class ResultSetFormatter
 
           case Types.JAVA_OBJECT:
           case Types.OTHER:
-            columnVal = rs.getObject(colIndex).toString();
+            columnVal = row.getObject(colIndex).toString();
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             sb.append(columnVal);
@@ -263,10 +266,10 @@ public class ResultSetFormatter
 
           case Types.TIME:
           case Types.TIME_WITH_TIMEZONE:
-            if (rs.getObject(colIndex) instanceof LocalTime) {
-              columnVal = "TIME '" + ((LocalTime) rs.getObject(colIndex)).toString() + "'";
+            if (row.getObject(colIndex) instanceof LocalTime) {
+              columnVal = "TIME '" + ((LocalTime) row.getObject(colIndex)).toString() + "'";
             } else {
-              columnVal = "TIME '" + rs.getTime(colIndex).toString() + "'";
+              columnVal = "TIME '" + row.getTime(colIndex).toString() + "'";
             }
             padding = columnWidths[colIndex-1] - columnVal.length();
 
@@ -280,7 +283,7 @@ public class ResultSetFormatter
 
           case Types.TIMESTAMP:
           case Types.TIMESTAMP_WITH_TIMEZONE:
-            columnVal = "TIMESTAMP '" + rs.getTimestamp(colIndex).toString() + "'";
+            columnVal = "TIMESTAMP '" + row.getTimestamp(colIndex).toString() + "'";
             padding = columnWidths[colIndex-1] - columnVal.length();
 
             sb.append(columnVal);
@@ -328,23 +331,22 @@ public class ResultSetFormatter
 
   /**
    * Prints the row data as Strings into an array of string column values.
-   * @param rs
+   * @param actualRow
    * @param row
    * @throws SQLException
    */
-  public static void describeCurrentRow(ResultSet rs, List<String> row) throws SQLException
+  public static void describeCurrentRow(ActualRow actualRow, List<String> row) throws SQLException
   {
     assert(row != null);
 
-    ResultSetMetaData rsmd = rs.getMetaData();
 
-    int numColumns = rsmd.getColumnCount();
+    int numColumns = actualRow.getColumnCount();
 
     for (int colIndex = 1; colIndex <= numColumns; colIndex++) {
-      int columnType = rsmd.getColumnType(colIndex);
+      int columnType = actualRow.getColumnType(colIndex);
 
       // check for null first
-      if (rs.getObject(colIndex) == null) {
+      if (actualRow.isNull(colIndex)) {
         row.add("NULL");
 
       } else {
@@ -355,37 +357,37 @@ public class ResultSetFormatter
           case Types.INTEGER:  // falls through
           case Types.SMALLINT: // falls through
           case Types.TINYINT:
-            row.add(String.valueOf(rs.getLong(colIndex)));
+            row.add(String.valueOf(actualRow.getLong(colIndex)));
             break;
 
           case Types.BOOLEAN:
-            row.add(String.valueOf(rs.getBoolean(colIndex)));
+            row.add(String.valueOf(actualRow.getBoolean(colIndex)));
             break;
 
 
           case Types.CHAR:
           case Types.VARCHAR:
-            row.add('\'' + rs.getString(colIndex).replace("'", "''") + '\'');
+            row.add('\'' + actualRow.getString(colIndex).replace("'", "''") + '\'');
             break;
 
           case Types.DATE:
-            row.add("DATE '" + rs.getDate(colIndex).toString() + "'");
+            row.add("DATE '" + actualRow.getDate(colIndex).toString() + "'");
             break;
 
           case Types.DECIMAL:
           case Types.NUMERIC:
-            row.add(rs.getBigDecimal(colIndex).toPlainString());
+            row.add(actualRow.getBigDecimal(colIndex).toPlainString());
             break;
 
           case Types.DOUBLE:
           case Types.FLOAT:
           case Types.REAL:
-            row.add(formatFloat(rs.getDouble(colIndex), 13)); // width of 13 ensures at least 6 decimal digits
+            row.add(formatFloat(actualRow.getDouble(colIndex), 13)); // width of 13 ensures at least 6 decimal digits
             break;
 
           case Types.JAVA_OBJECT:
           case Types.OTHER:
-            row.add(rs.getObject(colIndex).toString());
+            row.add(actualRow.getObject(colIndex).toString());
             break;
 
           case Types.NULL:
@@ -394,16 +396,16 @@ public class ResultSetFormatter
 
           case Types.TIME:
           case Types.TIME_WITH_TIMEZONE:
-            if (rs.getObject(colIndex) instanceof LocalTime) {
-              row.add("TIME '" + ((LocalTime) rs.getObject(colIndex)).toString() + "'");
+            if (actualRow.getObject(colIndex) instanceof LocalTime) {
+              row.add("TIME '" + ((LocalTime) actualRow.getObject(colIndex)).toString() + "'");
             } else {
-              row.add("TIME '" + rs.getTime(colIndex).toString() + "'");
+              row.add("TIME '" + actualRow.getTime(colIndex).toString() + "'");
             }
             break;
 
           case Types.TIMESTAMP:
           case Types.TIMESTAMP_WITH_TIMEZONE:
-            row.add("TIMESTAMP '" + rs.getTimestamp(colIndex).toString() + "'");
+            row.add("TIMESTAMP '" + actualRow.getTimestamp(colIndex).toString() + "'");
             break;
 
 
@@ -437,13 +439,12 @@ public class ResultSetFormatter
    * Updates the columnWidths array if the width of any column in the current row is greater than
    * the corresponding value in the columnWidths array.
    * @param columnWidths
-   * @param rs
+   * @param row
    * @throws SQLException
    */
-  public static void updateColumnWidths(int[] columnWidths, ResultSet rs) throws SQLException
+  public static void updateColumnWidths(int[] columnWidths, ActualRow row) throws SQLException
   {
-    ResultSetMetaData rsmd = rs.getMetaData();
-    int numRsColumns = rsmd.getColumnCount();
+    int numRsColumns = row.getColumnCount();
     assert (columnWidths.length >= numRsColumns);
 
     for (int colIndex = 1; colIndex <= columnWidths.length; colIndex++) {
@@ -454,12 +455,12 @@ public class ResultSetFormatter
         continue;
       }
 
-      int columnType = rsmd.getColumnType(colIndex);
+      int columnType = row.getColumnType(colIndex);
 
       int actualColumnWidth = 0;
 
       // check for null first
-      if (rs.getObject(colIndex) == null && rs.wasNull()) {
+      if (row.isNull(colIndex)) {
         actualColumnWidth = 4; // "NULL"
 
       } else {
@@ -470,37 +471,37 @@ public class ResultSetFormatter
           case Types.INTEGER:  // falls through
           case Types.SMALLINT: // falls through
           case Types.TINYINT:
-            actualColumnWidth = String.valueOf(rs.getLong(colIndex)).length();
+            actualColumnWidth = String.valueOf(row.getLong(colIndex)).length();
             break;
 
           case Types.BOOLEAN:
-            actualColumnWidth = String.valueOf(rs.getBoolean(colIndex)).length();
+            actualColumnWidth = String.valueOf(row.getBoolean(colIndex)).length();
             break;
 
 
           case Types.CHAR:
           case Types.VARCHAR:
-            actualColumnWidth = ("'" + rs.getString(colIndex).replace("'", "''") + "'").length();
+            actualColumnWidth = ("'" + row.getString(colIndex).replace("'", "''") + "'").length();
             break;
 
           case Types.DATE:
-            actualColumnWidth = rs.getDate(colIndex).toString().length() + 7; // for "DATE '" + "'"
+            actualColumnWidth = row.getDate(colIndex).toString().length() + 7; // for "DATE '" + "'"
             break;
 
           case Types.DECIMAL:
           case Types.NUMERIC:
-            actualColumnWidth = rs.getBigDecimal(colIndex).toPlainString().length();
+            actualColumnWidth = row.getBigDecimal(colIndex).toPlainString().length();
             break;
 
           case Types.DOUBLE:
           case Types.FLOAT:
           case Types.REAL:
-            actualColumnWidth = String.format("%e", rs.getDouble(colIndex)).length();
+            actualColumnWidth = String.format("%e", row.getDouble(colIndex)).length();
             break;
 
           case Types.JAVA_OBJECT:
           case Types.OTHER:
-            actualColumnWidth = rs.getObject(colIndex).toString().length();
+            actualColumnWidth = row.getObject(colIndex).toString().length();
             break;
 
           case Types.NULL:
@@ -509,16 +510,16 @@ public class ResultSetFormatter
 
           case Types.TIME:
           case Types.TIME_WITH_TIMEZONE:
-            if (rs.getObject(colIndex) instanceof LocalTime) {
-              actualColumnWidth = rs.getObject(colIndex).toString().length() + 7; // for "TIME '" + "'"
+            if (row.getObject(colIndex) instanceof LocalTime) {
+              actualColumnWidth = row.getObject(colIndex).toString().length() + 7; // for "TIME '" + "'"
             } else {
-              actualColumnWidth = rs.getTime(colIndex).toString().length() + 7; // for "TIME '" + "'"
+              actualColumnWidth = row.getTime(colIndex).toString().length() + 7; // for "TIME '" + "'"
             }
             break;
 
           case Types.TIMESTAMP:
           case Types.TIMESTAMP_WITH_TIMEZONE:
-            actualColumnWidth = rs.getTimestamp(colIndex).toString().length() + 12; // for "TIMESTAMP '" + "'"
+            actualColumnWidth = row.getTimestamp(colIndex).toString().length() + 12; // for "TIMESTAMP '" + "'"
             break;
 
 
@@ -658,34 +659,34 @@ public class ResultSetFormatter
 
   /**
    * Returns a nicely formatted and aligned string that describes the remaining rows in a ResultSet.
-   * @param rs The ResultSet that is currently pointing to a row.
+   * @param actualRow The buffer over the ResultSet, which is currently pointing to a row.
    * @param maxRowsToShow to maximum number of rows to describe.
    * @return
    * @throws SQLException
    */
-  protected static String describeRemainingActualRows(ResultSet rs, int maxRowsToShow) throws SQLException
+  protected static String describeRemainingActualRows(ActualRow actualRow, int maxRowsToShow) throws SQLException
   {
     List<List<String>> rows = new ArrayList<>();
 
-    int columnCount = rs.getMetaData().getColumnCount();
+    int columnCount = actualRow.getColumnCount();
 
     // Extract all of the column values for each row so that we can align them before printing them.
     do {
       List<String> row = new ArrayList<String>(columnCount);
-      ResultSetFormatter.describeCurrentRow(rs, row);
+      ResultSetFormatter.describeCurrentRow(actualRow, row);
 
       rows.add(row);
 
-    } while (rows.size() < maxRowsToShow && rs.next() );
+    } while (rows.size() < maxRowsToShow && actualRow.next() );
 
     // How many more actual rows are there?
     int totalRowCount = rows.size();
-    while (rs.next()) {
+    while (actualRow.next()) {
       ++totalRowCount;
     }
 
     // Get the alignment data for all of the rows.
-    AlignmentInfo alignmentInfo = alignAllRows(rs.getMetaData(), rows);
+    AlignmentInfo alignmentInfo = alignAllRows(actualRow.getMetaData(), rows);
 
     // Nicely print the rows
     StringBuilder sb = new StringBuilder(1024);
@@ -735,12 +736,12 @@ public class ResultSetFormatter
 
   /**
    * Works out the column widths and padding locations for each row for a set of expected rows and a single actual row.
-   * @param rs thw result set pointing to the actual row to be aligned with the expected rows.
+   * @param row the buffer holding the actual row to be aligned with the expected rows.
    * @param expectedRows the set of expected rows to be aligned.
    * @return a container of alignment data.
    * @throws SQLException
    */
-  public static AlignmentInfo alignRows(ResultSet rs, List<? extends ExpectedRow> expectedRows) throws SQLException
+  public static AlignmentInfo alignRows(ActualRow row, List<? extends ExpectedRow> expectedRows) throws SQLException
   {
     // Determine the number of columns as the maximum of actual result columns and
     // expected row columns.
@@ -750,8 +751,8 @@ public class ResultSetFormatter
       numColumns = Math.max(numColumns, er.getColumnDefs().size());
     }
 
-    if (rs != null) {
-      numColumns = Math.max(numColumns, rs.getMetaData().getColumnCount());
+    if (row != null) {
+      numColumns = Math.max(numColumns, row.getColumnCount());
     }
 
     // Let's align the actual row and the expected rows. First we need to get the widths of them
@@ -762,8 +763,8 @@ public class ResultSetFormatter
     }
 
     // Update the widths based on the actual row...
-    if (rs != null) {
-      ResultSetFormatter.updateColumnWidths(columnWidths, rs);
+    if (row != null) {
+      ResultSetFormatter.updateColumnWidths(columnWidths, row);
     }
 
     int optionWidth = 0;
@@ -779,9 +780,9 @@ public class ResultSetFormatter
     // Also get the desired padding position of each column so that we know how to pad things like nulls.
     boolean[] padLefts = null;
 
-    if (rs != null) {
+    if (row != null) {
       padLefts = new boolean[columnWidths.length];
-      ResultSetFormatter.updatePadLeft(padLefts, rs.getMetaData());
+      ResultSetFormatter.updatePadLeft(padLefts, row.getMetaData());
     }
 
     return new AlignmentInfo(columnWidths, padLefts, optionWidth);
@@ -0,0 +1,381 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan.expectedResults;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.exceptions.SethSystemException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static com.rapidsdata.seth.plan.expectedResults.ExpectedColumnType.IGNORE_REMAINING;
+
+/**
+ * Compares expected rows to the current row of a ResultSet.
+ *
+ * A comparator is compiled once per ResultSet, so that the work that is the same for every
+ * comparison is only done once: the metadata of the ResultSet is read up front, the values of
+ * the current row are read through an ActualRow buffer so each one is only read from the driver
+ * once, and the options that affect the comparison are resolved once for each distinct set of
+ * row options rather than once per column.
+ *
+ * A comparator is not thread safe; it belongs to the thread that is reading the ResultSet.
+ */
+public class RowComparator
+{
+  /** The buffer holding the current row of the ResultSet. */
+  private final ActualRow row;
+
+  /** The list of options that apply to the whole result, in priority order. */
+  private final LinkedList<Options> optionList;
+
+  /** The resolved options for expected rows that don't have any row options. */
+  private final ResolvedOptions defaultOptions;
+
+  /** The resolved options for expected rows that do have row options. */
+  private final Map<Options, ResolvedOptions> rowOptionsCache = new IdentityHashMap<>();
+
+  /**
+   * Compiles a comparator for the rows of a ResultSet.
+   * @param row The buffer over the ResultSet to be compared.
+   * @param optionList a list of any options on the whole expected result, test file, application, etc.
+   * @return a comparator for the current row of the ResultSet.
+   */
+  public static RowComparator compile(ActualRow row, LinkedList<Options> optionList)
+  {
+    return new RowComparator(row, optionList);
+  }
+
+  private RowComparator(ActualRow row, LinkedList<Options> optionList)
+  {
+    this.row            = row;
+    this.optionList     = optionList;
+    this.defaultOptions = new ResolvedOptions(optionList);
+  }
+
+  /**
+   * Returns the buffer holding the current row of the ResultSet.
+   * @return the buffer holding the current row of the ResultSet.
+   */
+  public ActualRow getRow()
+  {
+    return row;
+  }
+
+  /**
+   * Returns the number of columns in the ResultSet.
+   * @return the number of columns in the ResultSet.
+   */
+  public int getColumnCount()
+  {
+    return row.getColumnCount();
+  }
+
+  /**
+   * Returns the options that apply when comparing the given expected row.
+   * @param er The expected row.
+   * @return the options that apply when comparing the given expected row.
+   */
+  ResolvedOptions optionsFor(ExpectedRow er)
+  {
+    Options rowOptions = er.getRowOptions();
+
+    if (rowOptions == null) {
+      return defaultOptions;
+    }
+
+    ResolvedOptions resolved = rowOptionsCache.get(rowOptions);
+
+    if (resolved == null) {
+      // Any row options override result options.
+      optionList.addFirst(rowOptions);
+      resolved = new ResolvedOptions(optionList);
+      optionList.removeFirst();
+
+      rowOptionsCache.put(rowOptions, resolved);
+    }
+
+    return resolved;
+  }
+
+  /**
+   * Compares the expected row to the row that the cursor is at in the ResultSet.
+   * @param er The expected row to be compared.
+   * @return true if the rows compare equally or false if they are different.
+   * @throws SQLException
+   */
+  public boolean matches(ExpectedRow er) throws SQLException
+  {
+    List<ExpectedColumnType> columnDefs = er.getColumnDefs();
+    List<Object> columnValues = er.getColumnValues();
+
+    int expectedColumnDefCount = columnDefs.size();
+
+    // If the last column definition is not '...' then the number of expected columns
+    // should equal the number of actual columns.
+    if (columnDefs.get(expectedColumnDefCount - 1) != IGNORE_REMAINING &&
+        row.getColumnCount() != expectedColumnDefCount) {
+      return false;
+    }
+
+    ResolvedOptions options = null;
+
+    // Compare column by column
+    for (int defIndex = 0; defIndex < expectedColumnDefCount; defIndex++) {
+
+      ExpectedColumnType type = columnDefs.get(defIndex);
+      int rsIndex = defIndex + 1; // rs.getXXXX() uses 1-based indexes.
+
+      if (type == IGNORE_REMAINING) {
+        // We don't care about comparing this column or any other remaining ones.
+        break;
+      }
+
+      if (rsIndex > row.getColumnCount()) {
+        // We received less actual columns than we were expecting.
+        return false;
+      }
+
+      Object expectedVal = columnValues.get(defIndex);
+
+      switch (type) {
+        case DONT_CARE:
+          // We don't care about comparing this column.
+          continue;
+
+        case NULL:
+          if (!row.isNull(rsIndex)) {
+            return false;
+          }
+          break;
+
+        case BOOLEAN:
+          // Read the typed value first, so that the null check doesn't need another read.
+          boolean actualBoolean = row.getBoolean(rsIndex);
+          if (row.isNull(rsIndex) || (boolean) expectedVal != actualBoolean) {
+            return false;
+          }
+          break;
+
+        case INTEGER:
+          long actualLong = row.getLong(rsIndex);
+          if (row.isNull(rsIndex) || (long) expectedVal != actualLong) {
+            return false;
+          }
+          break;
+
+        case DECIMAL:
+          BigDecimal actualDecimal = row.getBigDecimal(rsIndex);
+          if (actualDecimal == null) {
+            return false;
+          }
+
+          if (options == null) {
+            options = optionsFor(er);
+          }
+
+          BigDecimal expectedDecimal = (BigDecimal) expectedVal;
+
+          if (options.precisionRounding != Options.NO_ROUNDING &&
+              !equalPrecisionRounded(expectedDecimal, actualDecimal, options.precisionRounding)) {
+            return false;
+
+          } else if (!equalDecimalRounded(expectedDecimal, actualDecimal, options.decimalRounding)) {
+            return false;
+          }
+          break;
+
+        case FLOAT:
+          // Compare floating points up to the requested level of precision
+          double actualDouble = row.getDouble(rsIndex);
+          if (row.isNull(rsIndex)) {
+            return false;
+          }
+
+          if (options == null) {
+            options = optionsFor(er);
+          }
+
+          ComparableFloat expectedFloat = (ComparableFloat) expectedVal;
+
+          if (options.precisionRounding != Options.NO_ROUNDING &&
+              !equalPrecisionRounded(expectedFloat, actualDouble, options.precisionRounding)) {
+            return false;
+
+          } else if (!equalDecimalRounded(expectedFloat, actualDouble, options.decimalRounding)) {
+            return false;
+          }
+          break;
+
+        case STRING:
+          String actualStr = row.getString(rsIndex);
+          if (actualStr == null) {
+            return false;
+          }
+
+          if (options == null) {
+            options = optionsFor(er);
+          }
+
+          String expectedString = (String) expectedVal;
+
+          if (options.ignoreTrailingWhitespace) {
+            actualStr = actualStr.stripTrailing();
+
+            // The expected string may also end in whitespace,
+            // so it needs to be stripped as well
+            expectedString = expectedString.stripTrailing();
+          }
+
+          if ( (options.ignoreCase && !expectedString.equalsIgnoreCase(actualStr)) ||
+               (!options.ignoreCase && !expectedString.equals(actualStr)) ) {
+            return false;
+          }
+          break;
+
+        case DATE:
+          LocalDate actualDate = row.getLocalDate(rsIndex);
+          if (actualDate == null || !expectedVal.equals(actualDate)) {
+            return false;
+          }
+          break;
+
+        case TIME:
+          LocalTime actualTime = row.getLocalTime(rsIndex);
+          if (actualTime == null || !expectedVal.equals(actualTime)) {
+            return false;
+          }
+          break;
+
+        case TIMESTAMP:
+          LocalDateTime actualTsp = row.getLocalDateTime(rsIndex);
+          if (actualTsp == null || !expectedVal.equals(actualTsp)) {
+            return false;
+          }
+          break;
+
+        case INTERVAL:
+          ComparableInterval actualInterval = row.getInterval(rsIndex);
+          if (actualInterval == null) {
+            return false;
+          }
+
+          if ( !((ComparableInterval) expectedVal).comparesTo(actualInterval)) {
+            return false;
+          }
+          break;  // Matched
+
+        case IGNORE_REMAINING: // Falls through
+        default:
+          throw new SethSystemException("Unhandled column type: " + type.name());
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean equalPrecisionRounded(BigDecimal x, BigDecimal y, int precisionRound)
+  {
+    if (precisionRound != Options.NO_ROUNDING) {
+      MathContext mc = new MathContext(precisionRound, RoundingMode.DOWN);
+
+      x = x.round(mc);
+      y = y.round(mc);
+    }
+
+    return x.equals(y);
+  }
+
+  private static boolean equalDecimalRounded(BigDecimal x, BigDecimal y, int decimalRound)
+  {
+    if (decimalRound != Options.NO_ROUNDING) {
+
+      x = x.setScale(decimalRound, RoundingMode.HALF_UP);
+      y = y.setScale(decimalRound, RoundingMode.HALF_UP);
+    }
+
+    return x.equals(y);
+  }
+
+  private static boolean equalPrecisionRounded(ComparableFloat cf, double y, int precisionRound)
+  {
+    if (precisionRound == Options.NO_ROUNDING) {
+      // This will look very odd, but there is a reason for it, and it is
+      // mainly because Java does some weird stuff with floating point numbers
+      // it cannot represent precisely.
+      //
+      // e.g. the float value 0.12 cannot be represented exactly. But if we print it
+      // to a string then no matter how many digits are used it will always print as
+      // "0.12". But if we take the same float value and convert it to a BigDecimal
+      // then we get the value 0.119999999999999995559...
+      //
+      // This means that we cannot compare an expected and actual value of 0.12
+      // unless we loosen the expected value to 0.1 or use some rounding.
+      // So to be user friendly we first convert the float to a string (with the
+      // implied rounding that occurs) and then convert that string to a BigDecimal
+      // for comparison. We are in control how many digits we use when we print
+      // the float to the string, whereas if we simply asked the JDBC driver for
+      // the string representation of this value (the previous implementation)
+      // then we are at the whims of the JDBC driver.
+      String strVal = String.format("%.40e", y);
+
+      return cf.comparesTo(strVal);
+    }
+
+    MathContext mc = new MathContext(precisionRound, RoundingMode.DOWN);
+
+    BigDecimal bdx = new BigDecimal(cf.toString(), mc);
+    BigDecimal bdy = new BigDecimal(y, mc);
+
+    return bdx.equals(bdy);
+  }
+
+  private static boolean equalDecimalRounded(ComparableFloat cf, double y, int decimalRound)
+  {
+    if (decimalRound == Options.NO_ROUNDING) {
+      // See the comment in equalPrecisionRounded() for why the double is
+      // converted via a string.
+      String strVal = String.format("%.40e", y);
+
+      return cf.comparesTo(strVal);
+    }
+
+
+    BigDecimal bdx = new BigDecimal(cf.toString());
+    BigDecimal bdy = new BigDecimal(y);
+
+    bdx = bdx.setScale(decimalRound);
+    bdy = bdy.setScale(decimalRound);
+
+    return bdx.equals(bdy);
+  }
+
+
+  /**
+   * The values of the options that affect row comparisons, resolved from a list of options.
+   */
+  static class ResolvedOptions
+  {
+    final int precisionRounding;
+    final int decimalRounding;
+    final boolean ignoreCase;
+    final boolean ignoreTrailingWhitespace;
+
+    ResolvedOptions(List<Options> optionList)
+    {
+      this.precisionRounding        = Options.getPrecisionRounding(optionList);
+      this.decimalRounding          = Options.getDecimalRounding(optionList);
+      this.ignoreCase               = Options.getIgnoreCase(optionList);
+      this.ignoreTrailingWhitespace = Options.getIgnoreTrailingWhitespace(optionList);
+    }
+  }
+}
@@ -13,7 +13,6 @@ import com.rapidsdata.seth.plan.OperationMetadata;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -25,6 +24,9 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
 {
   protected static final int MAX_CLOSEST_MATCHES = 3;
 
+  /** An index over the expected rows so that actual rows can be matched without scanning them all. */
+  private final ExpectedRowIndex expectedRowIndex;
+
   /**
    * Constructor
    * @param description A textual description of the expected result.
@@ -41,6 +43,8 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
                                      ExpectedColumnNames expectedColumnNames)
   {
     super(ExpectedResultType.UNORDERED_ROWS, description, opMetadata, appContext, options, expectedRows, expectedColumnNames);
+
+    this.expectedRowIndex = new ExpectedRowIndex(expectedRows);
   }
 
   /**
@@ -79,42 +83,29 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
         throw new ExpectedResultFailureException(opMetadata, commentDesc, actualResultDesc, expectedColumnNames.toString());
       }
 
-      // Make a copy of the expected row list so we can remove entries from it as we match them.
-      List<ExpectedRow> remainingExpectedRows = new LinkedList<ExpectedRow>(expectedRows);
+      // Keep track of which expected rows have been matched so far.
+      ExpectedRowIndex.Matcher matcher = expectedRowIndex.newMatcher();
 
       LinkedList<Options> optionList = Options.listOf(xContext.getAppOptions(), xContext.getTestOptions(), resultOptions);
 
+      // Compile the comparison of expected rows to the rows of this resultset.
+      ActualRow row = new ActualRow(rs);
+      RowComparator comparator = RowComparator.compile(row, optionList);
+
       // For each actual row
-      while (rs.next()) {
+      while (row.next()) {
 
         // Have we run out of expected rows to compare actual rows to?
-        if (remainingExpectedRows.isEmpty()) {
+        if (matcher.isExhausted()) {
           // We've got an actual row but no more expected rows.
           final String comment = "There were more actual rows returned than expected rows.";
-          final String actual  = ResultSetFormatter.describeCurrentRow(rs);
+          final String actual  = ResultSetFormatter.describeCurrentRow(row);
 
           throw new ExpectedResultFailureException(opMetadata, comment, actual, "<no more rows>");
         }
 
-        Iterator<ExpectedRow> erIterator = remainingExpectedRows.iterator();
-        boolean gotMatch = false;
-
-        // For each expected row remaining
-        while (erIterator.hasNext()) {
-          ExpectedRow expectedRow = erIterator.next();
-
-          // Compare the current actual row to this expected row.
-          if (expectedRow.compareTo(rs, optionList)) {
-            // We got a match! Remove this expected row.
-            erIterator.remove();
-            gotMatch = true;
-            break;
-          }
-
-          // No match for this expected and actual row. Try another expected row.
-        }
-
-        if (gotMatch) {
+        // Find the first remaining expected row that matches the current actual row, and remove it.
+        if (matcher.match(comparator) != null) {
           continue;
         }
 
@@ -122,9 +113,8 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
 
         // Can we find the expected row from the unmatched expected row list that matches
         // the actual row the closest.
-        List<ScoredExpectedRow> closestMatches = ExpectedRow.findClosestMatchOf(remainingExpectedRows,
-                                                                                rs,
-                                                                                optionList,
+        List<ScoredExpectedRow> closestMatches = ExpectedRow.findClosestMatchOf(matcher.remainingRows(),
+                                                                                comparator,
                                                                                 MAX_CLOSEST_MATCHES);
 
         if (closestMatches.size() > 0) {
@@ -133,10 +123,10 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
                                      " *estimated* closest expected rows are shown below.";
 
           // Align the actual result and the expected results.
-          AlignmentInfo alignment = ResultSetFormatter.alignRows(rs, closestMatches);
+          AlignmentInfo alignment = ResultSetFormatter.alignRows(row, closestMatches);
 
           // Now we can describe the actual row with these widths.
-          final String actualResultDesc = ResultSetFormatter.describeCurrentRow(rs, alignment.columnWidths);
+          final String actualResultDesc = ResultSetFormatter.describeCurrentRow(row, alignment.columnWidths);
 
           // and the closest expected rows
           final String expectedResultDesc = ResultSetFormatter.describeExpectedRows(closestMatches, alignment, MAX_NUM_ROWS_TO_SHOW);
@@ -149,10 +139,10 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
         final String commentDesc = "The actual row does not match any expected rows.";
 
         List<ExpectedRow> displayableRows = expectedRows.subList(0, Math.min(MAX_NUM_ROWS_TO_SHOW, expectedRows.size()));
-        AlignmentInfo alignment = ResultSetFormatter.alignRows(rs, displayableRows);
+        AlignmentInfo alignment = ResultSetFormatter.alignRows(row, displayableRows);
 
         // Now we can describe the actual row with these widths.
-        final String actualResultDesc = ResultSetFormatter.describeCurrentRow(rs, alignment.columnWidths);
+        final String actualResultDesc = ResultSetFormatter.describeCurrentRow(row, alignment.columnWidths);
 
         // And some of the expected rows
         final String expectedResultDesc = ResultSetFormatter.describeExpectedRows(expectedRows, alignment, MAX_NUM_ROWS_TO_SHOW);
@@ -162,8 +152,9 @@ public class UnorderedRowsExpectedResult extends RowDataExpectedResult
 
 
       // Are there any expected rows left over?
-      if (!remainingExpectedRows.isEmpty()) {
+      if (!matcher.isExhausted()) {
         String commentDesc = "There are no more actual rows to compare to the remaining expected rows.";
+        List<ExpectedRow> remainingExpectedRows = matcher.remainingRows();
 
         final String expectedRowsDesc = ResultSetFormatter.describeExpectedRows(rs.getMetaData(), remainingExpectedRows, MAX_NUM_ROWS_TO_SHOW);
         final String actualDesc = "<no remaining rows>";
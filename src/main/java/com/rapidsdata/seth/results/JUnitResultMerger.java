@@ -0,0 +1,162 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.results;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Merges the JUnit result files written by several SETH processes, such as the shards of a test
+ * suite, into a single JUnit result file.
+ *
+ * The test cases of each file are copied in the order the files are given. The counts of the
+ * merged test suite are the sums of the counts of each file. Since the processes are expected to
+ * have run at the same time, the time of the merged test suite is the longest time of any file
+ * and its timestamp is the earliest timestamp of any file.
+ */
+public class JUnitResultMerger
+{
+  private static final String[] COUNT_ATTRIBUTES = { "tests", "failures", "errors", "skipped" };
+
+  private JUnitResultMerger() {}
+
+  /**
+   * Merges the JUnit result files into a single file.
+   * @param resultFiles the JUnit result files to be merged.
+   * @param mergedFile the file to write the merged results to.
+   * @return the number of test cases in the merged file.
+   * @throws IOException if a file cannot be read or written, or is not a JUnit result file.
+   */
+  public static int merge(List<File> resultFiles, File mergedFile) throws IOException
+  {
+    DocumentBuilder documentBuilder;
+
+    try {
+      DocumentBuilderFactory documentFactory = DocumentBuilderFactory.newInstance();
+      documentFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      documentBuilder = documentFactory.newDocumentBuilder();
+
+    } catch (ParserConfigurationException e) {
+      throw new IOException(e);
+    }
+
+    Document merged = documentBuilder.newDocument();
+    Element mergedRoot = null;
+    long[] counts = new long[COUNT_ATTRIBUTES.length];
+    double maxTime = 0.0d;
+    String earliestTimestamp = null;
+    int numTestCases = 0;
+
+    for (File resultFile : resultFiles) {
+      Document document;
+
+      try {
+        document = documentBuilder.parse(resultFile);
+      } catch (SAXException e) {
+        throw new IOException("Unable to read the JUnit results in " + resultFile.getPath() + ": " + e.getMessage(), e);
+      }
+
+      Element root = document.getDocumentElement();
+
+      if (!root.getTagName().equals("testsuite")) {
+        throw new IOException(resultFile.getPath() + " is not a JUnit result file written by SETH.");
+      }
+
+      if (mergedRoot == null) {
+        // Keep the name and hostname of the first file.
+        mergedRoot = (Element) merged.importNode(root, false);
+        merged.appendChild(mergedRoot);
+      }
+
+      for (int i = 0; i < COUNT_ATTRIBUTES.length; i++) {
+        counts[i] += parseLong(root.getAttribute(COUNT_ATTRIBUTES[i]));
+      }
+
+      maxTime = Math.max(maxTime, parseDouble(root.getAttribute("time")));
+
+      // The timestamps are in ISO 8601 format, so they can be compared as strings.
+      String timestamp = root.getAttribute("timestamp");
+      if (!timestamp.isEmpty() && (earliestTimestamp == null || timestamp.compareTo(earliestTimestamp) < 0)) {
+        earliestTimestamp = timestamp;
+      }
+
+      NodeList children = root.getChildNodes();
+
+      for (int i = 0; i < children.getLength(); i++) {
+        Node child = children.item(i);
+
+        if (child.getNodeType() == Node.ELEMENT_NODE) {
+          mergedRoot.appendChild(merged.importNode(child, true));
+
+          if (((Element) child).getTagName().equals("testcase")) {
+            ++numTestCases;
+          }
+        }
+      }
+    }
+
+    if (mergedRoot == null) {
+      throw new IOException("There are no JUnit result files to merge.");
+    }
+
+    for (int i = 0; i < COUNT_ATTRIBUTES.length; i++) {
+      mergedRoot.setAttribute(COUNT_ATTRIBUTES[i], String.valueOf(counts[i]));
+    }
+
+    mergedRoot.setAttribute("time", String.format("%.3f", maxTime));
+
+    if (earliestTimestamp != null) {
+      mergedRoot.setAttribute("timestamp", earliestTimestamp);
+    }
+
+    // Write out the XML file.
+    try {
+      TransformerFactory transformerFactory = TransformerFactory.newInstance();
+      Transformer transformer = transformerFactory.newTransformer();
+      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+      transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+      transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+
+      transformer.transform(new DOMSource(merged), new StreamResult(mergedFile));
+
+    } catch (TransformerException e) {
+      throw new IOException("Unable to write the merged results to " + mergedFile.getPath() + ": " + e.getMessage(), e);
+    }
+
+    return numTestCases;
+  }
+
+  private static long parseLong(String value)
+  {
+    try {
+      return value.isEmpty() ? 0 : Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static double parseDouble(String value)
+  {
+    try {
+      return value.isEmpty() ? 0.0d : Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return 0.0d;
+    }
+  }
+}
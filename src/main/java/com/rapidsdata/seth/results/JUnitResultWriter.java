@@ -3,30 +3,33 @@
 package com.rapidsdata.seth.results;
 
 import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
 import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.exceptions.FailureException;
+import com.rapidsdata.seth.exceptions.RemoteFailureException;
 import com.rapidsdata.seth.exceptions.SethBrownBagException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.*;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A class that writes JUnit-parsable XML results of the tests to a file.
@@ -35,13 +38,48 @@ import java.util.Scanner;
  * https://llg.cubic.org/docs/junit/
  * https://github.com/windyroad/JUnit-Schema/blob/d75c30f8c2d878201402999c3d2a421a18a65248/JUnit.xsd
  * https://stackoverflow.com/questions/442556/spec-for-junit-xml-output
+ *
+ * Each test case is appended to the file as soon as the test finishes, followed by the end of the
+ * test suite, so the file is always a complete JUnit file of the tests that have finished so far.
+ * The test cases are therefore in the order that the tests finished in. Space is reserved in the
+ * testsuite element for the summary attributes, which are rewritten in place as each test finishes.
  */
 public class JUnitResultWriter extends LoggableResultWriter
 {
   private static String HOSTNAME = null;
 
+  /** The number of characters reserved in the testsuite element for the summary attributes. */
+  private static final int SUMMARY_ATTRIBUTES_WIDTH = 160;
+
+  /** The end of the test suite, which follows the last test case written. */
+  private static final byte[] END_OF_SUITE = ("</testsuite>" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
   protected final Path resultPath;
 
+  /** Guards the result file, since tests finish on many threads. */
+  private final Lock lock = new ReentrantLock();
+
+  /** The result file, or null if it hasn't been opened yet. */
+  private FileChannel channel = null;
+
+  /** The position in the file of the summary attributes of the test suite. */
+  private long summaryPosition;
+
+  /** The position in the file of the end of the test suite, where the next test case is written. */
+  private long endPosition;
+
+  /** The results that have already been written to the file. */
+  private final Set<TestResult> writtenResults = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  // The counts of the results written so far.
+  private long numTests = 0;
+  private long numFailed = 0;
+  private long numAborted = 0;
+  private long numSkipped = 0;
+
+  /** Whether writing to the file has failed, in which case no more results are written until the end. */
+  private boolean writeFailed = false;
+
   /**
    * Constructor
    * @param context Common information and settings of the application.
@@ -52,6 +90,35 @@ public class JUnitResultWriter extends LoggableResultWriter
     resultPath = Paths.get(resultDir.getPath(), resultName);
   }
 
+  /**
+   * Appends the result of a single test to the result file as soon as the test has finished or
+   * been skipped.
+   * @param result the result of the test.
+   */
+  @Override
+  public void testFinished(TestResult result)
+  {
+    lock.lock();
+
+    try {
+      if (writeFailed) {
+        return;
+      }
+
+      open();
+      writeTestCase(result);
+      writeSummaryAttributes(numTests, numFailed, numAborted, numSkipped);
+
+    } catch (IOException e) {
+      // Keep running the tests. Everything is written again at the end.
+      writeFailed = true;
+      context.getLogger().error("Unable to write the test results to " + resultPath.toString() + ": " + e.getMessage());
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Write out the complete test results to file and the test log.
    * @param results the list of results of each individual test.
@@ -63,114 +130,270 @@ public class JUnitResultWriter extends LoggableResultWriter
     ResultSummary summary = summmariseResults(results);
     writeSummary(summary);
 
-    // Generate a JUnit compatible XML result file.
-
-    DocumentBuilderFactory documentFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder documentBuilder = null;
+    lock.lock();
 
     try {
-      documentBuilder = documentFactory.newDocumentBuilder();
+      if (writeFailed) {
+        // Start the file again from the beginning.
+        closeChannel();
+        writtenResults.clear();
+      }
+
+      open();
+
+      // Write any results that weren't written as their test finished.
+      for (TestResult testResult : results) {
+        writeTestCase(testResult);
+      }
+
+      writeSummaryAttributes(summary.getNumTestsExecuted(), summary.getNumTestsFailed(),
+                             summary.getNumTestsAborted(), summary.getNumTestsSkipped());
 
-    } catch (ParserConfigurationException e) {
+      channel.close();
+
+    } catch (IOException e) {
       e.printStackTrace();
       throw new SethBrownBagException(e);
+
+    } finally {
+      channel = null;
+      lock.unlock();
     }
 
-    Document document = documentBuilder.newDocument();
+    context.getLogger().log("Test results have been written out to: " + resultPath.toString(), false);
+  }
 
-    // root element
-    Element root = document.createElement("testsuite");
-    document.appendChild(root);
+  /**
+   * Opens the result file and writes the start and end of the test suite, if this hasn't been
+   * done already.
+   * @throws IOException if the file cannot be written.
+   */
+  private void open() throws IOException
+  {
+    if (channel != null) {
+      return;
+    }
 
-    root.setAttribute("tests", String.valueOf(summary.getNumTestsExecuted()));
-    root.setAttribute("failures", String.valueOf(summary.getNumTestsFailed()));
-    root.setAttribute("name", "Seth tests");
-    root.setAttribute("time", millisToSeconds(System.currentTimeMillis() - context.getAppStartTime(), 3));
-    root.setAttribute("errors", String.valueOf(summary.getNumTestsAborted()));
-    root.setAttribute("skipped", String.valueOf(summary.getNumTestsSkipped()));
-    root.setAttribute("timestamp", millisToISO8601DateTimePattern(context.getAppStartTime()));
-    root.setAttribute("hostname", getHostName());
+    channel = FileChannel.open(resultPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                               StandardOpenOption.TRUNCATE_EXISTING);
 
-    for (TestResult testResult : results) {
-      Element testCase = document.createElement("testcase");
-      root.appendChild(testCase);
+    String start = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" + System.lineSeparator() +
+                   "<testsuite name=\"Seth tests\"" +
+                   " hostname=\"" + escapeAttribute(getHostName()) + "\"" +
+                   " timestamp=\"" + millisToISO8601DateTimePattern(context.getAppStartTime()) + "\"";
 
-      String parentStr = testResult.getTestableFile().getDirectory();
+    byte[] startBytes = start.getBytes(StandardCharsets.UTF_8);
+    byte[] endOfStartBytes = (">" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
 
-      // Hack for RapidsSE
-      int idx = parentStr.lastIndexOf("/tests/");
-      if (idx != -1) {
-        parentStr = parentStr.substring(idx + "/tests/".length());
-      }
+    summaryPosition = startBytes.length;
+    endPosition = summaryPosition + SUMMARY_ATTRIBUTES_WIDTH + endOfStartBytes.length;
 
-      testCase.setAttribute("name", testResult.getTestName() + context.getCommandLineArgs().testSuffix);
-      testCase.setAttribute("time", nanosToSeconds(testResult.getExecutionTimeNs(), 3));
-      testCase.setAttribute("classname", parentStr);
-      //testCase.setAttribute("classname", testResult.getTestFile().getAbsolutePath() + context.getCommandLineArgs().testSuffix);
+    write(summaryPosition + SUMMARY_ATTRIBUTES_WIDTH, endOfStartBytes);
+    write(0, startBytes);
+    write(endPosition, END_OF_SUITE);
 
-      switch (testResult.getStatus()) {
-        case FAILED:
-          Element failureElement = document.createElement("error");
-          testCase.appendChild(failureElement);
+    numTests = 0;
+    numFailed = 0;
+    numAborted = 0;
+    numSkipped = 0;
 
-          if (testResult.getFailureException() != null) {
-            failureElement.setAttribute("type", testResult.getFailureException().getClass().getName());
-            failureElement.setAttribute("message", "\n" + testResult.getFailureException().getMessage());
+    writeSummaryAttributes(numTests, numFailed, numAborted, numSkipped);
+  }
 
-          } else {
-            failureElement.setAttribute("type", "No failure information provided");
-          }
-          break;
+  /**
+   * Closes the result file, ignoring any errors.
+   */
+  private void closeChannel()
+  {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) { /*ignore*/ }
 
-        case ABORTED:
-          Element errorElement = document.createElement("error");
-          testCase.appendChild(errorElement);
+      channel = null;
+    }
+  }
 
-          if (testResult.getFailureException() != null) {
-            errorElement.setAttribute("type", testResult.getFailureException().getClass().getName());
-            errorElement.setAttribute("message", "\n" + testResult.getFailureException().getMessage());
+  /**
+   * Appends a test case to the test suite, unless it has already been written.
+   * @param testResult the result of the test.
+   * @throws IOException if the file cannot be written.
+   */
+  private void writeTestCase(TestResult testResult) throws IOException
+  {
+    if (!writtenResults.add(testResult)) {
+      return;
+    }
 
-          } else {
-            errorElement.setAttribute("type", "Test aborted");
-            errorElement.setAttribute("message", "The test was aborted, either because it was interrupted or " +
-                                                       "because a thread encountered a failure.");
-          }
-          break;
+    final String nl = System.lineSeparator();
+    StringBuilder sb = new StringBuilder(256);
 
-        case SKIPPED:
-          Element skippedElement = document.createElement("skipped");
-          testCase.appendChild(skippedElement);
-          skippedElement.setAttribute("message", "");
-          break;
+    sb.append("  <testcase classname=\"").append(escapeAttribute(classNameFor(testResult.getTestableFile())))
+      .append("\" name=\"").append(escapeAttribute(testResult.getTestName() + context.getCommandLineArgs().testSuffix))
+      .append("\" time=\"").append(nanosToSeconds(testResult.getExecutionTimeNs(), 3)).append("\"");
+
+    ++numTests;
+
+    switch (testResult.getStatus()) {
+      case FAILED:
+        ++numFailed;
+        sb.append(">").append(nl).append("    <error");
+
+        if (testResult.getFailureException() != null) {
+          appendAttribute(sb, "message", "\n" + testResult.getFailureException().getMessage());
+          appendAttribute(sb, "type", failureTypeOf(testResult.getFailureException()));
+
+        } else {
+          appendAttribute(sb, "type", "No failure information provided");
+        }
+
+        sb.append("/>").append(nl).append("  </testcase>");
+        break;
+
+      case ABORTED:
+        ++numAborted;
+        sb.append(">").append(nl).append("    <error");
+
+        if (testResult.getFailureException() != null) {
+          appendAttribute(sb, "message", "\n" + testResult.getFailureException().getMessage());
+          appendAttribute(sb, "type", failureTypeOf(testResult.getFailureException()));
+
+        } else {
+          appendAttribute(sb, "message", "The test was aborted, either because it was interrupted or " +
+                                         "because a thread encountered a failure.");
+          appendAttribute(sb, "type", "Test aborted");
+        }
+
+        sb.append("/>").append(nl).append("  </testcase>");
+        break;
+
+      case SKIPPED:
+        ++numSkipped;
+        sb.append(">").append(nl).append("    <skipped message=\"\"/>").append(nl).append("  </testcase>");
+        break;
+
+      case SUCCEEDED:
+      case NOT_STARTED:
+      case IN_PROGRESS:
+      case VALIDATED:
+      default:
+        sb.append("/>");
+        break;
+    }
+
+    sb.append(nl);
+
+    // Overwrite the end of the test suite with the test case and then end the test suite again.
+    byte[] testCaseBytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+    write(endPosition, testCaseBytes);
+    endPosition += testCaseBytes.length;
+    write(endPosition, END_OF_SUITE);
+  }
+
+  /**
+   * Rewrites the summary attributes of the test suite in the space reserved for them.
+   * @throws IOException if the file cannot be written.
+   */
+  private void writeSummaryAttributes(long tests, long failures, long errors, long skipped) throws IOException
+  {
+    StringBuilder sb = new StringBuilder(SUMMARY_ATTRIBUTES_WIDTH);
+    sb.append(" tests=\"").append(tests).append("\"")
+      .append(" failures=\"").append(failures).append("\"")
+      .append(" errors=\"").append(errors).append("\"")
+      .append(" skipped=\"").append(skipped).append("\"")
+      .append(" time=\"").append(millisToSeconds(System.currentTimeMillis() - context.getAppStartTime(), 3)).append("\"");
+
+    while (sb.length() < SUMMARY_ATTRIBUTES_WIDTH) {
+      sb.append(' ');
+    }
+
+    write(summaryPosition, sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void write(long position, byte[] bytes) throws IOException
+  {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void appendAttribute(StringBuilder sb, String name, String value)
+  {
+    sb.append(' ').append(name).append("=\"").append(escapeAttribute(value)).append('"');
+  }
+
+  /**
+   * Returns a string escaped for use as the value of an XML attribute. Characters that are not
+   * allowed in XML are replaced with '?'.
+   * @param str the string to escape.
+   * @return the escaped string.
+   */
+  private static String escapeAttribute(String str)
+  {
+    if (str == null) {
+      return "null";
+    }
+
+    StringBuilder sb = new StringBuilder(str.length() + 16);
+
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+
+      switch (c) {
+        case '&':  sb.append("&amp;");  break;
+        case '<':  sb.append("&lt;");   break;
+        case '>':  sb.append("&gt;");   break;
+        case '"':  sb.append("&quot;"); break;
+        case '\n': sb.append("&#10;");  break;
+        case '\r': sb.append("&#13;");  break;
+        case '\t': sb.append("&#9;");   break;
 
-        case SUCCEEDED:
-        case NOT_STARTED:
-        case IN_PROGRESS:
-        case VALIDATED:
         default:
+          sb.append((c < 0x20 || c == 0xFFFE || c == 0xFFFF) ? '?' : c);
           break;
       }
     }
 
-    // Write out the XML file.
-    // Transform the DOM Object to an XML File
-    try {
-      TransformerFactory transformerFactory = TransformerFactory.newInstance();
-      Transformer transformer = transformerFactory.newTransformer();
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-      transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-      DOMSource domSource = new DOMSource(document);
-      StreamResult streamResult = new StreamResult(resultPath.toFile());
+    return sb.toString();
+  }
 
-      transformer.transform(domSource, streamResult);
+  /**
+   * Returns the class name that a test file is reported under.
+   * @param testableFile the test file.
+   * @return the class name that the test file is reported under.
+   */
+  public static String classNameFor(TestableFile testableFile)
+  {
+    String parentStr = testableFile.getDirectory();
 
-    } catch (TransformerException e) {
-      e.printStackTrace();
-      throw new SethBrownBagException(e);
+    if (parentStr == null) {
+      return "";
     }
 
-    context.getLogger().log("Test results have been written out to: " + resultPath.toString(), false);
+    // Hack for RapidsSE
+    int idx = parentStr.lastIndexOf("/tests/");
+    if (idx != -1) {
+      parentStr = parentStr.substring(idx + "/tests/".length());
+    }
+
+    return parentStr;
+  }
+
+  /**
+   * Returns the type of a failure, which for a failure in a worker process is the type of the
+   * original failure.
+   * @param e the failure.
+   * @return the type of the failure.
+   */
+  private static String failureTypeOf(FailureException e)
+  {
+    if (e instanceof RemoteFailureException) {
+      return ((RemoteFailureException) e).getFailureType();
+    }
+
+    return e.getClass().getName();
   }
 
   private String nanosToSeconds(long nanos, int numDecimalPlaces)
@@ -23,6 +23,17 @@ public class LoggableResultWriter implements ResultWriter
   }
 
 
+  /**
+   * Write out the result of a single test as soon as the test has finished or been skipped.
+   * The logger has already logged the outcome of the test, so there is nothing more to write
+   * until the summary at the end.
+   * @param result the result of the test.
+   */
+  @Override
+  public void testFinished(TestResult result)
+  {
+  }
+
   /**
    * Write out the complete test results to file and the test log.
    *
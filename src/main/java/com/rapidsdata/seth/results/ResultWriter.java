@@ -8,6 +8,14 @@ import java.util.List;
 
 public interface ResultWriter
 {
+  /**
+   * Write out the result of a single test as soon as the test has finished or been skipped, so
+   * that the results of a long run are not lost if the run is killed.
+   * This may be called by several threads at the same time.
+   * @param result the result of the test.
+   */
+  public void testFinished(TestResult result);
+
   /**
    * Write out the complete test results to file and the test log.
    * @param results the list of results of each individual test.
@@ -68,7 +68,7 @@ public class ResultWriterFactory
 
     switch (format) {
       case JUNIT:
-        resultWriter = new JUnitResultWriter(context, args.resultDir, args.resultName);
+        resultWriter = new JUnitResultWriter(context, args.resultDir, resultNameFor(args));
         break;
 
       case LOG:
@@ -82,6 +82,28 @@ public class ResultWriterFactory
     return resultWriter;
   }
 
+  /**
+   * Returns the name of the result file. When only one shard of the tests is being run, the shard
+   * is added to the name so that each shard writes its own result file, e.g. "results-shard2of4.xml".
+   * @param args
+   * @return the name of the result file.
+   */
+  private static String resultNameFor(CommandLineArgs args)
+  {
+    if (args.shardCount == 0) {
+      return args.resultName;
+    }
+
+    String shardStr = "-shard" + args.shardIndex + "of" + args.shardCount;
+    int dotIdx = args.resultName.lastIndexOf('.');
+
+    if (dotIdx <= 0) {
+      return args.resultName + shardStr;
+    }
+
+    return args.resultName.substring(0, dotIdx) + shardStr + args.resultName.substring(dotIdx);
+  }
+
   /**
    * Converts a string describing a result file format to a ResultFormat enum.
    * @param formatStr
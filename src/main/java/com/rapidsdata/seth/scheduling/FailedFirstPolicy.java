@@ -0,0 +1,46 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the tests that failed last time first, shortest first, so that whether they have been
+ * fixed is known as soon as possible. The remaining tests are then started longest first.
+ */
+public class FailedFirstPolicy implements SchedulePolicy
+{
+  @Override
+  public List<TestableFile> order(List<TestableFile> tests, TestHistory history)
+  {
+    TestHistory.Record[] records = LongestFirstPolicy.lookupAll(tests, history);
+
+    List<TestableFile> failed = new ArrayList<>();
+    List<TestableFile> others = new ArrayList<>();
+    List<TestHistory.Record> failedRecords = new ArrayList<>();
+    List<TestHistory.Record> otherRecords = new ArrayList<>();
+
+    for (int i = 0; i < records.length; i++) {
+      if (records[i] != null && records[i].hasFailed()) {
+        failed.add(tests.get(i));
+        failedRecords.add(records[i]);
+      } else {
+        others.add(tests.get(i));
+        otherRecords.add(records[i]);
+      }
+    }
+
+    // The failed tests all have history, so they don't need a default duration.
+    TestHistory.Record[] remainingRecords = otherRecords.toArray(new TestHistory.Record[0]);
+    long[] failedMs = LongestFirstPolicy.expectedDurationsMs(failedRecords.toArray(new TestHistory.Record[0]), 0);
+    long[] othersMs = LongestFirstPolicy.expectedDurationsMs(remainingRecords, LongestFirstPolicy.averageDurationMs(remainingRecords));
+
+    List<TestableFile> ordered = new ArrayList<>(tests.size());
+    ordered.addAll(LongestFirstPolicy.sortByDuration(failed, failedMs, false));
+    ordered.addAll(LongestFirstPolicy.sortByDuration(others, othersMs, true));
+    return ordered;
+  }
+}
@@ -0,0 +1,20 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts tests in the order that they were listed.
+ */
+public class ListedOrderPolicy implements SchedulePolicy
+{
+  @Override
+  public List<TestableFile> order(List<TestableFile> tests, TestHistory history)
+  {
+    return new ArrayList<>(tests);
+  }
+}
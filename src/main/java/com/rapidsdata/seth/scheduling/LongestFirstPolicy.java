@@ -0,0 +1,112 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Starts the tests that took the longest last time first, so that a long test doesn't end up
+ * running by itself at the end of the run while the other test slots sit idle.
+ *
+ * A test with no history is assumed to take as long as the average test that does have history.
+ * Tests that are expected to take the same time are started in the order they were listed.
+ */
+public class LongestFirstPolicy implements SchedulePolicy
+{
+  @Override
+  public List<TestableFile> order(List<TestableFile> tests, TestHistory history)
+  {
+    TestHistory.Record[] records = lookupAll(tests, history);
+    long[] durationsMs = expectedDurationsMs(records, averageDurationMs(records));
+
+    return sortByDuration(tests, durationsMs, true);
+  }
+
+  /**
+   * Returns the history of each test. Looking a test up resolves its canonical path, so each test
+   * is looked up once before sorting rather than on every comparison.
+   * @param tests the tests to be run.
+   * @param history the durations and outcomes of the tests from previous runs.
+   * @return the history of each test, in the same order as the tests, or null for a test with no history.
+   */
+  static TestHistory.Record[] lookupAll(List<TestableFile> tests, TestHistory history)
+  {
+    TestHistory.Record[] records = new TestHistory.Record[tests.size()];
+
+    for (int i = 0; i < records.length; i++) {
+      records[i] = history.lookup(tests.get(i));
+    }
+
+    return records;
+  }
+
+  /**
+   * Returns how long each test is expected to take, in milliseconds.
+   * @param records the history of each test, or null for a test with no history.
+   * @param defaultMs the duration to use for a test with no history.
+   * @return how long each test is expected to take, in milliseconds.
+   */
+  static long[] expectedDurationsMs(TestHistory.Record[] records, long defaultMs)
+  {
+    long[] durationsMs = new long[records.length];
+
+    for (int i = 0; i < records.length; i++) {
+      durationsMs[i] = (records[i] == null ? defaultMs : records[i].getDurationMs());
+    }
+
+    return durationsMs;
+  }
+
+  /**
+   * Returns the average duration of the tests that have history, in milliseconds.
+   * @param records the history of each test, or null for a test with no history.
+   * @return the average duration of the tests that have history, or 0 if none have history.
+   */
+  static long averageDurationMs(TestHistory.Record[] records)
+  {
+    long totalMs = 0;
+    int count = 0;
+
+    for (TestHistory.Record record : records) {
+      if (record != null) {
+        totalMs += record.getDurationMs();
+        ++count;
+      }
+    }
+
+    return (count == 0 ? 0 : totalMs / count);
+  }
+
+  /**
+   * Returns the tests sorted by their expected duration. Tests that are expected to take the same
+   * time stay in the order they were listed.
+   * @param tests the tests to sort.
+   * @param durationsMs how long each test is expected to take, in the same order as the tests.
+   * @param longestFirst whether the longest tests come first rather than the shortest.
+   * @return the sorted tests.
+   */
+  static List<TestableFile> sortByDuration(List<TestableFile> tests, long[] durationsMs, boolean longestFirst)
+  {
+    List<Integer> indexes = new ArrayList<>(tests.size());
+
+    for (int i = 0; i < tests.size(); i++) {
+      indexes.add(i);
+    }
+
+    // N.B.: List.sort() is stable.
+    Comparator<Integer> byDuration = Comparator.comparingLong(i -> durationsMs[i]);
+    indexes.sort(longestFirst ? byDuration.reversed() : byDuration);
+
+    List<TestableFile> ordered = new ArrayList<>(tests.size());
+
+    for (int i : indexes) {
+      ordered.add(tests.get(i));
+    }
+
+    return ordered;
+  }
+}
@@ -0,0 +1,21 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+
+import java.util.List;
+
+/**
+ * Decides the order in which tests are started when they are run in parallel.
+ */
+public interface SchedulePolicy
+{
+  /**
+   * Returns the tests in the order that they should be started.
+   * @param tests the tests to be run, in the order they were listed.
+   * @param history the durations and outcomes of the tests from previous runs.
+   * @return a new list of the same tests, in the order that they should be started.
+   */
+  public List<TestableFile> order(List<TestableFile> tests, TestHistory history);
+}
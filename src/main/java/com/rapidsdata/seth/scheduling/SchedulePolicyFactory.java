@@ -0,0 +1,89 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.exceptions.InvalidSchedulePolicyException;
+import com.rapidsdata.seth.exceptions.SethSystemException;
+
+public class SchedulePolicyFactory
+{
+  private enum PolicyName {
+    LISTED,
+    LONGEST,
+    FAILEDFIRST;
+
+    public static String asStringList()
+    {
+      PolicyName[] vals = values();
+      StringBuilder sb = new StringBuilder(128);
+
+      for (PolicyName val : vals) {
+        sb.append(val.name().toLowerCase());
+        sb.append(", ");
+      }
+
+      // Remove the ", "
+      sb.delete(sb.length() - 2, sb.length());
+      return sb.toString();
+    }
+  }
+
+  /**
+   * Validates that a string naming a scheduling policy is indeed valid.
+   * @param policyStr the name of the scheduling policy.
+   * @throws InvalidSchedulePolicyException if the name is not a valid scheduling policy.
+   */
+  public static void validate(String policyStr) throws InvalidSchedulePolicyException
+  {
+    policyStringToEnum(policyStr);
+  }
+
+  /**
+   * Creates a SchedulePolicy instance given the name of the policy from the command line arguments.
+   * @param policyStr the name of the scheduling policy.
+   * @return a SchedulePolicy instance of the appropriate type.
+   * @throws InvalidSchedulePolicyException if the name is not a valid scheduling policy.
+   */
+  public static SchedulePolicy get(String policyStr) throws InvalidSchedulePolicyException
+  {
+    PolicyName policy = policyStringToEnum(policyStr);
+
+    switch (policy) {
+      case LISTED:
+        return new ListedOrderPolicy();
+
+      case LONGEST:
+        return new LongestFirstPolicy();
+
+      case FAILEDFIRST:
+        return new FailedFirstPolicy();
+
+      default:
+        throw new SethSystemException("Unhandled scheduling policy: " + policy.name());
+    }
+  }
+
+  /**
+   * Converts a string naming a scheduling policy to a PolicyName enum.
+   * @param policyStr the name of the scheduling policy.
+   * @return the PolicyName enum.
+   * @throws InvalidSchedulePolicyException if the name is not a valid scheduling policy.
+   */
+  private static PolicyName policyStringToEnum(String policyStr) throws InvalidSchedulePolicyException
+  {
+    if (policyStr == null || policyStr.trim().isEmpty()) {
+      final String msg = "The scheduling policy cannot be null or empty. Valid values are: " +
+                         PolicyName.asStringList() + ".";
+      throw new InvalidSchedulePolicyException(msg);
+    }
+
+    try {
+      return PolicyName.valueOf(policyStr.trim().toUpperCase());
+
+    } catch (IllegalArgumentException e) {
+      final String msg = "Invalid scheduling policy: " + policyStr +
+                         ". Valid values are: " + PolicyName.asStringList() + ".";
+      throw new InvalidSchedulePolicyException(msg);
+    }
+  }
+}
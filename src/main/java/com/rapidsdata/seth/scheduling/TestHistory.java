@@ -0,0 +1,328 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.results.JUnitResultWriter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The durations and outcomes of tests from previous runs, which are used to decide what order
+ * to run tests in.
+ *
+ * The history can be read from either of two kinds of file:
+ * <ul>
+ *   <li>a JUnit XML result file written by a previous run with "--resultformat junit", or</li>
+ *   <li>a history file that SETH reads and then updates at the end of every run. Each line holds
+ *       the duration of a test in milliseconds, its outcome and its canonical path, separated by tabs.</li>
+ * </ul>
+ *
+ * Tests in a JUnit file are identified by their class name and test name, since the file doesn't
+ * record their full path.
+ */
+public class TestHistory
+{
+  /** The first line of a history file. */
+  private static final String HISTORY_FILE_HEADER = "# SETH test history: duration_ms<TAB>outcome<TAB>path";
+
+  /** The history of a single test. */
+  public static class Record
+  {
+    private final long durationMs;
+    private final boolean failed;
+
+    public Record(long durationMs, boolean failed)
+    {
+      this.durationMs = durationMs;
+      this.failed = failed;
+    }
+
+    /**
+     * Returns how long the test took to execute last time, in milliseconds.
+     * @return how long the test took to execute last time, in milliseconds.
+     */
+    public long getDurationMs()
+    {
+      return durationMs;
+    }
+
+    /**
+     * Returns whether the test failed or was aborted last time.
+     * @return whether the test failed or was aborted last time.
+     */
+    public boolean hasFailed()
+    {
+      return failed;
+    }
+  }
+
+  /** The records of tests from a history file, keyed by canonical path. */
+  private final Map<String, Record> byPath = new TreeMap<>();
+
+  /** The records of tests from a JUnit file, keyed by class name and test name. */
+  private final Map<String, Record> byJUnitName = new HashMap<>();
+
+  /**
+   * Constructs an empty history.
+   */
+  public TestHistory() {}
+
+  /**
+   * Reads the history of tests from either a history file or a JUnit XML result file.
+   * A file that doesn't exist yet gives an empty history.
+   * @param file the file to read.
+   * @param testSuffix the suffix that was appended to the test names in a JUnit result file.
+   * @return the history of tests.
+   * @throws IOException if the file cannot be read or is not in a recognised format.
+   */
+  public static TestHistory readFrom(File file, String testSuffix) throws IOException
+  {
+    TestHistory history = new TestHistory();
+
+    if (!file.exists()) {
+      return history;
+    }
+
+    if (isJUnitFile(file)) {
+      history.readJUnitFile(file, testSuffix == null ? "" : testSuffix);
+    } else {
+      history.readHistoryFile(file);
+    }
+
+    return history;
+  }
+
+  /**
+   * Returns whether a file is a JUnit XML result file rather than a history file.
+   * @param file the file to check.
+   * @return whether a file is a JUnit XML result file.
+   */
+  public static boolean isJUnitFile(File file)
+  {
+    return file.getName().toLowerCase().endsWith(".xml");
+  }
+
+  /**
+   * Returns the history of a test, or null if the test has no history.
+   * @param testableFile the test.
+   * @return the history of the test, or null if the test has no history.
+   */
+  public Record lookup(TestableFile testableFile)
+  {
+    if (testableFile.getInstruction() != TestableFile.Instruction.READ) {
+      return null;
+    }
+
+    Record record = byPath.get(canonicalPathOf(testableFile.getFile()));
+
+    if (record == null) {
+      record = byJUnitName.get(junitNameOf(JUnitResultWriter.classNameFor(testableFile),
+                                           testableFile.getFile().getName()));
+    }
+
+    return record;
+  }
+
+  /**
+   * Updates the history with the results of the tests that finished in this run.
+   * Tests that didn't finish keep their previous history.
+   * @param results the results of the tests in this run.
+   */
+  private void update(List<TestResult> results)
+  {
+    for (TestResult result : results) {
+      TestableFile testableFile = result.getTestableFile();
+
+      if (testableFile.getInstruction() != TestableFile.Instruction.READ) {
+        continue;
+      }
+
+      boolean failed;
+
+      switch (result.getStatus()) {
+        case SUCCEEDED:
+          failed = false;
+          break;
+
+        case FAILED:
+        case ABORTED:
+          failed = true;
+          break;
+
+        default:
+          continue;
+      }
+
+      long durationMs = result.getExecutionTimeNs() / 1000000L;
+      byPath.put(canonicalPathOf(testableFile.getFile()), new Record(durationMs, failed));
+    }
+  }
+
+  /**
+   * Updates a history file with the results of the tests that finished in this run. The file is
+   * locked while it is read and rewritten, so that several processes running tests at the same
+   * time don't lose each other's updates.
+   * @param file the history file to update.
+   * @param results the results of the tests in this run.
+   * @throws IOException if the file cannot be read or written.
+   */
+  public static void updateFile(File file, List<TestResult> results) throws IOException
+  {
+    File lockFile = new File(file.getPath() + ".lock");
+
+    try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+         FileLock lock = lockChannel.lock()) {
+
+      TestHistory history = readFrom(file, null);
+      history.update(results);
+      history.writeTo(file);
+    }
+  }
+
+  /**
+   * Writes the history out to a history file, replacing the file atomically where the file
+   * system supports it.
+   * @param file the history file to write.
+   * @throws IOException if the file cannot be written.
+   */
+  private void writeTo(File file) throws IOException
+  {
+    File dir = file.getAbsoluteFile().getParentFile();
+    File tempFile = File.createTempFile(file.getName(), ".tmp", dir);
+
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+        writer.write(HISTORY_FILE_HEADER);
+        writer.newLine();
+
+        for (Map.Entry<String, Record> entry : byPath.entrySet()) {
+          Record record = entry.getValue();
+          writer.write(record.durationMs + "\t" + (record.failed ? "FAILED" : "SUCCEEDED") + "\t" + entry.getKey());
+          writer.newLine();
+        }
+      }
+
+      try {
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        // The file system can't replace the file atomically, so the best we can do is replace it.
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  private void readHistoryFile(File file) throws IOException
+  {
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+      String line;
+      int lineNum = 0;
+
+      while ((line = reader.readLine()) != null) {
+        ++lineNum;
+
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+
+        String[] fields = line.split("\t", 3);
+
+        if (fields.length != 3) {
+          throw new IOException("Invalid test history in " + file.getPath() + " at line " + lineNum + ".");
+        }
+
+        long durationMs;
+
+        try {
+          durationMs = Long.parseLong(fields[0]);
+        } catch (NumberFormatException e) {
+          throw new IOException("Invalid test duration in " + file.getPath() + " at line " + lineNum + ".");
+        }
+
+        byPath.put(fields[2], new Record(durationMs, !fields[1].equals("SUCCEEDED")));
+      }
+    }
+  }
+
+  private void readJUnitFile(File file, String testSuffix) throws IOException
+  {
+    Document document;
+
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      document = factory.newDocumentBuilder().parse(file);
+
+    } catch (ParserConfigurationException | SAXException e) {
+      throw new IOException("Unable to read the JUnit results in " + file.getPath() + ": " + e.getMessage(), e);
+    }
+
+    NodeList testCases = document.getElementsByTagName("testcase");
+
+    for (int i = 0; i < testCases.getLength(); i++) {
+      Element testCase = (Element) testCases.item(i);
+
+      // Skipped tests don't tell us anything.
+      if (testCase.getElementsByTagName("skipped").getLength() > 0) {
+        continue;
+      }
+
+      String name = testCase.getAttribute("name");
+
+      if (!testSuffix.isEmpty() && name.endsWith(testSuffix)) {
+        name = name.substring(0, name.length() - testSuffix.length());
+      }
+
+      long durationMs;
+
+      try {
+        durationMs = Math.round(Double.parseDouble(testCase.getAttribute("time")) * 1000.0d);
+      } catch (NumberFormatException e) {
+        continue;
+      }
+
+      boolean failed = testCase.getElementsByTagName("error").getLength() > 0 ||
+                       testCase.getElementsByTagName("failure").getLength() > 0;
+
+      byJUnitName.put(junitNameOf(testCase.getAttribute("classname"), name), new Record(durationMs, failed));
+    }
+  }
+
+  private static String junitNameOf(String className, String testName)
+  {
+    return className + "/" + testName;
+  }
+
+  private static String canonicalPathOf(File file)
+  {
+    try {
+      return file.getCanonicalPath();
+    } catch (IOException e) {
+      return file.getAbsolutePath();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Divides a list of test files between a number of shards, so that the test files can be run by
+ * several processes at once.
+ *
+ * Every process must arrive at the same division, so it only depends on the list of test files and
+ * their history. Test files with a known duration are divided greedily, longest first, so that the
+ * total duration of each shard is as even as possible. Test files without a known duration are
+ * assigned by a hash of their path, which is stable between processes and between runs.
+ */
+public class TestSharder
+{
+  private TestSharder() {}
+
+  /**
+   * Returns the test files in one shard, in the order they were listed.
+   * @param testableFiles the test files to be divided between the shards.
+   * @param shardIndex the 1-based index of the shard to return.
+   * @param shardCount the number of shards.
+   * @param history the durations of the test files from previous runs.
+   * @return the test files in the shard, in the order they were listed.
+   */
+  public static List<TestableFile> shardOf(List<TestableFile> testableFiles,
+                                           int shardIndex,
+                                           int shardCount,
+                                           TestHistory history)
+  {
+    int[] shardOfTest = new int[testableFiles.size()];
+    long[] shardDurationMs = new long[shardCount];
+
+    // Look each test file up once, since looking it up resolves its canonical path.
+    TestHistory.Record[] records = LongestFirstPolicy.lookupAll(testableFiles, history);
+    String[] paths = new String[testableFiles.size()];
+    long averageMs = LongestFirstPolicy.averageDurationMs(records);
+
+    // Assign the test files without history by their hash first, since they can't be balanced.
+    List<Integer> testsWithHistory = new ArrayList<>();
+
+    for (int i = 0; i < testableFiles.size(); i++) {
+      paths[i] = testableFiles.get(i).describePath();
+
+      if (records[i] != null) {
+        testsWithHistory.add(i);
+        continue;
+      }
+
+      int shard = Math.floorMod(paths[i].hashCode(), shardCount);
+      shardOfTest[i] = shard;
+      shardDurationMs[shard] += averageMs;
+    }
+
+    // Then give each remaining test file, longest first, to the shard with the least work so far.
+    // Ties are broken by path rather than by position, so that reordering the list doesn't
+    // change the division.
+    testsWithHistory.sort(
+        Comparator.comparingLong((Integer i) -> records[i].getDurationMs()).reversed()
+                  .thenComparing(i -> paths[i]));
+
+    for (int i : testsWithHistory) {
+      int shard = 0;
+
+      for (int s = 1; s < shardCount; s++) {
+        if (shardDurationMs[s] < shardDurationMs[shard]) {
+          shard = s;
+        }
+      }
+
+      shardOfTest[i] = shard;
+      shardDurationMs[shard] += records[i].getDurationMs();
+    }
+
+    List<TestableFile> shardFiles = new ArrayList<>();
+
+    for (int i = 0; i < testableFiles.size(); i++) {
+      if (shardOfTest[i] == shardIndex - 1) {
+        shardFiles.add(testableFiles.get(i));
+      }
+    }
+
+    return shardFiles;
+  }
+}
@@ -0,0 +1,299 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.selfbench;
+
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.jdbc.fake.FakeDriver;
+import com.rapidsdata.seth.logging.TestLogger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A logger that measures how fast SETH executes each test against the fake driver. After each
+ * test it logs the number of statements executed per second, the number of result rows compared
+ * per second and the rate at which memory was allocated. Everything is passed on to another logger.
+ *
+ * Tests must be run one at a time for the measurements to be attributed to the right test.
+ */
+public class SelfBenchLogger implements TestLogger
+{
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+  private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+  /** The logger that everything is passed on to. */
+  private final TestLogger delegate;
+
+  /** Measures the memory allocated by threads, or null if the JVM can't. */
+  private final com.sun.management.ThreadMXBean threadBean;
+
+  /** Returns the memory allocated by all threads in one call, or null if the JVM doesn't have it. */
+  private final Method totalAllocatedBytesMethod;
+
+  /** The measurements taken when the current test started executing. */
+  private Snapshot testStart;
+
+  /** The measurements taken when the first test started executing. */
+  private Snapshot runStart;
+
+  /** The number of tests that have been measured. */
+  private int numTests = 0;
+
+  /** The memory allocated by all the tests that have been measured, or -1 if this isn't known. */
+  private long totalAllocatedBytes = 0;
+
+  /**
+   * Constructor
+   * @param delegate the logger that everything is passed on to.
+   */
+  public SelfBenchLogger(TestLogger delegate)
+  {
+    this.delegate = delegate;
+    this.threadBean = findThreadBean();
+    this.totalAllocatedBytesMethod = findTotalAllocatedBytesMethod(threadBean);
+  }
+
+  @Override
+  public void testsScheduled(int numTests)
+  {
+    delegate.testsScheduled(numTests);
+  }
+
+  @Override
+  public void testValidating(TestableFile testFile)
+  {
+    delegate.testValidating(testFile);
+  }
+
+  @Override
+  public void testSkipping(TestableFile testFile)
+  {
+    delegate.testSkipping(testFile);
+  }
+
+  @Override
+  public void testExecuting(TestableFile testFile)
+  {
+    delegate.testExecuting(testFile);
+    testStart = takeSnapshot();
+
+    if (runStart == null) {
+      runStart = testStart;
+    }
+  }
+
+  @Override
+  public void testExecutionFinished(TestableFile testFile, TestResult result)
+  {
+    Snapshot testEnd = takeSnapshot();
+    delegate.testExecutionFinished(testFile, result);
+
+    if (testStart != null) {
+      long allocatedBytes = allocatedBytesBetween(testStart, testEnd);
+      numTests++;
+      totalAllocatedBytes = (allocatedBytes >= 0 && totalAllocatedBytes >= 0 ? totalAllocatedBytes + allocatedBytes : -1);
+
+      String name = (testFile.getFile() != null ? testFile.getFile().getName() : "script");
+      delegate.log(describe("Self-benchmark of " + name, testStart, testEnd, allocatedBytes), false);
+      testStart = null;
+    }
+  }
+
+  @Override
+  public void testStepExecuting(TestableFile testFile, String command, long lineNum)
+  {
+    delegate.testStepExecuting(testFile, command, lineNum);
+  }
+
+  @Override
+  public void testStepsExecuted(TestableFile testFile, long numSteps)
+  {
+    delegate.testStepsExecuted(testFile, numSteps);
+  }
+
+  @Override
+  public void log(String msg)
+  {
+    delegate.log(msg);
+  }
+
+  @Override
+  public void log(String msg, boolean indent)
+  {
+    delegate.log(msg, indent);
+  }
+
+  @Override
+  public void warning(String msg)
+  {
+    delegate.warning(msg);
+  }
+
+  @Override
+  public void error(String msg)
+  {
+    delegate.error(msg);
+  }
+
+  @Override
+  public void close() throws IOException
+  {
+    if (runStart != null) {
+      delegate.log(describe("Self-benchmark of all " + numTests + " tests", runStart, takeSnapshot(), totalAllocatedBytes), false);
+    }
+
+    delegate.close();
+  }
+
+  /**
+   * Returns a description of what was measured between two snapshots.
+   * @param what what was measured.
+   * @param start the snapshot taken at the start.
+   * @param end the snapshot taken at the end.
+   * @param allocatedBytes the memory allocated in between, or -1 if this isn't known.
+   * @return a description of what was measured.
+   */
+  private String describe(String what, Snapshot start, Snapshot end, long allocatedBytes)
+  {
+    double seconds = Math.max(end.nanos - start.nanos, 1) / NANOS_PER_SECOND;
+    long numStatements = end.numStatements - start.numStatements;
+    long numRows = end.numRows - start.numRows;
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("%s: %d statements in %.3f s (%.0f statements/s), %d rows compared (%.0f rows/s)",
+                            what, numStatements, seconds, numStatements / seconds, numRows, numRows / seconds));
+
+    if (allocatedBytes >= 0) {
+      double mb = allocatedBytes / BYTES_PER_MB;
+      sb.append(String.format(", %.1f MB allocated (%.1f MB/s)", mb, mb / seconds));
+    }
+
+    sb.append('.');
+    return sb.toString();
+  }
+
+  private Snapshot takeSnapshot()
+  {
+    long totalBytes = -1;
+    Map<Long, Long> threadBytes = null;
+
+    if (totalAllocatedBytesMethod != null) {
+      try {
+        totalBytes = (Long) totalAllocatedBytesMethod.invoke(threadBean);
+
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        // Fall back to measuring each thread.
+      }
+    }
+
+    if (totalBytes < 0 && threadBean != null) {
+      long[] threadIds = threadBean.getAllThreadIds();
+      long[] bytes = threadBean.getThreadAllocatedBytes(threadIds);
+      threadBytes = new HashMap<>(threadIds.length * 2);
+
+      for (int i = 0; i < threadIds.length; i++) {
+        if (bytes[i] >= 0) {
+          threadBytes.put(threadIds[i], bytes[i]);
+        }
+      }
+    }
+
+    return new Snapshot(System.nanoTime(), FakeDriver.getNumStatements(), FakeDriver.getNumRows(), totalBytes, threadBytes);
+  }
+
+  /**
+   * Returns the memory allocated between two snapshots. Without a total for the whole JVM, this is
+   * added up from the threads that are still alive at the end, so the memory allocated by threads
+   * that finished in between is missed.
+   * @param start the snapshot taken at the start.
+   * @param end the snapshot taken at the end.
+   * @return the number of bytes allocated, or -1 if this isn't known.
+   */
+  private static long allocatedBytesBetween(Snapshot start, Snapshot end)
+  {
+    if (start.totalBytes >= 0 && end.totalBytes >= 0) {
+      return end.totalBytes - start.totalBytes;
+    }
+
+    if (start.threadBytes == null || end.threadBytes == null) {
+      return -1;
+    }
+
+    long total = 0;
+
+    for (Map.Entry<Long, Long> entry : end.threadBytes.entrySet()) {
+      total += entry.getValue() - start.threadBytes.getOrDefault(entry.getKey(), 0L);
+    }
+
+    return total;
+  }
+
+  private static com.sun.management.ThreadMXBean findThreadBean()
+  {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+
+    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+
+    try {
+      if (!sunBean.isThreadAllocatedMemorySupported()) {
+        return null;
+      }
+
+      sunBean.setThreadAllocatedMemoryEnabled(true);
+      return sunBean;
+
+    } catch (UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the method that returns the memory allocated by all threads, which only exists in
+   * Java 21 and later, whereas SETH is built for Java 11.
+   * @param threadBean the bean that measures the memory allocated by threads, or null.
+   * @return the method, or null if the JVM doesn't have it.
+   */
+  private static Method findTotalAllocatedBytesMethod(com.sun.management.ThreadMXBean threadBean)
+  {
+    if (threadBean == null) {
+      return null;
+    }
+
+    try {
+      return com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+
+    } catch (NoSuchMethodException | SecurityException e) {
+      return null;
+    }
+  }
+
+  /** The measurements taken at a point in time. */
+  private static class Snapshot
+  {
+    final long nanos;
+    final long numStatements;
+    final long numRows;
+    /** The memory allocated by all threads, or -1 if the JVM can't tell. */
+    final long totalBytes;
+
+    /** The memory allocated by each live thread, or null if totalBytes is known or neither is. */
+    final Map<Long, Long> threadBytes;
+
+    Snapshot(long nanos, long numStatements, long numRows, long totalBytes, Map<Long, Long> threadBytes)
+    {
+      this.nanos = nanos;
+      this.numStatements = numStatements;
+      this.numRows = numRows;
+      this.totalBytes = totalBytes;
+      this.threadBytes = threadBytes;
+    }
+  }
+}
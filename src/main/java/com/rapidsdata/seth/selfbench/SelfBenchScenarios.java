@@ -0,0 +1,192 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.selfbench;
+
+import com.rapidsdata.seth.jdbc.fake.FakeColumnType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The tests that "seth --selfbench" runs against the fake driver when no tests are given. Each one
+ * stresses a different part of SETH: executing many small statements, comparing large results in
+ * different ways, running many threads, handling failures and waiting on a slow server.
+ */
+public class SelfBenchScenarios
+{
+  /** The column types used by the scenarios that compare results. */
+  private static final List<FakeColumnType> MIXED_TYPES =
+      Arrays.asList(FakeColumnType.INTEGER, FakeColumnType.DECIMAL, FakeColumnType.STRING, FakeColumnType.BOOLEAN);
+
+  private SelfBenchScenarios() {}
+
+  /**
+   * Writes the scenarios out as test files.
+   * @param dir the directory to write the test files to. It is created if necessary.
+   * @return the test files, in the order they should be run.
+   * @throws IOException if the test files could not be written.
+   */
+  public static List<File> writeTo(File dir) throws IOException
+  {
+    Files.createDirectories(dir.toPath());
+
+    List<File> files = new ArrayList<>();
+
+    files.add(write(dir, "01-small-queries.test",
+        "-- Many small queries, so the time is mostly spent executing statements rather than comparing results.\n" +
+        "loop 20000 {\n" +
+        "  select rows=1 columns=integer;\n" +
+        "  ordered rows:\n" +
+        "  (0)\n" +
+        "}\n"));
+
+    files.add(write(dir, "02-updates.test",
+        "-- Many statements that return an affected row count.\n" +
+        "loop 20000 {\n" +
+        "  insert affected=1;\n" +
+        "  affected: 1\n" +
+        "}\n"));
+
+    files.add(write(dir, "03-ordered-rows.test",
+        "-- Large results compared in order.\n" +
+        "loop 20 {\n" +
+        query(2000, MIXED_TYPES) +
+        "  ordered rows:\n" +
+        expectedRows(MIXED_TYPES, 2000, 1, false) +
+        "}\n"));
+
+    files.add(write(dir, "04-unordered-rows.test",
+        "-- Large results compared regardless of order. The expected rows are written in reverse.\n" +
+        "loop 20 {\n" +
+        query(2000, MIXED_TYPES) +
+        "  unordered rows:\n" +
+        expectedRows(MIXED_TYPES, 2000, 1, true) +
+        "}\n"));
+
+    files.add(write(dir, "05-contains-rows.test",
+        "-- Large results searched for a few rows.\n" +
+        "loop 20 {\n" +
+        query(20000, MIXED_TYPES) +
+        "  contains rows:\n" +
+        expectedRows(MIXED_TYPES, 20000, 100, true) +
+        "}\n"));
+
+    List<FakeColumnType> allTypes = Arrays.asList(FakeColumnType.values());
+
+    files.add(write(dir, "06-row-count.test",
+        "-- Very large results where only the number of rows is compared.\n" +
+        "loop 10 {\n" +
+        query(100000, allTypes) +
+        "  rows: 100000\n" +
+        "}\n"));
+
+    files.add(write(dir, "07-all-types.test",
+        "-- Results with a column of every type.\n" +
+        "loop 20 {\n" +
+        query(1000, allTypes) +
+        "  unordered rows:\n" +
+        expectedRows(allTypes, 1000, 1, false) +
+        "}\n"));
+
+    files.add(write(dir, "08-threads.test",
+        "-- Many threads executing small queries at once.\n" +
+        "create 16 threads {\n" +
+        "  loop 1000 {\n" +
+        query(10, MIXED_TYPES) +
+        "    ordered rows:\n" +
+        expectedRows(MIXED_TYPES, 10, 1, false) +
+        "  }\n" +
+        "  synchronise;\n" +
+        "}\n" +
+        "synchronise;\n"));
+
+    files.add(write(dir, "09-failures.test",
+        "-- Statements that fail at random, whose failures are ignored.\n" +
+        "loop 10000 {\n" +
+        "  select errorrate=0.1;\n" +
+        "  mute\n" +
+        "}\n"));
+
+    files.add(write(dir, "10-latency.test",
+        "-- Many threads waiting on a slow server.\n" +
+        "create 32 threads {\n" +
+        "  loop 50 {\n" +
+        "    select latencyms=2;\n" +
+        "    ordered rows:\n" +
+        "    (0)\n" +
+        "  }\n" +
+        "  synchronise;\n" +
+        "}\n" +
+        "synchronise;\n"));
+
+    return files;
+  }
+
+  /**
+   * Returns a query that returns the given number of rows of the given types.
+   * @param numRows the number of rows the query returns.
+   * @param columnTypes the types of the columns the query returns.
+   * @return the query, on its own line.
+   */
+  private static String query(int numRows, List<FakeColumnType> columnTypes)
+  {
+    StringBuilder sb = new StringBuilder("  select rows=").append(numRows).append(" columns=");
+
+    for (int i = 0; i < columnTypes.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+
+      sb.append(columnTypes.get(i).name().toLowerCase(Locale.ROOT));
+    }
+
+    return sb.append(";\n").toString();
+  }
+
+  /**
+   * Returns the expected rows of a query.
+   * @param columnTypes the types of the columns the query returns.
+   * @param numRows the number of rows the query returns.
+   * @param step only every step'th row is expected.
+   * @param reverse whether to write the rows in reverse order.
+   * @return the expected rows, one per line.
+   */
+  private static String expectedRows(List<FakeColumnType> columnTypes, int numRows, int step, boolean reverse)
+  {
+    List<String> rows = new ArrayList<>();
+
+    for (int rowIndex = 0; rowIndex < numRows; rowIndex += step) {
+      StringBuilder sb = new StringBuilder("  (");
+
+      for (int i = 0; i < columnTypes.size(); i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+
+        sb.append(columnTypes.get(i).literalFor(rowIndex));
+      }
+
+      rows.add(sb.append(')').toString());
+    }
+
+    if (reverse) {
+      Collections.reverse(rows);
+    }
+
+    return String.join("\n", rows) + "\n";
+  }
+
+  private static File write(File dir, String name, String contents) throws IOException
+  {
+    File file = new File(dir, name);
+    Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
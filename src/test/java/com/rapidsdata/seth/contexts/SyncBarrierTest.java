@@ -0,0 +1,186 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.contexts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(30)
+public class SyncBarrierTest
+{
+  @Test
+  public void releasesWhenTheGivenNumberOfThreadsArrive() throws InterruptedException
+  {
+    SyncBarrier barrier = new SyncBarrier("b", () -> 100);
+    assertNull(barrier.describeStatistics());
+
+    // The barrier can be used again once it has been released.
+    for (int round = 0; round < 3; round++) {
+      List<Waiter> waiters = new ArrayList<>();
+
+      for (int i = 0; i < 4; i++) {
+        Waiter waiter = new Waiter(barrier, 4, 10 + i, () -> true);
+        waiters.add(waiter);
+
+        if (i < 3) {
+          waiter.awaitWaiting();
+        }
+      }
+
+      for (Waiter waiter : waiters) {
+        assertTrue(waiter.result());
+      }
+    }
+
+    String statistics = barrier.describeStatistics();
+    assertNotNull(statistics);
+    assertTrue(statistics.contains("released 3 times"), statistics);
+    assertTrue(statistics.endsWith("Last to arrive: thread 4 at line 13 (1 times), thread 8 at line 13 (1 times), " +
+                                   "thread 12 at line 13 (1 times)"), statistics);
+  }
+
+  @Test
+  public void reportsWhichThreadWasTheLastToArrive() throws InterruptedException
+  {
+    SyncBarrier barrier = new SyncBarrier("b", () -> 100);
+    final int rounds = 3;
+    AtomicInteger firstReleases = new AtomicInteger(0);
+
+    Thread first = new Thread(() -> {
+      for (int i = 0; i < rounds; i++) {
+        barrier.await(2, 5, () -> true);
+        firstReleases.incrementAndGet();
+      }
+    });
+
+    first.setDaemon(true);
+    first.start();
+
+    // This thread always arrives after the first one is already waiting.
+    for (int i = 0; i < rounds; i++) {
+      while (firstReleases.get() < i || first.getState() != Thread.State.WAITING) {
+        assertTrue(first.isAlive(), "The first thread stopped waiting.");
+        Thread.sleep(1);
+      }
+
+      assertTrue(barrier.await(2, 7, () -> true));
+    }
+
+    first.join();
+
+    String statistics = barrier.describeStatistics();
+    assertNotNull(statistics);
+    assertTrue(statistics.endsWith("Last to arrive: thread 2 at line 7 (3 times)"), statistics);
+  }
+
+  @Test
+  public void releasesTheActiveThreadsWhenAThreadThatHasNotArrivedExits() throws InterruptedException
+  {
+    AtomicInteger numActiveThreads = new AtomicInteger(3);
+    SyncBarrier barrier = new SyncBarrier("b", numActiveThreads::get);
+
+    Waiter first = new Waiter(barrier, -1, 1, () -> true);
+    Waiter second = new Waiter(barrier, -1, 2, () -> true);
+    first.awaitWaiting();
+    second.awaitWaiting();
+
+    // The third thread exits without arriving.
+    numActiveThreads.decrementAndGet();
+    barrier.wakeUp();
+
+    assertTrue(first.result());
+    assertTrue(second.result());
+  }
+
+  @Test
+  public void stopsWaitingWhenTheTestEndsWithoutCountingTheThread() throws InterruptedException
+  {
+    SyncBarrier barrier = new SyncBarrier("b", () -> 100);
+    AtomicBoolean keepWaiting = new AtomicBoolean(true);
+
+    Waiter abandoned = new Waiter(barrier, 2, 1, keepWaiting::get);
+    abandoned.awaitWaiting();
+
+    keepWaiting.set(false);
+    barrier.wakeUp();
+    assertFalse(abandoned.result());
+    assertNull(barrier.describeStatistics());
+
+    // The thread that stopped waiting no longer counts towards the next release.
+    Waiter first = new Waiter(barrier, 2, 2, () -> true);
+    first.awaitWaiting();
+    Thread.sleep(100);
+    assertTrue(first.thread.isAlive(), "The barrier was released with only one thread.");
+
+    Waiter second = new Waiter(barrier, 2, 3, () -> true);
+    assertTrue(first.result());
+    assertTrue(second.result());
+  }
+
+  @Test
+  public void wakingUpDoesNotReleaseTheBarrierEarly() throws InterruptedException
+  {
+    AtomicInteger numActiveThreads = new AtomicInteger(3);
+    SyncBarrier barrier = new SyncBarrier("b", numActiveThreads::get);
+
+    Waiter waiter = new Waiter(barrier, -1, 1, () -> true);
+    waiter.awaitWaiting();
+
+    barrier.wakeUp();
+    waiter.awaitWaiting();
+    assertTrue(waiter.thread.isAlive());
+
+    numActiveThreads.set(1);
+    barrier.wakeUp();
+    assertTrue(waiter.result());
+    assertEquals(1, countReleases(barrier));
+  }
+
+  private static int countReleases(SyncBarrier barrier)
+  {
+    String statistics = barrier.describeStatistics();
+    return (statistics == null ? 0 : Integer.parseInt(statistics.replaceAll(".* released (\\d+) times.*", "$1")));
+  }
+
+  /** A thread that waits at a barrier. */
+  private static class Waiter
+  {
+    private final Thread thread;
+    private volatile Boolean released = null;
+
+    private Waiter(SyncBarrier barrier, int parties, long lineNum, BooleanSupplier keepWaiting)
+    {
+      thread = new Thread(() -> released = barrier.await(parties, lineNum, keepWaiting));
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    /** Waits until the thread is waiting at the barrier. */
+    private void awaitWaiting() throws InterruptedException
+    {
+      while (thread.getState() != Thread.State.WAITING) {
+        assertTrue(thread.isAlive(), "The thread stopped waiting.");
+        Thread.sleep(1);
+      }
+    }
+
+    /** Waits for the thread to stop waiting and returns what await() returned. */
+    private boolean result() throws InterruptedException
+    {
+      thread.join();
+      return released;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc;
+
+import com.rapidsdata.seth.jdbc.fake.FakeConnection;
+import com.rapidsdata.seth.jdbc.fake.FakeSettings;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StatementCacheTest
+{
+  private static final String CMD = "select 1";
+
+  @Test
+  public void preparesACommandOnceItHasBeenExecutedTheGivenNumberOfTimes() throws SQLException
+  {
+    for (int prepareAfter = 1; prepareAfter <= 3; prepareAfter++) {
+      CountingConnection connection = new CountingConnection();
+      StatementCache cache = new StatementCache(connection, 4, prepareAfter);
+
+      // The first executions use the plain statement.
+      Statement plain = cache.execute(CMD);
+
+      for (int i = 2; i <= prepareAfter; i++) {
+        assertSame(plain, cache.execute(CMD), "Execution " + i + " with --prepareafter " + prepareAfter + " was prepared.");
+      }
+
+      assertEquals(0, connection.numPrepared);
+
+      // The next one, and every one after it, uses the same prepared statement.
+      Statement prepared = cache.execute(CMD);
+      assertNotSame(plain, prepared, "Execution " + (prepareAfter + 1) + " with --prepareafter " + prepareAfter + " was not prepared.");
+      assertEquals(1, connection.numPrepared);
+
+      assertSame(prepared, cache.execute(CMD));
+      assertEquals(1, connection.numPrepared);
+
+      cache.close();
+    }
+  }
+
+  @Test
+  public void neverPreparesCommandsWhenTheThresholdIsZero() throws SQLException
+  {
+    CountingConnection connection = new CountingConnection();
+    StatementCache cache = new StatementCache(connection, 4, 0);
+
+    for (int i = 0; i < 10; i++) {
+      cache.execute(CMD);
+    }
+
+    assertEquals(0, connection.numPrepared);
+    cache.close();
+  }
+
+  /** A fake connection that counts the statements it prepares. */
+  private static class CountingConnection extends FakeConnection
+  {
+    private int numPrepared = 0;
+
+    private CountingConnection()
+    {
+      super(FakeSettings.DEFAULTS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException
+    {
+      ++numPrepared;
+      return super.prepareStatement(sql);
+    }
+  }
+}
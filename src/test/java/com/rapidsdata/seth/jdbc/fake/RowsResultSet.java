@@ -0,0 +1,43 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.jdbc.fake;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A FakeResultSet over rows that are given up front, for tests that need a result with
+ * particular values in it.
+ */
+public class RowsResultSet extends FakeResultSet
+{
+  private final Object[][] rows;
+
+  /**
+   * Constructor
+   * @param sqlTypes the type of each column, from java.sql.Types.
+   * @param rows the values of each row.
+   */
+  public RowsResultSet(int[] sqlTypes, Object[]... rows)
+  {
+    super(columnsFor(sqlTypes), rows.length);
+    this.rows = rows;
+  }
+
+  @Override
+  protected Object valueAt(int rowIndex, int columnIndex)
+  {
+    return rows[rowIndex][columnIndex];
+  }
+
+  private static List<FakeColumn> columnsFor(int[] sqlTypes)
+  {
+    List<FakeColumn> columns = new ArrayList<>(sqlTypes.length);
+
+    for (int i = 0; i < sqlTypes.length; i++) {
+      columns.add(new FakeColumn("c" + (i + 1), sqlTypes[i], "TYPE" + sqlTypes[i]));
+    }
+
+    return columns;
+  }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.parser;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class SethParserTest
+{
+  /** Keywords that were added after variables and options could be named with them. */
+  private static final List<String> NON_RESERVED_WORDS = Arrays.asList("at", "per", "ramp", "mix", "seed", "weight");
+
+  @Test
+  public void acceptsNonReservedWordsAsVariableNames()
+  {
+    for (String word : NON_RESERVED_WORDS) {
+      for (String name : Arrays.asList(word, word.toUpperCase())) {
+        SethParser.StatementContext statement = parseStatement("set variable " + name + " = 5;");
+        SethParser.SetVariablesStatementContext setVariables = setVariablesOf(statement, name);
+
+        assertEquals(name, setVariables.varList().varPair(0).varName().getText());
+        assertEquals("5", setVariables.varList().varPair(0).varVal().getText());
+
+        SethParser.StatementContext unset = parseStatement("unset variable " + name + ";");
+        assertNotNull(sethStatementOf(unset, name).singularStatements().unsetVariablesStatement(),
+                      "\"unset variable " + name + "\" was not parsed as an unset statement.");
+      }
+    }
+  }
+
+  @Test
+  public void acceptsNonReservedWordsAsVariableValues()
+  {
+    for (String word : NON_RESERVED_WORDS) {
+      SethParser.StatementContext statement = parseStatement("set variable x = " + word + ";");
+      SethParser.VarValContext value = setVariablesOf(statement, word).varList().varPair(0).varVal();
+
+      assertNotNull(value.idVal(), "\"" + word + "\" was not parsed as a value.");
+      assertEquals(word, value.getText());
+    }
+  }
+
+  @Test
+  public void acceptsNonReservedWordsAsOptionNames()
+  {
+    for (String word : NON_RESERVED_WORDS) {
+      SethParser.StatementContext statement = parseStatement("set option " + word + " = 1;");
+      SethParser.SetOptionsStatementContext setOptions = sethStatementOf(statement, word).singularStatements().setOptionsStatement();
+
+      assertNotNull(setOptions, "\"set option " + word + "\" was not parsed as a set option statement.");
+      assertEquals(word, setOptions.optionList().opt(0).optKey().getText());
+    }
+  }
+
+  /** Parses a test file of a single statement, failing on any syntax error. */
+  private static SethParser.StatementContext parseStatement(String text)
+  {
+    SethParser parser = new SethParser(new CommonTokenStream(new SethLexer(CharStreams.fromString(text))));
+    parser.removeErrorListeners();
+    parser.addErrorListener(new BaseErrorListener() {
+      @Override
+      public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int pos,
+                              String msg, RecognitionException e)
+      {
+        throw new AssertionError("Syntax error in \"" + text + "\" at " + line + ":" + pos + ": " + msg);
+      }
+    });
+
+    SethParser.TestFileContext testFile = parser.testFile();
+    assertEquals(1, testFile.statements().statement().size(), "\"" + text + "\" is not a single statement.");
+
+    return testFile.statements().statement(0);
+  }
+
+  private static SethParser.SethStatementContext sethStatementOf(SethParser.StatementContext statement, String word)
+  {
+    // A statement that SETH doesn't recognise is sent to the server instead.
+    assertNotNull(statement.sethStatement(), "\"" + statement.getText() + "\" with \"" + word + "\" was parsed as a server statement.");
+    return statement.sethStatement();
+  }
+
+  private static SethParser.SetVariablesStatementContext setVariablesOf(SethParser.StatementContext statement, String word)
+  {
+    SethParser.SetVariablesStatementContext setVariables = sethStatementOf(statement, word).singularStatements().setVariablesStatement();
+    assertNotNull(setVariables, "\"" + statement.getText() + "\" was not parsed as a set variable statement.");
+    return setVariables;
+  }
+}
@@ -0,0 +1,128 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.TestableFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MixOpTest
+{
+  private static final TestableFile TEST_FILE = new TestableFile(new File("mix.test"), TestableFile.Instruction.READ);
+
+  @Test
+  public void givesEachBranchTheShareOfItsWeight()
+  {
+    Random random = new Random(1);
+
+    for (int trial = 0; trial < 200; trial++) {
+      long[] weights = new long[1 + random.nextInt(12)];
+
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = 1 + random.nextInt(random.nextBoolean() ? 10 : 1_000_000);
+      }
+
+      assertProbabilities(weights, newMix(weights).branchProbabilities());
+    }
+
+    long big = Long.MAX_VALUE / 4;
+    assertProbabilities(new long[] { big, big, big, 1 }, newMix(big, big, big, 1).branchProbabilities());
+  }
+
+  @Test
+  public void choosesBranchesInProportionToTheirWeights()
+  {
+    long[] weights = { 70, 20, 9, 1 };
+    MixOp mix = newMix(weights);
+    SplittableRandom random = new SplittableRandom(42);
+
+    final int numChoices = 1_000_000;
+    int[] counts = new int[weights.length];
+
+    for (int i = 0; i < numChoices; i++) {
+      ++counts[mix.chooseBranch(random)];
+    }
+
+    for (int i = 0; i < weights.length; i++) {
+      double expected = numChoices * weights[i] / 100.0d;
+
+      // Allow five standard deviations of a binomial distribution.
+      double tolerance = 5.0d * Math.sqrt(expected * (1.0d - weights[i] / 100.0d));
+      assertEquals(expected, counts[i], tolerance, "Branch " + i + " was chosen " + counts[i] + " times.");
+    }
+  }
+
+  @Test
+  public void makesTheSameChoicesWithTheSameSeed()
+  {
+    MixOp mix = newMix(3, 1, 4, 1, 5);
+    SplittableRandom first = new SplittableRandom(7);
+    SplittableRandom second = new SplittableRandom(7);
+
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(mix.chooseBranch(first), mix.chooseBranch(second));
+    }
+  }
+
+  @Test
+  public void rewritingGivesTheNewMixItsOwnBranches()
+  {
+    MixOp original = newMix(1, 2);
+    MixOp rewritten = (MixOp) original.rewriteWith(null);
+
+    for (int i = 0; i < 2; i++) {
+      assertSame(original, original.getBranches().get(i).getMix());
+      assertSame(rewritten, rewritten.getBranches().get(i).getMix());
+      assertNotSame(original.getBranches().get(i), rewritten.getBranches().get(i));
+    }
+  }
+
+  @Test
+  public void rejectsWeightsWhoseTotalOverflows()
+  {
+    assertThrows(ArithmeticException.class, () -> newMix(Long.MAX_VALUE, 1));
+  }
+
+  private static void assertProbabilities(long[] weights, double[] probabilities)
+  {
+    double total = 0;
+
+    for (long weight : weights) {
+      total += weight;
+    }
+
+    double sum = 0;
+
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(weights[i] / total, probabilities[i], 1e-9, "The probability of branch " + i + " is wrong.");
+      sum += probabilities[i];
+    }
+
+    assertTrue(Math.abs(sum - 1.0d) < 1e-9, "The probabilities add up to " + sum + ".");
+  }
+
+  private static MixOp newMix(long... weights)
+  {
+    List<MixOp.Branch> branches = new ArrayList<>(weights.length);
+
+    for (int i = 0; i < weights.length; i++) {
+      OperationMetadata metadata = new OperationMetadata("weight " + weights[i] + ": ;", TEST_FILE, i + 2, TestPhase.TEST);
+      branches.add(new MixOp.Branch(metadata, null, weights[i], Collections.emptyList()));
+    }
+
+    OperationMetadata metadata = new OperationMetadata("mix { ... }", TEST_FILE, 1, TestPhase.TEST);
+    return new MixOp(metadata, null, branches, 1L);
+  }
+}
@@ -0,0 +1,104 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan;
+
+import com.rapidsdata.seth.plan.ServerBatchOp.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ServerBatchOpTest
+{
+  @Test
+  public void executesEachCommandIndividuallyIfTheBatchWasNotSent()
+  {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Outcome.EXECUTE_INDIVIDUALLY, ServerBatchOp.outcomeOf(i, false, new int[0], null));
+    }
+  }
+
+  @Test
+  public void checksTheUpdateCountOfEachCommandOfASuccessfulBatch()
+  {
+    int[] counts = { 3, 0, Statement.SUCCESS_NO_INFO };
+
+    assertEquals(Outcome.UPDATE_COUNT, ServerBatchOp.outcomeOf(0, true, counts, null));
+    assertEquals(Outcome.UPDATE_COUNT, ServerBatchOp.outcomeOf(1, true, counts, null));
+    assertEquals(Outcome.SUCCESS,      ServerBatchOp.outcomeOf(2, true, counts, null));
+
+    // A driver may return fewer counts than commands for a batch that succeeded.
+    assertEquals(Outcome.SUCCESS,      ServerBatchOp.outcomeOf(3, true, counts, null));
+  }
+
+  @Test
+  public void executesTheCommandsAfterTheOneThatStoppedTheBatch()
+  {
+    BatchUpdateException failure = new BatchUpdateException("duplicate key", new int[] { 1, 1 });
+    int[] counts = failure.getUpdateCounts();
+
+    assertEquals(Outcome.UPDATE_COUNT,         ServerBatchOp.outcomeOf(0, true, counts, failure));
+    assertEquals(Outcome.UPDATE_COUNT,         ServerBatchOp.outcomeOf(1, true, counts, failure));
+    assertEquals(Outcome.FAILURE,              ServerBatchOp.outcomeOf(2, true, counts, failure));
+    assertEquals(Outcome.EXECUTE_INDIVIDUALLY, ServerBatchOp.outcomeOf(3, true, counts, failure));
+    assertEquals(Outcome.EXECUTE_INDIVIDUALLY, ServerBatchOp.outcomeOf(4, true, counts, failure));
+  }
+
+  @Test
+  public void failsOnlyTheCommandsThatFailedIfTheBatchContinued()
+  {
+    int[] counts = { 1, Statement.EXECUTE_FAILED, 1 };
+    BatchUpdateException failure = new BatchUpdateException("duplicate key", counts);
+
+    assertEquals(Outcome.UPDATE_COUNT, ServerBatchOp.outcomeOf(0, true, counts, failure));
+    assertEquals(Outcome.FAILURE,      ServerBatchOp.outcomeOf(1, true, counts, failure));
+    assertEquals(Outcome.UPDATE_COUNT, ServerBatchOp.outcomeOf(2, true, counts, failure));
+  }
+
+  @Test
+  public void findsTheCommandsExecutedAfterAFailedCommand()
+  {
+    // The driver carried on with the batch after each failure.
+    int[] counts = { 1, Statement.EXECUTE_FAILED, 1, Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO };
+
+    assertEquals(Arrays.asList(2, 4), ServerBatchOp.executedAfter(1, counts));
+    assertEquals(Collections.singletonList(4), ServerBatchOp.executedAfter(3, counts));
+
+    // The driver stopped the batch at the failure.
+    assertEquals(Collections.emptyList(), ServerBatchOp.executedAfter(2, new int[] { 1, 1 }));
+  }
+
+  @Test
+  public void failsEveryCommandIfTheBatchFailedWithoutCounts()
+  {
+    // Any of the commands may have been executed, so none of them may be executed again.
+    SQLException failure = new SQLException("connection reset");
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(Outcome.FAILURE, ServerBatchOp.outcomeOf(i, true, new int[0], failure));
+    }
+  }
+
+  @Test
+  public void splitsTheCommandsThatMustRunAloneIntoTheirOwnRuns()
+  {
+    List<String> ops = Arrays.asList("a", "b", "X", "c", "X", "X", "d");
+
+    assertEquals(Arrays.asList(Arrays.asList("a", "b"),
+                               Collections.singletonList("X"),
+                               Collections.singletonList("c"),
+                               Collections.singletonList("X"),
+                               Collections.singletonList("X"),
+                               Collections.singletonList("d")),
+                 ServerBatchOp.splitRuns(ops, "X"::equals));
+
+    assertEquals(Collections.singletonList(ops), ServerBatchOp.splitRuns(ops, op -> false));
+    assertEquals(Collections.emptyList(), ServerBatchOp.splitRuns(Collections.<String>emptyList(), op -> true));
+  }
+}
@@ -0,0 +1,194 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.plan.expectedResults;
+
+import com.rapidsdata.seth.Options;
+import com.rapidsdata.seth.jdbc.fake.RowsResultSet;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static com.rapidsdata.seth.plan.expectedResults.ExpectedColumnType.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ExpectedRowIndexTest
+{
+  /** The types of the actual columns: an integer, a decimal and a string. */
+  private static final int[] SQL_TYPES = { Types.BIGINT, Types.DECIMAL, Types.VARCHAR };
+
+  /** The shapes of expected rows, which are indexed in different ways. */
+  private static final List<List<ExpectedColumnType>> SHAPES = Arrays.asList(
+      Arrays.asList(INTEGER, DECIMAL, STRING),
+      Arrays.asList(INTEGER, DONT_CARE, STRING),
+      Arrays.asList(NULL, DECIMAL, STRING),
+      Arrays.asList(INTEGER, IGNORE_REMAINING),
+      Arrays.asList(DECIMAL, DECIMAL, DONT_CARE),   // No exact-match columns, so it isn't indexed.
+      Arrays.asList(DONT_CARE, DECIMAL, IGNORE_REMAINING));
+
+  @Test
+  public void matchesTheSameRowsAsALinearScan() throws SQLException
+  {
+    for (long seed = 0; seed < 50; seed++) {
+      Random random = new Random(seed);
+
+      List<ExpectedRow> expectedRows = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        expectedRows.add(randomExpectedRow(random));
+      }
+
+      Object[][] actualRows = new Object[300][];
+      for (int i = 0; i < actualRows.length; i++) {
+        actualRows[i] = randomActualRow(random);
+      }
+
+      assertMatchesLikeLinearScan(expectedRows, actualRows, new LinkedList<>());
+    }
+  }
+
+  @Test
+  public void honoursIgnoreCaseWhenMatching() throws SQLException
+  {
+    List<ExpectedRow> expectedRows = Arrays.asList(
+        row(Arrays.asList(INTEGER, DECIMAL, STRING), 1L, new BigDecimal("1.5"), "ABC"),
+        row(Arrays.asList(INTEGER, DECIMAL, STRING), 1L, new BigDecimal("1.5"), "abc  "));
+
+    Object[][] actualRows = {
+        { 1L, new BigDecimal("1.50"), "abc" },
+        { 1L, new BigDecimal("1.50"), "ABC" }
+    };
+
+    Options options = new Options();
+    options.put(Options.CASE_INSENSITIVE_KEY, Boolean.TRUE);
+
+    LinkedList<Options> optionList = new LinkedList<>();
+    optionList.add(options);
+
+    assertMatchesLikeLinearScan(expectedRows, actualRows, optionList);
+    assertMatchesLikeLinearScan(expectedRows, actualRows, new LinkedList<>());
+  }
+
+  @Test
+  public void keysRowsWithInexactColumnsOnTheirExactColumns() throws SQLException
+  {
+    List<ExpectedRow> expectedRows = new ArrayList<>();
+    for (long i = 0; i < 1000; i++) {
+      expectedRows.add(row(Arrays.asList(INTEGER, DECIMAL, STRING), i, new BigDecimal(i).movePointLeft(1), "row " + i));
+    }
+
+    Object[][] actualRows = new Object[1000][];
+    for (int i = 0; i < actualRows.length; i++) {
+      long id = actualRows.length - 1 - i;
+      actualRows[i] = new Object[] { id, new BigDecimal(id).movePointLeft(1), "row " + id };
+    }
+
+    ExpectedRowIndex.Matcher matcher = new ExpectedRowIndex(expectedRows).newMatcher();
+    RowsResultSet rs = new RowsResultSet(SQL_TYPES, actualRows);
+    ActualRow row = new ActualRow(rs);
+    RowComparator comparator = RowComparator.compile(row, new LinkedList<>());
+
+    for (int i = 0; row.next(); i++) {
+      ExpectedRow matched = matcher.match(comparator);
+      assertNotNull(matched, "Actual row " + i + " was not matched.");
+      assertSame(expectedRows.get(expectedRows.size() - 1 - i), matched);
+    }
+
+    assertEquals(0, matcher.numRemaining());
+  }
+
+  /**
+   * Matches the actual rows against the expected rows both through an index and with a linear
+   * scan, and checks that the same expected row is matched each time.
+   */
+  private static void assertMatchesLikeLinearScan(List<ExpectedRow> expectedRows,
+                                                  Object[][] actualRows,
+                                                  LinkedList<Options> optionList) throws SQLException
+  {
+    ExpectedRowIndex.Matcher matcher = new ExpectedRowIndex(expectedRows).newMatcher();
+    List<ExpectedRow> remaining = new ArrayList<>(expectedRows);
+
+    RowsResultSet rs = new RowsResultSet(SQL_TYPES, actualRows);
+    ActualRow row = new ActualRow(rs);
+    RowComparator comparator = RowComparator.compile(row, optionList);
+
+    for (int i = 0; row.next(); i++) {
+      ExpectedRow expected = null;
+
+      for (ExpectedRow er : remaining) {
+        if (comparator.matches(er)) {
+          expected = er;
+          break;
+        }
+      }
+
+      ExpectedRow actual = matcher.match(comparator);
+
+      if (expected == null) {
+        assertNull(actual, "Actual row " + i + " should not have matched.");
+      } else {
+        assertSame(expected, actual, "Actual row " + i + " matched a different expected row.");
+        remaining.remove(expected);
+      }
+
+      assertEquals(remaining.size(), matcher.numRemaining());
+    }
+
+    assertEquals(remaining, matcher.remainingRows());
+  }
+
+  private static ExpectedRow randomExpectedRow(Random random)
+  {
+    List<ExpectedColumnType> columnDefs = SHAPES.get(random.nextInt(SHAPES.size()));
+    List<Object> columnValues = new ArrayList<>(columnDefs.size());
+
+    for (ExpectedColumnType type : columnDefs) {
+      switch (type) {
+        case INTEGER:
+          columnValues.add((long) random.nextInt(5));
+          break;
+
+        case DECIMAL:
+          columnValues.add(new BigDecimal(random.nextInt(3)).movePointLeft(1));
+          break;
+
+        case STRING:
+          columnValues.add(randomString(random));
+          break;
+
+        default:
+          columnValues.add(null);
+          break;
+      }
+    }
+
+    return new ExpectedRow(columnDefs, columnValues, null);
+  }
+
+  private static Object[] randomActualRow(Random random)
+  {
+    return new Object[] {
+        (random.nextInt(8) == 0 ? null : (long) random.nextInt(5)),
+        (random.nextInt(8) == 0 ? null : new BigDecimal(random.nextInt(3) * 10).movePointLeft(2)),
+        (random.nextInt(8) == 0 ? null : randomString(random))
+    };
+  }
+
+  private static String randomString(Random random)
+  {
+    return Arrays.asList("a", "A", "b", "a ").get(random.nextInt(4));
+  }
+
+  private static ExpectedRow row(List<ExpectedColumnType> columnDefs, Object... columnValues)
+  {
+    return new ExpectedRow(columnDefs, Arrays.asList(columnValues), null);
+  }
+}
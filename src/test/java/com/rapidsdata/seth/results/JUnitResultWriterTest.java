@@ -0,0 +1,176 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.results;
+
+import com.rapidsdata.seth.CommandLineArgs;
+import com.rapidsdata.seth.TestResult;
+import com.rapidsdata.seth.TestableFile;
+import com.rapidsdata.seth.contexts.AppContext;
+import com.rapidsdata.seth.contexts.AppContextImpl;
+import com.rapidsdata.seth.logging.ConsoleLogger;
+import com.rapidsdata.seth.logging.ConsoleWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JUnitResultWriterTest
+{
+  private static final String RESULT_NAME = "results.xml";
+
+  @TempDir
+  File dir;
+
+  /** Prints the summary that the writer logs at the end. */
+  private final ConsoleWriter console = new ConsoleWriter(false, false);
+
+  @AfterEach
+  public void closeConsole()
+  {
+    console.close();
+  }
+
+  @Test
+  public void leavesACompleteFileOfTheFinishedTestsIfKilled() throws Exception
+  {
+    JUnitResultWriter writer = new JUnitResultWriter(newContext(), dir, RESULT_NAME);
+    List<TestResult> results = newResults(5);
+
+    // Finish the tests one at a time and never call writeResults(), as if SETH was killed.
+    // The file must be valid after every test.
+    for (int i = 0; i < results.size(); i++) {
+      writer.testFinished(results.get(i));
+
+      Document document = parse();
+      assertSuite(document, i + 1, failuresIn(results.subList(0, i + 1)), skipsIn(results.subList(0, i + 1)));
+      assertTestCases(document, results.subList(0, i + 1));
+    }
+
+    // Release the file.
+    writer.writeResults(results);
+  }
+
+  @Test
+  public void writesTheTestsThatHadNotFinishedAtTheEndWithoutRepeatingOthers() throws Exception
+  {
+    JUnitResultWriter writer = new JUnitResultWriter(newContext(), dir, RESULT_NAME);
+    List<TestResult> results = newResults(6);
+
+    writer.testFinished(results.get(3));
+    writer.testFinished(results.get(0));
+    writer.writeResults(results);
+
+    Document document = parse();
+    assertSuite(document, results.size(), failuresIn(results), skipsIn(results));
+
+    List<TestResult> expectedOrder = new ArrayList<>(Arrays.asList(results.get(3), results.get(0)));
+    for (TestResult result : results) {
+      if (!expectedOrder.contains(result)) {
+        expectedOrder.add(result);
+      }
+    }
+
+    assertTestCases(document, expectedOrder);
+  }
+
+  /** Returns results that succeeded, failed and were skipped in turn. */
+  private List<TestResult> newResults(int count)
+  {
+    List<TestResult> results = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      TestableFile testableFile = new TestableFile(new File(dir, "test-" + i + ".test"), TestableFile.Instruction.READ);
+      TestResult result = new TestResult(testableFile, "test-" + i + " <&\">");
+
+      switch (i % 3) {
+        case 0:
+          result.setStarted();
+          result.setSuccess();
+          break;
+
+        case 1:
+          result.setStarted();
+          result.setFailure(new FileNotFoundException("test-" + i + ".test"));
+          break;
+
+        default:
+          result.setSkipped();
+          break;
+      }
+
+      results.add(result);
+    }
+
+    return results;
+  }
+
+  private AppContext newContext()
+  {
+    return new AppContextImpl(System.currentTimeMillis(), new CommandLineArgs(), new ArrayList<>(), null,
+                              null, new ConsoleLogger(false, console), null, null, null, null, null);
+  }
+
+  private Document parse() throws Exception
+  {
+    File file = new File(dir, RESULT_NAME);
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+    try {
+      return factory.newDocumentBuilder().parse(file);
+    } catch (Exception e) {
+      throw new AssertionError("The result file is not valid XML: " + e.getMessage() + System.lineSeparator() +
+                               new String(Files.readAllBytes(file.toPath()), "UTF-8"), e);
+    }
+  }
+
+  private static void assertSuite(Document document, int tests, int failures, int skipped)
+  {
+    Element suite = document.getDocumentElement();
+
+    assertEquals("testsuite", suite.getTagName());
+    assertEquals(String.valueOf(tests), suite.getAttribute("tests"));
+    assertEquals(String.valueOf(failures), suite.getAttribute("failures"));
+    assertEquals("0", suite.getAttribute("errors"));
+    assertEquals(String.valueOf(skipped), suite.getAttribute("skipped"));
+  }
+
+  private static void assertTestCases(Document document, List<TestResult> results)
+  {
+    NodeList testCases = document.getElementsByTagName("testcase");
+    assertEquals(results.size(), testCases.getLength());
+
+    for (int i = 0; i < results.size(); i++) {
+      Element testCase = (Element) testCases.item(i);
+      TestResult result = results.get(i);
+
+      assertEquals(result.getTestName(), testCase.getAttribute("name"));
+      assertEquals(result.getStatus() == TestResult.ResultStatus.FAILED ? 1 : 0,
+                   testCase.getElementsByTagName("error").getLength());
+      assertEquals(result.getStatus() == TestResult.ResultStatus.SKIPPED ? 1 : 0,
+                   testCase.getElementsByTagName("skipped").getLength());
+    }
+  }
+
+  private static int failuresIn(List<TestResult> results)
+  {
+    return (int) results.stream().filter(r -> r.getStatus() == TestResult.ResultStatus.FAILED).count();
+  }
+
+  private static int skipsIn(List<TestResult> results)
+  {
+    return (int) results.stream().filter(r -> r.getStatus() == TestResult.ResultStatus.SKIPPED).count();
+  }
+}
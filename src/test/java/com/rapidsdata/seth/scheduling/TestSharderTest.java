@@ -0,0 +1,127 @@
+// Copyright (c) 2026 Boray Data Co. Ltd.  All rights reserved.
+
+package com.rapidsdata.seth.scheduling;
+
+import com.rapidsdata.seth.TestableFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSharderTest
+{
+  @TempDir
+  File dir;
+
+  @Test
+  public void putsEveryTestInExactlyOneShardInListedOrder() throws IOException
+  {
+    List<TestableFile> tests = testsNamed(40);
+    TestHistory history = historyOf(tests.subList(0, 25), new Random(1));
+
+    for (int shardCount = 1; shardCount <= 7; shardCount++) {
+      Set<TestableFile> seen = new HashSet<>();
+
+      for (int shardIndex = 1; shardIndex <= shardCount; shardIndex++) {
+        List<TestableFile> shard = TestSharder.shardOf(tests, shardIndex, shardCount, history);
+
+        for (int i = 1; i < shard.size(); i++) {
+          assertTrue(tests.indexOf(shard.get(i - 1)) < tests.indexOf(shard.get(i)),
+                     "Shard " + shardIndex + "/" + shardCount + " is not in the listed order.");
+        }
+
+        for (TestableFile test : shard) {
+          assertTrue(seen.add(test), test.describePath() + " is in more than one shard.");
+        }
+      }
+
+      assertEquals(tests.size(), seen.size(), "Some tests are not in any shard.");
+    }
+  }
+
+  @Test
+  public void dividesTheTestsTheSameWayWhateverTheirOrder() throws IOException
+  {
+    List<TestableFile> tests = testsNamed(30);
+    TestHistory history = historyOf(tests.subList(10, 30), new Random(2));
+
+    List<TestableFile> shuffled = new ArrayList<>(tests);
+    Collections.shuffle(shuffled, new Random(3));
+
+    for (int shardIndex = 1; shardIndex <= 4; shardIndex++) {
+      Set<TestableFile> listed = new HashSet<>(TestSharder.shardOf(tests, shardIndex, 4, history));
+      Set<TestableFile> reordered = new HashSet<>(TestSharder.shardOf(shuffled, shardIndex, 4, history));
+
+      assertEquals(listed, reordered, "Shard " + shardIndex + " depends on the order of the tests.");
+    }
+  }
+
+  @Test
+  public void balancesTheDurationsOfTestsWithHistory() throws IOException
+  {
+    List<TestableFile> tests = testsNamed(50);
+    TestHistory history = historyOf(tests, new Random(4));
+    int shardCount = 4;
+
+    long[] totalsMs = new long[shardCount];
+    long longestMs = 0;
+
+    for (int shardIndex = 1; shardIndex <= shardCount; shardIndex++) {
+      for (TestableFile test : TestSharder.shardOf(tests, shardIndex, shardCount, history)) {
+        long durationMs = history.lookup(test).getDurationMs();
+        totalsMs[shardIndex - 1] += durationMs;
+        longestMs = Math.max(longestMs, durationMs);
+      }
+    }
+
+    long minMs = Long.MAX_VALUE;
+    long maxMs = 0;
+
+    for (long totalMs : totalsMs) {
+      minMs = Math.min(minMs, totalMs);
+      maxMs = Math.max(maxMs, totalMs);
+    }
+
+    // Giving each test to the least loaded shard keeps the shards within one test of each other.
+    assertTrue(maxMs - minMs <= longestMs, "The shards are unbalanced: " + minMs + " ms to " + maxMs + " ms.");
+  }
+
+  private List<TestableFile> testsNamed(int count) throws IOException
+  {
+    List<TestableFile> tests = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      File file = new File(dir, String.format("test-%03d.test", i));
+      Files.write(file.toPath(), "select 1;\n".getBytes(StandardCharsets.UTF_8));
+      tests.add(new TestableFile(file, TestableFile.Instruction.READ));
+    }
+
+    return tests;
+  }
+
+  /** Writes a history file that gives each of the tests a random duration, and reads it back. */
+  private TestHistory historyOf(List<TestableFile> tests, Random random) throws IOException
+  {
+    StringBuilder sb = new StringBuilder();
+
+    for (TestableFile test : tests) {
+      sb.append(1 + random.nextInt(10000)).append("\tSUCCEEDED\t").append(test.getFile().getCanonicalPath()).append('\n');
+    }
+
+    File file = new File(dir, "history.txt");
+    Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    return TestHistory.readFrom(file, null);
+  }
+}